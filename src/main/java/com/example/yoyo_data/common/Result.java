@@ -89,6 +89,24 @@ public class Result<T> implements Serializable {
                 .build();
     }
 
+    /**
+     * 失败响应（携带数据，如冲突明细）
+     *
+     * @param code    错误码
+     * @param message 错误消息
+     * @param data    响应数据
+     * @param <T>     数据类型
+     * @return 响应对象
+     */
+    public static <T> Result<T> error(int code, String message, T data) {
+        return Result.<T>builder()
+                .code(code)
+                .message(message)
+                .data(data)
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+
     /**
      * 失败响应（默认500错误）
      *
@@ -24,6 +24,16 @@ public class CacheKey {
 
     public static final String WHITELIST = "whitelist:";
 
+    /**
+     * ID 生成器工作节点租约：id:worker:lease:{workerId}，值为持有实例的标识
+     */
+    public static final String ID_WORKER_LEASE = "id:worker:lease:";
+
+    /**
+     * ID 生成器工作节点最近使用的时间戳：id:worker:last:{workerId}
+     */
+    public static final String ID_WORKER_LAST_TIMESTAMP = "id:worker:last:";
+
     private CacheKey() {
     }
 }
\ No newline at end of file
@@ -60,6 +60,35 @@ public class EventType {
      */
     public static final String DIALOG_UNARCHIVE = "DIALOG_UNARCHIVE";
 
+    // ==================== 票务订单事件 ====================
+
+    /**
+     * 抢票成功（Redis 已锁座，待落库）
+     */
+    public static final String TICKET_ORDER_ADMITTED = "TICKET_ORDER_ADMITTED";
+
+    /**
+     * 订单已支付
+     */
+    public static final String TICKET_ORDER_PAID = "TICKET_ORDER_PAID";
+
+    /**
+     * 订单已释放（取消或超时）
+     */
+    public static final String TICKET_ORDER_RELEASED = "TICKET_ORDER_RELEASED";
+
+    // ==================== 点赞事件 ====================
+
+    /**
+     * 点赞
+     */
+    public static final String LIKE = "LIKE";
+
+    /**
+     * 取消点赞
+     */
+    public static final String UNLIKE = "UNLIKE";
+
     // ==================== 缓存事件 ====================
 
     /**
@@ -64,6 +64,20 @@ public class KafkaTopic {
      */
     public static final String DIALOG_CACHE_SYNC = "dialog-cache-sync";
 
+    // ==================== 票务相关主题 ====================
+
+    /**
+     * 票务订单事件主题（抢票成功、支付、释放），按演出活动ID分区保证同一演出内有序
+     */
+    public static final String TICKET_ORDER_EVENTS = "ticket-order-events";
+
+    // ==================== 点赞相关主题 ====================
+
+    /**
+     * 点赞事件主题（点赞、取消点赞），按目标ID分区保证同一目标内有序
+     */
+    public static final String LIKE_EVENTS = "like-events";
+
     // ==================== 系统相关主题 ====================
 
     /**
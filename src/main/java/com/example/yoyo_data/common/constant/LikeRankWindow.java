@@ -0,0 +1,19 @@
+package com.example.yoyo_data.common.constant;
+
+/**
+ * 点赞排行榜时间窗口
+ */
+public class LikeRankWindow {
+    /**
+     * 当天
+     */
+    public static final String DAILY = "daily";
+    /**
+     * 最近7天（含当天）
+     */
+    public static final String WEEKLY = "weekly";
+    /**
+     * 全部时间
+     */
+    public static final String ALL = "all";
+}
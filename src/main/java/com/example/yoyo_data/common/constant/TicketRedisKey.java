@@ -6,27 +6,47 @@ package com.example.yoyo_data.common.constant;
 public class TicketRedisKey {
 
     /**
-     * 座位库存缓存前缀：ticket:seat:stock:{showEventId}
+     * 座位库存计数前缀：ticket:seat:stock:{showEventId}
+     * 值为当前可售座位数，由 Lua 脚本原子扣减
      */
     public static final String SEAT_STOCK_PREFIX = "ticket:seat:stock:";
 
     /**
-     * 座位锁定缓存前缀：ticket:seat:lock:{seatId}
+     * 座位状态哈希前缀：ticket:seat:lock:{showEventId}
+     * field 为座位ID，value 为 A（可售）、L:{orderId}（已锁定）、S:{orderId}（已售出）
      */
     public static final String SEAT_LOCK_PREFIX = "ticket:seat:lock:";
 
+    /**
+     * 预热中的座位状态哈希前缀：ticket:seat:warmup:lock:{showEventId}
+     * 预热先写入临时 key，构建完成后与临时库存计数一起替换正式 key
+     */
+    public static final String SEAT_WARM_UP_LOCK_PREFIX = "ticket:seat:warmup:lock:";
+
+    /**
+     * 预热中的库存计数前缀：ticket:seat:warmup:stock:{showEventId}
+     */
+    public static final String SEAT_WARM_UP_STOCK_PREFIX = "ticket:seat:warmup:stock:";
+
     /**
      * 用户购票记录缓存前缀：ticket:user:record:{userId}:{showEventId}
      */
     public static final String USER_RECORD_PREFIX = "ticket:user:record:";
 
+    /**
+     * 用户购票记录预热标记：ticket:user:record:ready:{showEventId}
+     * 标记存在期间，Redis 中没有购票记录的用户视为未购票，抢票时不再回源数据库
+     */
+    public static final String USER_RECORD_READY_PREFIX = "ticket:user:record:ready:";
+
     /**
      * 演出活动详情缓存前缀：ticket:show:detail:{showEventId}
      */
     public static final String SHOW_DETAIL_PREFIX = "ticket:show:detail:";
 
     /**
-     * 订单信息缓存前缀：ticket:order:{orderId}
+     * 订单状态哈希前缀：ticket:order:{orderId}
+     * 抢票成功时由 Lua 脚本写入，供客户端轮询订单状态，字段见 ORDER_FIELD_*
      */
     public static final String ORDER_PREFIX = "ticket:order:";
 
@@ -35,6 +55,126 @@ public class TicketRedisKey {
      */
     public static final String GRAB_LOCK_PREFIX = "ticket:lock:grab:";
 
+    /**
+     * 库存预热锁前缀：ticket:lock:warmup:{showEventId}
+     */
+    public static final String WARM_UP_LOCK_PREFIX = "ticket:lock:warmup:";
+
+    /**
+     * 等候队列：ticket:queue:{showEventId}，有序集合，member 为用户ID，score 为排队序号
+     * 等候室的三个 key 使用相同的哈希标签，放行脚本可在集群模式下原子执行
+     */
+    public static final String QUEUE_WAITING_FORMAT = "ticket:queue:{%d}";
+
+    /**
+     * 已放行用户：ticket:queue:admitted:{showEventId}，有序集合，score 为入场资格过期时间（毫秒）
+     */
+    public static final String QUEUE_ADMITTED_FORMAT = "ticket:queue:admitted:{%d}";
+
+    /**
+     * 等候室元数据哈希：ticket:queue:meta:{showEventId}
+     * 字段 seq（已发放序号）、head（已放行到的序号）、rate（上一轮放行人数）、saleStartTime
+     */
+    public static final String QUEUE_META_FORMAT = "ticket:queue:meta:{%d}";
+
+    /**
+     * 开放等候室的演出：有序集合，member 为演出ID，score 为最近一次入队时间
+     */
+    public static final String QUEUE_ACTIVE_SHOWS = "ticket:queue:active";
+
+    /**
+     * 等候室放行锁前缀：ticket:lock:admit:{showEventId}，保证同一时刻只有一个节点放行
+     */
+    public static final String ADMIT_LOCK_PREFIX = "ticket:lock:admit:";
+
+    /**
+     * 库存对账锁：保证同一时刻只有一个节点执行对账
+     */
+    public static final String RECONCILE_LOCK = "ticket:lock:reconcile";
+
+    /**
+     * 待逐区域核对的区域：集合，member 为 showEventId:seatZone，任一节点的对账轮次都从中消费
+     */
+    public static final String RECONCILE_SUSPECT_ZONES = "ticket:reconcile:suspects";
+
+    /**
+     * 非高峰时段的轮询区域：列表，member 为 showEventId:seatZone
+     */
+    public static final String RECONCILE_PASS_ZONES = "ticket:reconcile:pass:zones";
+
+    /**
+     * 非高峰时段的轮询游标：已核对到的区域下标
+     */
+    public static final String RECONCILE_PASS_CURSOR = "ticket:reconcile:pass:cursor";
+
+    /**
+     * 观察中的座位差异：ticket:reconcile:drift:{showEventId:seatZone}，哈希
+     * field 为座位ID，value 为 "首次发现时间|是否已记录审计|Redis 座位状态"
+     */
+    public static final String RECONCILE_DRIFT_PREFIX = "ticket:reconcile:drift:";
+
+    /**
+     * 存在座位差异的区域：集合，member 为 showEventId:seatZone
+     */
+    public static final String RECONCILE_DRIFT_ZONES = "ticket:reconcile:drift:zones";
+
+    /**
+     * 座位计数不一致的演出：哈希，field 为演出ID，value 为首次发现时间（毫秒）
+     */
+    public static final String RECONCILE_COUNTER_DRIFTS = "ticket:reconcile:counter";
+
+    /**
+     * 待支付订单到期队列：ticket:expiry:{shard}，有序集合，member 为订单ID，score 为过期时间（毫秒）
+     * 抢票脚本在锁座的同时入队，订单按ID分散到 ORDER_EXPIRY_SHARDS 个分片
+     */
+    public static final String ORDER_EXPIRY_QUEUE_FORMAT = "ticket:expiry:{%d}";
+
+    /**
+     * 到期订单处理中队列：ticket:expiry:processing:{shard}，score 为处理租约到期时间（毫秒）
+     * 与到期队列使用相同的哈希标签，认领脚本可在集群模式下原子执行
+     */
+    public static final String ORDER_EXPIRY_PROCESSING_FORMAT = "ticket:expiry:processing:{%d}";
+
+    /**
+     * 到期队列分片数
+     */
+    public static final int ORDER_EXPIRY_SHARDS = 8;
+
+    /**
+     * 到期队列重建锁：启动时只由一个节点把存量待支付订单补入队列
+     */
+    public static final String ORDER_EXPIRY_REBUILD_LOCK = "ticket:lock:expiry:rebuild";
+
+    /**
+     * 座位状态：可售
+     */
+    public static final String SEAT_STATE_AVAILABLE = "A";
+
+    /**
+     * 座位状态：已锁定（后接订单ID）
+     */
+    public static final String SEAT_STATE_LOCKED = "L:";
+
+    /**
+     * 座位状态：已售出（后接订单ID）
+     */
+    public static final String SEAT_STATE_SOLD = "S:";
+
+    /**
+     * 订单状态字段：订单状态
+     */
+    public static final String ORDER_FIELD_STATUS = "status";
+
+    /**
+     * 订单状态字段：是否已落库（0/1）
+     */
+    public static final String ORDER_FIELD_PERSISTED = "persisted";
+
+    /**
+     * 订单状态字段：支付、释放事件是否已落库（0/1），支付确认和释放脚本写入 0
+     */
+    public static final String ORDER_FIELD_SYNCED = "synced";
+
     /**
      * 座位库存过期时间（秒）：30分钟
      */
@@ -50,6 +190,11 @@ public class TicketRedisKey {
      */
     public static final long ORDER_EXPIRE = 900;
 
+    /**
+     * 订单状态哈希过期时间（秒）：锁座时间 + 订单缓存时间
+     */
+    public static final long ORDER_STATE_EXPIRE = 1800;
+
     /**
      * 座位锁定时间（秒）：15分钟
      */
@@ -59,4 +204,9 @@ public class TicketRedisKey {
      * 分布式锁过期时间（秒）：10秒
      */
     public static final long GRAB_LOCK_EXPIRE = 10;
+
+    /**
+     * 库存预热锁过期时间（秒）：30秒
+     */
+    public static final long WARM_UP_LOCK_EXPIRE = 30;
 }
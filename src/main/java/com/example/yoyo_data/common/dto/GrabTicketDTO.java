@@ -5,7 +5,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
 import java.util.List;
@@ -26,20 +27,21 @@ public class GrabTicketDTO {
     private Long showEventId;
 
     /**
-     * 座位ID列表（用户选择的座位）
+     * 座位ID列表（用户选择的座位，为空时按区域和数量自动选座）
      */
-    @NotEmpty(message = "座位列表不能为空")
-    @Size(min = 1, max = 4, message = "每次最多选择4个座位")
+    @Size(max = 4, message = "每次最多选择4个座位")
     private List<Long> seatIds;
 
     /**
-     * 座位区域（可选，用于快速抢票模式）
+     * 座位区域（快速抢票模式：在该区域内分配最靠近中心的相邻座位）
      */
     private String seatZone;
 
     /**
      * 座位数量（快速抢票模式：系统自动分配座位）
      */
+    @Min(value = 1, message = "座位数量至少为1")
+    @Max(value = 4, message = "每次最多选择4个座位")
     private Integer seatCount;
 
     /**
@@ -0,0 +1,32 @@
+package com.example.yoyo_data.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * 批量查询点赞状态请求DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LikeStatusBatchDTO {
+    /**
+     * 目标ID列表（一页信息流中的帖子或评论ID）
+     */
+    @NotEmpty(message = "目标ID列表不能为空")
+    @Size(max = 100, message = "单次最多查询100个目标")
+    private List<Long> targetIds;
+    /**
+     * 目标类型-post或者comment
+     */
+    @NotBlank(message = "目标类型不能为空")
+    private String targetType;
+}
@@ -20,7 +20,7 @@ import java.time.LocalDateTime;
 @TableName("likes")
 public class Like implements Serializable {
 
-    @TableId(value = "id", type = IdType.AUTO)
+    @TableId(value = "id", type = IdType.ASSIGN_ID)
     private Long id;
 
     @TableField("user_id")
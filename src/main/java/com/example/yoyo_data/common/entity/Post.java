@@ -22,7 +22,7 @@ import java.util.List;
 @TableName(value = "posts", autoResultMap = true)
 public class Post implements Serializable {
 
-    @TableId(value = "id", type = IdType.AUTO)
+    @TableId(value = "id", type = IdType.ASSIGN_ID)
     private Long id;
 
     @TableField("user_id")
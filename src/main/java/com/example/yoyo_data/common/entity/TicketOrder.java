@@ -24,9 +24,9 @@ public class TicketOrder implements Serializable {
     private static final long serialVersionUID = 1L;
 
     /**
-     * 订单ID
+     * 订单ID（抢票时由 Redis 裁决前预先生成，异步落库）
      */
-    @TableId(value = "id", type = IdType.AUTO)
+    @TableId(value = "id", type = IdType.ASSIGN_ID)
     private Long id;
 
     /**
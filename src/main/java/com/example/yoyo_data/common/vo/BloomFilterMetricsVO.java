@@ -0,0 +1,78 @@
+package com.example.yoyo_data.common.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * ID布隆过滤器指标视图对象
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BloomFilterMetricsVO {
+
+    /**
+     * 过滤器名称（show / seat / post）
+     */
+    private String name;
+
+    /**
+     * 是否已完成首次构建，构建前不拦截任何ID
+     */
+    private Boolean ready;
+
+    /**
+     * 最近一次重建完成时间
+     */
+    private LocalDateTime lastRebuildAt;
+
+    /**
+     * 最近一次重建收录的主键数
+     */
+    private Long loadedIds;
+
+    /**
+     * 期望数量
+     */
+    private Long expectedInsertions;
+
+    /**
+     * 估算的已收录元素数
+     */
+    private Long approximateElements;
+
+    /**
+     * 按当前元素数估算的误判率
+     */
+    private Double expectedFpp;
+
+    /**
+     * 累计检查次数
+     */
+    private Long checks;
+
+    /**
+     * 被拦截的次数（ID一定不存在）
+     */
+    private Long rejected;
+
+    /**
+     * 放行后数据库确认不存在的次数（误判）
+     */
+    private Long falsePositives;
+
+    /**
+     * 本地未命中、由 Redis 位图确认存在的次数
+     */
+    private Long mirrorHits;
+
+    /**
+     * 实测误判率：误判次数 / (误判次数 + 拦截次数)，即不存在的ID中被放行的比例
+     */
+    private Double observedFpp;
+}
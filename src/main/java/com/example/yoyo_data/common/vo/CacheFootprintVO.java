@@ -0,0 +1,76 @@
+package com.example.yoyo_data.common.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 缓存命名空间内存占用视图对象（采样估算）
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheFootprintVO {
+
+    /**
+     * 缓存命名空间（缓存键前缀），未配置缓存策略的 key 记为 *
+     */
+    private String namespace;
+
+    /**
+     * 缓存策略的过期时间（秒）
+     */
+    private Long policyTtlSeconds;
+
+    /**
+     * 本次遍历到的 key 数
+     */
+    private Long scannedKeys;
+
+    /**
+     * 按遍历比例估算的 key 总数
+     */
+    private Long estimatedKeys;
+
+    /**
+     * 采样的 key 数
+     */
+    private Integer sampledKeys;
+
+    /**
+     * 采样 key 的平均内存占用（字节）
+     */
+    private Long avgBytes;
+
+    /**
+     * 采样 key 的最大内存占用（字节）
+     */
+    private Long maxBytes;
+
+    /**
+     * 估算的内存占用（字节）= 平均内存占用 * 估算 key 总数
+     */
+    private Long estimatedBytes;
+
+    /**
+     * 采样 key 的平均剩余过期时间（秒），只统计设置了过期时间的 key
+     */
+    private Long avgTtlSeconds;
+
+    /**
+     * 采样 key 的最大剩余过期时间（秒），远大于策略过期时间说明有写入未按策略设置过期时间
+     */
+    private Long maxTtlSeconds;
+
+    /**
+     * 采样 key 中未设置过期时间的数量
+     */
+    private Integer noExpireKeys;
+
+    /**
+     * 采样 key 中压缩存储的数量
+     */
+    private Integer compressedKeys;
+}
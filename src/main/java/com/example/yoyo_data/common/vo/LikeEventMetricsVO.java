@@ -0,0 +1,66 @@
+package com.example.yoyo_data.common.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 点赞事件合并消费指标视图对象
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LikeEventMetricsVO {
+
+    /**
+     * 累计消费的点赞事件数（合并前）
+     */
+    private Long eventsConsumed;
+
+    /**
+     * 累计合并后状态有变化的用户-目标数
+     */
+    private Long effectiveChanges;
+
+    /**
+     * 累计下发的排行榜增量数（按目标合并）
+     */
+    private Long leaderboardUpdates;
+
+    /**
+     * 累计发送的点赞通知数（按目标合并）
+     */
+    private Long notificationsSent;
+
+    /**
+     * 累计处理的批次数（时间窗口数）
+     */
+    private Long batches;
+
+    /**
+     * 合并比例：下游操作数 / 消费事件数
+     */
+    private Double collapseRatio;
+
+    /**
+     * 最近统计周期内的事件消费速率（条/秒）
+     */
+    private Double inputRate;
+
+    /**
+     * 最近统计周期内的下游操作速率（条/秒）
+     */
+    private Double outputRate;
+
+    /**
+     * 最近一批的事件数
+     */
+    private Integer lastBatchSize;
+
+    /**
+     * 最近一批的处理耗时（毫秒）
+     */
+    private Long lastBatchMillis;
+}
@@ -0,0 +1,74 @@
+package com.example.yoyo_data.common.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * 演出开票前预热状态视图对象
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PreWarmStatusVO {
+
+    /**
+     * 预热状态：等待预热或预热进行中
+     */
+    public static final String PENDING = "PENDING";
+
+    /**
+     * 预热状态：全部校验通过
+     */
+    public static final String READY = "READY";
+
+    /**
+     * 预热状态：预热或校验失败，下次扫描时重试
+     */
+    public static final String FAILED = "FAILED";
+
+    /**
+     * 演出活动ID
+     */
+    private Long showEventId;
+
+    /**
+     * 演出名称
+     */
+    private String showName;
+
+    /**
+     * 开票时间
+     */
+    private LocalDateTime saleStartTime;
+
+    /**
+     * 预热状态：PENDING / READY / FAILED
+     */
+    private String state;
+
+    /**
+     * 各项校验结果：showDetail、stock、userRecords、seatMap
+     */
+    private Map<String, Boolean> checks;
+
+    /**
+     * 预热次数
+     */
+    private Integer attempts;
+
+    /**
+     * 最近一次校验通过的时间
+     */
+    private LocalDateTime readyAt;
+
+    /**
+     * 失败原因
+     */
+    private String message;
+}
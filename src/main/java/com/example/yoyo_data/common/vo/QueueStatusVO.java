@@ -0,0 +1,76 @@
+package com.example.yoyo_data.common.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 等候室排队状态视图对象
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class QueueStatusVO {
+
+    /**
+     * 排队状态：等待中
+     */
+    public static final String WAITING = "WAITING";
+
+    /**
+     * 排队状态：已放行，可携带入场令牌抢票
+     */
+    public static final String ADMITTED = "ADMITTED";
+
+    /**
+     * 排队状态：放行后未及时领取或入场资格已过期，需要重新排队
+     */
+    public static final String EXPIRED = "EXPIRED";
+
+    /**
+     * 演出活动ID
+     */
+    private Long showEventId;
+
+    /**
+     * 排队状态：WAITING、ADMITTED、EXPIRED
+     */
+    private String state;
+
+    /**
+     * 前方排队人数（上限估计，包含已离开但尚未被放行的用户）
+     */
+    private Long position;
+
+    /**
+     * 预计等待时间（秒），当前没有放行时为 null
+     */
+    private Long etaSeconds;
+
+    /**
+     * 是否已售罄（售罄时仍可继续等待未支付订单释放的座位）
+     */
+    private Boolean soldOut;
+
+    /**
+     * 排队令牌，查询排队状态时携带
+     */
+    private String queueToken;
+
+    /**
+     * 入场令牌，放行后返回，抢票时通过 X-Admission-Token 请求头携带
+     */
+    private String admissionToken;
+
+    /**
+     * 入场令牌过期时间（毫秒时间戳）
+     */
+    private Long admissionExpireAt;
+
+    /**
+     * 建议的轮询间隔（毫秒）
+     */
+    private Long pollInterval;
+}
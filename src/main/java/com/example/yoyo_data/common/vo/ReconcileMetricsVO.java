@@ -0,0 +1,88 @@
+package com.example.yoyo_data.common.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 库存对账进度指标视图对象
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReconcileMetricsVO {
+
+    /**
+     * 当前是否处于高峰时段（只核对库存总数）
+     */
+    private Boolean peak;
+
+    /**
+     * 已执行的对账轮数
+     */
+    private Long rounds;
+
+    /**
+     * 最近一轮开始时间
+     */
+    private LocalDateTime lastRoundAt;
+
+    /**
+     * 最近一轮耗时（毫秒）
+     */
+    private Long lastRoundMillis;
+
+    /**
+     * 累计核对的演出数
+     */
+    private Long showsChecked;
+
+    /**
+     * 累计核对的区域数
+     */
+    private Long zonesChecked;
+
+    /**
+     * 累计校验和不一致的区域数
+     */
+    private Long zonesMismatched;
+
+    /**
+     * 累计修复的座位数
+     */
+    private Long seatsRepaired;
+
+    /**
+     * 累计无法自动修复的座位数（Redis 中的订单在 MySQL 不存在）
+     */
+    private Long seatsUnresolved;
+
+    /**
+     * 累计补写的订单座位关联数
+     */
+    private Long orderSeatsRepaired;
+
+    /**
+     * 累计重算座位计数的演出数
+     */
+    private Long countersRepaired;
+
+    /**
+     * 观察中、尚未确认的座位差异数
+     */
+    private Integer pendingDrifts;
+
+    /**
+     * 当前轮询周期已核对的区域数
+     */
+    private Integer passChecked;
+
+    /**
+     * 当前轮询周期的区域总数
+     */
+    private Integer passTotal;
+}
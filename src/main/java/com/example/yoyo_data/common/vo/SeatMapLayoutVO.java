@@ -0,0 +1,105 @@
+package com.example.yoyo_data.common.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * 座位图布局视图对象
+ * 座位按 区域/排号/座位号 排序，offset 为该排第一个座位在座位状态快照中的下标
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatMapLayoutVO {
+
+    /**
+     * 演出活动ID
+     */
+    private Long showEventId;
+
+    /**
+     * 座位总数
+     */
+    private Integer totalSeats;
+
+    /**
+     * 区域列表
+     */
+    private List<Zone> zones;
+
+    /**
+     * 座位区域
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Zone {
+
+        /**
+         * 座位区域：VIP, A, B, C
+         */
+        private String seatZone;
+
+        /**
+         * 票价
+         */
+        private BigDecimal price;
+
+        /**
+         * 排列表
+         */
+        private List<Row> rows;
+    }
+
+    /**
+     * 座位排
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Row {
+
+        /**
+         * 排号
+         */
+        private Integer seatRow;
+
+        /**
+         * 该排第一个座位在快照中的下标
+         */
+        private Integer offset;
+
+        /**
+         * 该排座位数
+         */
+        private Integer count;
+
+        /**
+         * 第一个座位号
+         */
+        private Integer firstSeatNumber;
+
+        /**
+         * 第一个座位ID
+         */
+        private Long firstSeatId;
+
+        /**
+         * 座位号列表（座位号不连续时才返回）
+         */
+        private List<Integer> seatNumbers;
+
+        /**
+         * 座位ID列表（座位ID不连续时才返回）
+         */
+        private List<Long> seatIds;
+    }
+}
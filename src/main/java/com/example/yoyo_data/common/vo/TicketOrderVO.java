@@ -65,6 +65,11 @@ public class TicketOrderVO {
      */
     private String status;
 
+    /**
+     * 是否已写入数据库（抢票成功后订单异步落库，落库前为 false）
+     */
+    private Boolean persisted;
+
     /**
      * 支付方式：ALIPAY, WECHAT, CARD
      */
@@ -97,6 +102,11 @@ public class TicketOrderVO {
      */
     private List<SeatVO> seats;
 
+    /**
+     * 冲突的座位ID（抢票因座位已被抢占失败时返回，客户端据此重新选座）
+     */
+    private List<Long> conflictSeatIds;
+
     /**
      * 创建时间
      */
@@ -0,0 +1,81 @@
+package com.example.yoyo_data.common.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 二级缓存命名空间指标视图对象
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TieredCacheMetricsVO {
+
+    /**
+     * 缓存命名空间（缓存键前缀）
+     */
+    private String namespace;
+
+    /**
+     * 本地缓存当前条数
+     */
+    private Long size;
+
+    /**
+     * 本地缓存条数上限
+     */
+    private Long maximumSize;
+
+    /**
+     * 本地缓存写入后过期时间（秒）
+     */
+    private Long expireSeconds;
+
+    /**
+     * 本地缓存命中次数
+     */
+    private Long localHits;
+
+    /**
+     * 本地缓存未命中次数
+     */
+    private Long localMisses;
+
+    /**
+     * 本地未命中后 Redis 命中次数
+     */
+    private Long redisHits;
+
+    /**
+     * 本地和 Redis 均未命中次数（需回源）
+     */
+    private Long redisMisses;
+
+    /**
+     * 本地缓存命中率
+     */
+    private Double localHitRate;
+
+    /**
+     * 两级合计命中率
+     */
+    private Double overallHitRate;
+
+    /**
+     * 本地缓存因容量或过期被淘汰的条数
+     */
+    private Long evictions;
+
+    /**
+     * 本节点发出的失效广播数
+     */
+    private Long invalidationsSent;
+
+    /**
+     * 收到其他节点的失效广播数
+     */
+    private Long invalidationsReceived;
+}
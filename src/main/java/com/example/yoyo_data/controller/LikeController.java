@@ -3,6 +3,7 @@ package com.example.yoyo_data.controller;
 import com.example.yoyo_data.common.Result;
 import com.example.yoyo_data.common.vo.LikeToggleVO;
 import com.example.yoyo_data.common.vo.LikeListVO;
+import com.example.yoyo_data.common.dto.LikeStatusBatchDTO;
 import com.example.yoyo_data.common.dto.LikeToggleDTO;
 import com.example.yoyo_data.common.vo.LikeTopVO;
 import com.example.yoyo_data.service.LikeService;
@@ -15,7 +16,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
 import javax.servlet.http.HttpServletRequest;
+import javax.validation.Valid;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 点赞模块控制器
@@ -80,6 +83,31 @@ public class LikeController {
         return likeService.getLikeStatus(userId, targetId, targetType);
     }
 
+    /**
+     * 批量获取点赞状态
+     */
+    @PostMapping("/status/batch")
+    @ApiOperation(value = "批量获取点赞状态", notes = "一次获取用户对信息流一页帖子或评论的点赞状态，返回目标ID到是否已点赞的映射")
+    public Result<Map<Long, Boolean>> getLikeStatusBatch(@Valid @RequestBody LikeStatusBatchDTO likeStatusBatchDTO,
+            HttpServletRequest request
+    ) {
+        log.info("批量获取点赞状态: targetType={}, size={}", likeStatusBatchDTO.getTargetType(),
+                likeStatusBatchDTO.getTargetIds().size());
+
+        // 从请求头获取token
+        String token = request.getHeader("Authorization");
+        if (token != null && token.startsWith("Bearer ")) {
+            token = token.substring(7);
+        }
+
+        if (token == null || !jwtUtils.validateToken(token)) {
+            return Result.unauthorized("未登录或token已过期");
+        }
+
+        Long userId = jwtUtils.getUserIdFromToken(token);
+        return likeService.getLikeStatusBatch(userId, likeStatusBatchDTO.getTargetIds(), likeStatusBatchDTO.getTargetType());
+    }
+
     /**
      * 获取点赞列表（公开接口）
      */
@@ -100,8 +128,10 @@ public class LikeController {
     @GetMapping("/rank")
     @ApiOperation(value = "获取点赞数排行榜的评论", notes = "获取点赞数排行榜的评论")
     public Result<List<LikeTopVO>> getLikeRank(@ApiParam(value = "top10", required = false, defaultValue = "10")
-                                             @RequestParam(value = "top", defaultValue = "10")Integer top) {
-        log.info("获取点赞数排行榜的评论: top={}", top);
-        return likeService.getLikeRank(top);
+                                             @RequestParam(value = "top", defaultValue = "10")Integer top,
+                                             @ApiParam(value = "时间窗口（daily/weekly/all）", required = false, defaultValue = "all")
+                                             @RequestParam(value = "window", defaultValue = "all") String window) {
+        log.info("获取点赞数排行榜的评论: top={}, window={}", top, window);
+        return likeService.getLikeRank(top, window);
     }
 }
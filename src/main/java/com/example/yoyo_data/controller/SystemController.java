@@ -62,4 +62,40 @@ public class SystemController {
         log.info("重启系统服务: serviceName={}", serviceName);
         return systemService.restartSystemService(serviceName);
     }
+
+    /**
+     * 获取ID布隆过滤器指标
+     */
+    @GetMapping("/bloom-filters")
+    @ApiOperation(value = "获取布隆过滤器指标", notes = "演出、座位、帖子ID布隆过滤器的拦截次数和误判率")
+    public Result<?> getBloomFilterMetrics() {
+        return systemService.getBloomFilterMetrics();
+    }
+
+    /**
+     * 获取点赞事件合并消费指标
+     */
+    @GetMapping("/like-events")
+    @ApiOperation(value = "获取点赞事件消费指标", notes = "点赞事件合并前后的吞吐量和合并比例")
+    public Result<?> getLikeEventMetrics() {
+        return systemService.getLikeEventMetrics();
+    }
+
+    /**
+     * 获取二级缓存指标
+     */
+    @GetMapping("/tiered-cache")
+    @ApiOperation(value = "获取二级缓存指标", notes = "各缓存命名空间的本地命中率、Redis 命中率、淘汰数和失效广播数")
+    public Result<?> getTieredCacheMetrics() {
+        return systemService.getTieredCacheMetrics();
+    }
+
+    /**
+     * 获取缓存内存占用
+     */
+    @GetMapping("/cache-footprint")
+    @ApiOperation(value = "获取缓存内存占用", notes = "按缓存命名空间采样 key 的内存占用和剩余过期时间，估算各命名空间的 Redis 内存占用")
+    public Result<?> getCacheFootprint() {
+        return systemService.getCacheFootprint();
+    }
 }
@@ -0,0 +1,250 @@
+package com.example.yoyo_data.controller;
+
+import com.example.yoyo_data.common.Result;
+import com.example.yoyo_data.common.dto.GrabTicketDTO;
+import com.example.yoyo_data.common.dto.PayOrderDTO;
+import com.example.yoyo_data.common.vo.PreWarmStatusVO;
+import com.example.yoyo_data.common.vo.QueueStatusVO;
+import com.example.yoyo_data.common.vo.ReconcileMetricsVO;
+import com.example.yoyo_data.common.vo.SeatMapLayoutVO;
+import com.example.yoyo_data.common.vo.ShowEventVO;
+import com.example.yoyo_data.common.vo.TicketOrderVO;
+import com.example.yoyo_data.infrastructure.ticket.seatmap.SeatMapSnapshot;
+import com.example.yoyo_data.interceptor.AdmissionTokenInterceptor;
+import com.example.yoyo_data.service.TicketService;
+import com.example.yoyo_data.util.jwt.JwtUtils;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.validation.Valid;
+import java.util.List;
+
+/**
+ * 抢票模块控制器
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/tickets")
+@Api(tags = "抢票模块", description = "库存预热、抢票、订单支付等操作")
+public class TicketController {
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    /**
+     * 预热演出座位库存
+     */
+    @PostMapping("/warm-up/{showEventId}")
+    @ApiOperation(value = "预热演出库存", notes = "将演出座位状态和库存加载到Redis")
+    public Result<ShowEventVO> warmUpShowEvent(
+            @ApiParam(value = "演出活动ID", required = true) @PathVariable("showEventId") Long showEventId
+    ) {
+        log.info("预热演出库存: showEventId={}", showEventId);
+        return ticketService.warmUpShowEvent(showEventId);
+    }
+
+    /**
+     * 抢票
+     */
+    @PostMapping("/grab")
+    @ApiOperation(value = "抢票", notes = "选座抢票，Redis原子锁座后返回待支付订单；不传座位时按 seatZone、seatCount 自动分配最靠近中心的相邻座位；开启等候室时需携带 X-Admission-Token 入场令牌")
+    public Result<TicketOrderVO> grabTicket(@Valid @RequestBody GrabTicketDTO grabTicketDTO,
+                                            HttpServletRequest request) {
+        Long userId = getUserId(request);
+        if (userId == null) {
+            return Result.unauthorized("未登录或token已过期");
+        }
+        Object admittedShowEventId = request.getAttribute(AdmissionTokenInterceptor.ADMITTED_SHOW_ATTRIBUTE);
+        if (admittedShowEventId != null && !admittedShowEventId.equals(grabTicketDTO.getShowEventId())) {
+            return Result.forbidden("入场令牌与演出不匹配");
+        }
+        log.info("抢票: userId={}, showEventId={}, seatIds={}, seatZone={}, seatCount={}", userId, grabTicketDTO.getShowEventId(),
+                grabTicketDTO.getSeatIds(), grabTicketDTO.getSeatZone(), grabTicketDTO.getSeatCount());
+        return ticketService.grabTicket(userId, grabTicketDTO);
+    }
+
+    /**
+     * 查询订单状态
+     */
+    @GetMapping("/orders/{orderId}")
+    @ApiOperation(value = "查询订单状态", notes = "抢票后轮询订单状态，persisted 为 true 表示订单已落库")
+    public Result<TicketOrderVO> getOrderStatus(
+            @ApiParam(value = "订单ID", required = true) @PathVariable("orderId") Long orderId,
+            HttpServletRequest request
+    ) {
+        Long userId = getUserId(request);
+        if (userId == null) {
+            return Result.unauthorized("未登录或token已过期");
+        }
+        return ticketService.getOrderStatus(userId, orderId);
+    }
+
+    /**
+     * 支付订单
+     */
+    @PostMapping("/pay")
+    @ApiOperation(value = "支付订单", notes = "确认支付，锁定座位转为已售")
+    public Result<TicketOrderVO> payOrder(@Valid @RequestBody PayOrderDTO payOrderDTO,
+                                          HttpServletRequest request) {
+        Long userId = getUserId(request);
+        if (userId == null) {
+            return Result.unauthorized("未登录或token已过期");
+        }
+        log.info("支付订单: userId={}, orderId={}, payType={}", userId, payOrderDTO.getOrderId(), payOrderDTO.getPayType());
+        return ticketService.payOrder(userId, payOrderDTO);
+    }
+
+    /**
+     * 取消订单
+     */
+    @PostMapping("/orders/{orderId}/cancel")
+    @ApiOperation(value = "取消订单", notes = "取消待支付订单并释放座位")
+    public Result<TicketOrderVO> cancelOrder(
+            @ApiParam(value = "订单ID", required = true) @PathVariable("orderId") Long orderId,
+            HttpServletRequest request
+    ) {
+        Long userId = getUserId(request);
+        if (userId == null) {
+            return Result.unauthorized("未登录或token已过期");
+        }
+        log.info("取消订单: userId={}, orderId={}", userId, orderId);
+        return ticketService.cancelOrder(userId, orderId);
+    }
+
+    /**
+     * 进入等候室排队
+     */
+    @PostMapping("/shows/{showEventId}/queue")
+    @ApiOperation(value = "进入等候室", notes = "开票高峰期先排队，返回排队令牌和当前排队位置，重复调用保持原有位置")
+    public Result<QueueStatusVO> joinQueue(
+            @ApiParam(value = "演出活动ID", required = true) @PathVariable("showEventId") Long showEventId,
+            HttpServletRequest request
+    ) {
+        Long userId = getUserId(request);
+        if (userId == null) {
+            return Result.unauthorized("未登录或token已过期");
+        }
+        return ticketService.joinQueue(userId, showEventId);
+    }
+
+    /**
+     * 查询排队状态
+     */
+    @GetMapping("/shows/{showEventId}/queue")
+    @ApiOperation(value = "查询排队状态", notes = "按 pollInterval 轮询，state 为 ADMITTED 时返回入场令牌")
+    public Result<QueueStatusVO> getQueueStatus(
+            @ApiParam(value = "演出活动ID", required = true) @PathVariable("showEventId") Long showEventId,
+            @RequestHeader("X-Queue-Token") String queueToken,
+            HttpServletRequest request
+    ) {
+        Long userId = getUserId(request);
+        if (userId == null) {
+            return Result.unauthorized("未登录或token已过期");
+        }
+        return ticketService.getQueueStatus(userId, showEventId, queueToken);
+    }
+
+    /**
+     * 订阅排队状态推送
+     * EventSource 无法设置请求头，排队令牌通过查询参数传递
+     */
+    @GetMapping(value = "/shows/{showEventId}/queue/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ApiOperation(value = "订阅排队状态", notes = "SSE 推送 queue-status 事件，轮到用户或资格过期后结束")
+    public ResponseEntity<SseEmitter> subscribeQueueStatus(
+            @ApiParam(value = "演出活动ID", required = true) @PathVariable("showEventId") Long showEventId,
+            @ApiParam(value = "排队令牌", required = true) @RequestParam("queueToken") String queueToken,
+            HttpServletRequest request
+    ) {
+        Long userId = getUserId(request);
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        SseEmitter emitter = ticketService.subscribeQueueStatus(userId, showEventId, queueToken);
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(emitter);
+    }
+
+    /**
+     * 获取开票前预热状态
+     */
+    @GetMapping("/pre-warm/status")
+    @ApiOperation(value = "开票前预热状态", notes = "即将开票演出在本节点的预热就绪状态及各项校验结果：演出详情、库存、用户已购数、座位图")
+    public Result<List<PreWarmStatusVO>> getPreWarmStatuses() {
+        return ticketService.getPreWarmStatuses();
+    }
+
+    /**
+     * 获取库存对账进度
+     */
+    @GetMapping("/reconcile/metrics")
+    @ApiOperation(value = "库存对账进度", notes = "Redis 与 MySQL 座位库存对账的累计核对、差异、修复数量和当前轮询进度")
+    public Result<ReconcileMetricsVO> getReconcileMetrics() {
+        return ticketService.getReconcileMetrics();
+    }
+
+    /**
+     * 获取座位布局
+     */
+    @GetMapping("/shows/{showEventId}/seat-layout")
+    @ApiOperation(value = "获取座位布局", notes = "区域/排/座位号与座位图快照下标的对应关系，开票期间不变，客户端可长期缓存")
+    public Result<SeatMapLayoutVO> getSeatLayout(
+            @ApiParam(value = "演出活动ID", required = true) @PathVariable("showEventId") Long showEventId
+    ) {
+        return ticketService.getSeatLayout(showEventId);
+    }
+
+    /**
+     * 获取座位图快照
+     * 返回 RLE 编码的二进制座位状态，支持 If-None-Match 协商缓存，未变化时返回 304
+     */
+    @GetMapping(value = "/shows/{showEventId}/seat-map", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @ApiOperation(value = "获取座位图", notes = "RLE编码：每段为varint((runLength << 2) | state)，state 0-可售 1-已锁定 2-已售出")
+    public ResponseEntity<byte[]> getSeatMap(
+            @ApiParam(value = "演出活动ID", required = true) @PathVariable("showEventId") Long showEventId,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch
+    ) {
+        Result<SeatMapSnapshot> result = ticketService.getSeatMap(showEventId);
+        SeatMapSnapshot snapshot = result.getData();
+        if (snapshot == null) {
+            return ResponseEntity.status(result.getCode()).build();
+        }
+        if (snapshot.getEtag().equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(snapshot.getEtag()).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(snapshot.getEtag())
+                .cacheControl(CacheControl.noCache())
+                .header("X-Total-Seats", String.valueOf(snapshot.getTotalSeats()))
+                .header("X-Available-Seats", String.valueOf(snapshot.getAvailableSeats()))
+                .body(snapshot.getData());
+    }
+
+    /**
+     * 从请求头解析用户ID
+     */
+    private Long getUserId(HttpServletRequest request) {
+        String token = request.getHeader("Authorization");
+        if (token != null && token.startsWith("Bearer ")) {
+            token = token.substring(7);
+        }
+        if (token == null || !jwtUtils.validateToken(token)) {
+            return null;
+        }
+        return jwtUtils.getUserIdFromToken(token);
+    }
+}
@@ -13,6 +13,10 @@ public class CacheKeyManager {
      * 用户相关缓存键前缀
      */
     public static final String USER_PREFIX = "user:";
+    /**
+     * 用户信息卡片缓存键前缀（列表展示用的用户名、昵称、头像、简介）
+     */
+    public static final String USER_CARD_PREFIX = "user:card:";
     /**
      * 验证码缓存键前缀
      */
@@ -98,6 +102,26 @@ public class CacheKeyManager {
      * 点赞数量缓存键前缀
      */
     public static final String LIKE_COUNT_PREFIX = "like:count:";
+    /**
+     * 点赞数增量流（待回写 MySQL）
+     */
+    public static final String LIKE_COUNT_STREAM = "like:stream:count";
+    /**
+     * 点赞数增量回写消费组
+     */
+    public static final String LIKE_COUNT_GROUP = "like-count-flusher";
+    /**
+     * 点赞用户集合前缀
+     */
+    public static final String LIKE_MEMBERS_PREFIX = "like:members:";
+    /**
+     * 点赞记录流（待落库 MySQL）
+     */
+    public static final String LIKE_RECORD_STREAM = "like:stream:record";
+    /**
+     * 点赞记录落库消费组
+     */
+    public static final String LIKE_RECORD_GROUP = "like-record-flusher";
 
     /**
      * 对话缓存键前缀
@@ -116,9 +140,35 @@ public class CacheKeyManager {
      */
     public static final String POST_DETAIL_PREFIX = "post:detail:";
     /**
-     * 帖子列表前缀
+     * 帖子列表前缀（缓存命名空间）
      */
-    public static final String POST_LIST_PREFIX = "post:list::";
+    public static final String POST_LIST_PREFIX = "post:list";
+    /**
+     * 评论列表缓存键前缀
+     */
+    public static final String COMMENT_LIST_PREFIX = "comment:list:";
+    /**
+     * 旅行计划详情缓存键前缀
+     */
+    public static final String TRAVEL_PLAN_CACHE_PREFIX = "travel_plan:";
+    /**
+     * 旅行计划列表缓存键前缀
+     */
+    public static final String TRAVEL_PLAN_LIST_PREFIX = "travel_plan:list:";
+    /**
+     * 缓存命名空间代数键前缀：cache:gen:{namespace}
+     * 命名空间内的缓存键随代数变化，旧代数的键按各自的过期时间淘汰；
+     * 代数键在每次加一时刷新过期时间（长于命名空间内缓存的最长过期时间），过期后重新创建时以当前时间为起点
+     */
+    public static final String CACHE_GENERATION_PREFIX = "cache:gen:";
+    /**
+     * 缓存回源互斥锁前缀：cache:lock:{缓存键}
+     */
+    public static final String CACHE_LOCK_PREFIX = "cache:lock:";
+    /**
+     * ID布隆过滤器位图前缀
+     */
+    public static final String BLOOM_FILTER_PREFIX = "bloom:";
 
 
     /**
@@ -174,6 +224,102 @@ public class CacheKeyManager {
         public static final long THIRTY_DAYS = 30 * 24 * 60 * 60;
     }
 
+    /**
+     * 按代数失效的缓存命名空间前缀（后面接所属对象的ID）
+     */
+    private static final String[] GENERATION_NAMESPACE_PREFIXES = {
+            COMMENT_LIST_PREFIX, LIKE_LIST_PREFIX, DIALOG_LIST_CACHE_PREFIX, TRAVEL_PLAN_LIST_PREFIX
+    };
+
+    /**
+     * 是否为按代数失效的缓存命名空间：post:list，或 comment:list:、like:list:、dialog:list:、travel_plan:list: 加所属对象ID
+     *
+     * @param namespace 缓存命名空间
+     * @return 是否按代数失效
+     */
+    public static boolean isGenerationNamespace(String namespace) {
+        if (POST_LIST_PREFIX.equals(namespace)) {
+            return true;
+        }
+        for (String prefix : GENERATION_NAMESPACE_PREFIXES) {
+            if (namespace.startsWith(prefix) && namespace.length() > prefix.length()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 生成命名空间代数键
+     *
+     * @param namespace 缓存命名空间
+     * @return 代数键
+     */
+    public static String getGenerationKey(String namespace) {
+        return CACHE_GENERATION_PREFIX + namespace;
+    }
+
+    /**
+     * 生成带代数的缓存键：{namespace}:g{generation}:{suffix}
+     *
+     * @param namespace 缓存命名空间
+     * @param generation 命名空间当前代数
+     * @param suffix 命名空间内的键
+     * @return 缓存键
+     */
+    public static String getVersionedKey(String namespace, long generation, String suffix) {
+        return namespace + ":g" + generation + ":" + suffix;
+    }
+
+    /**
+     * 生成命名空间内的缓存键：{namespace}{id}
+     *
+     * @param namespace 缓存命名空间（缓存键前缀）
+     * @param id 命名空间内的标识
+     * @return 缓存键
+     */
+    public static String getNamespacedKey(String namespace, Object id) {
+        return namespace + id;
+    }
+
+    /**
+     * 生成缓存回源互斥锁键
+     *
+     * @param cacheKey 缓存键
+     * @return 互斥锁键
+     */
+    public static String getCacheLockKey(String cacheKey) {
+        return CACHE_LOCK_PREFIX + cacheKey;
+    }
+
+    /**
+     * 点赞列表缓存命名空间（某个目标的全部分页）
+     */
+    public static String likeListNamespace(String targetType, Long targetId) {
+        return LIKE_LIST_PREFIX + targetType + ":" + targetId;
+    }
+
+    /**
+     * 评论列表缓存命名空间（某个帖子的全部分页和排序）
+     */
+    public static String commentListNamespace(Long postId) {
+        return COMMENT_LIST_PREFIX + postId;
+    }
+
+    /**
+     * 会话列表缓存命名空间（某个用户的全部分页和筛选）
+     */
+    public static String dialogListNamespace(Long userId) {
+        return DIALOG_LIST_CACHE_PREFIX + userId;
+    }
+
+    /**
+     * 旅行计划列表缓存命名空间（某个用户的全部分页）
+     */
+    public static String travelPlanListNamespace(Long userId) {
+        return TRAVEL_PLAN_LIST_PREFIX + userId;
+    }
+
     /**
      * 生成用户信息缓存键
      *
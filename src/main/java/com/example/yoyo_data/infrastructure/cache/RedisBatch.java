@@ -0,0 +1,154 @@
+package com.example.yoyo_data.infrastructure.cache;
+
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <p>
+ * Redis 管道批量命令 - 在 {@link RedisService#pipeline} 的回调中使用，
+ * 所有命令在同一连接上排队发送，回调结束后一次性读回结果，按调用顺序返回
+ * </p>
+ * <p>
+ * 字符串命令与 stringXxx 系列方法的序列化方式一致；{@link #zAdd} 的成员和 {@link #streamAdd} 的字段值
+ * 与 objectXxx / streamXxx 系列方法一致（JSON 序列化），写入的数据可以被原有读取方法正常读取。
+ * 管道中的命令不具备事务语义，只减少网络往返
+ * </p>
+ *
+ * @author Template Framework
+ * @version 1.0
+ */
+public class RedisBatch {
+
+    private final StringRedisConnection connection;
+
+    private final RedisSerializer<Object> objectSerializer;
+
+    private final RedisSerializer<Object> hashValueSerializer;
+
+    private final String appName;
+
+    private int size;
+
+    RedisBatch(StringRedisConnection connection, RedisSerializer<Object> objectSerializer,
+               RedisSerializer<Object> hashValueSerializer, String appName) {
+        this.connection = connection;
+        this.objectSerializer = objectSerializer;
+        this.hashValueSerializer = hashValueSerializer;
+        this.appName = appName;
+    }
+
+    /**
+     * 查询字符串值，结果为 String，不存在时为 null
+     */
+    public RedisBatch get(String key) {
+        connection.get(key);
+        size++;
+        return this;
+    }
+
+    /**
+     * 设置字符串值，expireSeconds 大于 0 时同时设置过期时间（秒），结果为 Boolean
+     */
+    public RedisBatch set(String key, String value, long expireSeconds) {
+        if (expireSeconds > 0) {
+            connection.setEx(key, expireSeconds, value);
+        } else {
+            connection.set(key, value);
+        }
+        size++;
+        return this;
+    }
+
+    /**
+     * 数值增加 delta，结果为增加后的 Long
+     */
+    public RedisBatch incrBy(String key, long delta) {
+        connection.incrBy(key, delta);
+        size++;
+        return this;
+    }
+
+    /**
+     * 查询字符串哈希表中的域，结果为 String，不存在时为 null
+     */
+    public RedisBatch hashGet(String key, String hashKey) {
+        connection.hGet(key, hashKey);
+        size++;
+        return this;
+    }
+
+    /**
+     * 删除 key，结果为实际删除数量 Long
+     */
+    public RedisBatch delete(String... keys) {
+        connection.del(keys);
+        size++;
+        return this;
+    }
+
+    /**
+     * 删除 key，结果为实际删除数量 Long
+     */
+    public RedisBatch delete(Collection<String> keys) {
+        return delete(keys.toArray(new String[0]));
+    }
+
+    /**
+     * 设置过期时间（秒），结果为 Boolean
+     */
+    public RedisBatch expire(String key, long seconds) {
+        connection.expire(key, seconds);
+        size++;
+        return this;
+    }
+
+    /**
+     * 向有序集合添加成员，成员按对象方式 JSON 序列化，结果为 Boolean
+     */
+    public RedisBatch zAdd(String key, Object member, double score) {
+        connection.zAdd(bytes(key), score, objectSerializer.serialize(member));
+        size++;
+        return this;
+    }
+
+    /**
+     * 向 Stream 添加消息，与 {@link RedisService#streamAdd} 一样在 key 前加上应用名前缀，结果为消息ID
+     */
+    public RedisBatch streamAdd(String streamKey, Map<String, Object> values) {
+        Map<byte[], byte[]> raw = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            raw.put(bytes(entry.getKey()), hashValueSerializer.serialize(entry.getValue()));
+        }
+        connection.xAdd(StreamRecords.rawBytes(raw).withStreamKey(bytes(streamKey(streamKey))));
+        size++;
+        return this;
+    }
+
+    /**
+     * 删除 Stream（应用名前缀与 {@link #streamAdd} 一致），结果为实际删除数量 Long
+     */
+    public RedisBatch streamClear(String streamKey) {
+        return delete(streamKey(streamKey));
+    }
+
+    /**
+     * 已排队的命令数
+     */
+    public int size() {
+        return size;
+    }
+
+    private String streamKey(String streamKey) {
+        return appName + ":" + streamKey;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -1,7 +1,12 @@
 package com.example.yoyo_data.infrastructure.cache;
 
+import org.springframework.data.redis.core.Cursor;
+
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
 
 /**
  * <p>
@@ -385,9 +390,9 @@ public interface RedisService {
      * 设置键的字符串值
      * </p>
      *
-     * @param key                标识
-     * @param value              值
-     * @param expireSeconds 过期时间(毫秒)
+     * @param key           标识
+     * @param value         值
+     * @param expireSeconds 过期时间(秒)，不大于 0 时不设置过期时间
      */
     void stringSetString(String key, String value, Long expireSeconds);
 
@@ -532,7 +537,7 @@ public interface RedisService {
 
     /**
      * <p>
-     * 查找匹配key
+     * 查找匹配key（SCAN 游标遍历，不阻塞 Redis；结果全部加载到内存，大量 key 请使用 {@link #scanKeys}）
      * </p>
      *
      * @param pattern a {@link String} object.
@@ -542,7 +547,41 @@ public interface RedisService {
 
     /**
      * <p>
-     * 返回所有key的数量
+     * 按模式流式遍历key（SCAN 游标，每批最多返回 batch 个），使用完毕需关闭游标
+     * </p>
+     *
+     * @param pattern 匹配模式，如 comment:list:*
+     * @param batch   每次 SCAN 的 COUNT
+     * @return key 游标
+     */
+    Cursor<String> scanKeys(String pattern, int batch);
+
+    /**
+     * <p>
+     * 按模式删除key：SCAN 遍历，每 batch 个 key 管道执行一批 UNLINK（后台释放内存）
+     * </p>
+     *
+     * @param pattern 匹配模式
+     * @param batch   每批删除的 key 数
+     * @return 删除的 key 数
+     */
+    long deleteByPattern(String pattern, int batch);
+
+    /**
+     * <p>
+     * 按模式删除key，每删除一批回调一次进度
+     * </p>
+     *
+     * @param pattern    匹配模式
+     * @param batch      每批删除的 key 数
+     * @param onProgress 进度回调，参数为已删除的 key 数
+     * @return 删除的 key 数
+     */
+    long deleteByPattern(String pattern, int batch, LongConsumer onProgress);
+
+    /**
+     * <p>
+     * 返回所有key的数量（DBSIZE）
      * </p>
      */
      Long dbSize();
@@ -569,7 +608,7 @@ public interface RedisService {
 
     /**
      * <p>
-     * 批量删除key前缀
+     * 批量删除key前缀（SCAN + UNLINK）
      * </p>
      *
      * @param prefix 前缀
@@ -577,6 +616,123 @@ public interface RedisService {
      */
     boolean delByKeyPrefix(String prefix);
 
+    /**
+     * <p>
+     * 生成命名空间内的缓存键（键中带命名空间当前代数）
+     * </p>
+     *
+     * @param namespace 缓存命名空间
+     * @param suffix    命名空间内的键
+     * @return 缓存键
+     */
+    String namespaceKey(String namespace, String suffix);
+
+    /**
+     * <p>
+     * 使命名空间内的全部缓存失效：代数加一，旧键不再被读取，按过期时间淘汰；
+     * 同时刷新代数键的过期时间（命名空间缓存最长过期时间的两倍），长期不失效的命名空间不会留下代数键
+     * </p>
+     *
+     * @param namespace 缓存命名空间
+     * @return 新的代数
+     */
+    Long invalidateNamespace(String namespace);
+
+    /**
+     * <p>
+     * 按缓存策略写入：过期时间取键所属命名空间的策略（加随机抖动），超过压缩阈值时压缩，
+     * 超过值大小上限时不写入并删除旧值
+     * </p>
+     *
+     * @param key   缓存键
+     * @param value 值
+     * @return 是否写入
+     */
+    boolean cacheSet(String key, String value);
+
+    /**
+     * <p>
+     * 按缓存策略写入，使用指定的过期时间（如空值标记），压缩和大小上限仍按策略
+     * </p>
+     *
+     * @param key   缓存键
+     * @param value 值
+     * @param ttl   过期时间
+     * @return 是否写入
+     */
+    boolean cacheSet(String key, String value, Duration ttl);
+
+    /**
+     * <p>
+     * 读取按缓存策略写入的值，压缩的值自动解压
+     * </p>
+     *
+     * @param key 缓存键
+     * @return 值，不存在时返回 null
+     */
+    String cacheGet(String key);
+
+    /**
+     * <p>
+     * 批量查询字符串值（一次 MGET）
+     * </p>
+     *
+     * @param keys 标识
+     * @return 与 keys 顺序一致的值，不存在的 key 对应 null
+     */
+    List<String> multiGet(List<String> keys);
+
+    /**
+     * <p>
+     * 批量设置字符串值并设置相同的过期时间（管道执行 SETEX，一次往返）
+     * </p>
+     *
+     * @param values        key -> 值
+     * @param expireSeconds 过期时间（秒），不大于 0 时不设置过期时间
+     */
+    void multiSetWithTtl(Map<String, String> values, long expireSeconds);
+
+    /**
+     * <p>
+     * 批量删除（一次 DEL）
+     * </p>
+     *
+     * @param keys 标识
+     * @return 实际删除的 key 数
+     */
+    Long multiDelete(Collection<String> keys);
+
+    /**
+     * <p>
+     * 批量查询多个字符串哈希表中的同一个域（管道执行 HGET，一次往返）
+     * </p>
+     *
+     * @param keys    哈希表标识
+     * @param hashKey 哈希标识
+     * @return 与 keys 顺序一致的值，不存在时对应 null
+     */
+    List<String> multiHashGet(List<String> keys, String hashKey);
+
+    /**
+     * <p>
+     * 批量数值增加（管道执行 INCRBY，一次往返）
+     * </p>
+     *
+     * @param deltas key -> 增量
+     * @return key -> 增加后的值
+     */
+    Map<String, Long> multiIncr(Map<String, Long> deltas);
+
+    /**
+     * <p>
+     * 在同一连接上以管道方式执行一组命令，一次往返返回全部结果
+     * </p>
+     *
+     * @param commands 向 {@link RedisBatch} 中排队命令的回调
+     * @return 与命令顺序一致的结果
+     */
+    List<Object> pipeline(Consumer<RedisBatch> commands);
+
     /**
      * 转换发送
      * @param channel 通道
@@ -597,6 +753,25 @@ public interface RedisService {
 
     Boolean setIfAbsent(String key, String value, long timeout, TimeUnit unit);
 
+    /**
+     * 获取分布式锁，锁的值为本次获取生成的随机令牌
+     *
+     * @param key 锁
+     * @param timeout 锁过期时间
+     * @param unit 时间单位
+     * @return 获取成功时返回令牌，锁已被占用时返回 null
+     */
+    String tryLock(String key, long timeout, TimeUnit unit);
+
+    /**
+     * 释放分布式锁：令牌一致时才删除（Lua 比较并删除），锁已过期并被其他持有者获取时不删除
+     *
+     * @param key 锁
+     * @param token {@link #tryLock} 返回的令牌
+     * @return 是否释放了自己持有的锁
+     */
+    boolean unlock(String key, String token);
+
     /**
      * <p>
      * 向Stream中添加消息
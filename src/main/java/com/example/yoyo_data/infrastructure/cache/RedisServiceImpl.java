@@ -6,23 +6,41 @@ import cn.hutool.core.map.MapUtil;
 import cn.hutool.core.util.ObjectUtil;
 import cn.hutool.core.util.StrUtil;
 import cn.hutool.json.JSONUtil;
+import com.example.yoyo_data.infrastructure.cache.policy.CachePolicy;
+import com.example.yoyo_data.infrastructure.cache.policy.CachePolicyRegistry;
+import com.example.yoyo_data.infrastructure.cache.policy.CacheValueCodec;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.data.redis.connection.stream.Consumer;
 import org.springframework.data.redis.connection.stream.MapRecord;
 import org.springframework.data.redis.connection.stream.ReadOffset;
 import org.springframework.data.redis.connection.stream.RecordId;
 import org.springframework.data.redis.connection.stream.StreamOffset;
 import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.connection.RedisServerCommands;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.ConvertingCursor;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.scripting.support.ResourceScriptSource;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
 import java.util.stream.Collectors;
 
 /**
@@ -41,9 +59,36 @@ public class RedisServiceImpl implements RedisService {
     private RedisTemplate redisTemplate;
     @Autowired
     private StringRedisTemplate stringRedisTemplate;
+    @Autowired
+    private CachePolicyRegistry cachePolicyRegistry;
     @Value("${spring.application.name}")
     private String appName;
 
+    /**
+     * 默认每次 SCAN / UNLINK 的 key 数
+     */
+    private static final int DEFAULT_SCAN_BATCH = 1000;
+
+    /**
+     * 按模式删除时每删除多少批输出一次进度日志
+     */
+    private static final int PROGRESS_LOG_CHUNKS = 10;
+
+    private DefaultRedisScript<Long> lockReleaseScript;
+
+    private DefaultRedisScript<Long> generationIncrScript;
+
+    @PostConstruct
+    public void init() {
+        lockReleaseScript = new DefaultRedisScript<>();
+        lockReleaseScript.setScriptSource(new ResourceScriptSource(new ClassPathResource("lua/lock_release.lua")));
+        lockReleaseScript.setResultType(Long.class);
+
+        generationIncrScript = new DefaultRedisScript<>();
+        generationIncrScript.setScriptSource(new ResourceScriptSource(new ClassPathResource("lua/cache_generation_incr.lua")));
+        generationIncrScript.setResultType(Long.class);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -491,18 +536,86 @@ public class RedisServiceImpl implements RedisService {
      */
     @Override
     public Set<String> keys(String pattern) {
-        Set<String> keyList = redisTemplate.keys(pattern + "*");
+        Set<String> keyList = new HashSet<>();
+        try (Cursor<String> cursor = scanKeys(pattern + "*", DEFAULT_SCAN_BATCH)) {
+            cursor.forEachRemaining(keyList::add);
+        } catch (IOException e) {
+            log.warn("关闭SCAN游标失败: pattern={}", pattern, e);
+        }
         String keyPrefix = new StringBuffer(appName).append(":").toString();
         return keyList.stream().map(s -> StrUtil.removePrefix(s, keyPrefix)).collect(Collectors.toSet());
     }
 
     /**
-     * @return
+     * {@inheritDoc}
+     */
+    @Override
+    public Cursor<String> scanKeys(String pattern, int batch) {
+        ScanOptions options = ScanOptions.scanOptions().match(pattern).count(batch).build();
+        return stringRedisTemplate.executeWithStickyConnection(connection ->
+                new ConvertingCursor<>(connection.scan(options), key -> new String(key, StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long deleteByPattern(String pattern, int batch) {
+        return deleteByPattern(pattern, batch, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long deleteByPattern(String pattern, int batch, LongConsumer onProgress) {
+        long startTime = System.currentTimeMillis();
+        long deleted = 0;
+        int chunks = 0;
+        List<String> chunk = new ArrayList<>(batch);
+        try (Cursor<String> cursor = scanKeys(pattern, batch)) {
+            while (cursor.hasNext()) {
+                chunk.add(cursor.next());
+                if (chunk.size() >= batch || !cursor.hasNext()) {
+                    deleted += unlinkPipelined(chunk);
+                    chunk.clear();
+                    chunks++;
+                    if (onProgress != null) {
+                        onProgress.accept(deleted);
+                    }
+                    if (chunks % PROGRESS_LOG_CHUNKS == 0) {
+                        log.info("按模式删除key进行中: pattern={}, deleted={}, elapsed={}ms",
+                                pattern, deleted, System.currentTimeMillis() - startTime);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.warn("关闭SCAN游标失败: pattern={}", pattern, e);
+        }
+        log.info("按模式删除key完成: pattern={}, deleted={}, elapsed={}ms", pattern, deleted, System.currentTimeMillis() - startTime);
+        return deleted;
+    }
+
+    /**
+     * 一批 key 管道执行 UNLINK，返回实际删除的数量
+     */
+    private long unlinkPipelined(List<String> keys) {
+        List<Object> results = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            for (String key : keys) {
+                stringConnection.unlink(key);
+            }
+            return null;
+        });
+        return results.stream().filter(result -> result instanceof Number).mapToLong(result -> ((Number) result).longValue()).sum();
+    }
+
+    /**
+     * {@inheritDoc}
      */
     @Override
     public Long dbSize() {
-        Set<String> keys = redisTemplate.keys("*");
-        return (long) keys.size();
+        return stringRedisTemplate.execute((RedisCallback<Long>) RedisServerCommands::dbSize);
     }
 
     /**
@@ -531,8 +644,145 @@ public class RedisServiceImpl implements RedisService {
      */
     @Override
     public boolean delByKeyPrefix(String prefix) {
-        Set<String> keys = this.keys(prefix);
-        return this.delete(keys);
+        return deleteByPattern(prefix + "*", DEFAULT_SCAN_BATCH) > 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String namespaceKey(String namespace, String suffix) {
+        String generation = stringRedisTemplate.opsForValue().get(CacheKeyManager.getGenerationKey(namespace));
+        return CacheKeyManager.getVersionedKey(namespace, generation != null ? Long.parseLong(generation) : 0, suffix);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Long invalidateNamespace(String namespace) {
+        // 代数键过期时间取命名空间缓存最长过期时间（含抖动）的两倍，代数键过期前旧代数的缓存都已淘汰
+        CachePolicy policy = cachePolicyRegistry.policyOf(namespace);
+        long generationTtl = Math.max(1, (long) (policy.getTtl().getSeconds() * (1 + policy.getJitter()) * 2));
+        return stringRedisTemplate.execute(generationIncrScript,
+                Collections.singletonList(CacheKeyManager.getGenerationKey(namespace)),
+                String.valueOf(generationTtl), String.valueOf(System.currentTimeMillis()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean cacheSet(String key, String value) {
+        CachePolicy policy = cachePolicyRegistry.policyOf(key);
+        return cacheSet(key, value, policy, policy.expireSeconds());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean cacheSet(String key, String value, Duration ttl) {
+        return cacheSet(key, value, cachePolicyRegistry.policyOf(key), ttl.getSeconds());
+    }
+
+    private boolean cacheSet(String key, String value, CachePolicy policy, long expireSeconds) {
+        String stored = CacheValueCodec.encode(value, policy.getCompressThreshold().toBytes());
+        long size = stored.getBytes(StandardCharsets.UTF_8).length;
+        if (size > policy.getMaxValueSize().toBytes()) {
+            // 删除旧值，避免读到与数据库不一致的旧缓存
+            stringRedisTemplate.delete(key);
+            log.warn("缓存值超过大小上限，不写入缓存: key={}, size={}, maxValueSize={}", key, size, policy.getMaxValueSize());
+            return false;
+        }
+        stringSetString(key, stored, expireSeconds);
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String cacheGet(String key) {
+        return CacheValueCodec.decode(stringGetString(key));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> multiGet(List<String> keys) {
+        if (keys.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<String> values = stringRedisTemplate.opsForValue().multiGet(keys);
+        return values != null ? values : new ArrayList<>(Collections.nCopies(keys.size(), null));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void multiSetWithTtl(Map<String, String> values, long expireSeconds) {
+        if (values.isEmpty()) {
+            return;
+        }
+        pipeline(batch -> values.forEach((key, value) -> batch.set(key, value, expireSeconds)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Long multiDelete(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return 0L;
+        }
+        Long deleted = stringRedisTemplate.delete(keys);
+        return deleted != null ? deleted : 0L;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> multiHashGet(List<String> keys, String hashKey) {
+        if (keys.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Object> results = pipeline(batch -> keys.forEach(key -> batch.hashGet(key, hashKey)));
+        return results.stream().map(result -> result != null ? result.toString() : null).collect(Collectors.toList());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Long> multiIncr(Map<String, Long> deltas) {
+        Map<String, Long> values = new LinkedHashMap<>();
+        if (deltas.isEmpty()) {
+            return values;
+        }
+        List<String> keys = new ArrayList<>(deltas.keySet());
+        List<Object> results = pipeline(batch -> keys.forEach(key -> batch.incrBy(key, deltas.get(key))));
+        for (int i = 0; i < keys.size(); i++) {
+            values.put(keys.get(i), Convert.toLong(results.get(i)));
+        }
+        return values;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Object> pipeline(java.util.function.Consumer<RedisBatch> commands) {
+        RedisSerializer<Object> objectSerializer = redisTemplate.getValueSerializer();
+        RedisSerializer<Object> hashValueSerializer = redisTemplate.getHashValueSerializer();
+        return stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            commands.accept(new RedisBatch((StringRedisConnection) connection, objectSerializer, hashValueSerializer, appName));
+            return null;
+        });
     }
 
     /**
@@ -559,6 +809,31 @@ public class RedisServiceImpl implements RedisService {
         return this.redisTemplate.opsForValue().setIfAbsent(key, value, timeout, unit);
     }
 
+    @Override
+    public String tryLock(String key, long timeout, TimeUnit unit) {
+        String token = UUID.randomUUID().toString();
+        Boolean locked = stringRedisTemplate.opsForValue().setIfAbsent(key, token, timeout, unit);
+        return Boolean.TRUE.equals(locked) ? token : null;
+    }
+
+    @Override
+    public boolean unlock(String key, String token) {
+        if (token == null) {
+            return false;
+        }
+        try {
+            Long released = stringRedisTemplate.execute(lockReleaseScript, Collections.singletonList(key), token);
+            if (released == null || released == 0) {
+                log.warn("分布式锁已过期或被其他持有者获取，跳过释放: key={}", key);
+                return false;
+            }
+            return true;
+        } catch (Exception e) {
+            log.warn("释放分布式锁失败，等待自动过期: key={}", key, e);
+            return false;
+        }
+    }
+
     @Override
     public String streamAdd(String streamKey, Map<String, Object> values) {
         String fullStreamKey = appName + ":" + streamKey;
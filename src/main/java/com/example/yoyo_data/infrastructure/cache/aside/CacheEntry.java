@@ -0,0 +1,56 @@
+package com.example.yoyo_data.infrastructure.cache.aside;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 旁路缓存条目 - @Cached 写入二级缓存的包装对象
+ * 区分"缓存了空值"与"未缓存"，并记录提前刷新的时间点
+ *
+ * @author Template Framework
+ * @version 1.0
+ */
+@Data
+@NoArgsConstructor
+public class CacheEntry {
+
+    /**
+     * 方法返回值的 JSON，空值标记时为 null
+     */
+    private String data;
+
+    /**
+     * 是否为空值标记（数据不存在）
+     */
+    private boolean absent;
+
+    /**
+     * 提前刷新时间点（毫秒时间戳），0 表示不提前刷新
+     */
+    private long refreshAt;
+
+    /**
+     * 解析后的返回值，条目留在本地缓存时复用，避免每次命中都解析 JSON；不参与序列化
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient Object value;
+
+    /**
+     * 是否为可用的条目，其他格式的旧缓存值解析后 data 为 null 且不是空值标记，按未命中处理
+     */
+    boolean valid() {
+        return absent || data != null;
+    }
+
+    Object value() {
+        return value;
+    }
+
+    void value(Object value) {
+        this.value = value;
+    }
+}
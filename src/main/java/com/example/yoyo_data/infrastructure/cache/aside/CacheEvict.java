@@ -0,0 +1,30 @@
+package com.example.yoyo_data.infrastructure.cache.aside;
+
+import java.lang.annotation.*;
+
+/**
+ * 缓存删除注解 - 方法执行成功后删除 @Cached 写入的缓存
+ * 删除 Redis 中的缓存并广播通知所有节点丢弃本地副本，键的生成方式与 @Cached 相同
+ *
+ * 使用示例：
+ * @CacheEvict(prefix = CacheKeyManager.POST_DETAIL_PREFIX, key = "#postId")
+ * public void evict(Long postId) { }
+ *
+ * @author Template Framework
+ * @version 1.0
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CacheEvict {
+
+    /**
+     * 缓存命名空间 - CacheKeyManager 中的缓存键前缀
+     */
+    String prefix();
+
+    /**
+     * 缓存键 - SpEL表达式，按参数名引用方法参数，如 "#postId"
+     */
+    String key();
+}
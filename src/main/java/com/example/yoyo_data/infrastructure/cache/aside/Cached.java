@@ -0,0 +1,41 @@
+package com.example.yoyo_data.infrastructure.cache.aside;
+
+import java.lang.annotation.*;
+
+/**
+ * 缓存读取注解 - 声明式旁路缓存
+ * 缓存键为 prefix + key 表达式的值（CacheKeyManager.getNamespacedKey），经二级缓存读取，未命中时回源：
+ * 同一个键在本节点只有一个线程执行方法，跨节点由 Redis 互斥锁保证只有一个节点回源，其余调用等待缓存写入；
+ * 过期时间、随机抖动和空值标记过期时间取命名空间的缓存策略（CachePolicyRegistry），抖动避免同一批写入的键同时过期；
+ * 方法返回 null 时写入空值标记，防止不存在的数据反复穿透到数据库；设置 refreshAhead 后，在过期前由后台线程提前回源刷新
+ *
+ * 使用示例：
+ * @Cached(prefix = CacheKeyManager.POST_DETAIL_PREFIX, key = "#postId")
+ * public Post load(Long postId) { ... }
+ *
+ * 切面通过 Spring 代理生效，同一个类内部的方法调用不会经过缓存
+ *
+ * @author Template Framework
+ * @version 1.0
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Cached {
+
+    /**
+     * 缓存命名空间 - CacheKeyManager 中的缓存键前缀
+     */
+    String prefix();
+
+    /**
+     * 缓存键 - SpEL表达式，按参数名引用方法参数，如 "#postId"
+     */
+    String key();
+
+    /**
+     * 提前刷新比例 - 缓存存活时间超过最短过期时间 * refreshAhead 后，读取时由后台线程回源刷新，0 表示不提前刷新
+     * 默认值: 0
+     */
+    double refreshAhead() default 0;
+}
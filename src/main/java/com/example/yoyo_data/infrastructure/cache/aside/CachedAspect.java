@@ -0,0 +1,314 @@
+package com.example.yoyo_data.infrastructure.cache.aside;
+
+import com.alibaba.fastjson.JSON;
+import com.example.yoyo_data.infrastructure.cache.CacheKeyManager;
+import com.example.yoyo_data.infrastructure.cache.RedisService;
+import com.example.yoyo_data.infrastructure.cache.policy.CachePolicy;
+import com.example.yoyo_data.infrastructure.cache.policy.CachePolicyRegistry;
+import com.example.yoyo_data.infrastructure.cache.tiered.TieredCache;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 旁路缓存AOP切面 - 实现 @Cached / @CacheEvict
+ * 读取：二级缓存命中直接返回（空值标记返回 null）；未命中时同一个键在本节点只由一个线程回源，其余线程等待其结果，
+ * 回源线程再抢 Redis 互斥锁，抢到的节点查库并写缓存，没抢到的节点轮询缓存直到写入或等待超时。
+ * 缓存读写失败时直接调用方法，不影响业务
+ *
+ * @author Template Framework
+ * @version 1.0
+ */
+@Slf4j
+@Aspect
+@Component
+public class CachedAspect {
+
+    /**
+     * 回源互斥锁过期时间（秒），持锁节点宕机时锁自动释放
+     */
+    private static final long LOCK_EXPIRE_SECONDS = 10;
+
+    /**
+     * Redis 不可用时视为抢到锁使用的空令牌，不需要释放
+     */
+    private static final String NO_LOCK_TOKEN = "";
+
+    /**
+     * 未抢到互斥锁时等待缓存写入的最长时间（毫秒），超时后直接回源
+     */
+    private static final long LOCK_WAIT_MILLIS = 3000;
+
+    /**
+     * 等待缓存写入的轮询间隔（毫秒）
+     */
+    private static final long LOCK_POLL_MILLIS = 50;
+
+    @Autowired
+    private TieredCache tieredCache;
+
+    @Autowired
+    private RedisService redisService;
+
+    @Autowired
+    private CachePolicyRegistry cachePolicyRegistry;
+
+    @Autowired
+    @Qualifier("ioTaskExecutor")
+    private Executor ioTaskExecutor;
+
+    private final ExpressionParser parser = new SpelExpressionParser();
+
+    private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+
+    /**
+     * 已解析的键表达式
+     */
+    private final Map<String, Expression> expressions = new ConcurrentHashMap<>();
+
+    /**
+     * 本节点正在回源的键 -> 回源结果
+     */
+    private final Map<String, CompletableFuture<CacheEntry>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * 本节点正在后台刷新的键
+     */
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 拦截所有标注了@Cached的方法
+     *
+     * @param pjp 切入点信息
+     * @return 缓存的或方法的返回值
+     * @throws Throwable 方法抛出的异常
+     */
+    @Around("@annotation(com.example.yoyo_data.infrastructure.cache.aside.Cached)")
+    public Object cached(ProceedingJoinPoint pjp) throws Throwable {
+        Method method = ((MethodSignature) pjp.getSignature()).getMethod();
+        Cached cached = method.getAnnotation(Cached.class);
+        String id = evaluateKey(cached.key(), pjp, method);
+        Type type = method.getGenericReturnType();
+
+        CacheEntry entry = read(cached.prefix(), id);
+        if (entry != null) {
+            if (entry.getRefreshAt() > 0 && System.currentTimeMillis() >= entry.getRefreshAt()) {
+                refreshAsync(pjp, cached, id);
+            }
+            return resolve(entry, type);
+        }
+        return resolve(loadSingleFlight(pjp, cached, id), type);
+    }
+
+    /**
+     * 拦截所有标注了@CacheEvict的方法，方法执行成功后删除缓存
+     *
+     * @param pjp 切入点信息
+     * @return 方法返回值
+     * @throws Throwable 方法抛出的异常
+     */
+    @Around("@annotation(com.example.yoyo_data.infrastructure.cache.aside.CacheEvict)")
+    public Object evict(ProceedingJoinPoint pjp) throws Throwable {
+        Method method = ((MethodSignature) pjp.getSignature()).getMethod();
+        CacheEvict cacheEvict = method.getAnnotation(CacheEvict.class);
+        Object result = pjp.proceed();
+        tieredCache.evict(cacheEvict.prefix(), evaluateKey(cacheEvict.key(), pjp, method));
+        return result;
+    }
+
+    /**
+     * 本节点单飞：同一个键只有第一个线程回源，其余线程等待同一个结果
+     */
+    private CacheEntry loadSingleFlight(ProceedingJoinPoint pjp, Cached cached, String id) throws Throwable {
+        String key = CacheKeyManager.getNamespacedKey(cached.prefix(), id);
+        CompletableFuture<CacheEntry> future = new CompletableFuture<>();
+        CompletableFuture<CacheEntry> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            try {
+                return existing.get();
+            } catch (ExecutionException e) {
+                throw e.getCause();
+            }
+        }
+        try {
+            CacheEntry entry = loadWithMutex(pjp, cached, id, key);
+            future.complete(entry);
+            return entry;
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    /**
+     * 跨节点互斥：抢到 Redis 互斥锁的节点回源，其余节点等待缓存写入
+     */
+    private CacheEntry loadWithMutex(ProceedingJoinPoint pjp, Cached cached, String id, String key) throws Throwable {
+        String lockKey = CacheKeyManager.getCacheLockKey(key);
+        String token = tryLock(lockKey);
+        if (token != null) {
+            try {
+                // 抢到锁前其他节点可能已写入缓存
+                CacheEntry entry = read(cached.prefix(), id);
+                return entry != null ? entry : load(pjp, cached, id, false);
+            } finally {
+                unlock(lockKey, token);
+            }
+        }
+
+        long deadline = System.currentTimeMillis() + LOCK_WAIT_MILLIS;
+        while (System.currentTimeMillis() < deadline) {
+            Thread.sleep(LOCK_POLL_MILLIS);
+            CacheEntry entry = read(cached.prefix(), id);
+            if (entry != null) {
+                return entry;
+            }
+        }
+        // 持锁节点回源过慢或已宕机，直接回源
+        log.warn("等待缓存回源超时，直接回源: key={}", key);
+        return load(pjp, cached, id, false);
+    }
+
+    /**
+     * 后台提前刷新，同一个键在本节点只提交一次，跨节点只有抢到互斥锁的节点刷新
+     */
+    private void refreshAsync(ProceedingJoinPoint pjp, Cached cached, String id) {
+        String key = CacheKeyManager.getNamespacedKey(cached.prefix(), id);
+        if (!refreshing.add(key)) {
+            return;
+        }
+        try {
+            ioTaskExecutor.execute(() -> {
+                String lockKey = CacheKeyManager.getCacheLockKey(key);
+                try {
+                    String token = tryLock(lockKey);
+                    if (token == null) {
+                        return;
+                    }
+                    try {
+                        load(pjp, cached, id, true);
+                    } finally {
+                        unlock(lockKey, token);
+                    }
+                } catch (Throwable e) {
+                    log.warn("缓存提前刷新失败: key={}", key, e);
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(key);
+            log.warn("缓存提前刷新任务被拒绝: key={}", key);
+        }
+    }
+
+    /**
+     * 调用方法并写入缓存：返回 null 时按策略的空值过期时间写入空值标记，否则按策略写入
+     *
+     * @param refresh 是否为后台刷新，刷新时通知其他节点丢弃本地旧副本
+     */
+    private CacheEntry load(ProceedingJoinPoint pjp, Cached cached, String id, boolean refresh) throws Throwable {
+        Object value = pjp.proceed();
+        CachePolicy policy = cachePolicyRegistry.policyOf(cached.prefix());
+        CacheEntry entry = new CacheEntry();
+        if (value == null) {
+            entry.setAbsent(true);
+        } else {
+            entry.setData(JSON.toJSONString(value));
+            entry.value(value);
+            if (cached.refreshAhead() > 0) {
+                entry.setRefreshAt(System.currentTimeMillis() + (long) (policy.minExpireMillis() * cached.refreshAhead()));
+            }
+        }
+        try {
+            if (entry.isAbsent()) {
+                if (!policy.getNullTtl().isZero() && !policy.getNullTtl().isNegative()) {
+                    tieredCache.put(cached.prefix(), id, entry, policy.getNullTtl());
+                }
+            } else if (refresh) {
+                tieredCache.replace(cached.prefix(), id, entry);
+            } else {
+                tieredCache.put(cached.prefix(), id, entry);
+            }
+        } catch (Exception e) {
+            log.warn("写入缓存失败: key={}", CacheKeyManager.getNamespacedKey(cached.prefix(), id), e);
+        }
+        return entry;
+    }
+
+    private CacheEntry read(String prefix, String id) {
+        try {
+            CacheEntry entry = tieredCache.get(prefix, id, CacheEntry.class);
+            return entry != null && entry.valid() ? entry : null;
+        } catch (Exception e) {
+            log.warn("读取缓存失败: key={}", CacheKeyManager.getNamespacedKey(prefix, id), e);
+            return null;
+        }
+    }
+
+    private Object resolve(CacheEntry entry, Type type) {
+        if (entry.isAbsent()) {
+            return null;
+        }
+        Object value = entry.value();
+        if (value == null) {
+            value = JSON.parseObject(entry.getData(), type);
+            entry.value(value);
+        }
+        return value;
+    }
+
+    /**
+     * 获取回源锁，返回持有者令牌，锁已被其他节点持有时返回 null；
+     * Redis 不可用时视为抢到锁，由本节点直接回源
+     */
+    private String tryLock(String lockKey) {
+        try {
+            return redisService.tryLock(lockKey, LOCK_EXPIRE_SECONDS, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            log.warn("获取缓存回源锁失败: {}", lockKey, e);
+            return NO_LOCK_TOKEN;
+        }
+    }
+
+    /**
+     * 令牌一致时才释放，回源超过锁过期时间时不会删除其他节点已重新获取的锁
+     */
+    private void unlock(String lockKey, String token) {
+        if (!NO_LOCK_TOKEN.equals(token)) {
+            redisService.unlock(lockKey, token);
+        }
+    }
+
+    private String evaluateKey(String key, ProceedingJoinPoint pjp, Method method) {
+        Expression expression = expressions.computeIfAbsent(key, parser::parseExpression);
+        EvaluationContext context = new MethodBasedEvaluationContext(pjp.getTarget(), method, pjp.getArgs(),
+                parameterNameDiscoverer);
+        return String.valueOf(expression.getValue(context));
+    }
+}
@@ -0,0 +1,366 @@
+package com.example.yoyo_data.infrastructure.cache.bloom;
+
+import com.example.yoyo_data.common.vo.BloomFilterMetricsVO;
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import com.google.common.hash.Hashing;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ID布隆过滤器 - 本地 Guava 布隆过滤器，可选同步到 Redis 位图
+ * 首次构建完成前所有ID都视为可能存在；重建时新建过滤器整体替换，重建期间新增的ID同时写入新旧过滤器。
+ * 启用 Redis 位图时，新增ID同时写入位图，本地判定不存在的ID再查一次位图，
+ * 其他节点刚新增的ID不会被误拦截；位图由一个节点重建后整体替换。
+ * 主键自增，两次全量重建之间只需按上次读到的最大主键增量收录新ID，全量重建只用于清除已删除的ID
+ *
+ * @author Template Framework
+ * @version 1.0
+ */
+@Slf4j
+public class IdBloomFilter {
+
+    /**
+     * Redis 位图的最大位数（位图上限 512MB）
+     */
+    private static final long MAX_REDIS_BITS = 1L << 32;
+
+    /**
+     * Redis 位图重建锁过期时间（秒）
+     */
+    private static final long MIRROR_REBUILD_LOCK_EXPIRE = 600;
+
+    private final String name;
+
+    private final long expectedInsertions;
+
+    private final double fpp;
+
+    /**
+     * Redis 位图，为 null 时只使用本地过滤器
+     */
+    private final StringRedisTemplate mirror;
+
+    private final String mirrorKey;
+
+    private final long numBits;
+
+    private final int numHashes;
+
+    private volatile BloomFilter<Long> current;
+
+    /**
+     * 正在重建的过滤器，重建期间新增的ID同时写入
+     */
+    private volatile BloomFilter<Long> building;
+
+    /**
+     * 正在重建的 Redis 位图，重建期间本节点新增的ID同时写入
+     */
+    private volatile String buildingMirrorKey;
+
+    private volatile LocalDateTime lastRebuildAt;
+
+    private volatile long loadedIds;
+
+    /**
+     * 已收录的最大主键，增量收录从这里继续
+     */
+    private volatile long maxId;
+
+    private final LongAdder checks = new LongAdder();
+
+    private final LongAdder rejected = new LongAdder();
+
+    private final LongAdder falsePositives = new LongAdder();
+
+    private final LongAdder mirrorHits = new LongAdder();
+
+    public IdBloomFilter(String name, long expectedInsertions, double fpp, StringRedisTemplate mirror, String mirrorKey) {
+        this.name = name;
+        this.expectedInsertions = expectedInsertions;
+        this.fpp = fpp;
+        this.mirror = mirror;
+        this.mirrorKey = mirrorKey;
+        double ln2 = Math.log(2);
+        this.numBits = Math.min(MAX_REDIS_BITS,
+                Math.max(64, (long) (-expectedInsertions * Math.log(fpp) / (ln2 * ln2))));
+        this.numHashes = Math.max(1, (int) Math.round((double) numBits / expectedInsertions * ln2));
+    }
+
+    /**
+     * ID是否可能存在：返回 false 时一定不存在，可直接拒绝而不访问数据库
+     *
+     * @param id 主键
+     * @return 是否可能存在
+     */
+    public boolean mightContain(Long id) {
+        BloomFilter<Long> filter = current;
+        if (id == null || filter == null) {
+            return true;
+        }
+        checks.increment();
+        if (filter.mightContain(id)) {
+            return true;
+        }
+        if (mirror != null && mirrorContains(id)) {
+            mirrorHits.increment();
+            filter.put(id);
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    /**
+     * 收录新增的ID
+     *
+     * @param id 主键
+     */
+    public void put(Long id) {
+        if (id == null) {
+            return;
+        }
+        // 先读正在重建的过滤器再读当前过滤器，替换前后都不会漏写
+        BloomFilter<Long> next = building;
+        BloomFilter<Long> filter = current;
+        if (next != null) {
+            next.put(id);
+        }
+        if (filter != null) {
+            filter.put(id);
+        }
+        if (mirror != null) {
+            mirrorPutAll(Collections.singletonList(id));
+        }
+    }
+
+    /**
+     * 批量收录ID
+     *
+     * @param ids 主键
+     */
+    public void putAll(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        BloomFilter<Long> next = building;
+        BloomFilter<Long> filter = current;
+        for (Long id : ids) {
+            if (next != null) {
+                next.put(id);
+            }
+            if (filter != null) {
+                filter.put(id);
+            }
+        }
+        if (mirror != null) {
+            mirrorPutAll(ids);
+        }
+    }
+
+    /**
+     * 记录一次误判：过滤器放行但数据库中不存在
+     */
+    public void recordFalsePositive() {
+        falsePositives.increment();
+    }
+
+    /**
+     * 从主键全量重建，完成后整体替换；持有锁的节点同时重建 Redis 位图
+     *
+     * @param source 主键来源
+     * @param batchSize 每批读取的主键数
+     */
+    public synchronized void rebuild(IdSource source, int batchSize) {
+        long start = System.currentTimeMillis();
+        BloomFilter<Long> next = BloomFilter.create(Funnels.longFunnel(), expectedInsertions, fpp);
+        building = next;
+        boolean rebuildMirror = mirror != null && Boolean.TRUE.equals(mirror.opsForValue()
+                .setIfAbsent(mirrorKey + ":lock", "1", MIRROR_REBUILD_LOCK_EXPIRE, TimeUnit.SECONDS));
+        String tmpKey = mirrorKey + ":rebuild";
+        try {
+            if (rebuildMirror) {
+                mirror.delete(tmpKey);
+                buildingMirrorKey = tmpKey;
+            }
+            long total = 0;
+            long lastId = 0;
+            while (true) {
+                List<Long> ids = source.nextIds(lastId, batchSize);
+                if (ids.isEmpty()) {
+                    break;
+                }
+                for (Long id : ids) {
+                    next.put(id);
+                }
+                if (rebuildMirror) {
+                    mirrorPut(tmpKey, ids);
+                }
+                total += ids.size();
+                lastId = ids.get(ids.size() - 1);
+                if (ids.size() < batchSize) {
+                    break;
+                }
+            }
+            if (rebuildMirror && total > 0) {
+                mirror.rename(tmpKey, mirrorKey);
+            }
+            current = next;
+            loadedIds = total;
+            maxId = lastId;
+            lastRebuildAt = LocalDateTime.now();
+            log.info("布隆过滤器重建完成: name={}, ids={}, mirror={}, cost={}ms",
+                    name, total, rebuildMirror, System.currentTimeMillis() - start);
+        } finally {
+            building = null;
+            buildingMirrorKey = null;
+            if (rebuildMirror) {
+                mirror.delete(mirrorKey + ":lock");
+            }
+        }
+    }
+
+    /**
+     * 增量收录上次收录之后新增的主键（主键自增），首次全量构建完成前不执行
+     *
+     * @param source 主键来源
+     * @param batchSize 每批读取的主键数
+     */
+    public synchronized void refresh(IdSource source, int batchSize) {
+        if (current == null) {
+            return;
+        }
+        long added = 0;
+        long lastId = maxId;
+        while (true) {
+            List<Long> ids = source.nextIds(lastId, batchSize);
+            if (ids.isEmpty()) {
+                break;
+            }
+            putAll(ids);
+            added += ids.size();
+            lastId = ids.get(ids.size() - 1);
+            if (ids.size() < batchSize) {
+                break;
+            }
+        }
+        maxId = lastId;
+        loadedIds += added;
+        if (added > 0) {
+            log.debug("布隆过滤器增量收录: name={}, ids={}, maxId={}", name, added, lastId);
+        }
+    }
+
+    /**
+     * 当前指标
+     */
+    public BloomFilterMetricsVO getMetrics() {
+        BloomFilter<Long> filter = current;
+        long fp = falsePositives.sum();
+        long rej = rejected.sum();
+        return BloomFilterMetricsVO.builder()
+                .name(name)
+                .ready(filter != null)
+                .lastRebuildAt(lastRebuildAt)
+                .loadedIds(loadedIds)
+                .expectedInsertions(expectedInsertions)
+                .approximateElements(filter != null ? filter.approximateElementCount() : 0L)
+                .expectedFpp(filter != null ? filter.expectedFpp() : 0D)
+                .checks(checks.sum())
+                .rejected(rej)
+                .falsePositives(fp)
+                .mirrorHits(mirrorHits.sum())
+                .observedFpp(fp + rej > 0 ? (double) fp / (fp + rej) : 0D)
+                .build();
+    }
+
+    /**
+     * Redis 位图是否可能包含该ID；Redis 不可用时视为可能存在，宁可回源也不误拦截其他节点新增的ID
+     */
+    private boolean mirrorContains(Long id) {
+        long[] offsets = offsets(id);
+        List<Object> bits;
+        try {
+            bits = mirror.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                for (long offset : offsets) {
+                    stringConnection.getBit(mirrorKey, offset);
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("布隆过滤器 Redis 位图查询失败，按可能存在处理: name={}, error={}", name, e.getMessage());
+            return true;
+        }
+        for (Object bit : bits) {
+            if (!Boolean.TRUE.equals(bit)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void mirrorPutAll(Collection<Long> ids) {
+        String rebuildKey = buildingMirrorKey;
+        if (rebuildKey != null) {
+            mirrorPut(rebuildKey, ids);
+        }
+        mirrorPut(mirrorKey, ids);
+    }
+
+    private void mirrorPut(String key, Collection<Long> ids) {
+        mirror.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            for (Long id : ids) {
+                for (long offset : offsets(id)) {
+                    stringConnection.setBit(key, offset, true);
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Redis 位图的位偏移：murmur3 128 位哈希拆成两个 64 位哈希做双重散列
+     */
+    private long[] offsets(long id) {
+        ByteBuffer hash = ByteBuffer.wrap(Hashing.murmur3_128().hashLong(id).asBytes()).order(ByteOrder.LITTLE_ENDIAN);
+        long hash1 = hash.getLong();
+        long hash2 = hash.getLong();
+        long[] offsets = new long[numHashes];
+        long combined = hash1;
+        for (int i = 0; i < numHashes; i++) {
+            offsets[i] = (combined & Long.MAX_VALUE) % numBits;
+            combined += hash2;
+        }
+        return offsets;
+    }
+
+    /**
+     * 主键来源：按主键升序分批读取
+     */
+    @FunctionalInterface
+    public interface IdSource {
+
+        /**
+         * 读取大于 lastId 的下一批主键
+         *
+         * @param lastId 上一批的最大主键
+         * @param limit 批大小
+         * @return 主键（升序）
+         */
+        List<Long> nextIds(long lastId, int limit);
+    }
+}
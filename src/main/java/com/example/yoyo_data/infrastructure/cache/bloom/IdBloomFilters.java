@@ -0,0 +1,229 @@
+package com.example.yoyo_data.infrastructure.cache.bloom;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.example.yoyo_data.common.entity.Post;
+import com.example.yoyo_data.common.entity.Seat;
+import com.example.yoyo_data.common.entity.ShowEvent;
+import com.example.yoyo_data.common.vo.BloomFilterMetricsVO;
+import com.example.yoyo_data.infrastructure.cache.CacheKeyManager;
+import com.example.yoyo_data.infrastructure.config.properties.BloomFilterProperties;
+import com.example.yoyo_data.infrastructure.repository.PostMapper;
+import com.example.yoyo_data.infrastructure.repository.SeatMapper;
+import com.example.yoyo_data.infrastructure.repository.ShowEventMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+/**
+ * ID布隆过滤器管理 - 为演出、座位、帖子主键各维护一个布隆过滤器，
+ * 缓存未命中时先判断ID是否可能存在，一定不存在的ID直接拒绝，不再访问数据库。
+ * 启动后异步从主键全量构建，之后定期按最大主键增量收录（收录绕过应用直接写入数据库的ID），
+ * 间隔较长的全量重建只用于清除已删除的ID；应用内新增时实时收录。
+ * 定时任务只负责把构建交给 IO 线程池，不占用共享的调度线程
+ *
+ * @author Template Framework
+ * @version 1.0
+ */
+@Slf4j
+@Component
+public class IdBloomFilters {
+
+    public static final String SHOW = "show";
+
+    public static final String SEAT = "seat";
+
+    public static final String POST = "post";
+
+    @Autowired
+    private BloomFilterProperties bloomFilterProperties;
+
+    @Autowired
+    private ShowEventMapper showEventMapper;
+
+    @Autowired
+    private SeatMapper seatMapper;
+
+    @Autowired
+    private PostMapper postMapper;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    @Qualifier("ioTaskExecutor")
+    private Executor ioTaskExecutor;
+
+    private final Map<String, IdBloomFilter> filters = new LinkedHashMap<>();
+
+    private final Map<String, IdBloomFilter.IdSource> sources = new LinkedHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        if (!bloomFilterProperties.isEnabled()) {
+            return;
+        }
+        register(SHOW, bloomFilterProperties.getShowExpectedInsertions(), (lastId, limit) ->
+                toIds(showEventMapper.selectObjs(new LambdaQueryWrapper<ShowEvent>()
+                        .select(ShowEvent::getId)
+                        .gt(ShowEvent::getId, lastId)
+                        .orderByAsc(ShowEvent::getId)
+                        .last("LIMIT " + limit))));
+        register(SEAT, bloomFilterProperties.getSeatExpectedInsertions(), (lastId, limit) ->
+                toIds(seatMapper.selectObjs(new LambdaQueryWrapper<Seat>()
+                        .select(Seat::getId)
+                        .gt(Seat::getId, lastId)
+                        .orderByAsc(Seat::getId)
+                        .last("LIMIT " + limit))));
+        register(POST, bloomFilterProperties.getPostExpectedInsertions(), (lastId, limit) ->
+                toIds(postMapper.selectObjs(new LambdaQueryWrapper<Post>()
+                        .select(Post::getId)
+                        .gt(Post::getId, lastId)
+                        .orderByAsc(Post::getId)
+                        .last("LIMIT " + limit))));
+        // 异步构建，不阻塞启动；构建完成前不拦截任何ID
+        ioTaskExecutor.execute(this::rebuildAll);
+    }
+
+    /**
+     * 定期增量收录新增的主键
+     */
+    @Scheduled(initialDelayString = "${bloom-filter.rebuild-interval:600000}",
+            fixedDelayString = "${bloom-filter.rebuild-interval:600000}")
+    public void refreshAll() {
+        ioTaskExecutor.execute(() -> {
+            for (Map.Entry<String, IdBloomFilter> entry : filters.entrySet()) {
+                try {
+                    entry.getValue().refresh(sources.get(entry.getKey()), bloomFilterProperties.getRebuildBatchSize());
+                } catch (Exception e) {
+                    log.error("布隆过滤器增量收录失败: name={}", entry.getKey(), e);
+                }
+            }
+        });
+    }
+
+    /**
+     * 定期全量重建，清除已删除的ID
+     */
+    @Scheduled(initialDelayString = "${bloom-filter.full-rebuild-interval:86400000}",
+            fixedDelayString = "${bloom-filter.full-rebuild-interval:86400000}")
+    public void scheduleRebuildAll() {
+        ioTaskExecutor.execute(this::rebuildAll);
+    }
+
+    /**
+     * 全量重建
+     */
+    public void rebuildAll() {
+        for (Map.Entry<String, IdBloomFilter> entry : filters.entrySet()) {
+            try {
+                entry.getValue().rebuild(sources.get(entry.getKey()), bloomFilterProperties.getRebuildBatchSize());
+            } catch (Exception e) {
+                log.error("布隆过滤器重建失败: name={}", entry.getKey(), e);
+            }
+        }
+    }
+
+    /**
+     * ID是否可能存在，返回 false 时一定不存在
+     *
+     * @param name 过滤器名称
+     * @param id 主键
+     * @return 是否可能存在
+     */
+    public boolean mightContain(String name, Long id) {
+        IdBloomFilter filter = filters.get(name);
+        return filter == null || filter.mightContain(id);
+    }
+
+    /**
+     * 批量判断，任一ID一定不存在时返回 false
+     *
+     * @param name 过滤器名称
+     * @param ids 主键
+     * @return 是否全部可能存在
+     */
+    public boolean mightContainAll(String name, Collection<Long> ids) {
+        IdBloomFilter filter = filters.get(name);
+        if (filter == null) {
+            return true;
+        }
+        for (Long id : ids) {
+            if (!filter.mightContain(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 收录新增的ID
+     *
+     * @param name 过滤器名称
+     * @param id 主键
+     */
+    public void put(String name, Long id) {
+        IdBloomFilter filter = filters.get(name);
+        if (filter != null) {
+            filter.put(id);
+        }
+    }
+
+    /**
+     * 批量收录ID
+     *
+     * @param name 过滤器名称
+     * @param ids 主键
+     */
+    public void putAll(String name, Collection<Long> ids) {
+        IdBloomFilter filter = filters.get(name);
+        if (filter != null) {
+            filter.putAll(ids);
+        }
+    }
+
+    /**
+     * 记录误判：过滤器放行但数据库中不存在
+     *
+     * @param name 过滤器名称
+     */
+    public void recordFalsePositive(String name) {
+        IdBloomFilter filter = filters.get(name);
+        if (filter != null) {
+            filter.recordFalsePositive();
+        }
+    }
+
+    /**
+     * 各过滤器的指标
+     */
+    public List<BloomFilterMetricsVO> getMetrics() {
+        List<BloomFilterMetricsVO> metrics = new ArrayList<>();
+        for (IdBloomFilter filter : filters.values()) {
+            metrics.add(filter.getMetrics());
+        }
+        return metrics;
+    }
+
+    private void register(String name, long expectedInsertions, IdBloomFilter.IdSource source) {
+        StringRedisTemplate mirror = bloomFilterProperties.isRedisMirror() ? stringRedisTemplate : null;
+        filters.put(name, new IdBloomFilter(name, expectedInsertions, bloomFilterProperties.getFpp(),
+                mirror, CacheKeyManager.BLOOM_FILTER_PREFIX + name));
+        sources.put(name, source);
+    }
+
+    private static List<Long> toIds(List<Object> objs) {
+        return objs.stream().map(obj -> ((Number) obj).longValue()).collect(Collectors.toList());
+    }
+}
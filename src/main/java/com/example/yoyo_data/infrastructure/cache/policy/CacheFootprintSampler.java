@@ -0,0 +1,191 @@
+package com.example.yoyo_data.infrastructure.cache.policy;
+
+import com.example.yoyo_data.common.vo.CacheFootprintVO;
+import com.example.yoyo_data.infrastructure.cache.RedisService;
+import com.example.yoyo_data.infrastructure.config.properties.CachePolicyProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scripting.support.ResourceScriptSource;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 缓存内存占用采样器 - 按缓存命名空间估算 Redis 内存占用
+ * SCAN 遍历最多 footprintScanKeys 个 key，按缓存策略的最长前缀归入命名空间并计数，
+ * 每个命名空间最多采样 footprintSamples 个 key，用 Lua 脚本批量查询 MEMORY USAGE、PTTL 和是否压缩，
+ * 再按遍历数占 DBSIZE 的比例放大为估算值；只读不写，耗时与遍历和采样数成正比
+ *
+ * @author Template Framework
+ * @version 1.0
+ */
+@Slf4j
+@Component
+public class CacheFootprintSampler {
+
+    /**
+     * 未配置缓存策略的 key 所属的命名空间名
+     */
+    public static final String OTHER_NAMESPACE = "*";
+
+    /**
+     * 每次 SCAN 的 COUNT
+     */
+    private static final int SCAN_BATCH = 1000;
+
+    /**
+     * 每次脚本调用采样的 key 数
+     */
+    private static final int SAMPLE_BATCH = 100;
+
+    @Autowired
+    private RedisService redisService;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private CachePolicyRegistry cachePolicyRegistry;
+
+    @Autowired
+    private CachePolicyProperties cachePolicyProperties;
+
+    private DefaultRedisScript<List> sampleScript;
+
+    @PostConstruct
+    public void init() {
+        sampleScript = new DefaultRedisScript<>();
+        sampleScript.setScriptSource(new ResourceScriptSource(new ClassPathResource("lua/cache_footprint_sample.lua")));
+        sampleScript.setResultType(List.class);
+    }
+
+    /**
+     * 采样估算各命名空间的内存占用
+     *
+     * @return 各命名空间的估算内存占用，按估算内存占用从大到小排列
+     */
+    public List<CacheFootprintVO> sample() {
+        long startTime = System.currentTimeMillis();
+        Map<String, Bucket> buckets = new LinkedHashMap<>();
+        for (CachePolicy policy : cachePolicyRegistry.getPolicies()) {
+            buckets.put(policy.getNamespace(), new Bucket(policy));
+        }
+        Bucket other = new Bucket(cachePolicyRegistry.getDefaultPolicy());
+        buckets.put(OTHER_NAMESPACE, other);
+
+        long scanned = 0;
+        try (Cursor<String> cursor = redisService.scanKeys("*", SCAN_BATCH)) {
+            while (scanned < cachePolicyProperties.getFootprintScanKeys() && cursor.hasNext()) {
+                String key = cursor.next();
+                scanned++;
+                CachePolicy policy = cachePolicyRegistry.match(key);
+                Bucket bucket = policy != null ? buckets.get(policy.getNamespace()) : other;
+                bucket.keys++;
+                if (bucket.samples.size() < cachePolicyProperties.getFootprintSamples()) {
+                    bucket.samples.add(key);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("关闭SCAN游标失败", e);
+        }
+
+        Long dbSize = redisService.dbSize();
+        double scale = scanned == 0 || dbSize == null ? 1 : Math.max(1, (double) dbSize / scanned);
+        List<CacheFootprintVO> footprints = new ArrayList<>();
+        for (Map.Entry<String, Bucket> entry : buckets.entrySet()) {
+            Bucket bucket = entry.getValue();
+            if (bucket.keys > 0) {
+                footprints.add(measure(entry.getKey(), bucket, scale));
+            }
+        }
+        footprints.sort(Comparator.comparingLong(CacheFootprintVO::getEstimatedBytes).reversed());
+        log.info("缓存内存占用采样完成: scanned={}, dbSize={}, elapsed={}ms", scanned, dbSize,
+                System.currentTimeMillis() - startTime);
+        return footprints;
+    }
+
+    /**
+     * 查询采样 key 的内存占用和过期时间，汇总为命名空间的估算值
+     */
+    private CacheFootprintVO measure(String namespace, Bucket bucket, double scale) {
+        long totalBytes = 0;
+        long maxBytes = 0;
+        long totalTtlMillis = 0;
+        long maxTtlMillis = 0;
+        int withTtl = 0;
+        int noExpire = 0;
+        int compressed = 0;
+        int sampled = 0;
+        for (int from = 0; from < bucket.samples.size(); from += SAMPLE_BATCH) {
+            List<String> batch = bucket.samples.subList(from, Math.min(from + SAMPLE_BATCH, bucket.samples.size()));
+            List<?> result = stringRedisTemplate.execute(sampleScript, batch, CacheValueCodec.GZIP_PREFIX);
+            if (result == null) {
+                continue;
+            }
+            for (int i = 0; i + 2 < result.size(); i += 3) {
+                long bytes = ((Number) result.get(i)).longValue();
+                long ttlMillis = ((Number) result.get(i + 1)).longValue();
+                if (ttlMillis == -2) {
+                    // 遍历后已过期或被删除
+                    continue;
+                }
+                sampled++;
+                totalBytes += bytes;
+                maxBytes = Math.max(maxBytes, bytes);
+                if (ttlMillis == -1) {
+                    noExpire++;
+                } else {
+                    withTtl++;
+                    totalTtlMillis += ttlMillis;
+                    maxTtlMillis = Math.max(maxTtlMillis, ttlMillis);
+                }
+                if (((Number) result.get(i + 2)).longValue() == 1) {
+                    compressed++;
+                }
+            }
+        }
+
+        long avgBytes = sampled == 0 ? 0 : totalBytes / sampled;
+        long estimatedKeys = Math.round(bucket.keys * scale);
+        return CacheFootprintVO.builder()
+                .namespace(namespace)
+                .policyTtlSeconds(bucket.policy.getTtl().getSeconds())
+                .scannedKeys(bucket.keys)
+                .estimatedKeys(estimatedKeys)
+                .sampledKeys(sampled)
+                .avgBytes(avgBytes)
+                .maxBytes(maxBytes)
+                .estimatedBytes(avgBytes * estimatedKeys)
+                .avgTtlSeconds(withTtl == 0 ? 0 : totalTtlMillis / withTtl / 1000)
+                .maxTtlSeconds(maxTtlMillis / 1000)
+                .noExpireKeys(noExpire)
+                .compressedKeys(compressed)
+                .build();
+    }
+
+    /**
+     * 单个命名空间的遍历计数和采样 key
+     */
+    private static class Bucket {
+
+        private final CachePolicy policy;
+
+        private final List<String> samples = new ArrayList<>();
+
+        private long keys;
+
+        Bucket(CachePolicy policy) {
+            this.policy = policy;
+        }
+    }
+}
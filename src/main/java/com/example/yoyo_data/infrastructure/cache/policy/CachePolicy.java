@@ -0,0 +1,76 @@
+package com.example.yoyo_data.infrastructure.cache.policy;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 缓存策略 - 一个缓存命名空间（CacheKeyManager 中的缓存键前缀）的过期时间、抖动、值大小上限和压缩阈值
+ *
+ * @author Template Framework
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CachePolicy {
+
+    /**
+     * 缓存命名空间（缓存键前缀），默认策略为空字符串
+     */
+    private String namespace;
+
+    /**
+     * 过期时间，不大于 0 表示不过期
+     */
+    private Duration ttl;
+
+    /**
+     * 过期时间随机抖动比例
+     */
+    private double jitter;
+
+    /**
+     * 空值标记过期时间，0 表示不缓存空值
+     */
+    private Duration nullTtl;
+
+    /**
+     * 值大小上限（压缩后）
+     */
+    private DataSize maxValueSize;
+
+    /**
+     * 压缩阈值
+     */
+    private DataSize compressThreshold;
+
+    /**
+     * 加随机抖动后的过期时间（秒）：ttl * (1 ± jitter)，至少 1 秒；ttl 不大于 0 时返回 0（不过期）
+     *
+     * @return 过期时间（秒）
+     */
+    public long expireSeconds() {
+        long seconds = ttl.getSeconds();
+        if (seconds <= 0 || jitter <= 0) {
+            return Math.max(0, seconds);
+        }
+        double factor = 1 + ThreadLocalRandom.current().nextDouble(-jitter, jitter);
+        return Math.max(1, Math.round(seconds * factor));
+    }
+
+    /**
+     * 加抖动后可能的最短过期时间（毫秒），用于计算提前刷新时间点
+     *
+     * @return 最短过期时间（毫秒）
+     */
+    public long minExpireMillis() {
+        return (long) (ttl.toMillis() * (1 - Math.max(0, jitter)));
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.yoyo_data.infrastructure.cache.policy;
+
+import com.example.yoyo_data.infrastructure.config.properties.CachePolicyProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 缓存策略注册表 - 按缓存键前缀查找缓存策略
+ * 启动时合并默认值与各命名空间的配置，查找时按最长前缀匹配（dialog:list: 优先于 dialog:），
+ * 没有匹配的命名空间时使用默认策略
+ *
+ * @author Template Framework
+ * @version 1.0
+ */
+@Slf4j
+@Component
+public class CachePolicyRegistry {
+
+    @Autowired
+    private CachePolicyProperties cachePolicyProperties;
+
+    private CachePolicy defaultPolicy;
+
+    /**
+     * 按前缀长度从长到短排列的命名空间策略
+     */
+    private List<CachePolicy> policies = new ArrayList<>();
+
+    @PostConstruct
+    public void init() {
+        defaultPolicy = CachePolicy.builder()
+                .namespace("")
+                .ttl(cachePolicyProperties.getTtl())
+                .jitter(cachePolicyProperties.getJitter())
+                .nullTtl(cachePolicyProperties.getNullTtl())
+                .maxValueSize(cachePolicyProperties.getMaxValueSize())
+                .compressThreshold(cachePolicyProperties.getCompressThreshold())
+                .build();
+
+        List<CachePolicy> resolved = new ArrayList<>();
+        for (Map.Entry<String, CachePolicyProperties.Policy> entry : cachePolicyProperties.getNamespaces().entrySet()) {
+            CachePolicyProperties.Policy config = entry.getValue();
+            CachePolicy policy = CachePolicy.builder()
+                    .namespace(entry.getKey())
+                    .ttl(config.getTtl() != null ? config.getTtl() : defaultPolicy.getTtl())
+                    .jitter(config.getJitter() != null ? config.getJitter() : defaultPolicy.getJitter())
+                    .nullTtl(config.getNullTtl() != null ? config.getNullTtl() : defaultPolicy.getNullTtl())
+                    .maxValueSize(config.getMaxValueSize() != null ? config.getMaxValueSize() : defaultPolicy.getMaxValueSize())
+                    .compressThreshold(config.getCompressThreshold() != null
+                            ? config.getCompressThreshold() : defaultPolicy.getCompressThreshold())
+                    .build();
+            resolved.add(policy);
+            log.info("缓存策略: namespace={}, ttl={}, jitter={}, nullTtl={}, maxValueSize={}, compressThreshold={}",
+                    policy.getNamespace(), policy.getTtl(), policy.getJitter(), policy.getNullTtl(),
+                    policy.getMaxValueSize(), policy.getCompressThreshold());
+        }
+        resolved.sort(Comparator.comparingInt((CachePolicy policy) -> policy.getNamespace().length()).reversed());
+        policies = resolved;
+    }
+
+    /**
+     * 查找缓存键所属命名空间的策略
+     *
+     * @param key 缓存键或命名空间
+     * @return 最长前缀匹配的策略，没有匹配时返回默认策略
+     */
+    public CachePolicy policyOf(String key) {
+        CachePolicy policy = match(key);
+        return policy != null ? policy : defaultPolicy;
+    }
+
+    /**
+     * 查找缓存键所属的已配置命名空间策略
+     *
+     * @param key 缓存键
+     * @return 最长前缀匹配的策略，没有匹配时返回 null
+     */
+    public CachePolicy match(String key) {
+        for (CachePolicy policy : policies) {
+            if (key.startsWith(policy.getNamespace())) {
+                return policy;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 获取默认策略
+     *
+     * @return 默认策略
+     */
+    public CachePolicy getDefaultPolicy() {
+        return defaultPolicy;
+    }
+
+    /**
+     * 获取已配置的命名空间策略
+     *
+     * @return 按前缀长度从长到短排列的策略
+     */
+    public List<CachePolicy> getPolicies() {
+        return policies;
+    }
+}
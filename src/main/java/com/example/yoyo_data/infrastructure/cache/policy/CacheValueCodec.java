@@ -0,0 +1,64 @@
+package com.example.yoyo_data.infrastructure.cache.policy;
+
+import cn.hutool.core.util.ZipUtil;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 缓存值编解码 - 超过压缩阈值的值 GZIP 压缩后以 Base64 文本存储，并加上压缩标记前缀；
+ * 读取时按前缀识别，未压缩的值原样返回，因此与压缩前写入的旧值兼容
+ *
+ * @author Template Framework
+ * @version 1.0
+ */
+public final class CacheValueCodec {
+
+    /**
+     * 压缩值前缀（缓存的 JSON 不会以此开头）
+     */
+    public static final String GZIP_PREFIX = "gzip:";
+
+    private CacheValueCodec() {
+    }
+
+    /**
+     * 编码：超过压缩阈值且压缩后更小时返回压缩值，否则原样返回
+     *
+     * @param value 原始值
+     * @param compressThresholdBytes 压缩阈值（字节），不大于 0 时不压缩
+     * @return 存储的值
+     */
+    public static String encode(String value, long compressThresholdBytes) {
+        byte[] raw = value.getBytes(StandardCharsets.UTF_8);
+        if (compressThresholdBytes <= 0 || raw.length <= compressThresholdBytes) {
+            return value;
+        }
+        String compressed = GZIP_PREFIX + Base64.getEncoder().encodeToString(ZipUtil.gzip(raw));
+        return compressed.length() < raw.length ? compressed : value;
+    }
+
+    /**
+     * 解码：压缩值解压后返回，其他值原样返回
+     *
+     * @param stored 存储的值，可为 null
+     * @return 原始值
+     */
+    public static String decode(String stored) {
+        if (!isCompressed(stored)) {
+            return stored;
+        }
+        byte[] compressed = Base64.getDecoder().decode(stored.substring(GZIP_PREFIX.length()));
+        return new String(ZipUtil.unGzip(compressed), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 是否为压缩值
+     *
+     * @param stored 存储的值，可为 null
+     * @return 是否压缩
+     */
+    public static boolean isCompressed(String stored) {
+        return stored != null && stored.startsWith(GZIP_PREFIX);
+    }
+}
@@ -0,0 +1,329 @@
+package com.example.yoyo_data.infrastructure.cache.tiered;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONObject;
+import com.example.yoyo_data.common.vo.TieredCacheMetricsVO;
+import com.example.yoyo_data.infrastructure.cache.CacheKeyManager;
+import com.example.yoyo_data.infrastructure.cache.RedisService;
+import com.example.yoyo_data.infrastructure.config.properties.TieredCacheProperties;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 二级缓存 - 每个缓存命名空间（CacheKeyManager 中的缓存键前缀）一个有界的本地一级缓存，挡在 Redis 前面：
+ * 读取先查本地，未命中再查 Redis 并把解析后的对象放入本地，本地命中时既不访问 Redis 也不解析 JSON。
+ * Redis 中仍以 JSON 字符串存储，与原有缓存格式一致，过期时间、压缩和大小上限按命名空间的缓存策略。
+ * 删除缓存时通过 Redis 发布订阅广播失效消息，所有节点在毫秒级内丢弃本地副本；
+ * 本地缓存按容量和写入后过期时间淘汰，过期时间兜底丢失的广播。
+ * 本地缓存返回的是共享实例，调用方不能修改返回的对象
+ *
+ * @author Template Framework
+ * @version 1.0
+ */
+@Slf4j
+@Component
+public class TieredCache {
+
+    @Autowired
+    private RedisService redisService;
+
+    @Autowired
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Autowired
+    private RedisMessageListenerContainer redisMessageListenerContainer;
+
+    @Autowired
+    private TieredCacheProperties tieredCacheProperties;
+
+    /**
+     * 本节点标识，忽略自己发出的失效广播
+     */
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Map<String, Level1> namespaces = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        redisMessageListenerContainer.addMessageListener((message, pattern) -> onInvalidation(message),
+                new ChannelTopic(tieredCacheProperties.getChannel()));
+    }
+
+    /**
+     * 读取缓存：本地 -> Redis
+     *
+     * @param namespace 缓存命名空间（缓存键前缀）
+     * @param id 命名空间内的标识，缓存键为 namespace + id
+     * @param type 值类型
+     * @return 缓存的值，两级均未命中时返回 null
+     */
+    public <T> T get(String namespace, Object id, Class<T> type) {
+        String key = CacheKeyManager.getNamespacedKey(namespace, id);
+        Level1 level1 = level1(namespace);
+        long version = 0;
+        if (level1 != null) {
+            Object local = level1.cache.getIfPresent(key);
+            if (type.isInstance(local)) {
+                return type.cast(local);
+            }
+            version = level1.version.get();
+        }
+
+        String json = redisService.cacheGet(key);
+        if (json == null) {
+            if (level1 != null) {
+                level1.redisMisses.incrementAndGet();
+            }
+            return null;
+        }
+        T value = JSON.parseObject(json, type);
+        if (level1 != null) {
+            level1.redisHits.incrementAndGet();
+            // 读取 Redis 期间命名空间有失效时不放入本地，避免把刚被删除的旧值留在本地
+            if (value != null && level1.version.get() == version) {
+                level1.cache.put(key, value);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * 写入缓存：Redis 与本地，Redis 过期时间按命名空间的缓存策略
+     *
+     * @param namespace 缓存命名空间（缓存键前缀）
+     * @param id 命名空间内的标识
+     * @param value 值
+     */
+    public void put(String namespace, Object id, Object value) {
+        String key = CacheKeyManager.getNamespacedKey(namespace, id);
+        putLocal(namespace, key, value, redisService.cacheSet(key, JSON.toJSONString(value)));
+    }
+
+    /**
+     * 写入缓存：Redis 与本地，使用指定的 Redis 过期时间（如空值标记）
+     *
+     * @param namespace 缓存命名空间（缓存键前缀）
+     * @param id 命名空间内的标识
+     * @param value 值
+     * @param ttl Redis 过期时间
+     */
+    public void put(String namespace, Object id, Object value, Duration ttl) {
+        String key = CacheKeyManager.getNamespacedKey(namespace, id);
+        putLocal(namespace, key, value, redisService.cacheSet(key, JSON.toJSONString(value), ttl));
+    }
+
+    /**
+     * 覆盖缓存：写入 Redis 与本地，并广播通知其他节点丢弃本地旧副本（后台刷新已存在的缓存时使用）
+     *
+     * @param namespace 缓存命名空间（缓存键前缀）
+     * @param id 命名空间内的标识
+     * @param value 值
+     */
+    public void replace(String namespace, Object id, Object value) {
+        put(namespace, id, value);
+        broadcast(namespace, CacheKeyManager.getNamespacedKey(namespace, id));
+    }
+
+    /**
+     * 删除缓存：删除 Redis 与本地，并广播通知其他节点丢弃本地副本
+     *
+     * @param namespace 缓存命名空间（缓存键前缀）
+     * @param id 命名空间内的标识
+     */
+    public void evict(String namespace, Object id) {
+        String key = CacheKeyManager.getNamespacedKey(namespace, id);
+        redisService.delete(key);
+        Level1 level1 = namespaces.get(namespace);
+        if (level1 != null) {
+            level1.invalidate(key);
+        }
+        broadcast(namespace, key);
+    }
+
+    /**
+     * 清空命名空间的本地缓存（Redis 中的键由调用方按模式删除），并广播通知其他节点
+     *
+     * @param namespace 缓存命名空间（缓存键前缀）
+     */
+    public void invalidateLocal(String namespace) {
+        Level1 level1 = namespaces.get(namespace);
+        if (level1 != null) {
+            level1.invalidate(null);
+        }
+        broadcast(namespace, null);
+    }
+
+    /**
+     * 获取各命名空间的命中、淘汰和失效广播指标
+     *
+     * @return 各命名空间指标
+     */
+    public List<TieredCacheMetricsVO> getMetrics() {
+        List<TieredCacheMetricsVO> metrics = new ArrayList<>();
+        for (Map.Entry<String, Level1> entry : namespaces.entrySet()) {
+            Level1 level1 = entry.getValue();
+            CacheStats stats = level1.cache.stats();
+            long redisHits = level1.redisHits.get();
+            long redisMisses = level1.redisMisses.get();
+            long requests = stats.requestCount();
+            metrics.add(TieredCacheMetricsVO.builder()
+                    .namespace(entry.getKey())
+                    .size(level1.cache.size())
+                    .maximumSize(level1.maximumSize)
+                    .expireSeconds(level1.expireSeconds)
+                    .localHits(stats.hitCount())
+                    .localMisses(stats.missCount())
+                    .redisHits(redisHits)
+                    .redisMisses(redisMisses)
+                    .localHitRate(requests == 0 ? 0 : stats.hitRate())
+                    .overallHitRate(requests == 0 ? 0 : (double) (stats.hitCount() + redisHits) / requests)
+                    .evictions(stats.evictionCount())
+                    .invalidationsSent(level1.invalidationsSent.get())
+                    .invalidationsReceived(level1.invalidationsReceived.get())
+                    .build());
+        }
+        return metrics;
+    }
+
+    /**
+     * 处理其他节点的失效广播
+     */
+    private void onInvalidation(Message message) {
+        try {
+            Object body = redisTemplate.getValueSerializer().deserialize(message.getBody());
+            if (body == null) {
+                return;
+            }
+            JSONObject invalidation = JSON.parseObject(body.toString());
+            if (nodeId.equals(invalidation.getString("node"))) {
+                return;
+            }
+            Level1 level1 = namespaces.get(invalidation.getString("namespace"));
+            if (level1 == null) {
+                return;
+            }
+            level1.invalidate(invalidation.getString("key"));
+            level1.invalidationsReceived.incrementAndGet();
+        } catch (Exception e) {
+            log.warn("处理缓存失效广播失败", e);
+        }
+    }
+
+    private void broadcast(String namespace, String key) {
+        if (!tieredCacheProperties.isEnabled()) {
+            return;
+        }
+        JSONObject invalidation = new JSONObject();
+        invalidation.put("node", nodeId);
+        invalidation.put("namespace", namespace);
+        invalidation.put("key", key);
+        try {
+            redisService.convertAndSend(tieredCacheProperties.getChannel(), invalidation.toJSONString());
+            Level1 level1 = namespaces.get(namespace);
+            if (level1 != null) {
+                level1.invalidationsSent.incrementAndGet();
+            }
+        } catch (Exception e) {
+            // 广播失败时其他节点的本地副本在过期时间内失效
+            log.warn("发送缓存失效广播失败: namespace={}, key={}", namespace, key, e);
+        }
+    }
+
+    /**
+     * 写入本地缓存；超过大小上限未写入 Redis 的值也不放入本地，并丢弃本地旧副本
+     */
+    private void putLocal(String namespace, String key, Object value, boolean written) {
+        Level1 level1 = written ? level1(namespace) : namespaces.get(namespace);
+        if (level1 == null) {
+            return;
+        }
+        if (written) {
+            level1.cache.put(key, value);
+        } else {
+            level1.invalidate(key);
+        }
+    }
+
+    /**
+     * 命名空间的本地缓存，首次使用时按配置创建；未启用本地缓存时返回 null
+     */
+    private Level1 level1(String namespace) {
+        if (!tieredCacheProperties.isEnabled()) {
+            return null;
+        }
+        return namespaces.computeIfAbsent(namespace, ns -> {
+            TieredCacheProperties.Level1 config = tieredCacheProperties.getNamespaces().get(ns);
+            long maximumSize = config != null && config.getMaximumSize() != null
+                    ? config.getMaximumSize() : tieredCacheProperties.getMaximumSize();
+            long expireSeconds = config != null && config.getExpireSeconds() != null
+                    ? config.getExpireSeconds() : tieredCacheProperties.getExpireSeconds();
+            log.info("创建本地缓存: namespace={}, maximumSize={}, expireSeconds={}", ns, maximumSize, expireSeconds);
+            return new Level1(maximumSize, expireSeconds);
+        });
+    }
+
+    /**
+     * 单个命名空间的本地缓存及 Redis 层计数
+     */
+    private static class Level1 {
+
+        private final Cache<String, Object> cache;
+
+        private final long maximumSize;
+
+        private final long expireSeconds;
+
+        private final AtomicLong redisHits = new AtomicLong();
+
+        private final AtomicLong redisMisses = new AtomicLong();
+
+        private final AtomicLong invalidationsSent = new AtomicLong();
+
+        private final AtomicLong invalidationsReceived = new AtomicLong();
+
+        /**
+         * 失效版本，每次失效加一
+         */
+        private final AtomicLong version = new AtomicLong();
+
+        Level1(long maximumSize, long expireSeconds) {
+            this.maximumSize = maximumSize;
+            this.expireSeconds = expireSeconds;
+            this.cache = CacheBuilder.newBuilder()
+                    .maximumSize(maximumSize)
+                    .expireAfterWrite(expireSeconds, TimeUnit.SECONDS)
+                    .recordStats()
+                    .build();
+        }
+
+        /**
+         * 丢弃本地副本，key 为 null 时清空整个命名空间
+         */
+        void invalidate(String key) {
+            version.incrementAndGet();
+            if (key != null) {
+                cache.invalidate(key);
+            } else {
+                cache.invalidateAll();
+            }
+        }
+    }
+}
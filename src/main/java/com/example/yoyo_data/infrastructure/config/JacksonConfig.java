@@ -1,13 +1,18 @@
 package com.example.yoyo_data.infrastructure.config;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.io.IOException;
 import java.text.SimpleDateFormat;
 
 /**
@@ -26,6 +31,7 @@ public class JacksonConfig {
      * - 忽略序列化时的空值
      * - 禁用失败的属性会导致异常（允许忽略未知属性）
      * - 格式化日期为 yyyy-MM-dd HH:mm:ss
+     * - 超出 JavaScript 安全整数范围的 Long（如雪花ID）序列化为字符串
      *
      * @return 配置后的ObjectMapper
      */
@@ -36,6 +42,12 @@ public class JacksonConfig {
         // 注册Java 8 Time模块
         mapper.registerModule(new JavaTimeModule());
 
+        // 雪花ID超过 2^53，JavaScript 解析为 number 会丢失精度，超出安全整数范围的 Long 按字符串输出
+        SimpleModule longModule = new SimpleModule();
+        longModule.addSerializer(Long.class, new SafeLongSerializer());
+        longModule.addSerializer(Long.TYPE, new SafeLongSerializer());
+        mapper.registerModule(longModule);
+
         // 配置序列化选项
         mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
         mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
@@ -47,4 +59,29 @@ public class JacksonConfig {
 
         return mapper;
     }
+
+    /**
+     * Long 序列化：JavaScript 安全整数范围内输出数字，超出时输出字符串
+     * 自增ID、计数等保持原有的数字格式，雪花ID始终超出范围，同一字段的类型保持一致
+     */
+    static class SafeLongSerializer extends StdSerializer<Long> {
+
+        /**
+         * JavaScript Number.MAX_SAFE_INTEGER（2^53 - 1）
+         */
+        private static final long MAX_SAFE_INTEGER = (1L << 53) - 1;
+
+        SafeLongSerializer() {
+            super(Long.class);
+        }
+
+        @Override
+        public void serialize(Long value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            if (value > MAX_SAFE_INTEGER || value < -MAX_SAFE_INTEGER) {
+                gen.writeString(value.toString());
+            } else {
+                gen.writeNumber(value);
+            }
+        }
+    }
 }
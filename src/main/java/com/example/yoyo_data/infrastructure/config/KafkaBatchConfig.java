@@ -0,0 +1,47 @@
+package com.example.yoyo_data.infrastructure.config;
+
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.SeekToCurrentBatchErrorHandler;
+import org.springframework.util.backoff.FixedBackOff;
+
+/**
+ * Kafka批量消费配置 - 提供批量监听容器工厂
+ * 沿用 spring.kafka 的消费者配置，仅开启批量监听，用于需要攒批写库的消费者。
+ * 监听方法抛出异常时不提交本批偏移量，回退到批次起点间隔重投，直到处理成功；
+ * 消费者需自行处理确定性错误（如数据无效），只把可重试的异常（如数据库暂不可用）抛出
+ *
+ * @author Template Framework
+ * @version 1.0
+ */
+@Configuration
+public class KafkaBatchConfig {
+
+    /**
+     * 批次重投间隔（毫秒）
+     */
+    private static final long REDELIVERY_INTERVAL_MS = 1000;
+
+    /**
+     * 批量监听容器工厂
+     *
+     * @param configurer Spring Boot 监听容器配置器
+     * @param kafkaConsumerFactory 消费者工厂
+     * @return ConcurrentKafkaListenerContainerFactory
+     */
+    @Bean(name = "batchKafkaListenerContainerFactory")
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> batchKafkaListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> kafkaConsumerFactory) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, kafkaConsumerFactory);
+        factory.setBatchListener(true);
+        SeekToCurrentBatchErrorHandler errorHandler = new SeekToCurrentBatchErrorHandler();
+        errorHandler.setBackOff(new FixedBackOff(REDELIVERY_INTERVAL_MS, FixedBackOff.UNLIMITED_ATTEMPTS));
+        factory.setBatchErrorHandler(errorHandler);
+        return factory;
+    }
+}
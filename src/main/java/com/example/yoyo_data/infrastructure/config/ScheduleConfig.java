@@ -0,0 +1,44 @@
+package com.example.yoyo_data.infrastructure.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * 定时任务配置 - 启用@Scheduled并配置调度线程池
+ * 默认调度器只有一个线程，多个定时任务会互相阻塞
+ *
+ * @author Template Framework
+ * @version 1.0
+ */
+@Slf4j
+@Configuration
+@EnableScheduling
+public class ScheduleConfig {
+
+    /**
+     * 定时任务调度器
+     *
+     * @return ThreadPoolTaskScheduler
+     */
+    @Bean(name = "taskScheduler")
+    public ThreadPoolTaskScheduler taskScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+
+        // 线程池大小
+        scheduler.setPoolSize(4);
+
+        // 线程名称前缀
+        scheduler.setThreadNamePrefix("scheduled-task-");
+
+        // 关闭时等待任务完成
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        scheduler.setAwaitTerminationSeconds(30);
+
+        scheduler.initialize();
+        log.info("定时任务调度器初始化完成: poolSize=4");
+        return scheduler;
+    }
+}
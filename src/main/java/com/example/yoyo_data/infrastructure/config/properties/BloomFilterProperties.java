@@ -0,0 +1,63 @@
+package com.example.yoyo_data.infrastructure.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 布隆过滤器配置属性 - 从application.yml读取ID布隆过滤器配置
+ *
+ * @author Template Framework
+ * @version 1.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "bloom-filter")
+public class BloomFilterProperties {
+
+    /**
+     * 是否启用，关闭后所有ID都视为可能存在
+     */
+    private boolean enabled = true;
+
+    /**
+     * 期望误判率
+     */
+    private double fpp = 0.01;
+
+    /**
+     * 是否同步到 Redis 位图，多节点部署时其他节点新增的ID通过 Redis 位图感知；
+     * 关闭后其他节点新增的ID要等到下一次增量收录才能通过本节点的过滤器，只适合单节点部署
+     */
+    private boolean redisMirror = true;
+
+    /**
+     * 增量收录间隔（毫秒），按最大主键收录绕过应用直接写入数据库的ID
+     */
+    private long rebuildInterval = 600000;
+
+    /**
+     * 全量重建间隔（毫秒），用于清除已删除的ID
+     */
+    private long fullRebuildInterval = 86400000;
+
+    /**
+     * 重建时每批读取的主键数
+     */
+    private int rebuildBatchSize = 10000;
+
+    /**
+     * 演出ID期望数量
+     */
+    private long showExpectedInsertions = 100000;
+
+    /**
+     * 座位ID期望数量
+     */
+    private long seatExpectedInsertions = 10000000;
+
+    /**
+     * 帖子ID期望数量
+     */
+    private long postExpectedInsertions = 5000000;
+}
@@ -0,0 +1,94 @@
+package com.example.yoyo_data.infrastructure.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 缓存策略配置属性 - 从application.yml读取各缓存命名空间的过期时间、抖动、值大小上限和压缩阈值
+ *
+ * @author Template Framework
+ * @version 1.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "cache-policy")
+public class CachePolicyProperties {
+
+    /**
+     * 默认过期时间
+     */
+    private Duration ttl = Duration.ofHours(1);
+
+    /**
+     * 默认过期时间随机抖动比例，实际过期时间在 ttl * (1 ± jitter) 之间
+     */
+    private double jitter = 0.1;
+
+    /**
+     * 默认空值标记过期时间，0 表示不缓存空值
+     */
+    private Duration nullTtl = Duration.ofMinutes(1);
+
+    /**
+     * 默认值大小上限（压缩后），超过时不写入缓存
+     */
+    private DataSize maxValueSize = DataSize.ofKilobytes(512);
+
+    /**
+     * 默认压缩阈值，超过时 GZIP 压缩后写入
+     */
+    private DataSize compressThreshold = DataSize.ofKilobytes(4);
+
+    /**
+     * 内存占用统计最多遍历的 key 数
+     */
+    private int footprintScanKeys = 10000;
+
+    /**
+     * 内存占用统计每个命名空间最多采样的 key 数
+     */
+    private int footprintSamples = 50;
+
+    /**
+     * 按命名空间覆盖默认值，键为 CacheKeyManager 中的缓存键前缀，按最长前缀匹配
+     */
+    private Map<String, Policy> namespaces = new LinkedHashMap<>();
+
+    /**
+     * 单个命名空间的缓存策略配置，未配置的项使用默认值
+     */
+    @Data
+    public static class Policy {
+
+        /**
+         * 过期时间
+         */
+        private Duration ttl;
+
+        /**
+         * 过期时间随机抖动比例
+         */
+        private Double jitter;
+
+        /**
+         * 空值标记过期时间
+         */
+        private Duration nullTtl;
+
+        /**
+         * 值大小上限（压缩后）
+         */
+        private DataSize maxValueSize;
+
+        /**
+         * 压缩阈值
+         */
+        private DataSize compressThreshold;
+    }
+}
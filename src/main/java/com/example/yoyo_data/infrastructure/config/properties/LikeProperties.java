@@ -0,0 +1,54 @@
+package com.example.yoyo_data.infrastructure.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 点赞配置属性 - 从application.yml读取点赞相关配置
+ *
+ * @author Template Framework
+ * @version 1.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "like")
+public class LikeProperties {
+
+    /**
+     * Redis 点赞数缓存过期时间（秒），每次点赞刷新
+     */
+    private long counterTtl = 86400;
+
+    /**
+     * Redis 点赞用户集合过期时间（秒），每次点赞刷新
+     */
+    private long membersTtl = 604800;
+
+    /**
+     * 增量流异步回写配置（点赞数、点赞记录）
+     */
+    private Flush flush = new Flush();
+
+    /**
+     * 增量流异步回写配置
+     */
+    @Data
+    public static class Flush {
+
+        /**
+         * 回写间隔（毫秒）
+         */
+        private long interval = 3000;
+
+        /**
+         * 单次从增量流读取的最大条数
+         */
+        private int batchSize = 2000;
+
+        /**
+         * 增量被其他节点认领后超过该时长仍未确认，视为该节点宕机，由本节点接管（毫秒）
+         */
+        private long claimIdle = 60000;
+    }
+}
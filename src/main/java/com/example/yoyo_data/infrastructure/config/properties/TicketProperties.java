@@ -0,0 +1,144 @@
+package com.example.yoyo_data.infrastructure.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 票务配置属性 - 从application.yml读取抢票相关配置
+ *
+ * @author Template Framework
+ * @version 1.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "ticket")
+public class TicketProperties {
+
+    /**
+     * 排队等候室配置
+     */
+    private WaitingRoom waitingRoom = new WaitingRoom();
+
+    /**
+     * Redis 与 MySQL 库存对账配置
+     */
+    private Reconcile reconcile = new Reconcile();
+
+    /**
+     * 开票前缓存预热配置
+     */
+    private PreWarm preWarm = new PreWarm();
+
+    /**
+     * 排队等候室配置
+     */
+    @Data
+    public static class WaitingRoom {
+
+        /**
+         * 是否启用等候室，启用后抢票接口必须携带入场令牌
+         */
+        private boolean enabled = true;
+
+        /**
+         * 排队令牌和入场令牌的签名密钥
+         */
+        private String tokenSecret;
+
+        /**
+         * 每秒最多放行的人数
+         */
+        private int maxAdmitPerSecond = 200;
+
+        /**
+         * 每个剩余座位最多对应的在场人数，在场人数 = 已放行且入场令牌未过期的用户
+         */
+        private double admitPerSeat = 2.0;
+
+        /**
+         * 放行后领取入场令牌的时限（秒），超时未领取视为离开，让出名额
+         */
+        private long claimWindow = 30;
+
+        /**
+         * 入场令牌有效期（秒）
+         */
+        private long admissionTtl = 180;
+
+        /**
+         * 排队令牌有效期（秒）
+         */
+        private long queueTokenTtl = 3600;
+
+        /**
+         * 建议客户端轮询间隔 / SSE 推送间隔（毫秒）
+         */
+        private long pollInterval = 2000;
+    }
+
+    /**
+     * Redis 与 MySQL 库存对账配置
+     */
+    @Data
+    public static class Reconcile {
+
+        /**
+         * 是否启用定时对账
+         */
+        private boolean enabled = true;
+
+        /**
+         * 对账间隔（毫秒）
+         */
+        private long interval = 60000;
+
+        /**
+         * 高峰时段（小时，左闭右开），如 19-23；高峰期只核对库存总数，
+         * 总数不一致的演出才逐区域核对，不做全量轮询
+         */
+        private String peakHours = "19-23";
+
+        /**
+         * 每轮最多核对的区域数
+         */
+        private int zonesPerRound = 4;
+
+        /**
+         * 每次从 Redis 批量读取的座位数
+         */
+        private int batchSize = 500;
+
+        /**
+         * 差异持续多久才修复（秒），避开订单事件异步落库的延迟
+         */
+        private long driftConfirmSeconds = 60;
+
+        /**
+         * 是否自动修复，关闭时只记录差异
+         */
+        private boolean autoRepair = true;
+    }
+
+    /**
+     * 开票前缓存预热配置
+     */
+    @Data
+    public static class PreWarm {
+
+        /**
+         * 是否启用开票前预热
+         */
+        private boolean enabled = true;
+
+        /**
+         * 开票前多久开始预热（秒）
+         */
+        private long leadTime = 600;
+
+        /**
+         * 扫描即将开票演出的间隔（毫秒），已就绪的演出每次扫描时重新校验
+         */
+        private long scanInterval = 30000;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.yoyo_data.infrastructure.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 二级缓存配置属性 - 从application.yml读取本地一级缓存的容量、过期时间和失效广播频道
+ *
+ * @author Template Framework
+ * @version 1.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "tiered-cache")
+public class TieredCacheProperties {
+
+    /**
+     * 是否启用本地一级缓存，关闭后所有读取直接访问 Redis
+     */
+    private boolean enabled = true;
+
+    /**
+     * 失效广播的 Redis 频道
+     */
+    private String channel = "cache:l1:invalidate";
+
+    /**
+     * 每个命名空间默认的本地缓存条数上限
+     */
+    private long maximumSize = 10000;
+
+    /**
+     * 本地缓存默认的写入后过期时间（秒），兜底丢失的失效广播
+     */
+    private long expireSeconds = 60;
+
+    /**
+     * 按命名空间覆盖默认值，键为 CacheKeyManager 中的缓存键前缀
+     */
+    private Map<String, Level1> namespaces = new LinkedHashMap<>();
+
+    /**
+     * 单个命名空间的本地缓存配置
+     */
+    @Data
+    public static class Level1 {
+
+        /**
+         * 本地缓存条数上限
+         */
+        private Long maximumSize;
+
+        /**
+         * 本地缓存写入后过期时间（秒）
+         */
+        private Long expireSeconds;
+    }
+}
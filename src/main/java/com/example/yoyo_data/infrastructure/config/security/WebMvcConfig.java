@@ -1,5 +1,6 @@
 package com.example.yoyo_data.infrastructure.config.security;
 
+import com.example.yoyo_data.interceptor.AdmissionTokenInterceptor;
 import com.example.yoyo_data.interceptor.JwtInterceptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
@@ -16,6 +17,9 @@ public class WebMvcConfig implements WebMvcConfigurer {
     @Autowired
     private JwtInterceptor jwtInterceptor;
 
+    @Autowired
+    private AdmissionTokenInterceptor admissionTokenInterceptor;
+
     /**
      * 注册拦截器
      */
@@ -37,5 +41,9 @@ public class WebMvcConfig implements WebMvcConfigurer {
                         "/v2/api-docs",         // Swagger API 文档
                         "/webjars/**"           // Webjars 资源
                 );
+
+        // 注册入场令牌拦截器，抢票接口只接受等候室放行的用户
+        registry.addInterceptor(admissionTokenInterceptor)
+                .addPathPatterns("/api/tickets/grab");
     }
 }
\ No newline at end of file
@@ -0,0 +1,60 @@
+package com.example.yoyo_data.infrastructure.id;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * 订单编号格式化
+ * 订单编号 = 前缀 TK + 下单日期 yyyyMMdd + 19 位订单ID，由订单ID直接推导，不需要额外存储或查询
+ *
+ * @author Template Framework
+ * @version 1.0
+ */
+public final class OrderNoFormatter {
+
+    private static final String PREFIX = "TK";
+
+    private static final int DATE_LENGTH = 8;
+
+    private static final DateTimeFormatter DATE_FORMATTER =
+            DateTimeFormatter.ofPattern("yyyyMMdd").withZone(ZoneId.systemDefault());
+
+    private OrderNoFormatter() {
+    }
+
+    /**
+     * 由订单ID生成订单编号
+     *
+     * @param orderId 雪花算法生成的订单ID
+     * @return 订单编号
+     */
+    public static String format(long orderId) {
+        String date = DATE_FORMATTER.format(Instant.ofEpochMilli(SnowflakeIdGenerator.timestampOf(orderId)));
+        String id = Long.toString(orderId);
+        StringBuilder builder = new StringBuilder(PREFIX.length() + DATE_LENGTH + 19)
+                .append(PREFIX)
+                .append(date);
+        for (int i = id.length(); i < 19; i++) {
+            builder.append('0');
+        }
+        return builder.append(id).toString();
+    }
+
+    /**
+     * 从订单编号解析订单ID
+     *
+     * @param orderNo 订单编号
+     * @return 订单ID；格式不正确时返回 null
+     */
+    public static Long parseOrderId(String orderNo) {
+        if (orderNo == null || orderNo.length() != PREFIX.length() + DATE_LENGTH + 19 || !orderNo.startsWith(PREFIX)) {
+            return null;
+        }
+        try {
+            return Long.valueOf(orderNo.substring(PREFIX.length() + DATE_LENGTH));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.yoyo_data.infrastructure.id;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 雪花算法 ID 生成器（无锁）
+ * 64 位 ID 结构：1 位符号 | 41 位毫秒时间戳（相对 EPOCH）| 10 位工作节点ID | 12 位序列号。
+ * 时间戳和序列号打包在一个 AtomicLong 中，通过 CAS 推进，不加锁、不分配对象；
+ * 同一毫秒序列号用尽或时钟回拨时序列号继续递增并进位到下一毫秒（借用未来时间），
+ * 借用超过阈值才拒绝生成，保证 ID 单调递增且不重复
+ *
+ * @author Template Framework
+ * @version 1.0
+ */
+public class SnowflakeIdGenerator {
+
+    /**
+     * 起始时间：2024-01-01 00:00:00 UTC
+     */
+    public static final long EPOCH = 1704067200000L;
+
+    private static final int SEQUENCE_BITS = 12;
+
+    private static final int WORKER_ID_BITS = 10;
+
+    private static final int TIMESTAMP_SHIFT = SEQUENCE_BITS + WORKER_ID_BITS;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    /**
+     * 最大工作节点ID
+     */
+    public static final int MAX_WORKER_ID = (1 << WORKER_ID_BITS) - 1;
+
+    /**
+     * (相对时间戳 << SEQUENCE_BITS) | 序列号
+     */
+    private final AtomicLong state;
+
+    /**
+     * 允许借用未来时间的最大毫秒数
+     */
+    private final long maxBorrowMillis;
+
+    /**
+     * 工作节点ID左移后的值
+     */
+    private volatile long workerBits;
+
+    /**
+     * 工作节点ID租约有效期（毫秒时间戳），过期后拒绝生成，避免与接手该ID的节点重复
+     */
+    private volatile long leaseValidUntil;
+
+    /**
+     * @param workerId 工作节点ID
+     * @param lastTimestamp 该工作节点上次生成 ID 使用的时间戳（毫秒），用于重启后跳过已用过的时间
+     * @param maxBorrowMillis 允许借用未来时间的最大毫秒数
+     */
+    public SnowflakeIdGenerator(int workerId, long lastTimestamp, long maxBorrowMillis) {
+        this.maxBorrowMillis = maxBorrowMillis;
+        long start = Math.max(lastTimestamp, System.currentTimeMillis()) - EPOCH;
+        this.state = new AtomicLong(start << SEQUENCE_BITS);
+        updateLease(workerId, Long.MAX_VALUE);
+    }
+
+    /**
+     * 生成下一个 ID
+     *
+     * @return 64 位 ID
+     * @throws IllegalStateException 工作节点租约过期或时钟回拨超过阈值
+     */
+    public long nextId() {
+        long now = System.currentTimeMillis();
+        if (now > leaseValidUntil) {
+            throw new IllegalStateException("ID生成器工作节点租约已过期");
+        }
+        long elapsed = now - EPOCH;
+        long current;
+        long next;
+        do {
+            current = state.get();
+            // 时钟前进时从新毫秒的 0 号序列开始，否则序列号加一，溢出时自然进位到下一毫秒
+            next = elapsed > (current >>> SEQUENCE_BITS) ? elapsed << SEQUENCE_BITS : current + 1;
+        } while (!state.compareAndSet(current, next));
+
+        long timestamp = next >>> SEQUENCE_BITS;
+        if (timestamp - elapsed > maxBorrowMillis) {
+            throw new IllegalStateException("时钟回拨超过阈值，拒绝生成ID: borrowMillis=" + (timestamp - elapsed));
+        }
+        return (timestamp << TIMESTAMP_SHIFT) | workerBits | (next & SEQUENCE_MASK);
+    }
+
+    /**
+     * 更新工作节点ID及租约有效期
+     */
+    public void updateLease(int workerId, long validUntil) {
+        if (workerId < 0 || workerId > MAX_WORKER_ID) {
+            throw new IllegalArgumentException("工作节点ID超出范围: " + workerId);
+        }
+        this.workerBits = (long) workerId << SEQUENCE_BITS;
+        this.leaseValidUntil = validUntil;
+    }
+
+    /**
+     * 把生成器的时间推进到指定时间之后（切换工作节点ID时跳过该ID上一任持有者用过的时间）
+     *
+     * @param timestamp 毫秒时间戳
+     */
+    public void advanceTo(long timestamp) {
+        long target = (timestamp - EPOCH + 1) << SEQUENCE_BITS;
+        long current;
+        do {
+            current = state.get();
+            if (current >= target) {
+                return;
+            }
+        } while (!state.compareAndSet(current, target));
+    }
+
+    /**
+     * 当前工作节点ID
+     */
+    public int getWorkerId() {
+        return (int) (workerBits >>> SEQUENCE_BITS);
+    }
+
+    /**
+     * 最近一次生成 ID 使用的时间戳（毫秒），可能因借用而大于当前时间
+     */
+    public long getLastTimestamp() {
+        return (state.get() >>> SEQUENCE_BITS) + EPOCH;
+    }
+
+    /**
+     * 解析 ID 中的时间戳（毫秒）
+     */
+    public static long timestampOf(long id) {
+        return (id >>> TIMESTAMP_SHIFT) + EPOCH;
+    }
+
+    /**
+     * 解析 ID 中的工作节点ID
+     */
+    public static int workerIdOf(long id) {
+        return (int) ((id >>> SEQUENCE_BITS) & MAX_WORKER_ID);
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.yoyo_data.infrastructure.id;
+
+import com.baomidou.mybatisplus.core.incrementer.IdentifierGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * MyBatis-Plus 主键生成器
+ * 注册为 Spring Bean 后由 MyBatis-Plus 自动装配，@TableId(type = IdType.ASSIGN_ID) 的实体
+ * 在插入前由本节点生成主键，不依赖数据库自增，插入前即可拿到 ID 用于批量和异步写入
+ *
+ * @author Template Framework
+ * @version 1.0
+ */
+@Component
+public class SnowflakeIdentifierGenerator implements IdentifierGenerator {
+
+    @Autowired
+    private WorkerIdLeaseManager workerIdLeaseManager;
+
+    @Override
+    public Number nextId(Object entity) {
+        return nextId();
+    }
+
+    /**
+     * 生成下一个 ID
+     *
+     * @return 64 位 ID
+     */
+    public long nextId() {
+        return workerIdLeaseManager.getGenerator().nextId();
+    }
+}
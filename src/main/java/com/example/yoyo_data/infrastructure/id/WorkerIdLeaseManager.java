@@ -0,0 +1,171 @@
+package com.example.yoyo_data.infrastructure.id;
+
+import com.example.yoyo_data.common.constant.CacheKey;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scripting.support.ResourceScriptSource;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ID 生成器工作节点租约管理
+ * 启动时通过 Redis SETNX 租用一个空闲的工作节点ID，由独立的续期线程定时续期并记录该ID最近使用的时间戳
+ * （不使用共享的定时任务线程池，避免被耗时任务挤占而错过续期）；
+ * 续期失败（租约被其他实例接手）时换用新的工作节点ID，并跳过新ID上一任持有者用过的时间。
+ * 租约过期前未能续期时生成器拒绝生成 ID，不会与其他实例产生重复 ID
+ *
+ * @author Template Framework
+ * @version 1.0
+ */
+@Slf4j
+@Component
+public class WorkerIdLeaseManager {
+
+    /**
+     * 租约时长（毫秒）
+     */
+    private static final long LEASE_MILLIS = 60_000L;
+
+    /**
+     * 续期间隔（毫秒）
+     */
+    private static final long RENEW_INTERVAL_MILLIS = 15_000L;
+
+    /**
+     * 本地判断租约有效期时预留的安全余量（毫秒），覆盖节点与 Redis 之间的时钟差
+     */
+    private static final long LEASE_SAFETY_MILLIS = 5_000L;
+
+    /**
+     * 允许借用未来时间的最大毫秒数
+     */
+    private static final long MAX_BORROW_MILLIS = 5_000L;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private DefaultRedisScript<Long> renewScript;
+
+    private volatile SnowflakeIdGenerator generator;
+
+    private ScheduledExecutorService renewExecutor;
+
+    @PostConstruct
+    public void init() {
+        renewScript = new DefaultRedisScript<>();
+        renewScript.setScriptSource(new ResourceScriptSource(new ClassPathResource("lua/id_worker_renew.lua")));
+        renewScript.setResultType(Long.class);
+        acquire();
+
+        renewExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "id-worker-lease-renew");
+            thread.setDaemon(true);
+            return thread;
+        });
+        renewExecutor.scheduleWithFixedDelay(this::renew, RENEW_INTERVAL_MILLIS, RENEW_INTERVAL_MILLIS,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 获取 ID 生成器
+     */
+    public SnowflakeIdGenerator getGenerator() {
+        return generator;
+    }
+
+    /**
+     * 定时续期，租约被其他实例接手时换用新的工作节点ID
+     */
+    public void renew() {
+        int workerId = generator.getWorkerId();
+        long renewAt = System.currentTimeMillis();
+        try {
+            Long last = stringRedisTemplate.execute(renewScript, leaseKeys(workerId),
+                    instanceId, String.valueOf(LEASE_MILLIS), String.valueOf(generator.getLastTimestamp()));
+            if (last == null || last < 0) {
+                log.error("ID生成器工作节点租约已被其他实例持有，重新租用: workerId={}", workerId);
+                acquire();
+                return;
+            }
+            if (last > generator.getLastTimestamp()) {
+                generator.advanceTo(last);
+            }
+            generator.updateLease(workerId, renewAt + LEASE_MILLIS - LEASE_SAFETY_MILLIS);
+        } catch (Exception e) {
+            log.error("ID生成器工作节点租约续期失败: workerId={}", workerId, e);
+        }
+    }
+
+    @PreDestroy
+    public void release() {
+        if (renewExecutor != null) {
+            renewExecutor.shutdownNow();
+        }
+        SnowflakeIdGenerator current = generator;
+        if (current == null) {
+            return;
+        }
+        try {
+            List<String> keys = leaseKeys(current.getWorkerId());
+            // 先记录最近使用的时间戳，再释放租约
+            stringRedisTemplate.execute(renewScript, keys,
+                    instanceId, String.valueOf(LEASE_MILLIS), String.valueOf(current.getLastTimestamp()));
+            if (instanceId.equals(stringRedisTemplate.opsForValue().get(keys.get(0)))) {
+                stringRedisTemplate.delete(keys.get(0));
+            }
+            log.info("ID生成器工作节点租约已释放: workerId={}", current.getWorkerId());
+        } catch (Exception e) {
+            log.warn("ID生成器工作节点租约释放失败，等待自动过期: workerId={}", current.getWorkerId(), e);
+        }
+    }
+
+    /**
+     * 从随机位置开始依次尝试租用空闲的工作节点ID
+     */
+    private synchronized void acquire() {
+        int start = ThreadLocalRandom.current().nextInt(SnowflakeIdGenerator.MAX_WORKER_ID + 1);
+        for (int i = 0; i <= SnowflakeIdGenerator.MAX_WORKER_ID; i++) {
+            int workerId = (start + i) & SnowflakeIdGenerator.MAX_WORKER_ID;
+            long acquiredAt = System.currentTimeMillis();
+            Boolean locked = stringRedisTemplate.opsForValue().setIfAbsent(CacheKey.ID_WORKER_LEASE + workerId,
+                    instanceId, LEASE_MILLIS, TimeUnit.MILLISECONDS);
+            if (locked == null || !locked) {
+                continue;
+            }
+            long lastTimestamp = generator != null ? generator.getLastTimestamp() : 0;
+            Long last = stringRedisTemplate.execute(renewScript, leaseKeys(workerId),
+                    instanceId, String.valueOf(LEASE_MILLIS), String.valueOf(lastTimestamp));
+            if (last == null || last < 0) {
+                continue;
+            }
+            long validUntil = acquiredAt + LEASE_MILLIS - LEASE_SAFETY_MILLIS;
+            if (generator == null) {
+                generator = new SnowflakeIdGenerator(workerId, last, MAX_BORROW_MILLIS);
+            } else {
+                generator.advanceTo(last);
+            }
+            generator.updateLease(workerId, validUntil);
+            log.info("ID生成器工作节点租用成功: workerId={}, lastTimestamp={}", workerId, last);
+            return;
+        }
+        throw new IllegalStateException("没有空闲的ID生成器工作节点ID");
+    }
+
+    private static List<String> leaseKeys(int workerId) {
+        return Arrays.asList(CacheKey.ID_WORKER_LEASE + workerId, CacheKey.ID_WORKER_LAST_TIMESTAMP + workerId);
+    }
+}
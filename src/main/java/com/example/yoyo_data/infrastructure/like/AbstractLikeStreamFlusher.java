@@ -0,0 +1,217 @@
+package com.example.yoyo_data.infrastructure.like;
+
+import com.example.yoyo_data.infrastructure.config.properties.LikeProperties;
+import com.example.yoyo_data.infrastructure.repository.StreamAppliedRecordMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.RedisStreamCommands;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 点赞增量流回写基类 - 以消费组读取 Redis 增量流，子类按批写入 MySQL，
+ * 写入成功后才确认并删除增量，写入失败或节点宕机时增量保留在流中：
+ * 本节点下一轮先重放自己未确认的增量，其他节点超过认领空闲时长后接管宕机节点的增量。
+ * 写入与登记流记录ID在同一事务中提交，提交后、确认前宕机导致的重放会跳过已登记的记录，不会重复写入
+ *
+ * @author Template Framework
+ * @version 1.0
+ */
+@Slf4j
+public abstract class AbstractLikeStreamFlusher {
+
+    /**
+     * 单轮最多读取的批数，避免积压时一轮占用过久
+     */
+    private static final int MAX_BATCHES_PER_ROUND = 10;
+
+    /**
+     * 已回写登记的保留时长（小时），远大于认领空闲时长，过期时对应增量早已确认删除
+     */
+    private static final long APPLIED_RETENTION_HOURS = 24;
+
+    /**
+     * 清理已回写登记时单次删除的条数
+     */
+    private static final int PURGE_BATCH_SIZE = 1000;
+
+    @Autowired
+    protected StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    protected LikeProperties likeProperties;
+
+    @Autowired
+    private StreamAppliedRecordMapper streamAppliedRecordMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private String consumerName;
+
+    /**
+     * 增量流键
+     */
+    protected abstract String streamKey();
+
+    /**
+     * 消费组名称
+     */
+    protected abstract String group();
+
+    /**
+     * 在回写事务中写入一批尚未回写的增量，失败时抛出异常，这一批不确认
+     *
+     * @param records 增量记录（按流中顺序）
+     */
+    protected abstract void apply(List<MapRecord<String, Object, Object>> records);
+
+    /**
+     * 回写事务提交后、确认增量前执行，失败时抛出异常，这一批不确认
+     *
+     * @param records 本批全部增量记录（含此前已回写、本次跳过的记录）
+     */
+    protected void afterCommit(List<MapRecord<String, Object, Object>> records) {
+    }
+
+    @PostConstruct
+    public void initGroup() {
+        consumerName = "flusher-" + ManagementFactory.getRuntimeMXBean().getName();
+        byte[] key = streamKey().getBytes(StandardCharsets.UTF_8);
+        try {
+            stringRedisTemplate.execute((RedisCallback<String>) connection ->
+                    connection.xGroupCreate(key, group(), ReadOffset.from("0"), true));
+        } catch (Exception e) {
+            // 消费组已存在
+            log.debug("增量流消费组已存在: stream={}, {}", streamKey(), e.getMessage());
+        }
+    }
+
+    /**
+     * 回写一轮：先重放本节点未确认的增量，再读取新增量
+     */
+    protected void flushRound() {
+        try {
+            int batchSize = likeProperties.getFlush().getBatchSize();
+            List<MapRecord<String, Object, Object>> pending = read(ReadOffset.from("0"), batchSize);
+            if (!pending.isEmpty()) {
+                applyAndAck(pending);
+            }
+            for (int i = 0; i < MAX_BATCHES_PER_ROUND; i++) {
+                List<MapRecord<String, Object, Object>> records = read(ReadOffset.lastConsumed(), batchSize);
+                if (records.isEmpty()) {
+                    break;
+                }
+                applyAndAck(records);
+                if (records.size() < batchSize) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            log.error("增量回写失败，保留到下一轮重放: stream={}", streamKey(), e);
+        }
+    }
+
+    /**
+     * 接管其他节点超过空闲时长仍未确认的增量（节点宕机后遗留），由下一轮回写重放
+     */
+    protected void claimAbandonedRound() {
+        try {
+            long claimIdle = likeProperties.getFlush().getClaimIdle();
+            PendingMessages pending = stringRedisTemplate.opsForStream().pending(streamKey(), group(),
+                    Range.unbounded(), likeProperties.getFlush().getBatchSize());
+            List<RecordId> abandoned = new ArrayList<>();
+            for (PendingMessage message : pending) {
+                if (!consumerName.equals(message.getConsumerName())
+                        && message.getElapsedTimeSinceLastDelivery().toMillis() >= claimIdle) {
+                    abandoned.add(message.getId());
+                }
+            }
+            if (abandoned.isEmpty()) {
+                return;
+            }
+            byte[] key = streamKey().getBytes(StandardCharsets.UTF_8);
+            RedisStreamCommands.XClaimOptions options = RedisStreamCommands.XClaimOptions
+                    .minIdle(Duration.ofMillis(claimIdle))
+                    .ids(abandoned);
+            List<RecordId> claimed = stringRedisTemplate.execute((RedisCallback<List<RecordId>>) connection ->
+                    connection.xClaimJustId(key, group(), consumerName, options));
+            log.warn("接管未确认的增量: stream={}, count={}", streamKey(), claimed != null ? claimed.size() : 0);
+        } catch (Exception e) {
+            log.error("接管未确认的增量失败: stream={}", streamKey(), e);
+        }
+    }
+
+    /**
+     * 清理过期的已回写登记
+     */
+    protected void purgeAppliedRound() {
+        try {
+            LocalDateTime before = LocalDateTime.now().minusHours(APPLIED_RETENTION_HOURS);
+            int total = 0;
+            int deleted;
+            do {
+                deleted = streamAppliedRecordMapper.deleteBefore(group(), before, PURGE_BATCH_SIZE);
+                total += deleted;
+            } while (deleted == PURGE_BATCH_SIZE);
+            if (total > 0) {
+                log.info("清理已回写登记: group={}, deleted={}", group(), total);
+            }
+        } catch (Exception e) {
+            log.error("清理已回写登记失败: group={}", group(), e);
+        }
+    }
+
+    private List<MapRecord<String, Object, Object>> read(ReadOffset offset, int count) {
+        List<MapRecord<String, Object, Object>> records = stringRedisTemplate.opsForStream().read(
+                Consumer.from(group(), consumerName),
+                StreamReadOptions.empty().count(count),
+                StreamOffset.create(streamKey(), offset));
+        return records != null ? records : new ArrayList<>();
+    }
+
+    private void applyAndAck(List<MapRecord<String, Object, Object>> records) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<String> recordIds = records.stream().map(record -> record.getId().getValue()).collect(Collectors.toList());
+            Set<String> applied = new HashSet<>(streamAppliedRecordMapper.selectApplied(group(), recordIds));
+            List<MapRecord<String, Object, Object>> fresh = records.stream()
+                    .filter(record -> !applied.contains(record.getId().getValue()))
+                    .collect(Collectors.toList());
+            if (fresh.isEmpty()) {
+                return;
+            }
+            if (!applied.isEmpty()) {
+                log.warn("跳过已回写的增量: stream={}, skipped={}", streamKey(), applied.size());
+            }
+            apply(fresh);
+            // 并发回写同一记录时主键冲突，整个事务回滚，下一轮按已回写跳过
+            streamAppliedRecordMapper.insertBatch(group(),
+                    fresh.stream().map(record -> record.getId().getValue()).collect(Collectors.toList()));
+        });
+        afterCommit(records);
+        RecordId[] ids = records.stream().map(MapRecord::getId).toArray(RecordId[]::new);
+        stringRedisTemplate.opsForStream().acknowledge(streamKey(), group(), ids);
+        stringRedisTemplate.opsForStream().delete(streamKey(), ids);
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.yoyo_data.infrastructure.like;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 合并后的点赞数增量，按目标批量回写
+ *
+ * @author Template Framework
+ * @version 1.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LikeCountDelta {
+
+    /**
+     * 目标ID（帖子ID / 评论ID）
+     */
+    private Long targetId;
+
+    /**
+     * 合并后的增量
+     */
+    private Integer delta;
+}
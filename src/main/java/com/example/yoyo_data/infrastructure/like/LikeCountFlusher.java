@@ -0,0 +1,89 @@
+package com.example.yoyo_data.infrastructure.like;
+
+import com.example.yoyo_data.common.constant.ToggleType;
+import com.example.yoyo_data.infrastructure.cache.CacheKeyManager;
+import com.example.yoyo_data.infrastructure.repository.CommentMapper;
+import com.example.yoyo_data.infrastructure.repository.PostMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 点赞数异步回写 - 读取点赞数增量流，按目标合并后每个目标类型一条 SQL 批量累加到 MySQL
+ * 累加与登记流记录ID在同一事务中提交，确认前宕机或被其他节点接管后重放时跳过已累加的增量
+ *
+ * @author Template Framework
+ * @version 1.0
+ */
+@Slf4j
+@Component
+public class LikeCountFlusher extends AbstractLikeStreamFlusher {
+
+    @Autowired
+    private PostMapper postMapper;
+
+    @Autowired
+    private CommentMapper commentMapper;
+
+    @Scheduled(initialDelay = 5000, fixedDelayString = "${like.flush.interval:3000}")
+    public void flush() {
+        flushRound();
+    }
+
+    @Scheduled(initialDelay = 30000, fixedDelayString = "${like.flush.claim-idle:60000}")
+    public void claimAbandoned() {
+        claimAbandonedRound();
+    }
+
+    @Scheduled(initialDelay = 60000, fixedDelay = 3600000)
+    public void purgeApplied() {
+        purgeAppliedRound();
+    }
+
+    @Override
+    protected String streamKey() {
+        return CacheKeyManager.LIKE_COUNT_STREAM;
+    }
+
+    @Override
+    protected String group() {
+        return CacheKeyManager.LIKE_COUNT_GROUP;
+    }
+
+    @Override
+    protected void apply(List<MapRecord<String, Object, Object>> records) {
+        Map<String, Map<Long, Integer>> deltas = new HashMap<>();
+        for (MapRecord<String, Object, Object> record : records) {
+            Map<Object, Object> value = record.getValue();
+            deltas.computeIfAbsent(value.get("t").toString(), type -> new HashMap<>())
+                    .merge(Long.valueOf(value.get("id").toString()), Integer.valueOf(value.get("d").toString()), Integer::sum);
+        }
+        List<LikeCountDelta> postDeltas = toDeltas(deltas.get(ToggleType.POST));
+        List<LikeCountDelta> commentDeltas = toDeltas(deltas.get(ToggleType.COMMENT));
+        if (!postDeltas.isEmpty()) {
+            postMapper.batchIncrementLikeCount(postDeltas);
+        }
+        if (!commentDeltas.isEmpty()) {
+            commentMapper.batchIncrementLikeCount(commentDeltas);
+        }
+        log.info("点赞数回写完成: records={}, posts={}, comments={}", records.size(), postDeltas.size(), commentDeltas.size());
+    }
+
+    private static List<LikeCountDelta> toDeltas(Map<Long, Integer> deltas) {
+        if (deltas == null) {
+            return new ArrayList<>();
+        }
+        return deltas.entrySet().stream()
+                .filter(entry -> entry.getValue() != 0)
+                .map(entry -> new LikeCountDelta(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList());
+    }
+}
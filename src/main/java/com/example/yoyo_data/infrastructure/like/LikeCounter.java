@@ -0,0 +1,81 @@
+package com.example.yoyo_data.infrastructure.like;
+
+import com.example.yoyo_data.common.constant.ToggleType;
+import com.example.yoyo_data.common.entity.Comment;
+import com.example.yoyo_data.common.entity.Post;
+import com.example.yoyo_data.infrastructure.cache.CacheKeyManager;
+import com.example.yoyo_data.infrastructure.config.properties.LikeProperties;
+import com.example.yoyo_data.infrastructure.repository.CommentMapper;
+import com.example.yoyo_data.infrastructure.repository.PostMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 点赞计数器 - 点赞数以 Redis 为准，由点赞切换脚本原子增减并把增量写入回写流，
+ * 由 {@link LikeCountFlusher} 按目标合并后批量回写 MySQL，点赞请求不再读改写数据库。
+ * Redis 未缓存点赞数时以数据库中的值为初始值，此时尚未回写的增量会暂时少计，缓存过期后重新加载即一致
+ *
+ * @author Template Framework
+ * @version 1.0
+ */
+@Slf4j
+@Component
+public class LikeCounter {
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private PostMapper postMapper;
+
+    @Autowired
+    private CommentMapper commentMapper;
+
+    @Autowired
+    private LikeProperties likeProperties;
+
+    /**
+     * 获取点赞数，优先读取 Redis
+     *
+     * @param targetType 目标类型
+     * @param targetId 目标ID
+     * @return 点赞数
+     */
+    public long getCount(String targetType, Long targetId) {
+        String key = countKey(targetType, targetId);
+        String cached = stringRedisTemplate.opsForValue().get(key);
+        if (cached != null) {
+            return Math.max(0, Long.parseLong(cached));
+        }
+        long count = loadCount(targetType, targetId);
+        stringRedisTemplate.opsForValue().setIfAbsent(key, String.valueOf(count),
+                likeProperties.getCounterTtl(), TimeUnit.SECONDS);
+        return count;
+    }
+
+    /**
+     * 点赞数缓存键：like:count:{targetType}:{targetId}
+     */
+    public static String countKey(String targetType, Long targetId) {
+        return CacheKeyManager.LIKE_COUNT_PREFIX + targetType + ":" + targetId;
+    }
+
+    /**
+     * 从数据库读取点赞数（Redis 点赞数的初始值）
+     */
+    public long loadCount(String targetType, Long targetId) {
+        Integer count = null;
+        if (ToggleType.POST.equals(targetType)) {
+            Post post = postMapper.selectById(targetId);
+            count = post != null ? post.getLikeCount() : null;
+        } else if (ToggleType.COMMENT.equals(targetType)) {
+            Comment comment = commentMapper.selectById(targetId);
+            count = comment != null ? comment.getLikeCount() : null;
+        }
+        return count != null ? count : 0;
+    }
+}
@@ -0,0 +1,387 @@
+package com.example.yoyo_data.infrastructure.like;
+
+import com.alibaba.fastjson.JSON;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.example.yoyo_data.common.constant.LikeRankWindow;
+import com.example.yoyo_data.common.constant.ToggleType;
+import com.example.yoyo_data.common.entity.Post;
+import com.example.yoyo_data.common.vo.LikeTopVO;
+import com.example.yoyo_data.common.vo.UserCardVO;
+import com.example.yoyo_data.infrastructure.cache.CacheKeyManager;
+import com.example.yoyo_data.infrastructure.cache.RedisService;
+import com.example.yoyo_data.infrastructure.repository.PostMapper;
+import com.example.yoyo_data.infrastructure.user.UserInfoLoader;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 帖子点赞排行榜 - 由点赞事件消费者按时间窗口合并后增量更新 Redis 有序集合：
+ * 按天分桶（like:rank:day:{yyyyMMdd}）和全部时间（like:rank:all），周榜由最近 7 个日桶 ZUNIONSTORE 合并。
+ * 各窗口的前 N 名连同帖子和作者信息缓存为快照，排行榜变化后由后台刷新，
+ * 查询只读取快照，不访问 MySQL；帖子信息卡片缓存未命中时由后台刷新批量回源
+ *
+ * @author Template Framework
+ * @version 1.0
+ */
+@Slf4j
+@Component
+public class LikeLeaderboard {
+
+    /**
+     * 快照保存的最大名次
+     */
+    public static final int SNAPSHOT_SIZE = 100;
+
+    /**
+     * 周榜合并的日桶数
+     */
+    private static final int WEEK_DAYS = 7;
+
+    /**
+     * 日桶保留天数（周榜合并所需再多留一天）
+     */
+    private static final long DAY_BUCKET_EXPIRE_DAYS = WEEK_DAYS + 1;
+
+    /**
+     * 帖子信息卡片缓存时间（秒）
+     */
+    private static final long CARD_EXPIRE = CacheKeyManager.CacheTTL.ONE_DAY;
+
+    /**
+     * 刷新锁过期时间（秒）
+     */
+    private static final long REFRESH_LOCK_EXPIRE = 30;
+
+    /**
+     * 全部时间榜初始化时每批读取的帖子数
+     */
+    private static final int SEED_BATCH_SIZE = 5000;
+
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private static final String ALL_KEY = CacheKeyManager.LIKE_RANK_PREFIX + "all";
+
+    private static final String ALL_SEEDED_KEY = CacheKeyManager.LIKE_RANK_PREFIX + "all:seeded";
+
+    private static final String WEEK_KEY = CacheKeyManager.LIKE_RANK_PREFIX + "week";
+
+    private static final String VERSION_KEY = CacheKeyManager.LIKE_RANK_PREFIX + "version";
+
+    private static final String REFRESH_LOCK_KEY = CacheKeyManager.LIKE_RANK_PREFIX + "lock";
+
+    private static final List<String> WINDOWS = Arrays.asList(LikeRankWindow.DAILY, LikeRankWindow.WEEKLY, LikeRankWindow.ALL);
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private RedisService redisService;
+
+    @Autowired
+    private PostMapper postMapper;
+
+    @Autowired
+    private UserInfoLoader userInfoLoader;
+
+    /**
+     * 批量记录帖子点赞数变化（一次管道往返）
+     *
+     * @param deltas 帖子ID -> 点赞数增量
+     */
+    public void recordAll(Map<Long, Long> deltas) {
+        Map<String, Long> changed = new HashMap<>();
+        deltas.forEach((postId, delta) -> {
+            if (delta != null && delta != 0) {
+                changed.put(String.valueOf(postId), delta);
+            }
+        });
+        if (changed.isEmpty()) {
+            return;
+        }
+        String dayKey = dayKey(LocalDate.now());
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            changed.forEach((member, delta) -> {
+                stringConnection.zIncrBy(dayKey, delta, member);
+                stringConnection.zIncrBy(ALL_KEY, delta, member);
+            });
+            stringConnection.expire(dayKey, TimeUnit.DAYS.toSeconds(DAY_BUCKET_EXPIRE_DAYS));
+            stringConnection.incr(VERSION_KEY);
+            return null;
+        });
+    }
+
+    /**
+     * 帖子删除后移出排行榜
+     *
+     * @param postId 帖子ID
+     */
+    public void remove(Long postId) {
+        String member = String.valueOf(postId);
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            stringConnection.zRem(ALL_KEY, member);
+            for (int i = 0; i < WEEK_DAYS; i++) {
+                stringConnection.zRem(dayKey(LocalDate.now().minusDays(i)), member);
+            }
+            stringConnection.del(cardKey(postId));
+            stringConnection.incr(VERSION_KEY);
+            return null;
+        });
+    }
+
+    /**
+     * 帖子信息变化后丢弃信息卡片，下次刷新时重新加载
+     *
+     * @param postId 帖子ID
+     */
+    public void evictCard(Long postId) {
+        stringRedisTemplate.delete(cardKey(postId));
+        stringRedisTemplate.opsForValue().increment(VERSION_KEY);
+    }
+
+    /**
+     * 查询排行榜前 N 名（只读取快照）
+     *
+     * @param window 时间窗口
+     * @param top 名次数
+     * @return 排行榜，快照尚未生成时为空
+     */
+    public List<LikeTopVO> getTop(String window, int top) {
+        Snapshot snapshot = readSnapshot(window);
+        if (snapshot == null || snapshot.getItems() == null) {
+            return Collections.emptyList();
+        }
+        List<LikeTopVO> items = snapshot.getItems();
+        return items.subList(0, Math.min(Math.max(top, 0), items.size()));
+    }
+
+    /**
+     * 后台刷新：排行榜有变化或日期变化时重建各窗口快照，同一时刻只有一个节点执行
+     */
+    @Scheduled(initialDelay = 5000, fixedDelay = 1000)
+    public void refresh() {
+        String token = redisService.tryLock(REFRESH_LOCK_KEY, REFRESH_LOCK_EXPIRE, TimeUnit.SECONDS);
+        if (token == null) {
+            return;
+        }
+        try {
+            if (!Boolean.TRUE.equals(stringRedisTemplate.hasKey(ALL_SEEDED_KEY))) {
+                seedAllTime(token);
+            }
+            String version = stringRedisTemplate.opsForValue().get(VERSION_KEY);
+            String today = LocalDate.now().format(DAY_FORMAT);
+            for (String window : WINDOWS) {
+                Snapshot snapshot = readSnapshot(window);
+                if (snapshot == null || !today.equals(snapshot.getDay())
+                        || !String.valueOf(version).equals(snapshot.getVersion())) {
+                    rebuildSnapshot(window, version, today);
+                }
+            }
+        } catch (Exception e) {
+            log.error("点赞排行榜刷新失败", e);
+        } finally {
+            redisService.unlock(REFRESH_LOCK_KEY, token);
+        }
+    }
+
+    private void rebuildSnapshot(String window, String version, String today) {
+        String key = windowKey(window);
+        Set<ZSetOperations.TypedTuple<String>> ranked = stringRedisTemplate.opsForZSet()
+                .reverseRangeByScoreWithScores(key, 1, Double.MAX_VALUE, 0, SNAPSHOT_SIZE);
+        List<LikeTopVO> items = new ArrayList<>();
+        if (ranked != null && !ranked.isEmpty()) {
+            List<Long> postIds = ranked.stream().map(tuple -> Long.valueOf(tuple.getValue())).collect(Collectors.toList());
+            Map<Long, LikeTopVO> cards = loadCards(postIds);
+            for (ZSetOperations.TypedTuple<String> tuple : ranked) {
+                LikeTopVO card = cards.get(Long.valueOf(tuple.getValue()));
+                if (card == null) {
+                    continue;
+                }
+                LikeTopVO item = JSON.parseObject(JSON.toJSONString(card), LikeTopVO.class);
+                item.setLikeCount(tuple.getScore() != null ? tuple.getScore().intValue() : 0);
+                items.add(item);
+            }
+        }
+        stringRedisTemplate.opsForValue().set(snapshotKey(window), JSON.toJSONString(new Snapshot(version, today, items)));
+        log.debug("点赞排行榜快照已刷新: window={}, size={}, version={}", window, items.size(), version);
+    }
+
+    /**
+     * 窗口对应的有序集合，周榜先合并最近 7 个日桶
+     */
+    private String windowKey(String window) {
+        if (LikeRankWindow.DAILY.equals(window)) {
+            return dayKey(LocalDate.now());
+        }
+        if (LikeRankWindow.WEEKLY.equals(window)) {
+            LocalDate today = LocalDate.now();
+            List<String> dayKeys = new ArrayList<>();
+            for (int i = 1; i < WEEK_DAYS; i++) {
+                dayKeys.add(dayKey(today.minusDays(i)));
+            }
+            stringRedisTemplate.opsForZSet().unionAndStore(dayKey(today), dayKeys, WEEK_KEY);
+            return WEEK_KEY;
+        }
+        return ALL_KEY;
+    }
+
+    /**
+     * 帖子信息卡片：先批量读取 Redis，未命中的帖子一次批量查询、作者经用户信息加载器批量加载后写回
+     */
+    private Map<Long, LikeTopVO> loadCards(List<Long> postIds) {
+        List<String> cached = stringRedisTemplate.opsForValue()
+                .multiGet(postIds.stream().map(LikeLeaderboard::cardKey).collect(Collectors.toList()));
+        Map<Long, LikeTopVO> cards = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+        for (int i = 0; i < postIds.size(); i++) {
+            String json = cached != null ? cached.get(i) : null;
+            if (json != null) {
+                cards.put(postIds.get(i), JSON.parseObject(json, LikeTopVO.class));
+            } else {
+                misses.add(postIds.get(i));
+            }
+        }
+        if (misses.isEmpty()) {
+            return cards;
+        }
+
+        List<Post> posts = postMapper.selectBatchIds(misses);
+        Map<Long, UserCardVO> users = userInfoLoader.loadAll(posts.stream().map(Post::getUserId).collect(Collectors.toList()));
+        Map<String, String> loaded = new HashMap<>();
+        for (Post post : posts) {
+            UserCardVO user = users.get(post.getUserId());
+            LikeTopVO card = LikeTopVO.builder()
+                    .targetId(post.getId())
+                    .targetType(ToggleType.POST)
+                    .title(post.getTitle())
+                    .content(post.getContent())
+                    .mediaUrls(post.getMediaUrls())
+                    .tags(post.getTags())
+                    .userId(post.getUserId())
+                    .userName(user != null ? user.getUserName() : null)
+                    .status(post.getStatus())
+                    .createdAt(post.getCreatedAt())
+                    .build();
+            cards.put(post.getId(), card);
+            loaded.put(cardKey(post.getId()), JSON.toJSONString(card));
+        }
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            loaded.forEach((key, value) -> stringConnection.setEx(key, CARD_EXPIRE, value));
+            return null;
+        });
+
+        // 已删除的帖子移出全部时间榜
+        misses.stream().filter(postId -> !cards.containsKey(postId))
+                .forEach(postId -> stringRedisTemplate.opsForZSet().remove(ALL_KEY, String.valueOf(postId)));
+        return cards;
+    }
+
+    /**
+     * 全部时间榜首次使用时从帖子点赞数初始化（只有一个节点执行）。
+     * 先写入本次初始化独有的临时键，完成后 RENAME 整体替换，初始化期间的点赞增量不会被逐条 ZADD 覆盖成半新半旧的分数；
+     * 替换前落在旧键上的增量已由点赞数回写计入帖子点赞数，尚未回写的部分（回写间隔内）以数据库为准
+     */
+    private void seedAllTime(String token) {
+        String seedKey = ALL_KEY + ":seed:" + token;
+        long lastId = 0;
+        long total = 0;
+        try {
+            while (true) {
+                List<Post> posts = postMapper.selectList(new LambdaQueryWrapper<Post>()
+                        .select(Post::getId, Post::getLikeCount)
+                        .gt(Post::getId, lastId)
+                        .gt(Post::getLikeCount, 0)
+                        .orderByAsc(Post::getId)
+                        .last("LIMIT " + SEED_BATCH_SIZE));
+                if (posts.isEmpty()) {
+                    break;
+                }
+                stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                    for (Post post : posts) {
+                        stringConnection.zAdd(seedKey, post.getLikeCount(), String.valueOf(post.getId()));
+                    }
+                    return null;
+                });
+                total += posts.size();
+                lastId = posts.get(posts.size() - 1).getId();
+                if (posts.size() < SEED_BATCH_SIZE) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            stringRedisTemplate.delete(seedKey);
+            throw e;
+        }
+        if (total > 0) {
+            stringRedisTemplate.rename(seedKey, ALL_KEY);
+        }
+        stringRedisTemplate.opsForValue().set(ALL_SEEDED_KEY, "1");
+        stringRedisTemplate.opsForValue().increment(VERSION_KEY);
+        log.info("点赞全部时间榜初始化完成: posts={}", total);
+    }
+
+    private Snapshot readSnapshot(String window) {
+        String json = stringRedisTemplate.opsForValue().get(snapshotKey(window));
+        return json != null ? JSON.parseObject(json, Snapshot.class) : null;
+    }
+
+    private static String dayKey(LocalDate day) {
+        return CacheKeyManager.LIKE_RANK_PREFIX + "day:" + day.format(DAY_FORMAT);
+    }
+
+    private static String snapshotKey(String window) {
+        return CacheKeyManager.LIKE_RANK_PREFIX + "snapshot:" + window;
+    }
+
+    private static String cardKey(Long postId) {
+        return CacheKeyManager.LIKE_RANK_PREFIX + "card:" + postId;
+    }
+
+    /**
+     * 排行榜快照
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Snapshot {
+
+        /**
+         * 生成快照时的排行榜版本
+         */
+        private String version;
+
+        /**
+         * 生成快照的日期（yyyyMMdd），跨天后日榜和周榜重建
+         */
+        private String day;
+
+        /**
+         * 前 N 名
+         */
+        private List<LikeTopVO> items;
+    }
+}
@@ -0,0 +1,280 @@
+package com.example.yoyo_data.infrastructure.like;
+
+import cn.hutool.core.util.IdUtil;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.example.yoyo_data.common.entity.Like;
+import com.example.yoyo_data.infrastructure.cache.CacheKeyManager;
+import com.example.yoyo_data.infrastructure.config.properties.LikeProperties;
+import com.example.yoyo_data.infrastructure.repository.LikeMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scripting.support.ResourceScriptSource;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 点赞关系 - 每个目标一个 Redis 集合保存点赞用户，点赞状态查询为一次 SISMEMBER；
+ * 点赞切换由 Lua 原子完成（集合增删 + 点赞数增减 + 写入点赞数增量流和点赞记录流），一次返回新状态和点赞数，
+ * 点赞记录由 {@link LikeRecordFlusher} 批量写入 MySQL，点赞请求不再同步访问数据库。
+ * 集合未缓存时从数据库整体加载，加载结果写入临时键后原子替换，不会覆盖加载期间已生效的点赞切换；
+ * 同一目标在本节点的并发加载只执行一次，其余请求等待第一次加载的结果。
+ * 用户ID自增且稠密，按用户ID做位图时每个目标的位图大小取决于最大用户ID而不是点赞人数，
+ * 大多数目标只有少量点赞，集合的内存与点赞人数成正比，因此使用集合。
+ * 切换脚本同时写入两个全局流，与目标的键不在同一槽位，只支持单机或哨兵模式的 Redis
+ *
+ * @author Template Framework
+ * @version 1.0
+ */
+@Slf4j
+@Component
+public class LikeMembership {
+
+    /**
+     * 集合已完整加载的标记成员
+     */
+    public static final String LOADED_MARKER = "-";
+
+    /**
+     * 加载时每批写入的用户数
+     */
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private LikeMapper likeMapper;
+
+    @Autowired
+    private LikeCounter likeCounter;
+
+    @Autowired
+    private LikeProperties likeProperties;
+
+    private DefaultRedisScript<List> toggleScript;
+
+    private DefaultRedisScript<Long> loadScript;
+
+    /**
+     * 加载中的点赞用户集合，同一目标的并发加载等待同一次加载
+     */
+    private final Map<String, CompletableFuture<Void>> loading = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        toggleScript = new DefaultRedisScript<>();
+        toggleScript.setScriptSource(new ResourceScriptSource(new ClassPathResource("lua/like_toggle.lua")));
+        toggleScript.setResultType(List.class);
+
+        loadScript = new DefaultRedisScript<>();
+        loadScript.setScriptSource(new ResourceScriptSource(new ClassPathResource("lua/like_members_load.lua")));
+        loadScript.setResultType(Long.class);
+    }
+
+    /**
+     * 切换点赞状态
+     *
+     * @param userId 用户ID
+     * @param targetType 目标类型
+     * @param targetId 目标ID
+     * @return 切换结果；点赞用户未加载时返回 null，调用方校验目标存在后调用 {@link #load} 再重试
+     */
+    public LikeToggleResult toggle(Long userId, String targetType, Long targetId) {
+        List<String> keys = Arrays.asList(membersKey(targetType, targetId), LikeCounter.countKey(targetType, targetId),
+                CacheKeyManager.LIKE_COUNT_STREAM, CacheKeyManager.LIKE_RECORD_STREAM);
+        String membersTtl = String.valueOf(likeProperties.getMembersTtl());
+        String counterTtl = String.valueOf(likeProperties.getCounterTtl());
+        List<?> result = stringRedisTemplate.execute(toggleScript, keys, String.valueOf(userId), targetType,
+                String.valueOf(targetId), membersTtl, counterTtl, String.valueOf(System.currentTimeMillis()));
+        long code = ((Number) result.get(0)).longValue();
+        if (code == -2) {
+            // 点赞数未缓存，以数据库中的值为初始值重试
+            result = stringRedisTemplate.execute(toggleScript, keys, String.valueOf(userId), targetType,
+                    String.valueOf(targetId), membersTtl, counterTtl, String.valueOf(System.currentTimeMillis()),
+                    String.valueOf(likeCounter.loadCount(targetType, targetId)));
+            code = ((Number) result.get(0)).longValue();
+        }
+        if (code < 0) {
+            return null;
+        }
+        return new LikeToggleResult(code == 1, Math.max(0, ((Number) result.get(1)).longValue()));
+    }
+
+    /**
+     * 查询是否已点赞，点赞用户未缓存时先从数据库加载
+     *
+     * @param userId 用户ID
+     * @param targetType 目标类型
+     * @param targetId 目标ID
+     * @return 是否已点赞
+     */
+    public boolean isLiked(Long userId, String targetType, Long targetId) {
+        if (!isLoaded(targetType, targetId)) {
+            load(targetType, targetId);
+        }
+        return Boolean.TRUE.equals(stringRedisTemplate.opsForSet().isMember(membersKey(targetType, targetId),
+                String.valueOf(userId)));
+    }
+
+    /**
+     * 批量查询同一用户对多个目标的点赞状态：Redis 一次管道往返，
+     * 点赞用户未缓存的目标合并为一条 IN 查询（不加载集合，避免一次请求触发多次整体加载）
+     *
+     * @param userId 用户ID
+     * @param targetType 目标类型
+     * @param targetIds 目标ID
+     * @return 目标ID -> 是否已点赞（保持入参顺序）
+     */
+    public Map<Long, Boolean> areLiked(Long userId, String targetType, List<Long> targetIds) {
+        String member = String.valueOf(userId);
+        List<Object> results = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            for (Long targetId : targetIds) {
+                String key = membersKey(targetType, targetId);
+                stringConnection.sIsMember(key, LOADED_MARKER);
+                stringConnection.sIsMember(key, member);
+            }
+            return null;
+        });
+        Map<Long, Boolean> liked = new LinkedHashMap<>();
+        List<Long> misses = new ArrayList<>();
+        for (int i = 0; i < targetIds.size(); i++) {
+            Long targetId = targetIds.get(i);
+            if (Boolean.TRUE.equals(results.get(i * 2))) {
+                liked.put(targetId, Boolean.TRUE.equals(results.get(i * 2 + 1)));
+            } else {
+                liked.put(targetId, false);
+                misses.add(targetId);
+            }
+        }
+        if (!misses.isEmpty()) {
+            likeMapper.selectObjs(new LambdaQueryWrapper<Like>()
+                            .select(Like::getTargetId)
+                            .eq(Like::getUserId, userId)
+                            .eq(Like::getTargetType, targetType)
+                            .in(Like::getTargetId, misses))
+                    .forEach(targetId -> liked.put(((Number) targetId).longValue(), true));
+        }
+        return liked;
+    }
+
+    /**
+     * 点赞用户是否已加载到 Redis
+     */
+    public boolean isLoaded(String targetType, Long targetId) {
+        return Boolean.TRUE.equals(stringRedisTemplate.opsForSet().isMember(membersKey(targetType, targetId), LOADED_MARKER));
+    }
+
+    /**
+     * 从数据库加载目标的全部点赞用户，同一目标在本节点同时只加载一次
+     *
+     * @param targetType 目标类型
+     * @param targetId 目标ID
+     */
+    public void load(String targetType, Long targetId) {
+        String key = membersKey(targetType, targetId);
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        CompletableFuture<Void> existing = loading.putIfAbsent(key, future);
+        if (existing != null) {
+            existing.join();
+            return;
+        }
+        try {
+            // 双重检查：等待前一次加载刚完成时不重复加载
+            if (!isLoaded(targetType, targetId)) {
+                loadFromDatabase(targetType, targetId, key);
+            }
+            future.complete(null);
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, future);
+        }
+    }
+
+    private void loadFromDatabase(String targetType, Long targetId, String key) {
+        String loadKey = key + ":load:" + IdUtil.fastSimpleUUID();
+        List<Object> userIds = likeMapper.selectObjs(new LambdaQueryWrapper<Like>()
+                .select(Like::getUserId)
+                .eq(Like::getTargetType, targetType)
+                .eq(Like::getTargetId, targetId));
+        for (int from = 0; from < userIds.size(); from += LOAD_BATCH_SIZE) {
+            List<Object> batch = userIds.subList(from, Math.min(from + LOAD_BATCH_SIZE, userIds.size()));
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                stringConnection.sAdd(loadKey, batch.stream().map(String::valueOf).toArray(String[]::new));
+                return null;
+            });
+        }
+        Long loaded = stringRedisTemplate.execute(loadScript, Arrays.asList(key, loadKey),
+                String.valueOf(likeProperties.getMembersTtl()));
+        log.debug("加载点赞用户: targetType={}, targetId={}, users={}, loaded={}", targetType, targetId, userIds.size(), loaded);
+    }
+
+    /**
+     * 批量查询当前点赞状态（回写点赞记录时以 Redis 为准，管道执行）
+     *
+     * @param likes 点赞关系（用户、目标类型、目标ID）
+     * @return 与入参一一对应：是否已点赞；点赞用户未缓存时为 null
+     */
+    public List<Boolean> currentStates(List<Like> likes) {
+        List<Object> results = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            for (Like like : likes) {
+                String key = membersKey(like.getTargetType(), like.getTargetId());
+                stringConnection.sIsMember(key, LOADED_MARKER);
+                stringConnection.sIsMember(key, String.valueOf(like.getUserId()));
+            }
+            return null;
+        });
+        List<Boolean> states = new ArrayList<>(likes.size());
+        for (int i = 0; i < likes.size(); i++) {
+            states.add(Boolean.TRUE.equals(results.get(i * 2)) ? Boolean.TRUE.equals(results.get(i * 2 + 1)) : null);
+        }
+        return states;
+    }
+
+    /**
+     * 点赞用户集合键：like:members:{targetType}:{targetId}
+     */
+    public static String membersKey(String targetType, Long targetId) {
+        return CacheKeyManager.LIKE_MEMBERS_PREFIX + targetType + ":" + targetId;
+    }
+
+    /**
+     * 点赞切换结果
+     */
+    public static class LikeToggleResult {
+
+        private final boolean liked;
+
+        private final long count;
+
+        public LikeToggleResult(boolean liked, long count) {
+            this.liked = liked;
+            this.count = count;
+        }
+
+        public boolean isLiked() {
+            return liked;
+        }
+
+        public long getCount() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.yoyo_data.infrastructure.like;
+
+import com.example.yoyo_data.common.entity.Like;
+import com.example.yoyo_data.infrastructure.cache.CacheKeyManager;
+import com.example.yoyo_data.infrastructure.cache.RedisService;
+import com.example.yoyo_data.infrastructure.id.SnowflakeIdentifierGenerator;
+import com.example.yoyo_data.infrastructure.repository.LikeMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 点赞记录异步落库 - 读取点赞记录流，同一用户对同一目标的多次切换只保留最终状态，
+ * 一个事务内多行 INSERT IGNORE 新增点赞、一条 DELETE 删除取消的点赞。
+ * 最终状态以 Redis 点赞用户集合为准（集合已过期时取流中最后一次切换），
+ * 多个节点并发回写或重放同一批记录时结果一致；事务提交后失效涉及目标的点赞列表缓存，
+ * 失效失败时这一批不确认，下一轮重放时跳过已落库的记录、再次失效
+ *
+ * @author Template Framework
+ * @version 1.0
+ */
+@Slf4j
+@Component
+public class LikeRecordFlusher extends AbstractLikeStreamFlusher {
+
+    @Autowired
+    private LikeMapper likeMapper;
+
+    @Autowired
+    private LikeMembership likeMembership;
+
+    @Autowired
+    private SnowflakeIdentifierGenerator identifierGenerator;
+
+    @Autowired
+    private RedisService redisService;
+
+    @Scheduled(initialDelay = 5000, fixedDelayString = "${like.flush.interval:3000}")
+    public void flush() {
+        flushRound();
+    }
+
+    @Scheduled(initialDelay = 30000, fixedDelayString = "${like.flush.claim-idle:60000}")
+    public void claimAbandoned() {
+        claimAbandonedRound();
+    }
+
+    @Scheduled(initialDelay = 60000, fixedDelay = 3600000)
+    public void purgeApplied() {
+        purgeAppliedRound();
+    }
+
+    @Override
+    protected String streamKey() {
+        return CacheKeyManager.LIKE_RECORD_STREAM;
+    }
+
+    @Override
+    protected String group() {
+        return CacheKeyManager.LIKE_RECORD_GROUP;
+    }
+
+    @Override
+    protected void apply(List<MapRecord<String, Object, Object>> records) {
+        // 用户 + 目标 -> 流中最后一次切换
+        Map<String, Like> latest = new LinkedHashMap<>();
+        Map<String, Boolean> latestLiked = new LinkedHashMap<>();
+        for (MapRecord<String, Object, Object> record : records) {
+            Map<Object, Object> value = record.getValue();
+            Like like = Like.builder()
+                    .userId(Long.valueOf(value.get("u").toString()))
+                    .targetType(value.get("t").toString())
+                    .targetId(Long.valueOf(value.get("id").toString()))
+                    .createdAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(Long.parseLong(value.get("ts").toString())),
+                            ZoneId.systemDefault()))
+                    .build();
+            String key = like.getUserId() + ":" + like.getTargetType() + ":" + like.getTargetId();
+            latest.put(key, like);
+            latestLiked.put(key, "1".equals(value.get("liked").toString()));
+        }
+
+        List<Like> likes = new ArrayList<>(latest.values());
+        List<Boolean> states = likeMembership.currentStates(likes);
+        List<Like> inserts = new ArrayList<>();
+        List<Like> deletes = new ArrayList<>();
+        List<String> keys = new ArrayList<>(latest.keySet());
+        for (int i = 0; i < likes.size(); i++) {
+            Boolean liked = states.get(i) != null ? states.get(i) : latestLiked.get(keys.get(i));
+            if (liked) {
+                Like like = likes.get(i);
+                like.setId(identifierGenerator.nextId());
+                inserts.add(like);
+            } else {
+                deletes.add(likes.get(i));
+            }
+        }
+        if (!inserts.isEmpty()) {
+            likeMapper.insertIgnoreBatch(inserts);
+        }
+        if (!deletes.isEmpty()) {
+            likeMapper.deleteBatch(deletes);
+        }
+        log.info("点赞记录落库完成: records={}, inserted={}, deleted={}", records.size(), inserts.size(), deletes.size());
+    }
+
+    @Override
+    protected void afterCommit(List<MapRecord<String, Object, Object>> records) {
+        Set<String> namespaces = new LinkedHashSet<>();
+        for (MapRecord<String, Object, Object> record : records) {
+            Map<Object, Object> value = record.getValue();
+            namespaces.add(CacheKeyManager.likeListNamespace(value.get("t").toString(),
+                    Long.valueOf(value.get("id").toString())));
+        }
+        for (String namespace : namespaces) {
+            redisService.invalidateNamespace(namespace);
+        }
+    }
+}
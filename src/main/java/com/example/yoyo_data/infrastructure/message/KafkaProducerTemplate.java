@@ -4,9 +4,12 @@ import com.alibaba.fastjson.JSON;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
+import org.springframework.util.concurrent.ListenableFuture;
 
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Kafka生产者模板 - 用于发送消息到Kafka
@@ -19,6 +22,11 @@ import java.util.UUID;
 @Component
 public class KafkaProducerTemplate {
 
+    /**
+     * 同步发送等待 broker 确认的超时时间（毫秒）
+     */
+    private static final long SEND_TIMEOUT_MS = 5000;
+
     @Autowired
     private KafkaTemplate<String, String> kafkaTemplate;
 
@@ -86,6 +94,46 @@ public class KafkaProducerTemplate {
         }
     }
 
+    /**
+     * 按消息键发送事件消息，相同键的消息进入同一分区，保证顺序
+     *
+     * @param topic 主题名称
+     * @param key 消息键
+     * @param event 事件对象
+     * @return 是否发送成功
+     */
+    public boolean sendEvent(String topic, String key, MessageEvent event) {
+        try {
+            if (event.getEventId() == null) {
+                event.setEventId(UUID.randomUUID().toString());
+            }
+            String message = JSON.toJSONString(event);
+            kafkaTemplate.send(topic, key, message);
+            log.info("事件消息发送成功: topic={}, key={}, eventId={}, eventType={}",
+                    topic, key, event.getEventId(), event.getEventType());
+            return true;
+        } catch (Exception e) {
+            log.error("事件消息发送失败: topic={}, key={}, eventId={}",
+                    topic, key, event.getEventId(), e);
+            return false;
+        }
+    }
+
+    /**
+     * 按消息键发送事件消息，返回发送结果，由调用方批量等待 broker 确认
+     *
+     * @param topic 主题名称
+     * @param key 消息键
+     * @param event 事件对象
+     * @return 发送结果
+     */
+    public ListenableFuture<SendResult<String, String>> sendEventAsync(String topic, String key, MessageEvent event) {
+        if (event.getEventId() == null) {
+            event.setEventId(UUID.randomUUID().toString());
+        }
+        return kafkaTemplate.send(topic, key, JSON.toJSONString(event));
+    }
+
     /**
      * 发送事件消息到指定分区
      *
@@ -132,6 +180,31 @@ public class KafkaProducerTemplate {
         }
     }
 
+    /**
+     * 发送对象消息并等待 broker 确认，用于消息丢失会造成数据不一致的场景
+     *
+     * @param topic 主题名称
+     * @param key 消息键
+     * @param object 对象
+     * @return broker 是否已确认写入
+     */
+    public boolean sendObjectAndWait(String topic, String key, Object object) {
+        try {
+            String message = JSON.toJSONString(object);
+            kafkaTemplate.send(topic, key, message).get(SEND_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            log.info("对象消息发送成功: topic={}, key={}, objectType={}",
+                    topic, key, object.getClass().getSimpleName());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("对象消息发送被中断: topic={}, key={}", topic, key, e);
+            return false;
+        } catch (Exception e) {
+            log.error("对象消息发送失败: topic={}, key={}", topic, key, e);
+            return false;
+        }
+    }
+
     /**
      * 获取KafkaTemplate实例（如需直接使用）
      *
@@ -2,9 +2,12 @@ package com.example.yoyo_data.infrastructure.message.consumer;
 
 import com.alibaba.fastjson.JSON;
 import com.example.yoyo_data.common.constant.KafkaTopic;
+import com.example.yoyo_data.infrastructure.cache.CacheKeyManager;
 import com.example.yoyo_data.infrastructure.cache.RedisService;
 import com.example.yoyo_data.infrastructure.message.KafkaConsumerTemplate;
 import com.example.yoyo_data.infrastructure.message.MessageEvent;
+import com.example.yoyo_data.service.impl.TravelPlanDetailLoader;
+import com.example.yoyo_data.service.impl.DialogDetailLoader;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,9 +24,20 @@ import java.util.Map;
 @Component
 public class CacheSyncEventConsumer extends KafkaConsumerTemplate {
 
+    /**
+     * 按模式删除缓存时每批扫描的 key 数
+     */
+    private static final int SCAN_BATCH = 1000;
+
     @Autowired
     private RedisService redisService;
 
+    @Autowired
+    private TravelPlanDetailLoader travelPlanDetailLoader;
+
+    @Autowired
+    private DialogDetailLoader dialogDetailLoader;
+
     /**
      * 监听缓存失效通知
      */
@@ -46,20 +60,27 @@ public class CacheSyncEventConsumer extends KafkaConsumerTemplate {
             // 解析事件数据
             Map<String, Object> eventData = JSON.parseObject(event.getData(), Map.class);
             String cacheKey = (String) eventData.get("cacheKey");
+            String cacheNamespace = (String) eventData.get("cacheNamespace");
             String cachePattern = (String) eventData.get("cachePattern");
+            if (cacheNamespace == null && cachePattern != null) {
+                cacheNamespace = toNamespace(cachePattern);
+            }
 
             // 处理缓存失效
             if (cacheKey != null) {
                 // 删除单个缓存key
                 redisService.delete(cacheKey);
                 log.info("删除缓存key成功: {}", cacheKey);
+            } else if (cacheNamespace != null && CacheKeyManager.isGenerationNamespace(cacheNamespace)) {
+                // 命名空间代数加一，命名空间内的缓存全部失效（不再使用 KEYS 扫描）
+                Long generation = redisService.invalidateNamespace(cacheNamespace);
+                log.info("缓存命名空间失效成功: namespace={}, generation={}", cacheNamespace, generation);
             } else if (cachePattern != null) {
-                // 删除匹配模式的缓存key
-                java.util.Set<String> keys = redisService.keys(cachePattern);
-                if (keys != null && !keys.isEmpty()) {
-                    redisService.delete(keys);
-                    log.info("批量删除缓存key成功: pattern={}, count={}", cachePattern, keys.size());
-                }
+                // 不是按代数失效的命名空间（如详情缓存前缀），代数加一不会生效，按 SCAN 删除匹配的键
+                long deleted = redisService.deleteByPattern(cachePattern, SCAN_BATCH);
+                log.warn("缓存失效模式未对应代数命名空间，按模式删除: pattern={}, deleted={}", cachePattern, deleted);
+            } else if (cacheNamespace != null) {
+                log.warn("未知的缓存命名空间，忽略失效通知: namespace={}", cacheNamespace);
             }
 
             consumeEvent(event);
@@ -145,14 +166,9 @@ public class CacheSyncEventConsumer extends KafkaConsumerTemplate {
             Long userId = ((Number) eventData.get("userId")).longValue();
 
             // 清除旅行计划相关缓存
-            String planCacheKey = "travel_plan:" + planId;
-            redisService.delete(planCacheKey);
+            travelPlanDetailLoader.evict(planId);
 
-            String listCachePattern = "travel_plan:list:" + userId + ":*";
-            java.util.Set<String> keys = redisService.keys(listCachePattern);
-            if (keys != null && !keys.isEmpty()) {
-                redisService.delete(keys);
-            }
+            redisService.invalidateNamespace(CacheKeyManager.travelPlanListNamespace(userId));
 
             log.info("旅行计划缓存同步完成: planId={}, userId={}", planId, userId);
 
@@ -189,14 +205,9 @@ public class CacheSyncEventConsumer extends KafkaConsumerTemplate {
             Long userId = ((Number) eventData.get("userId")).longValue();
 
             // 清除对话相关缓存
-            String dialogCacheKey = "dialog:" + dialogId;
-            redisService.delete(dialogCacheKey);
+            dialogDetailLoader.evict(dialogId);
 
-            String listCachePattern = "dialog:list:" + userId + ":*";
-            java.util.Set<String> keys = redisService.keys(listCachePattern);
-            if (keys != null && !keys.isEmpty()) {
-                redisService.delete(keys);
-            }
+            redisService.invalidateNamespace(CacheKeyManager.dialogListNamespace(userId));
 
             log.info("对话缓存同步完成: dialogId={}, userId={}", dialogId, userId);
 
@@ -208,6 +219,22 @@ public class CacheSyncEventConsumer extends KafkaConsumerTemplate {
         }
     }
 
+    /**
+     * 兼容旧的前缀模式（如 dialog:list:1:*）：去掉末尾的 * 和分隔符即为缓存命名空间
+     *
+     * @return 缓存命名空间，模式不是前缀或不对应按代数失效的命名空间时返回 null
+     */
+    private String toNamespace(String cachePattern) {
+        if (!cachePattern.endsWith("*") || cachePattern.indexOf('*') != cachePattern.length() - 1) {
+            return null;
+        }
+        String namespace = cachePattern.substring(0, cachePattern.length() - 1);
+        while (namespace.endsWith(":")) {
+            namespace = namespace.substring(0, namespace.length() - 1);
+        }
+        return CacheKeyManager.isGenerationNamespace(namespace) ? namespace : null;
+    }
+
     /**
      * 处理数据创建
      */
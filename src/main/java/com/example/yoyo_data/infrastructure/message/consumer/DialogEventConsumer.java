@@ -2,9 +2,11 @@ package com.example.yoyo_data.infrastructure.message.consumer;
 
 import com.alibaba.fastjson.JSON;
 import com.example.yoyo_data.common.constant.KafkaTopic;
+import com.example.yoyo_data.infrastructure.cache.CacheKeyManager;
 import com.example.yoyo_data.infrastructure.cache.RedisService;
 import com.example.yoyo_data.infrastructure.message.KafkaConsumerTemplate;
 import com.example.yoyo_data.infrastructure.message.MessageEvent;
+import com.example.yoyo_data.service.impl.DialogDetailLoader;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -26,6 +28,9 @@ public class DialogEventConsumer extends KafkaConsumerTemplate {
     @Autowired
     private RedisService redisService;
 
+    @Autowired
+    private DialogDetailLoader dialogDetailLoader;
+
     /**
      * 监听对话创建事件
      */
@@ -202,8 +207,9 @@ public class DialogEventConsumer extends KafkaConsumerTemplate {
             String userUnreadKey = UNREAD_COUNT_PREFIX + dialogId + ":" + userId;
             String recipientUnreadKey = UNREAD_COUNT_PREFIX + dialogId + ":" + recipientId;
 
-            redisService.stringSetString(userUnreadKey, "0", 86400000L); // 24小时
-            redisService.stringSetString(recipientUnreadKey, "0", 86400000L); // 24小时
+            // 过期时间按 dialog:unread: 命名空间的缓存策略
+            redisService.cacheSet(userUnreadKey, "0");
+            redisService.cacheSet(recipientUnreadKey, "0");
 
             log.debug("初始化未读消息计数: dialogId={}", dialogId);
 
@@ -232,7 +238,7 @@ public class DialogEventConsumer extends KafkaConsumerTemplate {
     private void clearUnreadCount(String dialogId, Long userId) {
         try {
             String unreadKey = UNREAD_COUNT_PREFIX + dialogId + ":" + userId;
-            redisService.stringSetString(unreadKey, "0", 86400000L); // 24小时
+            redisService.cacheSet(unreadKey, "0");
             log.debug("清除未读消息计数: dialogId={}, userId={}", dialogId, userId);
 
         } catch (Exception e) {
@@ -263,8 +269,7 @@ public class DialogEventConsumer extends KafkaConsumerTemplate {
     private void clearDialogCache(String dialogId, Long senderId, Long recipientId) {
         try {
             // 清除对话详情缓存
-            String cacheKey = DIALOG_CACHE_PREFIX + dialogId;
-            redisService.delete(cacheKey);
+            dialogDetailLoader.evict(dialogId);
 
             // 清除双方的对话列表缓存
             clearListCache(senderId);
@@ -283,8 +288,7 @@ public class DialogEventConsumer extends KafkaConsumerTemplate {
     private void clearDialogCacheByUser(String dialogId, Long userId) {
         try {
             // 清除对话详情缓存
-            String cacheKey = DIALOG_CACHE_PREFIX + dialogId;
-            redisService.delete(cacheKey);
+            dialogDetailLoader.evict(dialogId);
 
             // 清除用户的对话列表缓存
             clearListCache(userId);
@@ -301,10 +305,7 @@ public class DialogEventConsumer extends KafkaConsumerTemplate {
      */
     private void clearListCache(Long userId) {
         try {
-            java.util.Set<String> keys = redisService.keys(DIALOG_LIST_CACHE_PREFIX + userId + ":*");
-            if (keys != null && !keys.isEmpty()) {
-                redisService.delete(keys);
-            }
+            redisService.invalidateNamespace(CacheKeyManager.dialogListNamespace(userId));
         } catch (Exception e) {
             log.error("清除对话列表缓存失败: userId={}", userId, e);
         }
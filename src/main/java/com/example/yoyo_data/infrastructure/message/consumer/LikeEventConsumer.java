@@ -0,0 +1,335 @@
+package com.example.yoyo_data.infrastructure.message.consumer;
+
+import com.alibaba.fastjson.JSON;
+import com.example.yoyo_data.common.constant.EventType;
+import com.example.yoyo_data.common.constant.KafkaTopic;
+import com.example.yoyo_data.common.constant.ToggleType;
+import com.example.yoyo_data.common.entity.Comment;
+import com.example.yoyo_data.common.entity.Post;
+import com.example.yoyo_data.common.vo.LikeEventMetricsVO;
+import com.example.yoyo_data.infrastructure.like.LikeLeaderboard;
+import com.example.yoyo_data.infrastructure.message.KafkaConsumerTemplate;
+import com.example.yoyo_data.infrastructure.message.KafkaProducerTemplate;
+import com.example.yoyo_data.infrastructure.message.MessageEvent;
+import com.example.yoyo_data.infrastructure.repository.CommentMapper;
+import com.example.yoyo_data.infrastructure.repository.PostMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.concurrent.ListenableFuture;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 点赞事件合并消费者 - 以一次拉取（最多 500 条或等待 1 秒）为时间窗口，
+ * 同一用户对同一目标的多次点赞/取消点赞只保留窗口首尾状态，净变化按目标合并后下发：
+ * 帖子点赞数净增量批量更新排行榜，新增点赞按目标汇总为一条通知发给作者。
+ * 点赞事件以目标ID为消息键，同一目标的事件在同一分区内有序，首尾状态可靠。
+ * 点赞数本身已由点赞切换脚本原子维护并经点赞数增量流回写，这里不再重复累加。
+ * 通知或排行榜更新失败时整批抛出，由批量错误处理器回退位点重新投递，不在失败时提交位点；
+ * 排行榜增量不幂等，放在最后执行，只有排行榜本身失败时才可能随重投重复，通知失败重投时最多重复发送通知
+ *
+ * @author Template Framework
+ * @version 1.0
+ */
+@Slf4j
+@Component
+public class LikeEventConsumer extends KafkaConsumerTemplate {
+
+    /**
+     * 单条通知中携带的点赞用户数上限
+     */
+    private static final int NOTIFY_LIKERS_LIMIT = 10;
+
+    /**
+     * 等待一批通知全部被 broker 确认的超时时间（毫秒）
+     */
+    private static final long NOTIFY_SEND_TIMEOUT_MS = 5000;
+
+    @Autowired
+    private LikeLeaderboard likeLeaderboard;
+
+    @Autowired
+    private PostMapper postMapper;
+
+    @Autowired
+    private CommentMapper commentMapper;
+
+    @Autowired
+    private KafkaProducerTemplate kafkaProducerTemplate;
+
+    private final AtomicLong eventsConsumed = new AtomicLong();
+
+    private final AtomicLong effectiveChanges = new AtomicLong();
+
+    private final AtomicLong leaderboardUpdates = new AtomicLong();
+
+    private final AtomicLong notificationsSent = new AtomicLong();
+
+    private final AtomicLong batches = new AtomicLong();
+
+    private volatile int lastBatchSize;
+
+    private volatile long lastBatchMillis;
+
+    private volatile double inputRate;
+
+    private volatile double outputRate;
+
+    private long lastReportAt = System.currentTimeMillis();
+
+    private long lastReportedEvents;
+
+    private long lastReportedOutputs;
+
+    /**
+     * 批量消费点赞事件，通知或排行榜更新失败时抛出异常，整批重新投递
+     *
+     * @param records 消息记录
+     */
+    @KafkaListener(
+            topics = KafkaTopic.LIKE_EVENTS,
+            groupId = "like-event-group",
+            containerFactory = "batchKafkaListenerContainerFactory",
+            properties = {"max.poll.records=500", "fetch.min.bytes=1048576", "fetch.max.wait.ms=1000"}
+    )
+    public void consumeBatch(List<ConsumerRecord<String, String>> records) {
+        long startTime = System.currentTimeMillis();
+
+        // 用户 + 目标 -> 窗口内首尾状态
+        Map<String, LikeTransition> transitions = new LinkedHashMap<>();
+        for (ConsumerRecord<String, String> record : records) {
+            if (!validateMessage(record.value())) {
+                continue;
+            }
+            MessageEvent event = parseEvent(record.value());
+            if (!validateEvent(event) || event.getData() == null) {
+                continue;
+            }
+            try {
+                Map<String, Object> eventData = JSON.parseObject(event.getData(), Map.class);
+                Long userId = ((Number) eventData.get("userId")).longValue();
+                Long targetId = ((Number) eventData.get("targetId")).longValue();
+                String targetType = eventData.get("targetType").toString();
+                boolean liked = EventType.LIKE.equals(event.getEventType());
+                transitions.computeIfAbsent(userId + ":" + targetType + ":" + targetId,
+                        key -> new LikeTransition(userId, targetType, targetId, liked)).last = liked;
+            } catch (Exception e) {
+                handleException(record.topic(), record.partition(), record.value(), e);
+            }
+        }
+
+        // 按目标合并净变化
+        Map<Long, Long> postDeltas = new HashMap<>();
+        Map<String, List<Long>> newLikers = new LinkedHashMap<>();
+        long changed = 0;
+        for (LikeTransition transition : transitions.values()) {
+            int delta = transition.delta();
+            if (delta == 0) {
+                continue;
+            }
+            changed++;
+            if (ToggleType.POST.equals(transition.targetType)) {
+                postDeltas.merge(transition.targetId, (long) delta, Long::sum);
+            }
+            if (delta > 0) {
+                newLikers.computeIfAbsent(transition.targetType + ":" + transition.targetId, key -> new ArrayList<>())
+                        .add(transition.userId);
+            }
+        }
+
+        long notifyCount;
+        try {
+            notifyCount = notifyOwners(newLikers);
+        } catch (Exception e) {
+            handleException(KafkaTopic.LIKE_EVENTS, -1, "notify size=" + newLikers.size(), e);
+            throw e;
+        }
+        long leaderboardCount = postDeltas.values().stream().filter(delta -> delta != 0).count();
+        try {
+            likeLeaderboard.recordAll(postDeltas);
+        } catch (Exception e) {
+            handleException(KafkaTopic.LIKE_EVENTS, -1, "leaderboard size=" + postDeltas.size(), e);
+            throw e;
+        }
+
+        eventsConsumed.addAndGet(records.size());
+        effectiveChanges.addAndGet(changed);
+        leaderboardUpdates.addAndGet(leaderboardCount);
+        notificationsSent.addAndGet(notifyCount);
+        batches.incrementAndGet();
+        lastBatchSize = records.size();
+        lastBatchMillis = System.currentTimeMillis() - startTime;
+        log.debug("点赞事件合并完成: events={}, pairs={}, changed={}, leaderboard={}, notify={}, cost={}ms",
+                records.size(), transitions.size(), changed, leaderboardCount, notifyCount, lastBatchMillis);
+    }
+
+    /**
+     * 新增点赞按目标汇总为一条通知发给作者（不通知给自己点赞）。
+     * 通知先全部发出再统一等待 broker 确认，全部确认后才返回，本批偏移量才会提交
+     *
+     * @return 发送的通知数
+     * @throws IllegalStateException 有通知未被 broker 确认
+     */
+    private long notifyOwners(Map<String, List<Long>> newLikers) {
+        if (newLikers.isEmpty()) {
+            return 0;
+        }
+        List<Long> postIds = new ArrayList<>();
+        List<Long> commentIds = new ArrayList<>();
+        for (String target : newLikers.keySet()) {
+            String[] parts = target.split(":");
+            (ToggleType.POST.equals(parts[0]) ? postIds : commentIds).add(Long.valueOf(parts[1]));
+        }
+        Map<String, Long> owners = new HashMap<>();
+        if (!postIds.isEmpty()) {
+            for (Post post : postMapper.selectBatchIds(postIds)) {
+                owners.put(ToggleType.POST + ":" + post.getId(), post.getUserId());
+            }
+        }
+        if (!commentIds.isEmpty()) {
+            for (Comment comment : commentMapper.selectBatchIds(commentIds)) {
+                owners.put(ToggleType.COMMENT + ":" + comment.getId(), comment.getUserId());
+            }
+        }
+
+        List<ListenableFuture<SendResult<String, String>>> futures = new ArrayList<>();
+        for (Map.Entry<String, List<Long>> entry : newLikers.entrySet()) {
+            Long ownerId = owners.get(entry.getKey());
+            if (ownerId == null) {
+                continue;
+            }
+            List<Long> likers = new ArrayList<>(entry.getValue());
+            likers.remove(ownerId);
+            if (likers.isEmpty()) {
+                continue;
+            }
+            String[] parts = entry.getKey().split(":");
+            Map<String, Object> eventData = new HashMap<>();
+            eventData.put("recipientId", ownerId);
+            eventData.put("targetType", parts[0]);
+            eventData.put("targetId", Long.valueOf(parts[1]));
+            eventData.put("likerCount", likers.size());
+            eventData.put("likerIds", likers.subList(0, Math.min(likers.size(), NOTIFY_LIKERS_LIMIT)));
+
+            MessageEvent notification = MessageEvent.builder()
+                    .eventType(EventType.USER_NOTIFY)
+                    .source("LikeEventConsumer")
+                    .userId(ownerId)
+                    .data(JSON.toJSONString(eventData))
+                    .timestamp(LocalDateTime.now())
+                    .createdAt(LocalDateTime.now())
+                    .priority(4)
+                    .build();
+            futures.add(kafkaProducerTemplate.sendEventAsync(KafkaTopic.USER_NOTIFICATION, String.valueOf(ownerId), notification));
+        }
+
+        long sent = 0;
+        long failed = 0;
+        long deadline = System.currentTimeMillis() + NOTIFY_SEND_TIMEOUT_MS;
+        for (ListenableFuture<SendResult<String, String>> future : futures) {
+            try {
+                future.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+                sent++;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("等待点赞通知发送结果被中断", e);
+            } catch (ExecutionException | TimeoutException e) {
+                log.warn("点赞通知发送失败: error={}", e.getMessage());
+                failed++;
+            }
+        }
+        if (failed > 0) {
+            throw new IllegalStateException("点赞通知发送失败: failed=" + failed + ", sent=" + sent);
+        }
+        return sent;
+    }
+
+    /**
+     * 每分钟统计一次合并前后的吞吐量
+     */
+    @Scheduled(initialDelay = 60000, fixedDelay = 60000)
+    public void reportThroughput() {
+        long now = System.currentTimeMillis();
+        long events = eventsConsumed.get();
+        long outputs = leaderboardUpdates.get() + notificationsSent.get();
+        double seconds = Math.max(1, now - lastReportAt) / 1000.0;
+        inputRate = (events - lastReportedEvents) / seconds;
+        outputRate = (outputs - lastReportedOutputs) / seconds;
+        lastReportAt = now;
+        lastReportedEvents = events;
+        lastReportedOutputs = outputs;
+        if (inputRate > 0) {
+            log.info("点赞事件吞吐: 合并前={}/s, 合并后={}/s", String.format("%.2f", inputRate), String.format("%.2f", outputRate));
+        }
+    }
+
+    /**
+     * 获取合并消费指标
+     *
+     * @return 合并消费指标
+     */
+    public LikeEventMetricsVO getMetrics() {
+        long events = eventsConsumed.get();
+        long outputs = leaderboardUpdates.get() + notificationsSent.get();
+        return LikeEventMetricsVO.builder()
+                .eventsConsumed(events)
+                .effectiveChanges(effectiveChanges.get())
+                .leaderboardUpdates(leaderboardUpdates.get())
+                .notificationsSent(notificationsSent.get())
+                .batches(batches.get())
+                .collapseRatio(events == 0 ? 0 : (double) outputs / events)
+                .inputRate(inputRate)
+                .outputRate(outputRate)
+                .lastBatchSize(lastBatchSize)
+                .lastBatchMillis(lastBatchMillis)
+                .build();
+    }
+
+    /**
+     * 窗口内某用户对某目标的首尾状态
+     */
+    private static class LikeTransition {
+
+        private final Long userId;
+
+        private final String targetType;
+
+        private final Long targetId;
+
+        /**
+         * 窗口开始前是否已点赞（每次事件都是一次切换，首个事件的反面即窗口前状态）
+         */
+        private final boolean before;
+
+        private boolean last;
+
+        LikeTransition(Long userId, String targetType, Long targetId, boolean first) {
+            this.userId = userId;
+            this.targetType = targetType;
+            this.targetId = targetId;
+            this.before = !first;
+            this.last = first;
+        }
+
+        /**
+         * 点赞数净变化：-1、0 或 1
+         */
+        int delta() {
+            return (last ? 1 : 0) - (before ? 1 : 0);
+        }
+    }
+}
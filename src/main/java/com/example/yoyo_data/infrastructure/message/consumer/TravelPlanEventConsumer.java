@@ -2,9 +2,11 @@ package com.example.yoyo_data.infrastructure.message.consumer;
 
 import com.alibaba.fastjson.JSON;
 import com.example.yoyo_data.common.constant.KafkaTopic;
+import com.example.yoyo_data.infrastructure.cache.CacheKeyManager;
 import com.example.yoyo_data.infrastructure.cache.RedisService;
 import com.example.yoyo_data.infrastructure.message.KafkaConsumerTemplate;
 import com.example.yoyo_data.infrastructure.message.MessageEvent;
+import com.example.yoyo_data.service.impl.TravelPlanDetailLoader;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,8 +26,8 @@ public class TravelPlanEventConsumer extends KafkaConsumerTemplate {
     @Autowired
     private RedisService redisService;
 
-    private static final String TRAVEL_PLAN_CACHE_PREFIX = "travel_plan:";
-    private static final String TRAVEL_PLAN_LIST_CACHE_PREFIX = "travel_plan:list:";
+    @Autowired
+    private TravelPlanDetailLoader travelPlanDetailLoader;
 
     /**
      * 监听旅行计划创建事件
@@ -151,8 +153,7 @@ public class TravelPlanEventConsumer extends KafkaConsumerTemplate {
     private void syncCacheAfterUpdate(String planId, Long userId) {
         try {
             // 清除详情缓存
-            String cacheKey = TRAVEL_PLAN_CACHE_PREFIX + planId;
-            redisService.delete(cacheKey);
+            travelPlanDetailLoader.evict(planId);
 
             // 清除列表缓存
             clearListCache(userId);
@@ -170,8 +171,7 @@ public class TravelPlanEventConsumer extends KafkaConsumerTemplate {
     private void clearCache(String planId, Long userId) {
         try {
             // 清除详情缓存
-            String cacheKey = TRAVEL_PLAN_CACHE_PREFIX + planId;
-            redisService.delete(cacheKey);
+            travelPlanDetailLoader.evict(planId);
 
             // 清除列表缓存
             clearListCache(userId);
@@ -188,10 +188,7 @@ public class TravelPlanEventConsumer extends KafkaConsumerTemplate {
      */
     private void clearListCache(Long userId) {
         try {
-            java.util.Set<String> keys = redisService.keys(TRAVEL_PLAN_LIST_CACHE_PREFIX + userId + ":*");
-            if (keys != null && !keys.isEmpty()) {
-                redisService.delete(keys);
-            }
+            redisService.invalidateNamespace(CacheKeyManager.travelPlanListNamespace(userId));
         } catch (Exception e) {
             log.error("清除旅行计划列表缓存失败: userId={}", userId, e);
         }
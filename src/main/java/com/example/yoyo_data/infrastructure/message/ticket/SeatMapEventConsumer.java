@@ -0,0 +1,84 @@
+package com.example.yoyo_data.infrastructure.message.ticket;
+
+import com.example.yoyo_data.common.constant.EventType;
+import com.example.yoyo_data.common.constant.KafkaTopic;
+import com.example.yoyo_data.infrastructure.message.KafkaConsumerTemplate;
+import com.example.yoyo_data.infrastructure.ticket.seatmap.SeatBitmap;
+import com.example.yoyo_data.infrastructure.ticket.seatmap.SeatMapManager;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 座位图事件消费者 - 将锁座、支付、释放事件应用到本节点的座位状态位图
+ * 每个节点使用独立的消费组（按主机名和端口固定，重启后沿用同一个消费组，不会遗留孤儿消费组），
+ * 以广播方式接收全部票务订单事件；分配到分区时跳到末尾，只消费启动后的新消息，
+ * 停机期间的事件不回放（座位图在首次访问时从 Redis 加载最新状态）
+ *
+ * @author Template Framework
+ * @version 1.0
+ */
+@Slf4j
+@Component
+public class SeatMapEventConsumer extends KafkaConsumerTemplate implements ConsumerSeekAware {
+
+    @Autowired
+    private SeatMapManager seatMapManager;
+
+    /**
+     * 分配到分区时跳到末尾，不回放停机期间的事件
+     */
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        for (TopicPartition partition : assignments.keySet()) {
+            callback.seekToEnd(partition.topic(), partition.partition());
+        }
+    }
+
+    /**
+     * 批量消费票务订单事件
+     *
+     * @param records 消息记录
+     */
+    @KafkaListener(
+            topics = KafkaTopic.TICKET_ORDER_EVENTS,
+            groupId = "seat-map-#{T(java.net.InetAddress).getLocalHost().getHostName()}-${server.port:8080}",
+            containerFactory = "batchKafkaListenerContainerFactory",
+            properties = {"auto.offset.reset=latest", "enable.auto.commit=true"}
+    )
+    public void consumeBatch(List<ConsumerRecord<String, String>> records) {
+        for (ConsumerRecord<String, String> record : records) {
+            try {
+                if (!validateMessage(record.value())) {
+                    continue;
+                }
+                TicketOrderMessageEvent event = parseObject(record.value(), TicketOrderMessageEvent.class);
+                if (!validateEvent(event) || event.getShowEventId() == null || event.getSeatIds() == null) {
+                    continue;
+                }
+                switch (event.getEventType()) {
+                    case EventType.TICKET_ORDER_ADMITTED:
+                        seatMapManager.apply(event.getShowEventId(), event.getSeatIds(), SeatBitmap.LOCKED);
+                        break;
+                    case EventType.TICKET_ORDER_PAID:
+                        seatMapManager.apply(event.getShowEventId(), event.getSeatIds(), SeatBitmap.SOLD);
+                        break;
+                    case EventType.TICKET_ORDER_RELEASED:
+                        seatMapManager.apply(event.getShowEventId(), event.getSeatIds(), SeatBitmap.AVAILABLE);
+                        break;
+                    default:
+                        break;
+                }
+            } catch (Exception e) {
+                handleException(record.topic(), record.partition(), record.value(), e);
+            }
+        }
+    }
+}
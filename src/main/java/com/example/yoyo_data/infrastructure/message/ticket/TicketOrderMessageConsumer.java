@@ -0,0 +1,90 @@
+package com.example.yoyo_data.infrastructure.message.ticket;
+
+import com.example.yoyo_data.common.constant.EventType;
+import com.example.yoyo_data.common.constant.KafkaTopic;
+import com.example.yoyo_data.infrastructure.message.KafkaConsumerTemplate;
+import com.example.yoyo_data.infrastructure.ticket.TicketOrderWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 票务订单消息消费者 - 按微批次将抢票结果写入MySQL
+ * 每次拉取最多 500 条或等待 50ms，同一批内先落库新订单，再处理支付和释放，
+ * 同一订单的事件按演出分区有序，保证支付、释放总在订单落库之后执行；
+ * 落库失败时不提交偏移量，由批量监听容器整批重投，支付和释放事件不会丢失
+ *
+ * @author Template Framework
+ * @version 1.0
+ */
+@Slf4j
+@Component
+public class TicketOrderMessageConsumer extends KafkaConsumerTemplate {
+
+    @Autowired
+    private TicketOrderWriter ticketOrderWriter;
+
+    /**
+     * 批量消费票务订单事件
+     *
+     * @param records 消息记录
+     */
+    @KafkaListener(
+            topics = KafkaTopic.TICKET_ORDER_EVENTS,
+            groupId = "ticket-order-writer-group",
+            containerFactory = "batchKafkaListenerContainerFactory",
+            properties = {"max.poll.records=500", "fetch.min.bytes=65536", "fetch.max.wait.ms=50"}
+    )
+    public void consumeBatch(List<ConsumerRecord<String, String>> records) {
+        long startTime = System.currentTimeMillis();
+        List<TicketOrderMessageEvent> admitted = new ArrayList<>();
+        List<TicketOrderMessageEvent> paid = new ArrayList<>();
+        List<TicketOrderMessageEvent> released = new ArrayList<>();
+
+        for (ConsumerRecord<String, String> record : records) {
+            String message = record.value();
+            if (!validateMessage(message)) {
+                continue;
+            }
+            TicketOrderMessageEvent event = parseObject(message, TicketOrderMessageEvent.class);
+            if (!validateEvent(event) || event.getOrderId() == null || event.getSeatIds() == null) {
+                log.warn("票务订单事件无效，跳过处理: topic={}, partition={}, offset={}",
+                        record.topic(), record.partition(), record.offset());
+                continue;
+            }
+            switch (event.getEventType()) {
+                case EventType.TICKET_ORDER_ADMITTED:
+                    admitted.add(event);
+                    break;
+                case EventType.TICKET_ORDER_PAID:
+                    paid.add(event);
+                    break;
+                case EventType.TICKET_ORDER_RELEASED:
+                    released.add(event);
+                    break;
+                default:
+                    log.warn("未知的票务订单事件类型: eventType={}", event.getEventType());
+            }
+        }
+
+        // 任一阶段失败都抛出异常，本批偏移量不提交并整批重投；已完成的阶段重放时幂等
+        // （落库前跳过已存在的订单，并发写入的重复键退化为逐单处理；支付和释放只处理仍处于待支付状态的订单），释放放在最后执行
+        try {
+            ticketOrderWriter.persistAdmitted(admitted);
+            ticketOrderWriter.confirmPaid(paid);
+            ticketOrderWriter.releaseOrders(released);
+        } catch (Exception e) {
+            handleException(KafkaTopic.TICKET_ORDER_EVENTS, -1, "admitted=" + admitted.size()
+                    + ", paid=" + paid.size() + ", released=" + released.size(), e);
+            throw e;
+        }
+
+        log.info("票务订单事件批次处理完成: records={}, admitted={}, paid={}, released={}, cost={}ms",
+                records.size(), admitted.size(), paid.size(), released.size(), System.currentTimeMillis() - startTime);
+    }
+}
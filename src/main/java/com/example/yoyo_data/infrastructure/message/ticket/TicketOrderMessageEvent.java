@@ -0,0 +1,138 @@
+package com.example.yoyo_data.infrastructure.message.ticket;
+
+import com.example.yoyo_data.common.constant.EventType;
+import com.example.yoyo_data.common.entity.TicketOrder;
+import com.example.yoyo_data.infrastructure.message.MessageEvent;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 票务订单消息事件 - 抢票成功、支付、释放后发送到Kafka，由订单落库消费者批量写入MySQL
+ * 消息以演出活动ID为key，同一演出的事件在同一分区内有序
+ *
+ * @author Template Framework
+ * @version 1.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class TicketOrderMessageEvent extends MessageEvent {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 订单ID
+     */
+    private Long orderId;
+
+    /**
+     * 订单编号
+     */
+    private String orderNo;
+
+    /**
+     * 演出活动ID
+     */
+    private Long showEventId;
+
+    /**
+     * 座位ID列表
+     */
+    private List<Long> seatIds;
+
+    /**
+     * 订单状态（释放事件为 CANCELLED / TIMEOUT）
+     */
+    private String orderStatus;
+
+    /**
+     * 订单过期时间
+     */
+    private LocalDateTime expireTime;
+
+    /**
+     * 支付方式
+     */
+    private String payType;
+
+    /**
+     * 支付时间
+     */
+    private LocalDateTime payTime;
+
+    /**
+     * 联系人姓名
+     */
+    private String contactName;
+
+    /**
+     * 联系人手机
+     */
+    private String contactPhone;
+
+    /**
+     * 联系人身份证号
+     */
+    private String contactIdCard;
+
+    /**
+     * 构建抢票成功事件
+     */
+    public static TicketOrderMessageEvent buildAdmittedEvent(TicketOrder order, List<Long> seatIds) {
+        TicketOrderMessageEvent event = baseEvent(EventType.TICKET_ORDER_ADMITTED, order.getUserId(),
+                order.getId(), order.getShowEventId(), seatIds);
+        event.setOrderNo(order.getOrderNo());
+        event.setOrderStatus(order.getStatus());
+        event.setExpireTime(order.getExpireTime());
+        event.setContactName(order.getContactName());
+        event.setContactPhone(order.getContactPhone());
+        event.setContactIdCard(order.getContactIdCard());
+        event.setCreatedAt(order.getCreatedAt());
+        return event;
+    }
+
+    /**
+     * 构建支付成功事件
+     */
+    public static TicketOrderMessageEvent buildPaidEvent(Long userId, Long orderId, Long showEventId, List<Long> seatIds,
+                                                         String payType, LocalDateTime payTime) {
+        TicketOrderMessageEvent event = baseEvent(EventType.TICKET_ORDER_PAID, userId, orderId, showEventId, seatIds);
+        event.setOrderStatus("PAID");
+        event.setPayType(payType);
+        event.setPayTime(payTime);
+        return event;
+    }
+
+    /**
+     * 构建座位释放事件（取消或超时）
+     */
+    public static TicketOrderMessageEvent buildReleasedEvent(Long userId, Long orderId, Long showEventId,
+                                                             List<Long> seatIds, String orderStatus) {
+        TicketOrderMessageEvent event = baseEvent(EventType.TICKET_ORDER_RELEASED, userId, orderId, showEventId, seatIds);
+        event.setOrderStatus(orderStatus);
+        return event;
+    }
+
+    private static TicketOrderMessageEvent baseEvent(String eventType, Long userId, Long orderId, Long showEventId,
+                                                     List<Long> seatIds) {
+        TicketOrderMessageEvent event = new TicketOrderMessageEvent();
+        event.setEventId(UUID.randomUUID().toString());
+        event.setEventType(eventType);
+        event.setSource("TicketService");
+        event.setTimestamp(LocalDateTime.now());
+        event.setCreatedAt(LocalDateTime.now());
+        event.setPriority(8);
+        event.setUserId(userId);
+        event.setOrderId(orderId);
+        event.setShowEventId(showEventId);
+        event.setSeatIds(seatIds);
+        return event;
+    }
+}
@@ -2,8 +2,32 @@ package com.example.yoyo_data.infrastructure.repository;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.example.yoyo_data.common.entity.Comment;
+import com.example.yoyo_data.infrastructure.like.LikeCountDelta;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Update;
+
+import java.util.List;
 
 @Mapper
 public interface CommentMapper extends BaseMapper<Comment> {
+
+    /**
+     * 批量累加评论点赞数（一条 SQL，按评论ID取对应增量，结果不小于 0）
+     *
+     * @param deltas 按评论合并后的增量
+     * @return 更新行数
+     */
+    @Update("<script>" +
+            "UPDATE comments SET like_count = GREATEST(0, like_count + CASE id " +
+            "<foreach collection='deltas' item='d'>" +
+            "WHEN #{d.targetId} THEN #{d.delta} " +
+            "</foreach>" +
+            "ELSE 0 END) " +
+            "WHERE id IN " +
+            "<foreach collection='deltas' item='d' open='(' separator=',' close=')'>" +
+            "#{d.targetId}" +
+            "</foreach>" +
+            "</script>")
+    int batchIncrementLikeCount(@Param("deltas") List<LikeCountDelta> deltas);
 }
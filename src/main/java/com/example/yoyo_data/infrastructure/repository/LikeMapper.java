@@ -2,8 +2,41 @@ package com.example.yoyo_data.infrastructure.repository;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.example.yoyo_data.common.entity.Like;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
 
 @Mapper
 public interface LikeMapper extends BaseMapper<Like> {
+
+    /**
+     * 批量插入点赞记录（多行 INSERT，已存在的点赞关系忽略）
+     *
+     * @param likes 点赞记录
+     * @return 插入行数
+     */
+    @Insert("<script>" +
+            "INSERT IGNORE INTO likes (id, user_id, target_type, target_id, created_at) VALUES " +
+            "<foreach collection='likes' item='l' separator=','>" +
+            "(#{l.id}, #{l.userId}, #{l.targetType}, #{l.targetId}, #{l.createdAt})" +
+            "</foreach>" +
+            "</script>")
+    int insertIgnoreBatch(@Param("likes") List<Like> likes);
+
+    /**
+     * 批量删除点赞记录（按用户、目标类型、目标ID）
+     *
+     * @param likes 要删除的点赞关系
+     * @return 删除行数
+     */
+    @Delete("<script>" +
+            "DELETE FROM likes WHERE (user_id, target_type, target_id) IN " +
+            "<foreach collection='likes' item='l' open='(' separator=',' close=')'>" +
+            "(#{l.userId}, #{l.targetType}, #{l.targetId})" +
+            "</foreach>" +
+            "</script>")
+    int deleteBatch(@Param("likes") List<Like> likes);
 }
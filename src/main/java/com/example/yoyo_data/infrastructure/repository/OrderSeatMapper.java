@@ -2,6 +2,7 @@ package com.example.yoyo_data.infrastructure.repository;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.example.yoyo_data.common.entity.OrderSeat;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
@@ -14,10 +15,17 @@ import java.util.List;
 public interface OrderSeatMapper extends BaseMapper<OrderSeat> {
 
     /**
-     * 批量插入订单座位关联记录
-     * 注意：MyBatis-Plus 的 saveBatch 方法可以实现批量插入，无需自定义 SQL
-     * 但如果需要更高性能，可以使用以下自定义 SQL（需要在 XML 文件中实现）
+     * 批量插入订单座位关联记录（多行 INSERT）
+     * @param orderSeats 订单座位关联列表
+     * @return 插入行数
      */
+    @Insert("<script>" +
+            "INSERT INTO tb_order_seat (order_id, seat_id, show_event_id, seat_code, price, created_at) VALUES " +
+            "<foreach collection='orderSeats' item='os' separator=','>" +
+            "(#{os.orderId}, #{os.seatId}, #{os.showEventId}, #{os.seatCode}, #{os.price}, #{os.createdAt})" +
+            "</foreach>" +
+            "</script>")
+    int insertBatch(@Param("orderSeats") List<OrderSeat> orderSeats);
 
     /**
      * 根据订单ID删除订单座位关联（订单取消时调用）
@@ -2,8 +2,10 @@ package com.example.yoyo_data.infrastructure.repository;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.example.yoyo_data.common.entity.Seat;
+import com.example.yoyo_data.infrastructure.ticket.reconcile.SeatStateSummary;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
 import org.apache.ibatis.annotations.Update;
 
 import java.time.LocalDateTime;
@@ -42,9 +44,29 @@ public interface SeatMapper extends BaseMapper<Seat> {
                         @Param("version") Integer version);
 
     /**
-     * 批量 CAS 锁定座位（使用乐观锁）
-     * 注意：MyBatis 不支持批量 CAS，需要在 Service 层循环调用 lockSeatWithCAS
+     * 按订单批量锁定座位（订单和订单座位关联已在同一事务中写入）
+     * 座位归属以 Redis 裁决为准：同一座位被释放后又被新订单抢到时，新订单的锁定会覆盖旧订单尚未落库的锁定
+     * @param orderIds 订单ID列表
+     * @return 更新行数
      */
+    @Update("<script>" +
+            "UPDATE tb_seat s " +
+            "JOIN tb_order_seat os ON os.seat_id = s.id " +
+            "JOIN tb_ticket_order o ON o.id = os.order_id " +
+            "SET s.status = 'LOCKED', " +
+            "s.lock_time = NOW(), " +
+            "s.lock_expire_time = o.expire_time, " +
+            "s.order_id = o.id, " +
+            "s.user_id = o.user_id, " +
+            "s.version = s.version + 1, " +
+            "s.updated_at = NOW() " +
+            "WHERE os.order_id IN " +
+            "<foreach collection='orderIds' item='orderId' open='(' separator=',' close=')'>" +
+            "#{orderId}" +
+            "</foreach> " +
+            "AND s.status != 'SOLD'" +
+            "</script>")
+    int lockSeatsByOrders(@Param("orderIds") List<Long> orderIds);
 
     /**
      * 确认座位已售出（支付成功后调用）
@@ -116,6 +138,28 @@ public interface SeatMapper extends BaseMapper<Seat> {
             "</script>")
     int batchReleaseSeat(@Param("seatIds") List<Long> seatIds);
 
+    /**
+     * 按订单批量释放座位，只释放仍归属这些订单的锁定座位
+     * @param orderIds 订单ID列表
+     * @return 更新行数
+     */
+    @Update("<script>" +
+            "UPDATE tb_seat SET " +
+            "status = 'AVAILABLE', " +
+            "lock_time = NULL, " +
+            "lock_expire_time = NULL, " +
+            "order_id = NULL, " +
+            "user_id = NULL, " +
+            "version = version + 1, " +
+            "updated_at = NOW() " +
+            "WHERE order_id IN " +
+            "<foreach collection='orderIds' item='orderId' open='(' separator=',' close=')'>" +
+            "#{orderId}" +
+            "</foreach> " +
+            "AND status = 'LOCKED'" +
+            "</script>")
+    int batchReleaseSeatByOrders(@Param("orderIds") List<Long> orderIds);
+
     /**
      * 释放已过期的锁定座位（定时任务调用）
      * @param now 当前时间
@@ -132,4 +176,67 @@ public interface SeatMapper extends BaseMapper<Seat> {
             "WHERE status = 'LOCKED' " +
             "AND lock_expire_time < #{now}")
     int releaseExpiredSeats(@Param("now") LocalDateTime now);
+
+    /**
+     * 统计演出各状态座位数（只读 idx_show_status 索引，高峰期对账使用）
+     * @param showEventId 演出活动ID
+     * @return 座位状态汇总
+     */
+    @Select("SELECT COUNT(*) AS total, " +
+            "IFNULL(SUM(status = 'AVAILABLE'), 0) AS available, " +
+            "IFNULL(SUM(status = 'LOCKED'), 0) AS locked, " +
+            "IFNULL(SUM(status = 'SOLD'), 0) AS sold " +
+            "FROM tb_seat WHERE show_event_id = #{showEventId}")
+    SeatStateSummary selectStateSummary(@Param("showEventId") Long showEventId);
+
+    /**
+     * 计算区域座位状态校验和（只读 idx_show_zone_state 覆盖索引）
+     * @param showEventId 演出活动ID
+     * @param seatZone 座位区域
+     * @return 区域座位状态汇总，指纹规则见 {@link SeatStateSummary}
+     */
+    @Select("SELECT seat_zone, COUNT(*) AS total, " +
+            "IFNULL(SUM(status = 'AVAILABLE'), 0) AS available, " +
+            "IFNULL(SUM(status = 'LOCKED'), 0) AS locked, " +
+            "IFNULL(SUM(status = 'SOLD'), 0) AS sold, " +
+            "BIT_XOR(CRC32(CONCAT(id, ':', status, ':', IFNULL(order_id, 0)))) AS checksum " +
+            "FROM tb_seat WHERE show_event_id = #{showEventId} AND seat_zone = #{seatZone} " +
+            "GROUP BY seat_zone")
+    SeatStateSummary selectZoneSummary(@Param("showEventId") Long showEventId,
+                                       @Param("seatZone") String seatZone);
+
+    /**
+     * 查询区域座位状态（对账下钻时调用，只读 idx_show_zone_state 覆盖索引）
+     * @param showEventId 演出活动ID
+     * @param seatZone 座位区域
+     * @return 座位ID、状态、订单ID
+     */
+    @Select("SELECT id, status, order_id FROM tb_seat " +
+            "WHERE show_event_id = #{showEventId} AND seat_zone = #{seatZone}")
+    List<Seat> selectZoneSeatStates(@Param("showEventId") Long showEventId,
+                                    @Param("seatZone") String seatZone);
+
+    /**
+     * 按 Redis 座位状态修复座位（对账修复调用）
+     * @param seatId 座位ID
+     * @param status 座位状态
+     * @param orderId 订单ID（可售时为空）
+     * @param userId 用户ID（可售时为空）
+     * @param lockExpireTime 锁定过期时间（仅锁定状态）
+     * @return 更新行数
+     */
+    @Update("UPDATE tb_seat SET " +
+            "status = #{status}, " +
+            "lock_time = IF(#{status} = 'LOCKED', IFNULL(lock_time, NOW()), NULL), " +
+            "lock_expire_time = #{lockExpireTime}, " +
+            "order_id = #{orderId}, " +
+            "user_id = #{userId}, " +
+            "version = version + 1, " +
+            "updated_at = NOW() " +
+            "WHERE id = #{seatId}")
+    int repairSeatState(@Param("seatId") Long seatId,
+                        @Param("status") String status,
+                        @Param("orderId") Long orderId,
+                        @Param("userId") Long userId,
+                        @Param("lockExpireTime") LocalDateTime lockExpireTime);
 }
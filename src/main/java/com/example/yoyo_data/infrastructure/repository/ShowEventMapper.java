@@ -31,6 +31,22 @@ public interface ShowEventMapper extends BaseMapper<ShowEvent> {
                   @Param("seatCount") Integer seatCount,
                   @Param("version") Integer version);
 
+    /**
+     * 减少可售座位数，增加锁定座位数（Redis 已完成库存扣减后异步落库调用，无需版本号）
+     * @param showEventId 演出活动ID
+     * @param seatCount 座位数量
+     * @return 更新行数
+     */
+    @Update("UPDATE tb_show_event SET " +
+            "available_seats = available_seats - #{seatCount}, " +
+            "locked_seats = locked_seats + #{seatCount}, " +
+            "version = version + 1, " +
+            "updated_at = NOW() " +
+            "WHERE id = #{showEventId} " +
+            "AND available_seats >= #{seatCount}")
+    int lockSeatsDirect(@Param("showEventId") Long showEventId,
+                        @Param("seatCount") Integer seatCount);
+
     /**
      * 减少锁定座位数，增加已售座位数（支付成功后调用）
      * @param showEventId 演出活动ID
@@ -62,4 +78,22 @@ public interface ShowEventMapper extends BaseMapper<ShowEvent> {
             "AND locked_seats >= #{seatCount}")
     int releaseSeats(@Param("showEventId") Long showEventId,
                      @Param("seatCount") Integer seatCount);
+
+    /**
+     * 按座位表重算演出的可售、锁定、已售座位数（对账修复调用）
+     * @param showEventId 演出活动ID
+     * @return 更新行数
+     */
+    @Update("UPDATE tb_show_event e " +
+            "JOIN (SELECT IFNULL(SUM(status = 'AVAILABLE'), 0) AS available, " +
+            "IFNULL(SUM(status = 'LOCKED'), 0) AS locked, " +
+            "IFNULL(SUM(status = 'SOLD'), 0) AS sold " +
+            "FROM tb_seat WHERE show_event_id = #{showEventId}) s " +
+            "SET e.available_seats = s.available, " +
+            "e.locked_seats = s.locked, " +
+            "e.sold_seats = s.sold, " +
+            "e.version = e.version + 1, " +
+            "e.updated_at = NOW() " +
+            "WHERE e.id = #{showEventId}")
+    int syncSeatCounters(@Param("showEventId") Long showEventId);
 }
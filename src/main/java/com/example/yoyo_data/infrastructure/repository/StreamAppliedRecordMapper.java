@@ -0,0 +1,60 @@
+package com.example.yoyo_data.infrastructure.repository;
+
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 增量流已回写记录 Mapper 接口 - 与回写在同一事务中登记流记录ID，重放时跳过已回写的记录
+ */
+@Mapper
+public interface StreamAppliedRecordMapper {
+
+    /**
+     * 查询已回写的流记录ID
+     * @param streamGroup 消费组
+     * @param recordIds 流记录ID
+     * @return 其中已回写的记录ID
+     */
+    @Select("<script>" +
+            "SELECT record_id FROM stream_applied_records WHERE stream_group = #{streamGroup} AND record_id IN " +
+            "<foreach collection='recordIds' item='recordId' open='(' separator=',' close=')'>" +
+            "#{recordId}" +
+            "</foreach>" +
+            "</script>")
+    List<String> selectApplied(@Param("streamGroup") String streamGroup,
+                               @Param("recordIds") List<String> recordIds);
+
+    /**
+     * 登记已回写的流记录ID（多行 INSERT），并发回写同一记录时主键冲突，后提交的事务回滚
+     * @param streamGroup 消费组
+     * @param recordIds 流记录ID
+     * @return 插入行数
+     */
+    @Insert("<script>" +
+            "INSERT INTO stream_applied_records (stream_group, record_id) VALUES " +
+            "<foreach collection='recordIds' item='recordId' separator=','>" +
+            "(#{streamGroup}, #{recordId})" +
+            "</foreach>" +
+            "</script>")
+    int insertBatch(@Param("streamGroup") String streamGroup,
+                    @Param("recordIds") List<String> recordIds);
+
+    /**
+     * 删除早于指定时间的登记（对应的流记录早已确认并从流中删除）
+     * @param streamGroup 消费组
+     * @param before 时间下界
+     * @param limit 单次最多删除条数
+     * @return 删除行数
+     */
+    @Delete("DELETE FROM stream_applied_records WHERE stream_group = #{streamGroup} " +
+            "AND created_at < #{before} LIMIT #{limit}")
+    int deleteBefore(@Param("streamGroup") String streamGroup,
+                     @Param("before") LocalDateTime before,
+                     @Param("limit") int limit);
+}
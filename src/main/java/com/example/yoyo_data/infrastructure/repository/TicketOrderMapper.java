@@ -2,11 +2,14 @@ package com.example.yoyo_data.infrastructure.repository;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.example.yoyo_data.common.entity.TicketOrder;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
 import org.apache.ibatis.annotations.Update;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * 票务订单表 Mapper 接口
@@ -14,6 +17,49 @@ import java.time.LocalDateTime;
 @Mapper
 public interface TicketOrderMapper extends BaseMapper<TicketOrder> {
 
+    /**
+     * 批量插入订单（多行 INSERT，订单ID已预先生成）
+     * @param orders 订单列表
+     * @return 插入行数
+     */
+    @Insert("<script>" +
+            "INSERT INTO tb_ticket_order (id, order_no, show_event_id, user_id, seat_count, total_amount, status, " +
+            "expire_time, contact_name, contact_phone, contact_id_card, created_at, updated_at) VALUES " +
+            "<foreach collection='orders' item='o' separator=','>" +
+            "(#{o.id}, #{o.orderNo}, #{o.showEventId}, #{o.userId}, #{o.seatCount}, #{o.totalAmount}, #{o.status}, " +
+            "#{o.expireTime}, #{o.contactName}, #{o.contactPhone}, #{o.contactIdCard}, #{o.createdAt}, #{o.updatedAt})" +
+            "</foreach>" +
+            "</script>")
+    int insertBatch(@Param("orders") List<TicketOrder> orders);
+
+    /**
+     * 查询已经落库的订单ID（订单事件重投时跳过已写入的订单）
+     * @param orderIds 订单ID列表
+     * @return 已存在的订单ID
+     */
+    @Select("<script>" +
+            "SELECT id FROM tb_ticket_order WHERE id IN " +
+            "<foreach collection='orderIds' item='orderId' open='(' separator=',' close=')'>" +
+            "#{orderId}" +
+            "</foreach>" +
+            "</script>")
+    List<Long> selectExistingIds(@Param("orderIds") List<Long> orderIds);
+
+    /**
+     * 锁定并查询仍处于待支付状态的订单ID（SELECT ... FOR UPDATE，须在事务内调用）
+     * 释放订单时只处理这些订单，已支付或已释放的订单不再重复释放座位和扣减购票数
+     * @param orderIds 订单ID列表
+     * @return 待支付的订单ID
+     */
+    @Select("<script>" +
+            "SELECT id FROM tb_ticket_order WHERE id IN " +
+            "<foreach collection='orderIds' item='orderId' open='(' separator=',' close=')'>" +
+            "#{orderId}" +
+            "</foreach> " +
+            "AND status = 'PENDING' FOR UPDATE" +
+            "</script>")
+    List<Long> selectPendingIdsForUpdate(@Param("orderIds") List<Long> orderIds);
+
     /**
      * 更新订单状态为已支付
      * @param orderId 订单ID
@@ -56,6 +102,25 @@ public interface TicketOrderMapper extends BaseMapper<TicketOrder> {
             "AND status = 'PENDING'")
     int updateOrderToTimeout(@Param("orderId") Long orderId);
 
+    /**
+     * 批量将待支付订单更新为取消或超时状态
+     * @param orderIds 订单ID列表
+     * @param status 目标状态：CANCELLED / TIMEOUT
+     * @return 更新行数
+     */
+    @Update("<script>" +
+            "UPDATE tb_ticket_order SET " +
+            "status = #{status}, " +
+            "updated_at = NOW() " +
+            "WHERE id IN " +
+            "<foreach collection='orderIds' item='orderId' open='(' separator=',' close=')'>" +
+            "#{orderId}" +
+            "</foreach> " +
+            "AND status = 'PENDING'" +
+            "</script>")
+    int batchUpdateOrderStatus(@Param("orderIds") List<Long> orderIds,
+                               @Param("status") String status);
+
     /**
      * 批量将已过期的订单设置为超时状态（定时任务调用）
      * @param now 当前时间
@@ -67,4 +132,22 @@ public interface TicketOrderMapper extends BaseMapper<TicketOrder> {
             "WHERE status = 'PENDING' " +
             "AND expire_time < #{now}")
     int batchUpdateExpiredOrders(@Param("now") LocalDateTime now);
+
+    /**
+     * 按过期时间区间查询待支付订单（走 idx_expire_time 范围扫描，并限制条数）
+     * 用于时间轮启动重建和兜底扫描
+     * @param from 过期时间下界（含）
+     * @param to 过期时间上界（不含）
+     * @param limit 最大条数
+     * @return 订单列表（仅包含 id、expire_time）
+     */
+    @Select("SELECT id, expire_time FROM tb_ticket_order " +
+            "WHERE expire_time >= #{from} " +
+            "AND expire_time < #{to} " +
+            "AND status = 'PENDING' " +
+            "ORDER BY expire_time " +
+            "LIMIT #{limit}")
+    List<TicketOrder> selectPendingOrdersByExpireTime(@Param("from") LocalDateTime from,
+                                                      @Param("to") LocalDateTime to,
+                                                      @Param("limit") int limit);
 }
@@ -4,11 +4,15 @@ import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.example.yoyo_data.common.entity.Users;
+import com.example.yoyo_data.common.vo.UserCardVO;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
 import org.apache.ibatis.annotations.Update;
 
+import java.util.Collection;
+import java.util.List;
+
 @Mapper
 public interface UserMapper extends BaseMapper<Users> {
     Page<Users> getUserPage(@Param("id") Integer id, IPage<Users> page);
@@ -18,4 +22,20 @@ public interface UserMapper extends BaseMapper<Users> {
 
     @Update("update users set is_active = 1 where id = #{id}")
     boolean activeUser(Long id);
+
+    /**
+     * 批量查询用户信息卡片（用户与用户档案一条 SQL 关联查询）
+     *
+     * @param ids 用户ID
+     * @return 用户信息卡片，不存在的用户不返回
+     */
+    @Select("<script>" +
+            "SELECT u.id, u.username AS user_name, p.full_name AS nickname, u.avatar_url, u.bio " +
+            "FROM users u LEFT JOIN user_profiles p ON p.user_id = u.id " +
+            "WHERE u.id IN " +
+            "<foreach collection='ids' item='id' open='(' separator=',' close=')'>" +
+            "#{id}" +
+            "</foreach>" +
+            "</script>")
+    List<UserCardVO> selectCardsByIds(@Param("ids") Collection<Long> ids);
 }
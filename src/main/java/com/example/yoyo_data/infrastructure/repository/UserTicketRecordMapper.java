@@ -2,10 +2,13 @@ package com.example.yoyo_data.infrastructure.repository;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.example.yoyo_data.common.entity.UserTicketRecord;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Update;
 
+import java.util.List;
+
 /**
  * 用户购票记录表 Mapper 接口
  */
@@ -28,6 +31,22 @@ public interface UserTicketRecordMapper extends BaseMapper<UserTicketRecord> {
                             @Param("showEventId") Long showEventId,
                             @Param("ticketCount") Integer ticketCount);
 
+    /**
+     * 批量增加用户购票数，记录不存在时插入（多行 INSERT ... ON DUPLICATE KEY UPDATE）
+     * @param records 购票记录（同一用户同一演出应预先合并）
+     * @return 影响行数
+     */
+    @Insert("<script>" +
+            "INSERT INTO tb_user_ticket_record (user_id, show_event_id, ticket_count, created_at, updated_at) VALUES " +
+            "<foreach collection='records' item='r' separator=','>" +
+            "(#{r.userId}, #{r.showEventId}, #{r.ticketCount}, NOW(), NOW())" +
+            "</foreach> " +
+            "ON DUPLICATE KEY UPDATE " +
+            "ticket_count = ticket_count + VALUES(ticket_count), " +
+            "updated_at = NOW()" +
+            "</script>")
+    int batchUpsertTicketCount(@Param("records") List<UserTicketRecord> records);
+
     /**
      * 减少用户购票数（订单取消时调用）
      * @param userId 用户ID
@@ -0,0 +1,504 @@
+package com.example.yoyo_data.infrastructure.ticket;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.example.yoyo_data.common.constant.KafkaTopic;
+import com.example.yoyo_data.common.constant.OrderStatus;
+import com.example.yoyo_data.common.constant.TicketRedisKey;
+import com.example.yoyo_data.common.entity.OrderSeat;
+import com.example.yoyo_data.common.entity.TicketOrder;
+import com.example.yoyo_data.infrastructure.cache.RedisService;
+import com.example.yoyo_data.infrastructure.message.KafkaProducerTemplate;
+import com.example.yoyo_data.infrastructure.message.ticket.TicketOrderMessageEvent;
+import com.example.yoyo_data.infrastructure.repository.OrderSeatMapper;
+import com.example.yoyo_data.infrastructure.repository.TicketOrderMapper;
+import com.example.yoyo_data.infrastructure.ticket.timer.HierarchicalTimingWheel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scripting.support.ResourceScriptSource;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 订单到期调度 - 基于 Redis 有序集合的分片延时队列在订单过期的时刻释放座位
+ * 抢票脚本锁座时原子入队（score 为过期时间），支付或取消的订单事件被 broker 确认后出队，
+ * 事件发送失败的订单留在队列中，到期时按 Redis 中的最终状态补发事件；
+ * 本节点抢到的订单同时登记到进程内的分层时间轮，订单到期的时刻触发认领所在分片，
+ * 启动时从延时队列重建时间轮。认领脚本把到期订单移入处理中队列，同一订单只会被一个节点处理，
+ * 处理完成后确认出队，认领后宕机的订单在处理租约到期后重新认领。
+ * 各节点的轮询线程按较长间隔认领全部分片，兜底时间轮里没有的订单（其他节点抢到后宕机、重建前入队）。
+ * 到期订单按批处理：Redis 状态管道读取，座位逐单原子释放，MySQL 由订单事件消费者批量更新
+ * （batchUpdateOrderStatus 超时、decreaseTicketCount 按用户聚合）。
+ * 有界的 SQL 兜底扫描只处理队列漏掉的订单（如 Redis 数据丢失）
+ *
+ * @author Template Framework
+ * @version 1.0
+ */
+@Slf4j
+@Component
+public class OrderExpiryScheduler {
+
+    /**
+     * 时间轮刻度（毫秒）
+     */
+    private static final long TICK_MS = 100;
+
+    /**
+     * 每层格数：第一层 6.4 秒，第二层约 6.8 分钟，第三层约 7.3 小时
+     */
+    private static final int WHEEL_SIZE = 64;
+
+    /**
+     * 兜底轮询间隔（毫秒）：所有分片都没有到期订单时的休眠时长，精确到期由时间轮触发
+     */
+    private static final long POLL_INTERVAL_MS = 1000;
+
+    /**
+     * 单批处理的到期订单数（单个分片单次认领上限）
+     */
+    private static final int EXPIRE_BATCH_SIZE = 200;
+
+    /**
+     * 处理租约（毫秒）：认领后超过该时长仍未确认，视为认领节点宕机，订单重新入队
+     */
+    private static final long PROCESSING_LEASE_MS = 30000;
+
+    /**
+     * 兜底扫描只处理过期超过该时长的订单，给延时队列留出处理时间（秒）
+     */
+    private static final long SWEEP_GRACE_SECONDS = 60;
+
+    /**
+     * 兜底扫描的过期时间回溯窗口（秒）：订单状态哈希的保留时长
+     */
+    private static final long SWEEP_WINDOW_SECONDS = TicketRedisKey.ORDER_STATE_EXPIRE;
+
+    /**
+     * 兜底扫描单次最大条数
+     */
+    private static final int SWEEP_LIMIT = 500;
+
+    /**
+     * 启动重建时从 MySQL 加载的最大待支付订单数
+     */
+    private static final int REBUILD_LIMIT = 200000;
+
+    /**
+     * 重建锁过期时间（秒）
+     */
+    private static final long REBUILD_LOCK_EXPIRE = 300;
+
+    @Autowired
+    private SeatInventoryManager seatInventoryManager;
+
+    @Autowired
+    private TicketOrderMapper ticketOrderMapper;
+
+    @Autowired
+    private OrderSeatMapper orderSeatMapper;
+
+    @Autowired
+    private KafkaProducerTemplate kafkaProducerTemplate;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private RedisService redisService;
+
+    @Autowired
+    @Qualifier("ioTaskExecutor")
+    private Executor ioTaskExecutor;
+
+    private DefaultRedisScript<List> claimScript;
+
+    private final HierarchicalTimingWheel timingWheel = new HierarchicalTimingWheel(TICK_MS, WHEEL_SIZE);
+
+    private volatile boolean running;
+
+    private Thread wheelThread;
+
+    private Thread pollerThread;
+
+    @PostConstruct
+    public void start() {
+        claimScript = new DefaultRedisScript<>();
+        claimScript.setScriptSource(new ResourceScriptSource(new ClassPathResource("lua/order_expiry_claim.lua")));
+        claimScript.setResultType(List.class);
+
+        running = true;
+        wheelThread = new Thread(this::runWheel, "order-expiry-wheel");
+        wheelThread.setDaemon(true);
+        wheelThread.start();
+        pollerThread = new Thread(this::runPoller, "order-expiry-poller");
+        pollerThread.setDaemon(true);
+        pollerThread.start();
+        ioTaskExecutor.execute(this::rebuild);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (wheelThread != null) {
+            wheelThread.interrupt();
+        }
+        if (pollerThread != null) {
+            pollerThread.interrupt();
+        }
+    }
+
+    /**
+     * 登记订单的精确到期触发（抢票脚本已原子入队，这里只登记本节点的时间轮）
+     *
+     * @param orderId 订单ID
+     * @param expireTime 订单过期时间
+     */
+    public void schedule(Long orderId, LocalDateTime expireTime) {
+        scheduleWheel(orderId, expireTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    /**
+     * 撤销订单到期调度（订单已支付或已取消）
+     *
+     * @param orderId 订单ID
+     */
+    public void cancel(Long orderId) {
+        stringRedisTemplate.opsForZSet().remove(SeatInventoryManager.expiryQueueKey(orderId), String.valueOf(orderId));
+        timingWheel.cancel(orderId);
+    }
+
+    /**
+     * 在途订单数（全部分片）
+     */
+    public long pendingCount() {
+        long total = 0;
+        for (int shard = 0; shard < TicketRedisKey.ORDER_EXPIRY_SHARDS; shard++) {
+            Long size = stringRedisTemplate.opsForZSet().zCard(queueKey(shard));
+            total += size != null ? size : 0;
+        }
+        return total;
+    }
+
+    /**
+     * 兜底扫描：处理过期超过宽限期但仍为待支付的订单，按过期时间范围扫描并限制条数
+     */
+    @Scheduled(initialDelay = 60000, fixedDelay = 60000)
+    public void sweepExpiredOrders() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            List<TicketOrder> orders = ticketOrderMapper.selectPendingOrdersByExpireTime(
+                    now.minusSeconds(SWEEP_WINDOW_SECONDS), now.minusSeconds(SWEEP_GRACE_SECONDS), SWEEP_LIMIT);
+            if (orders.isEmpty()) {
+                return;
+            }
+            log.warn("兜底扫描发现未被到期队列处理的过期订单: count={}", orders.size());
+            expireOrders(orders.stream().map(TicketOrder::getId).collect(Collectors.toList()));
+        } catch (Exception e) {
+            log.error("过期订单兜底扫描失败", e);
+        }
+    }
+
+    /**
+     * 时间轮推进线程：订单到期时认领其所在分片的到期订单（同一刻度内到期的订单按分片合并），交给 IO 线程池释放。
+     * 其他节点已认领的订单不会重复处理
+     */
+    private void runWheel() {
+        while (running) {
+            try {
+                List<Long> expired = timingWheel.advance(TICK_MS * 2);
+                if (expired.isEmpty()) {
+                    continue;
+                }
+                Set<Integer> shards = new TreeSet<>();
+                for (Long orderId : expired) {
+                    shards.add(SeatInventoryManager.expiryShard(orderId));
+                }
+                for (Integer shard : shards) {
+                    ioTaskExecutor.execute(() -> claimAndExpire(shard));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("订单到期时间轮推进异常", e);
+            }
+        }
+    }
+
+    /**
+     * 认领并释放分片内全部到期订单，每次认领一批
+     */
+    private void claimAndExpire(int shard) {
+        try {
+            List<Long> batch;
+            do {
+                batch = claim(shard);
+                if (!batch.isEmpty()) {
+                    expireClaimed(shard, batch);
+                }
+            } while (batch.size() >= EXPIRE_BATCH_SIZE);
+        } catch (Exception e) {
+            log.error("订单到期分片认领失败，由兜底轮询重试: shard={}", shard, e);
+        }
+    }
+
+    /**
+     * 轮询线程：从随机分片开始依次认领到期订单，交给 IO 线程池分批释放；所有分片都没有到期订单时休眠
+     */
+    private void runPoller() {
+        int offset = ThreadLocalRandom.current().nextInt(TicketRedisKey.ORDER_EXPIRY_SHARDS);
+        while (running) {
+            try {
+                boolean claimed = false;
+                for (int i = 0; i < TicketRedisKey.ORDER_EXPIRY_SHARDS; i++) {
+                    int shard = (offset + i) % TicketRedisKey.ORDER_EXPIRY_SHARDS;
+                    List<Long> batch = claim(shard);
+                    if (!batch.isEmpty()) {
+                        claimed = true;
+                        ioTaskExecutor.execute(() -> expireClaimed(shard, batch));
+                    }
+                }
+                offset = (offset + 1) % TicketRedisKey.ORDER_EXPIRY_SHARDS;
+                if (!claimed) {
+                    Thread.sleep(POLL_INTERVAL_MS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("订单到期队列轮询异常", e);
+                try {
+                    Thread.sleep(POLL_INTERVAL_MS);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private List<Long> claim(int shard) {
+        List<?> result = stringRedisTemplate.execute(claimScript,
+                Arrays.asList(queueKey(shard), processingKey(shard)),
+                String.valueOf(System.currentTimeMillis()), String.valueOf(EXPIRE_BATCH_SIZE),
+                String.valueOf(PROCESSING_LEASE_MS));
+        if (result == null || result.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return result.stream().map(id -> Long.valueOf(id.toString())).collect(Collectors.toList());
+    }
+
+    /**
+     * 释放认领到的订单，处理完成的订单从处理中队列确认出队；处理失败的订单不确认，租约到期后重新认领
+     */
+    private void expireClaimed(int shard, List<Long> orderIds) {
+        List<Long> done = expireOrders(orderIds);
+        if (!done.isEmpty()) {
+            stringRedisTemplate.opsForZSet().remove(processingKey(shard),
+                    done.stream().map(String::valueOf).toArray());
+        }
+    }
+
+    /**
+     * 服务启动后重建：一个节点把存量待支付订单补入队列，随后每个节点从队列重建本节点的时间轮
+     */
+    private void rebuild() {
+        rebuildQueue();
+        rebuildWheel();
+    }
+
+    /**
+     * 把存量待支付订单补入队列（MySQL 中的待支付订单 + Redis 中尚未落库的待支付订单），
+     * 只由一个节点执行；已在队列中的订单重复入队只会刷新为相同的过期时间
+     */
+    private void rebuildQueue() {
+        Boolean locked = redisService.setIfAbsent(TicketRedisKey.ORDER_EXPIRY_REBUILD_LOCK, "1",
+                REBUILD_LOCK_EXPIRE, TimeUnit.SECONDS);
+        if (locked == null || !locked) {
+            return;
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            List<TicketOrder> orders = ticketOrderMapper.selectPendingOrdersByExpireTime(
+                    now.minusSeconds(SWEEP_WINDOW_SECONDS), now.plusSeconds(TicketRedisKey.SEAT_LOCK_TIME * 2), REBUILD_LIMIT);
+            Map<Long, Long> pending = seatInventoryManager.scanPendingOrders();
+            for (TicketOrder order : orders) {
+                pending.putIfAbsent(order.getId(), order.getExpireTime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+            }
+            List<Map.Entry<Long, Long>> entries = new ArrayList<>(pending.entrySet());
+            for (int from = 0; from < entries.size(); from += EXPIRE_BATCH_SIZE) {
+                List<Map.Entry<Long, Long>> batch = entries.subList(from, Math.min(from + EXPIRE_BATCH_SIZE, entries.size()));
+                stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                    for (Map.Entry<Long, Long> entry : batch) {
+                        stringConnection.zAdd(SeatInventoryManager.expiryQueueKey(entry.getKey()),
+                                entry.getValue(), String.valueOf(entry.getKey()));
+                    }
+                    return null;
+                });
+            }
+            log.info("订单到期队列重建完成: mysqlPending={}, total={}", orders.size(), pending.size());
+        } catch (Exception e) {
+            log.error("订单到期队列重建失败，依赖兜底扫描释放过期订单", e);
+        }
+    }
+
+    /**
+     * 从各分片队列加载在途订单到时间轮，多个节点登记同一订单时由认领脚本保证只处理一次；
+     * 重建前尚未入队的订单由兜底轮询处理
+     */
+    private void rebuildWheel() {
+        try {
+            long perShard = REBUILD_LIMIT / TicketRedisKey.ORDER_EXPIRY_SHARDS;
+            for (int shard = 0; shard < TicketRedisKey.ORDER_EXPIRY_SHARDS; shard++) {
+                Set<ZSetOperations.TypedTuple<String>> entries =
+                        stringRedisTemplate.opsForZSet().rangeWithScores(queueKey(shard), 0, perShard - 1);
+                if (entries == null) {
+                    continue;
+                }
+                for (ZSetOperations.TypedTuple<String> entry : entries) {
+                    if (entry.getValue() != null && entry.getScore() != null) {
+                        scheduleWheel(Long.valueOf(entry.getValue()), entry.getScore().longValue());
+                    }
+                }
+            }
+            log.info("订单到期时间轮重建完成: scheduled={}", timingWheel.size());
+        } catch (Exception e) {
+            log.error("订单到期时间轮重建失败，依赖兜底轮询释放过期订单", e);
+        }
+    }
+
+    /**
+     * 登记到时间轮：时间格按刻度向下取整触发，最多提前一个刻度，登记时顺延一个刻度，保证触发时订单在队列中已到期
+     */
+    private void scheduleWheel(Long orderId, long expireAt) {
+        timingWheel.schedule(orderId, expireAt + TICK_MS);
+    }
+
+    /**
+     * 批量处理到期订单：释放 Redis 座位并发送释放事件，MySQL 由消费者按批更新
+     *
+     * @param orderIds 到期订单ID
+     * @return 处理完成的订单ID；处理失败（含事件未被 broker 确认）的订单不在其中，留待重新认领或下一轮兜底扫描
+     */
+    private List<Long> expireOrders(List<Long> orderIds) {
+        List<Map<Object, Object>> states = seatInventoryManager.getOrderStates(orderIds);
+        List<Long> done = new ArrayList<>(orderIds.size());
+        int released = 0;
+        for (int i = 0; i < orderIds.size(); i++) {
+            Long orderId = orderIds.get(i);
+            try {
+                if (expireOrder(orderId, states.get(i))) {
+                    released++;
+                }
+                done.add(orderId);
+            } catch (Exception e) {
+                log.error("订单到期释放失败: orderId={}", orderId, e);
+            }
+        }
+        log.info("到期订单批量释放完成: total={}, released={}, failed={}", orderIds.size(), released,
+                orderIds.size() - done.size());
+        return done;
+    }
+
+    /**
+     * 释放单个到期订单。队列里仍有该订单或 MySQL 仍为待支付，说明之前的订单事件可能没有送达，
+     * 按 Redis 中的最终状态补发：已支付补发支付事件（绝不补发释放），已取消或超时补发释放事件，消费者按待支付状态幂等处理
+     *
+     * @return 是否由本次调用释放了座位
+     */
+    private boolean expireOrder(Long orderId, Map<Object, Object> state) {
+        Long showEventId;
+        Long userId;
+        List<Long> seatIds;
+        Object status = state.get(TicketRedisKey.ORDER_FIELD_STATUS);
+        if (status != null) {
+            showEventId = Long.valueOf(state.get("showEventId").toString());
+            userId = Long.valueOf(state.get("userId").toString());
+            seatIds = Arrays.stream(state.get("seatIds").toString().split(","))
+                    .map(Long::valueOf)
+                    .collect(Collectors.toList());
+            if (OrderStatus.PAID.equals(status)) {
+                LocalDateTime payTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(
+                        Long.parseLong(state.get("payTime").toString())), ZoneId.systemDefault());
+                publish(showEventId, TicketOrderMessageEvent.buildPaidEvent(userId, orderId, showEventId, seatIds,
+                        (String) state.get("payType"), payTime));
+                return false;
+            }
+            if (!OrderStatus.PENDING.equals(status)) {
+                publish(showEventId, TicketOrderMessageEvent.buildReleasedEvent(userId, orderId, showEventId,
+                        seatIds, status.toString()));
+                return false;
+            }
+        } else {
+            // Redis 订单状态已过期，回源数据库
+            TicketOrder order = ticketOrderMapper.selectById(orderId);
+            if (order == null || !OrderStatus.PENDING.equals(order.getStatus())) {
+                return false;
+            }
+            showEventId = order.getShowEventId();
+            userId = order.getUserId();
+            seatIds = orderSeatMapper.selectList(new LambdaQueryWrapper<OrderSeat>()
+                            .eq(OrderSeat::getOrderId, orderId))
+                    .stream()
+                    .map(OrderSeat::getSeatId)
+                    .collect(Collectors.toList());
+        }
+
+        long released = seatInventoryManager.release(showEventId, userId, orderId, seatIds, OrderStatus.TIMEOUT);
+        if (released == SeatInventoryManager.RELEASE_SOLD) {
+            // 座位已售出，订单实际已支付而支付事件丢失；支付方式随订单状态一起过期，只能补发不带支付方式的支付事件
+            log.warn("过期订单的座位已售出，补发支付事件: orderId={}", orderId);
+            publish(showEventId, TicketOrderMessageEvent.buildPaidEvent(userId, orderId, showEventId, seatIds,
+                    null, LocalDateTime.now()));
+            return false;
+        }
+        if (released < 0) {
+            return false;
+        }
+        publish(showEventId, TicketOrderMessageEvent.buildReleasedEvent(userId, orderId, showEventId, seatIds,
+                OrderStatus.TIMEOUT));
+        return true;
+    }
+
+    /**
+     * 同步发送订单事件，broker 未确认时抛出异常，订单不确认出队
+     */
+    private void publish(Long showEventId, TicketOrderMessageEvent event) {
+        if (!kafkaProducerTemplate.sendObjectAndWait(KafkaTopic.TICKET_ORDER_EVENTS, String.valueOf(showEventId), event)) {
+            throw new IllegalStateException("订单事件发送失败: orderId=" + event.getOrderId()
+                    + ", eventType=" + event.getEventType());
+        }
+    }
+
+    private static String queueKey(int shard) {
+        return String.format(TicketRedisKey.ORDER_EXPIRY_QUEUE_FORMAT, shard);
+    }
+
+    private static String processingKey(int shard) {
+        return String.format(TicketRedisKey.ORDER_EXPIRY_PROCESSING_FORMAT, shard);
+    }
+}
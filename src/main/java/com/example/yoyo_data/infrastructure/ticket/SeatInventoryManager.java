@@ -0,0 +1,574 @@
+package com.example.yoyo_data.infrastructure.ticket;
+
+import com.example.yoyo_data.common.constant.OrderStatus;
+import com.example.yoyo_data.common.constant.SeatStatus;
+import com.example.yoyo_data.common.constant.TicketRedisKey;
+import com.example.yoyo_data.common.entity.Seat;
+import com.example.yoyo_data.common.entity.ShowEvent;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.scripting.support.ResourceScriptSource;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 座位库存引擎 - 基于 Redis + Lua 的抢票库存裁决
+ * 库存检查、座位锁定、用户限购检查在一次 Lua 调用中原子完成，
+ * 裁决成功的同时写入订单状态哈希供客户端轮询，订单再经 Kafka 批量落库。
+ * 抢票和释放脚本访问的库存、座位状态、用户已购、订单状态、到期队列 key 分别按演出、用户、订单、分片命名，
+ * 没有公共哈希标签，不在同一个槽位，只支持单机或哨兵模式的 Redis；集群模式下会返回 CROSSSLOT 错误
+ *
+ * @author Template Framework
+ * @version 1.0
+ */
+@Slf4j
+@Component
+public class SeatInventoryManager {
+
+    /**
+     * 释放结果：订单状态已过期，但座位已被该订单售出（订单已支付，支付事件可能丢失）
+     */
+    public static final long RELEASE_SOLD = -2;
+
+    /**
+     * 预热时单次写入座位状态的批量大小
+     */
+    private static final int WARM_UP_BATCH_SIZE = 1000;
+
+    /**
+     * 用户购票记录预热标记提前于购票记录过期的时间（秒）
+     */
+    private static final long USER_RECORD_READY_MARGIN = 60;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    private DefaultRedisScript<List> grabScript;
+
+    private DefaultRedisScript<Long> releaseScript;
+
+    private DefaultRedisScript<Long> confirmScript;
+
+    private DefaultRedisScript<Long> warmUpSwapScript;
+
+    @PostConstruct
+    public void init() {
+        grabScript = new DefaultRedisScript<>();
+        grabScript.setScriptSource(new ResourceScriptSource(new ClassPathResource("lua/seat_grab.lua")));
+        grabScript.setResultType(List.class);
+
+        releaseScript = new DefaultRedisScript<>();
+        releaseScript.setScriptSource(new ResourceScriptSource(new ClassPathResource("lua/seat_release.lua")));
+        releaseScript.setResultType(Long.class);
+
+        confirmScript = new DefaultRedisScript<>();
+        confirmScript.setScriptSource(new ResourceScriptSource(new ClassPathResource("lua/seat_confirm.lua")));
+        confirmScript.setResultType(Long.class);
+
+        warmUpSwapScript = new DefaultRedisScript<>();
+        warmUpSwapScript.setScriptSource(new ResourceScriptSource(new ClassPathResource("lua/seat_warm_up_swap.lua")));
+        warmUpSwapScript.setResultType(Long.class);
+    }
+
+    /**
+     * 将演出的座位状态和库存预热到 Redis
+     * 座位状态和库存先写入临时 key，构建完成后由脚本一次性替换正式 key，
+     * 替换前抢票、支付、释放脚本读写的始终是旧的完整数据（或预热前不存在的 key）
+     *
+     * @param showEvent 演出活动
+     * @param seats 该演出的全部座位
+     * @return 可售座位数
+     */
+    public long warmUp(ShowEvent showEvent, List<Seat> seats) {
+        Long showEventId = showEvent.getId();
+        String seatStateKey = warmUpSeatStateKey(showEventId);
+        String stockKey = warmUpStockKey(showEventId);
+
+        // 清理上一次中断的预热留下的临时 key
+        stringRedisTemplate.delete(Arrays.asList(seatStateKey, stockKey));
+
+        long available = 0;
+        Map<String, String> batch = new HashMap<>(WARM_UP_BATCH_SIZE * 2);
+        for (Seat seat : seats) {
+            String state;
+            if (SeatStatus.AVAILABLE.equals(seat.getStatus())) {
+                state = TicketRedisKey.SEAT_STATE_AVAILABLE;
+                available++;
+            } else if (SeatStatus.LOCKED.equals(seat.getStatus())) {
+                state = TicketRedisKey.SEAT_STATE_LOCKED + seat.getOrderId();
+            } else {
+                state = TicketRedisKey.SEAT_STATE_SOLD + seat.getOrderId();
+            }
+            batch.put(String.valueOf(seat.getId()), state);
+            if (batch.size() >= WARM_UP_BATCH_SIZE) {
+                stringRedisTemplate.opsForHash().putAll(seatStateKey, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            stringRedisTemplate.opsForHash().putAll(seatStateKey, batch);
+        }
+        stringRedisTemplate.opsForValue().set(stockKey, String.valueOf(available));
+
+        // 售票期间库存不能过期，过期时间设置为售票结束后再保留一段时间
+        long expireSeconds = TicketRedisKey.SEAT_STOCK_EXPIRE;
+        if (showEvent.getSaleEndTime() != null) {
+            long saleEndMillis = showEvent.getSaleEndTime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            expireSeconds = Math.max(TicketRedisKey.SEAT_STOCK_EXPIRE,
+                    (saleEndMillis - System.currentTimeMillis()) / 1000 + TicketRedisKey.SEAT_STOCK_EXPIRE);
+        }
+        stringRedisTemplate.expire(seatStateKey, expireSeconds, TimeUnit.SECONDS);
+        stringRedisTemplate.expire(stockKey, expireSeconds, TimeUnit.SECONDS);
+
+        Long swapped = stringRedisTemplate.execute(warmUpSwapScript, Arrays.asList(seatStateKey,
+                seatStateKey(showEventId), stockKey, stockKey(showEventId)));
+        if (swapped == null || swapped != 1L) {
+            throw new IllegalStateException("座位库存预热替换失败: showEventId=" + showEventId);
+        }
+
+        log.info("座位库存预热完成: showEventId={}, totalSeats={}, available={}", showEventId, seats.size(), available);
+        return available;
+    }
+
+    /**
+     * 演出库存是否已预热
+     *
+     * @param showEventId 演出活动ID
+     * @return 是否已预热
+     */
+    public boolean isWarmedUp(Long showEventId) {
+        return Boolean.TRUE.equals(stringRedisTemplate.hasKey(stockKey(showEventId)));
+    }
+
+    /**
+     * 获取当前可售库存
+     *
+     * @param showEventId 演出活动ID
+     * @return 可售座位数，未预热时返回 null
+     */
+    public Long getStock(Long showEventId) {
+        String stock = stringRedisTemplate.opsForValue().get(stockKey(showEventId));
+        return stock != null ? Long.valueOf(stock) : null;
+    }
+
+    /**
+     * 用户购票记录是否已加载到 Redis
+     *
+     * @param userId 用户ID
+     * @param showEventId 演出活动ID
+     * @return 是否已加载
+     */
+    public boolean hasUserRecord(Long userId, Long showEventId) {
+        return Boolean.TRUE.equals(stringRedisTemplate.hasKey(userRecordKey(userId, showEventId)));
+    }
+
+    /**
+     * 初始化用户已购数（仅在不存在时写入，避免覆盖并发扣减结果）
+     *
+     * @param userId 用户ID
+     * @param showEventId 演出活动ID
+     * @param ticketCount 数据库中的已购数
+     * @param expireSeconds 过期时间（秒）
+     */
+    public void initUserRecord(Long userId, Long showEventId, int ticketCount, long expireSeconds) {
+        stringRedisTemplate.opsForValue().setIfAbsent(userRecordKey(userId, showEventId),
+                String.valueOf(ticketCount), expireSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 批量预热演出的用户已购数（管道执行，仅在不存在时写入），完成后写入预热标记
+     * 标记比购票记录早过期，标记存在时不会出现购票记录已过期而被当作未购票的情况
+     *
+     * @param showEventId 演出活动ID
+     * @param ticketCounts 用户ID -> 数据库中的已购数
+     * @param expireSeconds 过期时间（秒）
+     */
+    public void warmUpUserRecords(Long showEventId, Map<Long, Integer> ticketCounts, long expireSeconds) {
+        Expiration expiration = Expiration.seconds(expireSeconds);
+        List<Map.Entry<Long, Integer>> entries = new ArrayList<>(ticketCounts.entrySet());
+        for (int from = 0; from < entries.size(); from += WARM_UP_BATCH_SIZE) {
+            List<Map.Entry<Long, Integer>> batch = entries.subList(from, Math.min(from + WARM_UP_BATCH_SIZE, entries.size()));
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                for (Map.Entry<Long, Integer> entry : batch) {
+                    stringConnection.set(userRecordKey(entry.getKey(), showEventId), String.valueOf(entry.getValue()),
+                            expiration, RedisStringCommands.SetOption.SET_IF_ABSENT);
+                }
+                return null;
+            });
+        }
+        stringRedisTemplate.opsForValue().set(userRecordReadyKey(showEventId), String.valueOf(ticketCounts.size()),
+                Math.max(1, expireSeconds - USER_RECORD_READY_MARGIN), TimeUnit.SECONDS);
+        log.info("用户购票记录预热完成: showEventId={}, users={}", showEventId, ticketCounts.size());
+    }
+
+    /**
+     * 演出的用户已购数是否已整体预热
+     *
+     * @param showEventId 演出活动ID
+     * @return 是否已预热
+     */
+    public boolean isUserRecordsWarmedUp(Long showEventId) {
+        return Boolean.TRUE.equals(stringRedisTemplate.hasKey(userRecordReadyKey(showEventId)));
+    }
+
+    /**
+     * 原子抢票：库存检查 + 座位锁定 + 限购检查 + 订单状态登记 + 到期队列入队
+     * 多个座位在一次脚本调用中全部锁定或全部不锁定，失败时返回所有冲突座位，不存在需要回滚的部分锁定
+     *
+     * @param showEventId 演出活动ID
+     * @param userId 用户ID
+     * @param orderId 预生成的订单ID
+     * @param maxBuyLimit 每人限购数量
+     * @param seatIds 座位ID列表（已去重）
+     * @param expireTime 订单过期时间
+     * @return 裁决结果
+     */
+    public GrabOutcome tryGrab(Long showEventId, Long userId, Long orderId, int maxBuyLimit, List<Long> seatIds,
+                               LocalDateTime expireTime) {
+        List<String> keys = Arrays.asList(stockKey(showEventId), seatStateKey(showEventId),
+                userRecordKey(userId, showEventId), orderStateKey(orderId), expiryQueueKey(orderId));
+        List<String> args = new ArrayList<>(seatIds.size() + 6);
+        args.add(String.valueOf(orderId));
+        args.add(String.valueOf(maxBuyLimit));
+        args.add(String.valueOf(userId));
+        args.add(String.valueOf(showEventId));
+        args.add(String.valueOf(toEpochMilli(expireTime)));
+        args.add(String.valueOf(TicketRedisKey.ORDER_STATE_EXPIRE));
+        for (Long seatId : seatIds) {
+            args.add(String.valueOf(seatId));
+        }
+
+        List<?> result = stringRedisTemplate.execute(grabScript, keys, args.toArray());
+        if (result == null || result.isEmpty()) {
+            throw new IllegalStateException("抢票脚本返回结果为空");
+        }
+        GrabStatus status = GrabStatus.of(((Number) result.get(0)).intValue());
+        List<Long> conflictSeatIds = new ArrayList<>(result.size() - 1);
+        for (int i = 1; i < result.size(); i++) {
+            conflictSeatIds.add(Long.valueOf(result.get(i).toString()));
+        }
+        return new GrabOutcome(status, conflictSeatIds);
+    }
+
+    /**
+     * 释放订单锁定的座位，归还库存和用户限购额度（幂等）
+     *
+     * @param showEventId 演出活动ID
+     * @param userId 用户ID
+     * @param orderId 订单ID
+     * @param seatIds 座位ID列表
+     * @param orderStatus 订单目标状态：CANCELLED / TIMEOUT
+     * @return 实际释放的座位数；订单已支付或已释放时返回 -1；订单状态已过期但座位已售出时返回 {@link #RELEASE_SOLD}
+     */
+    public long release(Long showEventId, Long userId, Long orderId, List<Long> seatIds, String orderStatus) {
+        List<String> keys = Arrays.asList(stockKey(showEventId), seatStateKey(showEventId),
+                userRecordKey(userId, showEventId), orderStateKey(orderId));
+        List<String> args = new ArrayList<>(seatIds.size() + 2);
+        args.add(String.valueOf(orderId));
+        args.add(orderStatus);
+        for (Long seatId : seatIds) {
+            args.add(String.valueOf(seatId));
+        }
+        Long released = stringRedisTemplate.execute(releaseScript, keys, args.toArray());
+        log.info("释放座位: showEventId={}, orderId={}, status={}, released={}", showEventId, orderId, orderStatus, released);
+        return released != null ? released : 0L;
+    }
+
+    /**
+     * 支付确认：订单待支付且未过期时，将锁定座位转为已售
+     *
+     * @param showEventId 演出活动ID
+     * @param orderId 订单ID
+     * @param payType 支付方式
+     * @param payTime 支付时间
+     * @return 确认结果
+     */
+    public ConfirmStatus confirm(Long showEventId, Long orderId, String payType, LocalDateTime payTime) {
+        List<String> keys = Arrays.asList(seatStateKey(showEventId), orderStateKey(orderId));
+        Long result = stringRedisTemplate.execute(confirmScript, keys, String.valueOf(orderId),
+                String.valueOf(toEpochMilli(payTime)), payType, String.valueOf(TicketRedisKey.ORDER_STATE_EXPIRE));
+        if (result == null) {
+            throw new IllegalStateException("支付确认脚本返回结果为空");
+        }
+        return ConfirmStatus.of(result.intValue());
+    }
+
+    /**
+     * 读取订单状态哈希
+     *
+     * @param orderId 订单ID
+     * @return 订单状态字段，订单不存在或已过期时返回空 Map
+     */
+    public Map<Object, Object> getOrderState(Long orderId) {
+        return stringRedisTemplate.opsForHash().entries(orderStateKey(orderId));
+    }
+
+    /**
+     * 批量读取订单状态哈希（管道执行）
+     *
+     * @param orderIds 订单ID列表
+     * @return 与订单ID一一对应的状态字段，不存在的订单为空 Map
+     */
+    @SuppressWarnings("unchecked")
+    public List<Map<Object, Object>> getOrderStates(List<Long> orderIds) {
+        List<Object> results = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            for (Long orderId : orderIds) {
+                stringConnection.hGetAll(orderStateKey(orderId));
+            }
+            return null;
+        });
+        List<Map<Object, Object>> states = new ArrayList<>(results.size());
+        for (Object result : results) {
+            states.add(result != null ? (Map<Object, Object>) result : new HashMap<>());
+        }
+        return states;
+    }
+
+    /**
+     * 扫描 Redis 中待支付的订单（SCAN 遍历，不阻塞 Redis），用于服务重启后重建到期调度
+     *
+     * @return 订单ID -> 过期时间（毫秒时间戳）
+     */
+    public Map<Long, Long> scanPendingOrders() {
+        Map<Long, Long> pending = new HashMap<>();
+        ScanOptions options = ScanOptions.scanOptions().match(TicketRedisKey.ORDER_PREFIX + "*").count(1000).build();
+        stringRedisTemplate.execute((RedisCallback<Object>) connection -> {
+            try (Cursor<byte[]> cursor = connection.scan(options)) {
+                while (cursor.hasNext()) {
+                    byte[] key = cursor.next();
+                    List<byte[]> values = connection.hMGet(key,
+                            TicketRedisKey.ORDER_FIELD_STATUS.getBytes(StandardCharsets.UTF_8),
+                            "expireTime".getBytes(StandardCharsets.UTF_8));
+                    if (values == null || values.get(0) == null || values.get(1) == null
+                            || !OrderStatus.PENDING.equals(new String(values.get(0), StandardCharsets.UTF_8))) {
+                        continue;
+                    }
+                    String orderId = new String(key, StandardCharsets.UTF_8).substring(TicketRedisKey.ORDER_PREFIX.length());
+                    pending.put(Long.valueOf(orderId), Long.valueOf(new String(values.get(1), StandardCharsets.UTF_8)));
+                }
+            } catch (Exception e) {
+                log.error("扫描待支付订单失败", e);
+            }
+            return null;
+        });
+        return pending;
+    }
+
+    /**
+     * 演出是否有事件尚未落库的订单：抢票事件未落库，或支付、释放事件未落库
+     * SCAN 遍历订单状态哈希，扫描失败时抛出异常，由调用方按有未落库订单处理
+     *
+     * @param showEventId 演出活动ID
+     * @return 是否存在未落库的订单
+     */
+    public boolean hasUnsyncedOrders(Long showEventId) {
+        byte[] showEventIdBytes = String.valueOf(showEventId).getBytes(StandardCharsets.UTF_8);
+        ScanOptions options = ScanOptions.scanOptions().match(TicketRedisKey.ORDER_PREFIX + "*").count(1000).build();
+        Boolean unsynced = stringRedisTemplate.execute((RedisCallback<Boolean>) connection -> {
+            try (Cursor<byte[]> cursor = connection.scan(options)) {
+                while (cursor.hasNext()) {
+                    List<byte[]> values = connection.hMGet(cursor.next(),
+                            "showEventId".getBytes(StandardCharsets.UTF_8),
+                            TicketRedisKey.ORDER_FIELD_PERSISTED.getBytes(StandardCharsets.UTF_8),
+                            TicketRedisKey.ORDER_FIELD_SYNCED.getBytes(StandardCharsets.UTF_8));
+                    if (values == null || values.get(0) == null || !Arrays.equals(showEventIdBytes, values.get(0))) {
+                        continue;
+                    }
+                    boolean persisted = values.get(1) != null && "1".equals(new String(values.get(1), StandardCharsets.UTF_8));
+                    boolean synced = values.get(2) == null || "1".equals(new String(values.get(2), StandardCharsets.UTF_8));
+                    if (!persisted || !synced) {
+                        return true;
+                    }
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("扫描订单状态失败", e);
+            }
+            return false;
+        });
+        return !Boolean.FALSE.equals(unsynced);
+    }
+
+    /**
+     * 批量标记支付、释放事件已落库（管道执行）
+     *
+     * @param orderIds 订单ID列表
+     */
+    public void markSynced(List<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return;
+        }
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            for (Long orderId : orderIds) {
+                String key = orderStateKey(orderId);
+                stringConnection.hSet(key, TicketRedisKey.ORDER_FIELD_SYNCED, "1");
+                stringConnection.expire(key, TicketRedisKey.ORDER_STATE_EXPIRE);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * 批量标记订单已落库（管道执行）
+     *
+     * @param orderIds 订单ID列表
+     */
+    public void markPersisted(List<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return;
+        }
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            for (Long orderId : orderIds) {
+                String key = orderStateKey(orderId);
+                stringConnection.hSet(key, TicketRedisKey.ORDER_FIELD_PERSISTED, "1");
+                stringConnection.expire(key, TicketRedisKey.ORDER_STATE_EXPIRE);
+            }
+            return null;
+        });
+    }
+
+    public static String stockKey(Long showEventId) {
+        return TicketRedisKey.SEAT_STOCK_PREFIX + showEventId;
+    }
+
+    public static String seatStateKey(Long showEventId) {
+        return TicketRedisKey.SEAT_LOCK_PREFIX + showEventId;
+    }
+
+    public static String warmUpStockKey(Long showEventId) {
+        return TicketRedisKey.SEAT_WARM_UP_STOCK_PREFIX + showEventId;
+    }
+
+    public static String warmUpSeatStateKey(Long showEventId) {
+        return TicketRedisKey.SEAT_WARM_UP_LOCK_PREFIX + showEventId;
+    }
+
+    public static String userRecordKey(Long userId, Long showEventId) {
+        return TicketRedisKey.USER_RECORD_PREFIX + userId + ":" + showEventId;
+    }
+
+    /**
+     * 订单所在的到期队列分片
+     */
+    public static String expiryQueueKey(Long orderId) {
+        return String.format(TicketRedisKey.ORDER_EXPIRY_QUEUE_FORMAT, expiryShard(orderId));
+    }
+
+    /**
+     * 订单所在的到期队列分片序号（除数转为 long，使用 Java 8 的 floorMod(long, long)）
+     */
+    public static int expiryShard(Long orderId) {
+        return (int) Math.floorMod(orderId, (long) TicketRedisKey.ORDER_EXPIRY_SHARDS);
+    }
+
+    public static String userRecordReadyKey(Long showEventId) {
+        return TicketRedisKey.USER_RECORD_READY_PREFIX + showEventId;
+    }
+
+    public static String orderStateKey(Long orderId) {
+        return TicketRedisKey.ORDER_PREFIX + orderId;
+    }
+
+    private static long toEpochMilli(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * 抢票裁决状态
+     */
+    public enum GrabStatus {
+        SUCCESS(1),
+        NOT_WARMED_UP(-1),
+        OVER_LIMIT(-2),
+        SOLD_OUT(-3),
+        SEAT_UNAVAILABLE(-4);
+
+        private final int code;
+
+        GrabStatus(int code) {
+            this.code = code;
+        }
+
+        public static GrabStatus of(int code) {
+            for (GrabStatus status : values()) {
+                if (status.code == code) {
+                    return status;
+                }
+            }
+            throw new IllegalArgumentException("未知的抢票结果码: " + code);
+        }
+    }
+
+    /**
+     * 支付确认状态
+     */
+    public enum ConfirmStatus {
+        SUCCESS(1),
+        ORDER_NOT_FOUND(-1),
+        NOT_PENDING(-2),
+        EXPIRED(-3),
+        SEAT_MISMATCH(-4);
+
+        private final int code;
+
+        ConfirmStatus(int code) {
+            this.code = code;
+        }
+
+        public static ConfirmStatus of(int code) {
+            for (ConfirmStatus status : values()) {
+                if (status.code == code) {
+                    return status;
+                }
+            }
+            throw new IllegalArgumentException("未知的支付确认结果码: " + code);
+        }
+    }
+
+    /**
+     * 抢票裁决结果
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class GrabOutcome {
+
+        /**
+         * 裁决状态
+         */
+        private final GrabStatus status;
+
+        /**
+         * 全部冲突的座位ID（状态为 SEAT_UNAVAILABLE 时非空），客户端据此一次性重新选座
+         */
+        private final List<Long> conflictSeatIds;
+
+        public boolean isSuccess() {
+            return status == GrabStatus.SUCCESS;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.yoyo_data.infrastructure.ticket;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.example.yoyo_data.common.constant.ShowEventStatus;
+import com.example.yoyo_data.common.constant.TicketRedisKey;
+import com.example.yoyo_data.common.entity.ShowEvent;
+import com.example.yoyo_data.common.entity.UserTicketRecord;
+import com.example.yoyo_data.common.vo.PreWarmStatusVO;
+import com.example.yoyo_data.infrastructure.config.properties.TicketProperties;
+import com.example.yoyo_data.infrastructure.repository.SeatMapper;
+import com.example.yoyo_data.infrastructure.repository.ShowEventMapper;
+import com.example.yoyo_data.infrastructure.repository.UserTicketRecordMapper;
+import com.example.yoyo_data.infrastructure.ticket.seatmap.SeatMapManager;
+import com.example.yoyo_data.infrastructure.ticket.seatmap.SeatMapSnapshot;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 开票前预热 - 按 idx_sale_start_time 扫描即将开票的演出，提前 leadTime 把演出详情、座位状态、
+ * 库存和用户已购数加载到 Redis，并在本节点加载座位图，开票后的第一批请求不再回源数据库。
+ * 预热后逐项校验，已就绪的演出在开票前每次扫描时重新校验，缓存丢失时重新预热。
+ * Redis 部分由库存预热锁和仅在不存在时写入保证多节点重复执行无副作用，座位图每个节点各自加载
+ *
+ * @author Template Framework
+ * @version 1.0
+ */
+@Slf4j
+@Component
+public class ShowEventPreWarmer {
+
+    /**
+     * 开票后预热状态保留多久（分钟）
+     */
+    private static final long STATUS_RETAIN_MINUTES = 60;
+
+    @Autowired
+    private ShowEventMapper showEventMapper;
+
+    @Autowired
+    private SeatMapper seatMapper;
+
+    @Autowired
+    private UserTicketRecordMapper userTicketRecordMapper;
+
+    @Autowired
+    private SeatInventoryManager seatInventoryManager;
+
+    @Autowired
+    private SeatMapManager seatMapManager;
+
+    @Autowired
+    private ShowEventWarmer showEventWarmer;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private TicketProperties ticketProperties;
+
+    private final Map<Long, PreWarmStatusVO> statuses = new ConcurrentHashMap<>();
+
+    /**
+     * 扫描即将开票的演出并预热
+     */
+    @Scheduled(initialDelay = 10000, fixedDelayString = "${ticket.pre-warm.scan-interval:30000}")
+    public void scan() {
+        TicketProperties.PreWarm config = ticketProperties.getPreWarm();
+        if (!config.isEnabled()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        statuses.values().removeIf(status -> status.getSaleStartTime() == null
+                || status.getSaleStartTime().plusMinutes(STATUS_RETAIN_MINUTES).isBefore(now));
+
+        List<ShowEvent> shows = showEventMapper.selectList(new LambdaQueryWrapper<ShowEvent>()
+                .ge(ShowEvent::getSaleStartTime, now)
+                .le(ShowEvent::getSaleStartTime, now.plusSeconds(config.getLeadTime()))
+                .ne(ShowEvent::getStatus, ShowEventStatus.ENDED)
+                .orderByAsc(ShowEvent::getSaleStartTime));
+        for (ShowEvent show : shows) {
+            try {
+                preWarm(show);
+            } catch (Exception e) {
+                log.error("开票前预热失败: showEventId={}", show.getId(), e);
+                PreWarmStatusVO status = statuses.get(show.getId());
+                if (status != null) {
+                    status.setState(PreWarmStatusVO.FAILED);
+                    status.setMessage(e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * 获取各演出的预热状态，按开票时间排序
+     */
+    public List<PreWarmStatusVO> getStatuses() {
+        List<PreWarmStatusVO> result = new ArrayList<>(statuses.values());
+        result.sort(Comparator.comparing(PreWarmStatusVO::getSaleStartTime));
+        return result;
+    }
+
+    private void preWarm(ShowEvent show) {
+        PreWarmStatusVO status = statuses.computeIfAbsent(show.getId(), id -> PreWarmStatusVO.builder()
+                .showEventId(id)
+                .showName(show.getShowName())
+                .saleStartTime(show.getSaleStartTime())
+                .state(PreWarmStatusVO.PENDING)
+                .attempts(0)
+                .build());
+        status.setSaleStartTime(show.getSaleStartTime());
+
+        // 已就绪的演出只做校验，校验通过不重复预热
+        if (PreWarmStatusVO.READY.equals(status.getState())) {
+            Map<String, Boolean> checks = verify(show.getId());
+            status.setChecks(checks);
+            if (!checks.containsValue(false)) {
+                return;
+            }
+            log.warn("预热缓存校验失败，重新预热: showEventId={}, checks={}", show.getId(), checks);
+        }
+
+        status.setAttempts(status.getAttempts() + 1);
+        // 1. 演出详情和座位状态、库存（预热锁保证只有一个节点写入）
+        if (showEventWarmer.warmUp(show) == null) {
+            status.setState(PreWarmStatusVO.PENDING);
+            status.setMessage("库存预热正在进行中或订单尚未全部落库，请稍后重试");
+            return;
+        }
+        // 2. 用户已购数（预售、补票等开票前已有的购票记录）
+        if (!seatInventoryManager.isUserRecordsWarmedUp(show.getId())) {
+            Map<Long, Integer> ticketCounts = userTicketRecordMapper.selectList(new LambdaQueryWrapper<UserTicketRecord>()
+                            .select(UserTicketRecord::getUserId, UserTicketRecord::getTicketCount)
+                            .eq(UserTicketRecord::getShowEventId, show.getId()))
+                    .stream()
+                    .collect(Collectors.toMap(UserTicketRecord::getUserId, UserTicketRecord::getTicketCount, (a, b) -> a));
+            seatInventoryManager.warmUpUserRecords(show.getId(), ticketCounts, TicketRedisKey.SHOW_DETAIL_EXPIRE);
+        }
+        // 3. 本节点座位图，加载时从 Redis 读取刚预热的座位状态
+        seatMapManager.getLayout(show.getId());
+
+        Map<String, Boolean> checks = verify(show.getId());
+        status.setChecks(checks);
+        if (checks.containsValue(false)) {
+            status.setState(PreWarmStatusVO.FAILED);
+            status.setMessage("预热校验未通过");
+            log.warn("开票前预热校验未通过: showEventId={}, checks={}", show.getId(), checks);
+            return;
+        }
+        status.setState(PreWarmStatusVO.READY);
+        status.setReadyAt(LocalDateTime.now());
+        status.setMessage(null);
+        log.info("开票前预热完成: showEventId={}, saleStartTime={}, checks={}",
+                show.getId(), show.getSaleStartTime(), checks);
+    }
+
+    /**
+     * 校验预热结果：开票前座位状态不会变化，Redis 库存和本节点座位图都应等于数据库中的可售座位数
+     */
+    private Map<String, Boolean> verify(Long showEventId) {
+        Map<String, Boolean> checks = new LinkedHashMap<>();
+        checks.put("showDetail", Boolean.TRUE.equals(
+                stringRedisTemplate.hasKey(TicketRedisKey.SHOW_DETAIL_PREFIX + showEventId)));
+
+        long available = seatMapper.selectStateSummary(showEventId).getAvailable();
+        Long stock = seatInventoryManager.getStock(showEventId);
+        checks.put("stock", stock != null && stock == available);
+        checks.put("userRecords", seatInventoryManager.isUserRecordsWarmedUp(showEventId));
+
+        SeatMapSnapshot snapshot = seatMapManager.getSnapshot(showEventId);
+        checks.put("seatMap", snapshot != null && snapshot.getAvailableSeats() == available);
+        return checks;
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.yoyo_data.infrastructure.ticket;
+
+import com.alibaba.fastjson.JSON;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.example.yoyo_data.common.constant.TicketRedisKey;
+import com.example.yoyo_data.common.entity.Seat;
+import com.example.yoyo_data.common.entity.ShowEvent;
+import com.example.yoyo_data.infrastructure.cache.RedisService;
+import com.example.yoyo_data.infrastructure.cache.bloom.IdBloomFilters;
+import com.example.yoyo_data.infrastructure.repository.SeatMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 演出预热 - 把演出详情写入 Redis 缓存，并把座位状态和库存加载到 Redis。
+ * 抢票服务（首次抢票、手动预热）和开票前预热共用，同一演出的库存预热同一时刻只有一个节点执行。
+ * 座位状态以 tb_seat 为准，而订单经 Kafka 异步落库，售票期间 tb_seat 可能落后于 Redis：
+ * 售票期间库存丢失时只有该演出全部订单事件都已落库才重新预热，否则拒绝预热，由调用方返回 503
+ *
+ * @author Template Framework
+ * @version 1.0
+ */
+@Slf4j
+@Component
+public class ShowEventWarmer {
+
+    @Autowired
+    private RedisService redisService;
+
+    @Autowired
+    private SeatMapper seatMapper;
+
+    @Autowired
+    private SeatInventoryManager seatInventoryManager;
+
+    @Autowired
+    private IdBloomFilters idBloomFilters;
+
+    /**
+     * 预热演出详情和座位库存
+     *
+     * @param showEvent 演出（直接查库得到）
+     * @return 可售库存；已有其他节点在预热库存或售票期间订单尚未全部落库时返回 null
+     */
+    public Long warmUp(ShowEvent showEvent) {
+        // 预热直接查库，顺带收录绕过应用新建、尚未重建进布隆过滤器的演出
+        idBloomFilters.put(IdBloomFilters.SHOW, showEvent.getId());
+        cacheShowEvent(showEvent);
+        return warmUpInventory(showEvent);
+    }
+
+    /**
+     * 预热座位库存，同一演出同时只允许一个节点执行
+     *
+     * @return 可售库存；已有其他节点在预热或售票期间订单尚未全部落库时返回 null
+     */
+    public Long warmUpInventory(ShowEvent showEvent) {
+        if (seatInventoryManager.isWarmedUp(showEvent.getId())) {
+            return seatInventoryManager.getStock(showEvent.getId());
+        }
+
+        String lockKey = TicketRedisKey.WARM_UP_LOCK_PREFIX + showEvent.getId();
+        String token = redisService.tryLock(lockKey, TicketRedisKey.WARM_UP_LOCK_EXPIRE, TimeUnit.SECONDS);
+        if (token == null) {
+            return null;
+        }
+        try {
+            // 双重检查，避免覆盖其他节点刚写入的座位状态
+            if (seatInventoryManager.isWarmedUp(showEvent.getId())) {
+                return seatInventoryManager.getStock(showEvent.getId());
+            }
+            if (!isSafeToRebuild(showEvent)) {
+                return null;
+            }
+            List<Seat> seats = seatMapper.selectList(new LambdaQueryWrapper<Seat>()
+                    .eq(Seat::getShowEventId, showEvent.getId()));
+            idBloomFilters.putAll(IdBloomFilters.SEAT, seats.stream().map(Seat::getId).collect(Collectors.toList()));
+            return seatInventoryManager.warmUp(showEvent, seats);
+        } finally {
+            redisService.unlock(lockKey, token);
+        }
+    }
+
+    /**
+     * 售票期间重新预热前确认 tb_seat 已包含全部订单事件，扫描失败按未落库处理
+     */
+    private boolean isSafeToRebuild(ShowEvent showEvent) {
+        LocalDateTime now = LocalDateTime.now();
+        boolean onSale = showEvent.getSaleStartTime() != null && !now.isBefore(showEvent.getSaleStartTime())
+                && (showEvent.getSaleEndTime() == null || now.isBefore(showEvent.getSaleEndTime()));
+        if (!onSale) {
+            return true;
+        }
+        try {
+            if (!seatInventoryManager.hasUnsyncedOrders(showEvent.getId())) {
+                return true;
+            }
+            log.warn("售票期间库存丢失且订单尚未全部落库，拒绝重新预热: showEventId={}", showEvent.getId());
+        } catch (Exception e) {
+            log.error("检查订单落库状态失败，拒绝重新预热: showEventId={}", showEvent.getId(), e);
+        }
+        return false;
+    }
+
+    /**
+     * 缓存演出详情
+     */
+    public void cacheShowEvent(ShowEvent showEvent) {
+        redisService.stringSetString(TicketRedisKey.SHOW_DETAIL_PREFIX + showEvent.getId(),
+                JSON.toJSONString(showEvent), TicketRedisKey.SHOW_DETAIL_EXPIRE);
+    }
+}
@@ -0,0 +1,285 @@
+package com.example.yoyo_data.infrastructure.ticket;
+
+import com.example.yoyo_data.common.constant.OrderStatus;
+import com.example.yoyo_data.common.entity.OrderSeat;
+import com.example.yoyo_data.common.entity.Seat;
+import com.example.yoyo_data.common.entity.TicketOrder;
+import com.example.yoyo_data.common.entity.UserTicketRecord;
+import com.example.yoyo_data.infrastructure.message.ticket.TicketOrderMessageEvent;
+import com.example.yoyo_data.infrastructure.repository.OrderSeatMapper;
+import com.example.yoyo_data.infrastructure.repository.SeatMapper;
+import com.example.yoyo_data.infrastructure.repository.ShowEventMapper;
+import com.example.yoyo_data.infrastructure.repository.TicketOrderMapper;
+import com.example.yoyo_data.infrastructure.repository.UserTicketRecordMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 票务订单批量落库
+ * 由订单事件消费者按批调用，一批消息只开一个事务：订单和订单座位多行插入，
+ * 座位状态按演出一条 SQL 更新，演出计数按演出聚合后更新，MySQL 写入次数与请求量解耦
+ *
+ * @author Template Framework
+ * @version 1.0
+ */
+@Slf4j
+@Component
+public class TicketOrderWriter {
+
+    @Autowired
+    private TicketOrderMapper ticketOrderMapper;
+
+    @Autowired
+    private OrderSeatMapper orderSeatMapper;
+
+    @Autowired
+    private SeatMapper seatMapper;
+
+    @Autowired
+    private ShowEventMapper showEventMapper;
+
+    @Autowired
+    private UserTicketRecordMapper userTicketRecordMapper;
+
+    @Autowired
+    private SeatInventoryManager seatInventoryManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * 批量写入已被 Redis 接纳的订单
+     * 已经落库的订单（整批重投、消息重复投递）直接跳过并标记为已落库；
+     * 整批因数据问题或并发写入的重复键失败时退化为逐单写入，只有确定无法落库的订单（数据无效、与 Redis 不一致）才归还 Redis 中锁定的座位；
+     * 数据库不可用等可重试的异常直接抛出，由消费者不提交偏移量、整批重投，已接纳的订单不会被取消
+     *
+     * @param events 抢票成功事件
+     */
+    public void persistAdmitted(List<TicketOrderMessageEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> doPersistAdmitted(events));
+            seatInventoryManager.markPersisted(orderIds(events));
+            log.info("抢票订单批量落库成功: size={}", events.size());
+            return;
+        } catch (RuntimeException e) {
+            if (!(e instanceof DuplicateKeyException) && !isDataError(e)) {
+                throw e;
+            }
+            log.warn("抢票订单批量落库失败，改为逐单落库: size={}, error={}", events.size(), e.getMessage());
+        }
+
+        for (TicketOrderMessageEvent event : events) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> doPersistAdmitted(Collections.singletonList(event)));
+                seatInventoryManager.markPersisted(Collections.singletonList(event.getOrderId()));
+            } catch (DuplicateKeyException e) {
+                // 消息重复投递，订单已经落库
+                log.info("订单已落库，忽略重复消息: orderId={}", event.getOrderId());
+                seatInventoryManager.markPersisted(Collections.singletonList(event.getOrderId()));
+            } catch (RuntimeException e) {
+                if (!isDataError(e)) {
+                    throw e;
+                }
+                log.error("抢票订单数据无法落库，归还Redis座位: orderId={}, seatIds={}", event.getOrderId(), event.getSeatIds(), e);
+                seatInventoryManager.release(event.getShowEventId(), event.getUserId(), event.getOrderId(),
+                        event.getSeatIds(), OrderStatus.CANCELLED);
+            }
+        }
+    }
+
+    /**
+     * 批量确认已支付订单：订单状态、座位售出、演出计数，提交后标记支付事件已落库
+     *
+     * @param events 支付成功事件
+     */
+    public void confirmPaid(List<TicketOrderMessageEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            for (TicketOrderMessageEvent event : events) {
+                if (ticketOrderMapper.updateOrderToPaid(event.getOrderId(), event.getPayType(), event.getPayTime()) == 0) {
+                    log.warn("订单不是待支付状态，跳过支付确认: orderId={}", event.getOrderId());
+                }
+            }
+            for (Map.Entry<Long, List<TicketOrderMessageEvent>> entry : groupByShow(events).entrySet()) {
+                List<Long> seatIds = entry.getValue().stream()
+                        .flatMap(event -> event.getSeatIds().stream())
+                        .collect(Collectors.toList());
+                int sold = seatMapper.batchConfirmSeatSold(seatIds);
+                if (sold > 0) {
+                    showEventMapper.confirmSeats(entry.getKey(), sold);
+                }
+            }
+        });
+        seatInventoryManager.markSynced(orderIds(events));
+        log.info("支付订单批量确认成功: size={}", events.size());
+    }
+
+    /**
+     * 批量释放已取消或超时的订单：订单状态、座位释放、演出计数、用户购票数，提交后标记释放事件已落库
+     * 事务内先锁定仍处于待支付状态的订单，只释放这些订单；已支付、已释放（重投）或尚未落库的订单直接跳过
+     *
+     * @param events 座位释放事件
+     */
+    public void releaseOrders(List<TicketOrderMessageEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            Set<Long> pendingIds = new HashSet<>(ticketOrderMapper.selectPendingIdsForUpdate(orderIds(events)));
+            List<TicketOrderMessageEvent> pending = events.stream()
+                    .filter(event -> pendingIds.remove(event.getOrderId()))
+                    .collect(Collectors.toList());
+            if (pending.size() < events.size()) {
+                log.warn("部分订单不是待支付状态，跳过释放: total={}, pending={}", events.size(), pending.size());
+            }
+            if (pending.isEmpty()) {
+                return;
+            }
+
+            Map<String, List<Long>> orderIdsByStatus = pending.stream().collect(Collectors.groupingBy(
+                    TicketOrderMessageEvent::getOrderStatus, LinkedHashMap::new,
+                    Collectors.mapping(TicketOrderMessageEvent::getOrderId, Collectors.toList())));
+            orderIdsByStatus.forEach((orderStatus, ids) -> ticketOrderMapper.batchUpdateOrderStatus(ids, orderStatus));
+
+            for (Map.Entry<Long, List<TicketOrderMessageEvent>> entry : groupByShow(pending).entrySet()) {
+                int released = seatMapper.batchReleaseSeatByOrders(orderIds(entry.getValue()));
+                if (released > 0) {
+                    showEventMapper.releaseSeats(entry.getKey(), released);
+                }
+            }
+
+            for (UserTicketRecord record : aggregateUserRecords(pending)) {
+                userTicketRecordMapper.decreaseTicketCount(record.getUserId(), record.getShowEventId(), record.getTicketCount());
+            }
+        });
+        seatInventoryManager.markSynced(orderIds(events));
+        log.info("订单座位批量释放成功: size={}", events.size());
+    }
+
+    private void doPersistAdmitted(List<TicketOrderMessageEvent> batch) {
+        Set<Long> existingIds = new HashSet<>(ticketOrderMapper.selectExistingIds(orderIds(batch)));
+        if (!existingIds.isEmpty()) {
+            log.info("订单已落库，忽略重复消息: orderIds={}", existingIds);
+        }
+        List<TicketOrderMessageEvent> events = batch.stream()
+                .filter(event -> !existingIds.contains(event.getOrderId()))
+                .collect(Collectors.toList());
+        if (events.isEmpty()) {
+            return;
+        }
+
+        List<Long> allSeatIds = events.stream()
+                .flatMap(event -> event.getSeatIds().stream())
+                .collect(Collectors.toList());
+        Map<Long, Seat> seatMap = seatMapper.selectBatchIds(allSeatIds).stream()
+                .collect(Collectors.toMap(Seat::getId, Function.identity()));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<TicketOrder> orders = new ArrayList<>(events.size());
+        List<OrderSeat> orderSeats = new ArrayList<>(allSeatIds.size());
+        for (TicketOrderMessageEvent event : events) {
+            BigDecimal totalAmount = BigDecimal.ZERO;
+            for (Long seatId : event.getSeatIds()) {
+                Seat seat = seatMap.get(seatId);
+                if (seat == null) {
+                    throw new IllegalStateException("座位不存在: orderId=" + event.getOrderId() + ", seatId=" + seatId);
+                }
+                totalAmount = totalAmount.add(seat.getPrice());
+                orderSeats.add(OrderSeat.builder()
+                        .orderId(event.getOrderId())
+                        .seatId(seatId)
+                        .showEventId(event.getShowEventId())
+                        .seatCode(seat.getSeatCode())
+                        .price(seat.getPrice())
+                        .createdAt(now)
+                        .build());
+            }
+            orders.add(TicketOrder.builder()
+                    .id(event.getOrderId())
+                    .orderNo(event.getOrderNo())
+                    .showEventId(event.getShowEventId())
+                    .userId(event.getUserId())
+                    .seatCount(event.getSeatIds().size())
+                    .totalAmount(totalAmount)
+                    .status(OrderStatus.PENDING)
+                    .expireTime(event.getExpireTime())
+                    .contactName(event.getContactName())
+                    .contactPhone(event.getContactPhone())
+                    .contactIdCard(event.getContactIdCard())
+                    .createdAt(event.getCreatedAt() != null ? event.getCreatedAt() : now)
+                    .updatedAt(now)
+                    .build());
+        }
+        ticketOrderMapper.insertBatch(orders);
+        orderSeatMapper.insertBatch(orderSeats);
+
+        for (Map.Entry<Long, List<TicketOrderMessageEvent>> entry : groupByShow(events).entrySet()) {
+            int seatCount = entry.getValue().stream().mapToInt(event -> event.getSeatIds().size()).sum();
+            int locked = seatMapper.lockSeatsByOrders(orderIds(entry.getValue()));
+            if (locked != seatCount) {
+                throw new IllegalStateException("MySQL座位状态与Redis不一致: showEventId=" + entry.getKey()
+                        + ", expected=" + seatCount + ", locked=" + locked);
+            }
+            if (showEventMapper.lockSeatsDirect(entry.getKey(), seatCount) == 0) {
+                log.warn("演出可售座位计数不足，跳过计数更新: showEventId={}, seatCount={}", entry.getKey(), seatCount);
+            }
+        }
+
+        userTicketRecordMapper.batchUpsertTicketCount(aggregateUserRecords(events));
+    }
+
+    /**
+     * 是否为重试也无法成功的数据错误：座位不存在、MySQL 座位状态与 Redis 不一致、违反约束（重复键除外）
+     */
+    private boolean isDataError(Throwable e) {
+        return e instanceof IllegalStateException
+                || (e instanceof DataIntegrityViolationException && !(e instanceof DuplicateKeyException));
+    }
+
+    private Map<Long, List<TicketOrderMessageEvent>> groupByShow(List<TicketOrderMessageEvent> events) {
+        return events.stream().collect(Collectors.groupingBy(
+                TicketOrderMessageEvent::getShowEventId, LinkedHashMap::new, Collectors.toList()));
+    }
+
+    /**
+     * 按用户和演出合并购票数
+     */
+    private List<UserTicketRecord> aggregateUserRecords(List<TicketOrderMessageEvent> events) {
+        Map<String, UserTicketRecord> records = new LinkedHashMap<>();
+        for (TicketOrderMessageEvent event : events) {
+            UserTicketRecord record = records.computeIfAbsent(event.getUserId() + ":" + event.getShowEventId(),
+                    key -> UserTicketRecord.builder()
+                            .userId(event.getUserId())
+                            .showEventId(event.getShowEventId())
+                            .ticketCount(0)
+                            .build());
+            record.setTicketCount(record.getTicketCount() + event.getSeatIds().size());
+        }
+        return new ArrayList<>(records.values());
+    }
+
+    private List<Long> orderIds(List<TicketOrderMessageEvent> events) {
+        return events.stream().map(TicketOrderMessageEvent::getOrderId).collect(Collectors.toList());
+    }
+}
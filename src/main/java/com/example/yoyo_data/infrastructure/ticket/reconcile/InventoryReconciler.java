@@ -0,0 +1,666 @@
+package com.example.yoyo_data.infrastructure.ticket.reconcile;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.example.yoyo_data.common.constant.OrderStatus;
+import com.example.yoyo_data.common.constant.SeatStatus;
+import com.example.yoyo_data.common.constant.TicketRedisKey;
+import com.example.yoyo_data.common.entity.AuditLog;
+import com.example.yoyo_data.common.entity.OrderSeat;
+import com.example.yoyo_data.common.entity.Seat;
+import com.example.yoyo_data.common.entity.ShowEvent;
+import com.example.yoyo_data.common.entity.TicketOrder;
+import com.example.yoyo_data.common.vo.ReconcileMetricsVO;
+import com.example.yoyo_data.common.vo.SeatMapLayoutVO;
+import com.example.yoyo_data.infrastructure.cache.RedisService;
+import com.example.yoyo_data.infrastructure.config.properties.TicketProperties;
+import com.example.yoyo_data.infrastructure.repository.AuditLogMapper;
+import com.example.yoyo_data.infrastructure.repository.OrderSeatMapper;
+import com.example.yoyo_data.infrastructure.repository.SeatMapper;
+import com.example.yoyo_data.infrastructure.repository.ShowEventMapper;
+import com.example.yoyo_data.infrastructure.repository.TicketOrderMapper;
+import com.example.yoyo_data.infrastructure.ticket.SeatInventoryManager;
+import com.example.yoyo_data.infrastructure.ticket.seatmap.SeatMapManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+
+/**
+ * 库存对账 - 以 Redis 座位状态为准核对 tb_seat、tb_show_event 座位计数和 tb_order_seat
+ * 每轮先用 O(1) 的库存计数和 idx_show_status 索引计数核对演出总数，总数不一致的演出逐区域比较校验和；
+ * 非高峰时段再按游标轮询全部区域，每轮只核对 zonesPerRound 个区域，不做全量扫描。
+ * 区域校验和不一致时才下钻到座位，差异持续 driftConfirmSeconds 后按 Redis 状态修复并写入审计日志，
+ * 期间消失的差异视为订单事件落库延迟。MySQL 中座位仍被已支付订单或锁座中的待支付订单占用、而 Redis 不一致时不覆盖，
+ * 只记录无法修复的审计日志，由人工处理，避免把已售座位改回可售。
+ * 待核对区域、轮询游标和观察中的差异保存在 Redis，对账锁在节点间轮换时由下一个持锁节点继续
+ *
+ * @author Template Framework
+ * @version 1.0
+ */
+@Slf4j
+@Component
+public class InventoryReconciler {
+
+    /**
+     * 审计日志操作类型：座位已修复
+     */
+    private static final String AUDIT_SEAT_REPAIRED = "TICKET_SEAT_RECONCILED";
+
+    /**
+     * 审计日志操作类型：座位无法自动修复
+     */
+    private static final String AUDIT_SEAT_UNRESOLVED = "TICKET_SEAT_UNRESOLVED";
+
+    /**
+     * 审计日志操作类型：演出座位计数已重算
+     */
+    private static final String AUDIT_COUNTERS_REPAIRED = "TICKET_COUNTERS_RECONCILED";
+
+    /**
+     * 对账状态过期时间（天），长时间无人对账时自动清理
+     */
+    private static final long STATE_TTL_DAYS = 1;
+
+    @Autowired
+    private SeatMapper seatMapper;
+
+    @Autowired
+    private ShowEventMapper showEventMapper;
+
+    @Autowired
+    private TicketOrderMapper ticketOrderMapper;
+
+    @Autowired
+    private OrderSeatMapper orderSeatMapper;
+
+    @Autowired
+    private AuditLogMapper auditLogMapper;
+
+    @Autowired
+    private SeatInventoryManager seatInventoryManager;
+
+    @Autowired
+    private SeatMapManager seatMapManager;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private RedisService redisService;
+
+    @Autowired
+    private TicketProperties ticketProperties;
+
+    private final AtomicLong rounds = new AtomicLong();
+
+    private final AtomicLong showsChecked = new AtomicLong();
+
+    private final AtomicLong zonesChecked = new AtomicLong();
+
+    private final AtomicLong zonesMismatched = new AtomicLong();
+
+    private final AtomicLong seatsRepaired = new AtomicLong();
+
+    private final AtomicLong seatsUnresolved = new AtomicLong();
+
+    private final AtomicLong orderSeatsRepaired = new AtomicLong();
+
+    private final AtomicLong countersRepaired = new AtomicLong();
+
+    private volatile boolean peak;
+
+    private volatile LocalDateTime lastRoundAt;
+
+    private volatile long lastRoundMillis;
+
+    /**
+     * 定时对账，同一时刻只有一个节点执行
+     */
+    @Scheduled(initialDelayString = "${ticket.reconcile.interval:60000}",
+            fixedDelayString = "${ticket.reconcile.interval:60000}")
+    public void reconcile() {
+        TicketProperties.Reconcile config = ticketProperties.getReconcile();
+        if (!config.isEnabled()) {
+            return;
+        }
+        String token = redisService.tryLock(TicketRedisKey.RECONCILE_LOCK, config.getInterval(), TimeUnit.MILLISECONDS);
+        if (token == null) {
+            return;
+        }
+        try {
+            runRound(config);
+        } catch (Exception e) {
+            log.error("库存对账失败", e);
+        } finally {
+            redisService.unlock(TicketRedisKey.RECONCILE_LOCK, token);
+        }
+    }
+
+    /**
+     * 获取对账进度指标
+     */
+    public ReconcileMetricsVO getMetrics() {
+        long pending = 0;
+        Set<String> driftZones = stringRedisTemplate.opsForSet().members(TicketRedisKey.RECONCILE_DRIFT_ZONES);
+        if (driftZones != null) {
+            for (String zoneKey : driftZones) {
+                pending += stringRedisTemplate.opsForHash().size(TicketRedisKey.RECONCILE_DRIFT_PREFIX + zoneKey);
+            }
+        }
+        Long passTotal = stringRedisTemplate.opsForList().size(TicketRedisKey.RECONCILE_PASS_ZONES);
+        return ReconcileMetricsVO.builder()
+                .peak(peak)
+                .rounds(rounds.get())
+                .lastRoundAt(lastRoundAt)
+                .lastRoundMillis(lastRoundMillis)
+                .showsChecked(showsChecked.get())
+                .zonesChecked(zonesChecked.get())
+                .zonesMismatched(zonesMismatched.get())
+                .seatsRepaired(seatsRepaired.get())
+                .seatsUnresolved(seatsUnresolved.get())
+                .orderSeatsRepaired(orderSeatsRepaired.get())
+                .countersRepaired(countersRepaired.get())
+                .pendingDrifts((int) pending)
+                .passChecked(passCursor())
+                .passTotal(passTotal != null ? passTotal.intValue() : 0)
+                .build();
+    }
+
+    private synchronized void runRound(TicketProperties.Reconcile config) {
+        long start = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now();
+        peak = isPeakHour(config.getPeakHours(), now.getHour());
+
+        // 1. 核对演出总数：Redis 库存计数 vs idx_show_status 索引计数，不一致的演出进入逐区域核对
+        List<ShowEvent> shows = showEventMapper.selectList(new LambdaQueryWrapper<ShowEvent>()
+                .select(ShowEvent::getId, ShowEvent::getAvailableSeats, ShowEvent::getLockedSeats, ShowEvent::getSoldSeats)
+                .le(ShowEvent::getSaleStartTime, now)
+                .ge(ShowEvent::getSaleEndTime, now.minusDays(1)));
+        List<Long> warmedShowIds = new ArrayList<>();
+        for (ShowEvent show : shows) {
+            Long redisAvailable = seatInventoryManager.getStock(show.getId());
+            if (redisAvailable == null) {
+                continue;
+            }
+            warmedShowIds.add(show.getId());
+            showsChecked.incrementAndGet();
+            SeatStateSummary summary = seatMapper.selectStateSummary(show.getId());
+            checkCounters(show, summary, config);
+            if (redisAvailable != summary.getAvailable()) {
+                log.info("库存总数不一致，逐区域核对: showEventId={}, redis={}, mysql={}",
+                        show.getId(), redisAvailable, summary.getAvailable());
+                List<String> zoneKeys = zoneKeys(show.getId());
+                if (!zoneKeys.isEmpty()) {
+                    stringRedisTemplate.opsForSet().add(TicketRedisKey.RECONCILE_SUSPECT_ZONES,
+                            zoneKeys.toArray(new String[0]));
+                    expireState(TicketRedisKey.RECONCILE_SUSPECT_ZONES);
+                }
+            }
+        }
+
+        // 2. 逐区域核对：先处理总数不一致的演出，非高峰时段再按游标轮询全部区域
+        int budget = config.getZonesPerRound();
+        List<String> suspects = stringRedisTemplate.opsForSet().pop(TicketRedisKey.RECONCILE_SUSPECT_ZONES, budget);
+        if (suspects != null) {
+            for (String zoneKey : suspects) {
+                reconcileZone(zoneKey, config);
+                budget--;
+            }
+        }
+        if (!peak && budget > 0) {
+            runPass(warmedShowIds, budget, config);
+        }
+        removeStaleDrifts(warmedShowIds);
+
+        rounds.incrementAndGet();
+        lastRoundAt = now;
+        lastRoundMillis = System.currentTimeMillis() - start;
+    }
+
+    /**
+     * 按游标轮询全部区域，游标走完后按当前已预热的演出重新生成轮询区域
+     */
+    private void runPass(List<Long> warmedShowIds, int budget, TicketProperties.Reconcile config) {
+        int cursor = passCursor();
+        Long size = stringRedisTemplate.opsForList().size(TicketRedisKey.RECONCILE_PASS_ZONES);
+        if (size == null || cursor >= size) {
+            List<String> passZones = warmedShowIds.stream().flatMap(id -> zoneKeys(id).stream()).collect(Collectors.toList());
+            stringRedisTemplate.delete(TicketRedisKey.RECONCILE_PASS_ZONES);
+            if (passZones.isEmpty()) {
+                stringRedisTemplate.delete(TicketRedisKey.RECONCILE_PASS_CURSOR);
+                return;
+            }
+            stringRedisTemplate.opsForList().rightPushAll(TicketRedisKey.RECONCILE_PASS_ZONES, passZones);
+            expireState(TicketRedisKey.RECONCILE_PASS_ZONES);
+            cursor = 0;
+        }
+        List<String> zoneKeys = stringRedisTemplate.opsForList().range(TicketRedisKey.RECONCILE_PASS_ZONES,
+                cursor, cursor + budget - 1);
+        if (zoneKeys == null) {
+            return;
+        }
+        for (String zoneKey : zoneKeys) {
+            reconcileZone(zoneKey, config);
+        }
+        stringRedisTemplate.opsForValue().set(TicketRedisKey.RECONCILE_PASS_CURSOR,
+                String.valueOf(cursor + zoneKeys.size()), STATE_TTL_DAYS, TimeUnit.DAYS);
+    }
+
+    private int passCursor() {
+        String cursor = stringRedisTemplate.opsForValue().get(TicketRedisKey.RECONCILE_PASS_CURSOR);
+        return cursor != null ? Integer.parseInt(cursor) : 0;
+    }
+
+    /**
+     * 清理已不在对账范围内的演出遗留的座位差异
+     */
+    private void removeStaleDrifts(List<Long> warmedShowIds) {
+        Set<String> driftZones = stringRedisTemplate.opsForSet().members(TicketRedisKey.RECONCILE_DRIFT_ZONES);
+        if (driftZones == null) {
+            return;
+        }
+        for (String zoneKey : driftZones) {
+            if (!warmedShowIds.contains(showIdOf(zoneKey))) {
+                saveDrifts(zoneKey, Collections.emptyMap());
+            }
+        }
+    }
+
+    /**
+     * tb_show_event 座位计数与座位表不一致且持续超过确认时间时，按座位表重算
+     */
+    private void checkCounters(ShowEvent show, SeatStateSummary summary, TicketProperties.Reconcile config) {
+        boolean consistent = show.getAvailableSeats() == summary.getAvailable()
+                && show.getLockedSeats() == summary.getLocked()
+                && show.getSoldSeats() == summary.getSold();
+        String field = String.valueOf(show.getId());
+        if (consistent) {
+            stringRedisTemplate.opsForHash().delete(TicketRedisKey.RECONCILE_COUNTER_DRIFTS, field);
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (stringRedisTemplate.opsForHash().putIfAbsent(TicketRedisKey.RECONCILE_COUNTER_DRIFTS, field, String.valueOf(now))) {
+            expireState(TicketRedisKey.RECONCILE_COUNTER_DRIFTS);
+            return;
+        }
+        Object firstSeen = stringRedisTemplate.opsForHash().get(TicketRedisKey.RECONCILE_COUNTER_DRIFTS, field);
+        if (firstSeen == null || now - Long.parseLong(firstSeen.toString()) < config.getDriftConfirmSeconds() * 1000
+                || !config.isAutoRepair()) {
+            return;
+        }
+        showEventMapper.syncSeatCounters(show.getId());
+        stringRedisTemplate.opsForHash().delete(TicketRedisKey.RECONCILE_COUNTER_DRIFTS, field);
+        countersRepaired.incrementAndGet();
+
+        Map<String, Object> details = new HashMap<>();
+        details.put("before", show.getAvailableSeats() + "/" + show.getLockedSeats() + "/" + show.getSoldSeats());
+        details.put("after", summary.getAvailable() + "/" + summary.getLocked() + "/" + summary.getSold());
+        audit(AUDIT_COUNTERS_REPAIRED, "tb_show_event", show.getId(), details);
+        log.warn("演出座位计数已按座位表重算: showEventId={}, available/locked/sold {} -> {}",
+                show.getId(), details.get("before"), details.get("after"));
+    }
+
+    /**
+     * 核对单个区域：两侧校验和一致直接结束，不一致时下钻到座位
+     */
+    private void reconcileZone(String zoneKey, TicketProperties.Reconcile config) {
+        Long showEventId = showIdOf(zoneKey);
+        String seatZone = zoneKey.substring(zoneKey.indexOf(':') + 1);
+        zonesChecked.incrementAndGet();
+        try {
+            Map<Long, String> redisStates = loadRedisStates(showEventId, seatZone, config.getBatchSize());
+            if (redisStates.isEmpty()) {
+                return;
+            }
+            SeatStateSummary redisSummary = summarize(redisStates);
+            SeatStateSummary mysqlSummary = seatMapper.selectZoneSummary(showEventId, seatZone);
+            if (mysqlSummary != null && redisSummary.getChecksum() == mysqlSummary.getChecksum()
+                    && redisSummary.getTotal() == mysqlSummary.getTotal()) {
+                saveDrifts(zoneKey, Collections.emptyMap());
+                return;
+            }
+            zonesMismatched.incrementAndGet();
+
+            // 下钻：逐座位比较，差异与上一轮相同才沿用首次发现时间
+            Map<Long, Seat> mysqlSeats = seatMapper.selectZoneSeatStates(showEventId, seatZone).stream()
+                    .collect(Collectors.toMap(Seat::getId, Function.identity()));
+            Map<Long, Drift> previous = loadDrifts(zoneKey);
+            Map<Long, Drift> drifts = new HashMap<>();
+            long now = System.currentTimeMillis();
+            for (Map.Entry<Long, String> entry : redisStates.entrySet()) {
+                Seat seat = mysqlSeats.get(entry.getKey());
+                if (seat == null || fingerprint(entry.getKey(), entry.getValue()) == fingerprint(seat)) {
+                    continue;
+                }
+                Drift drift = previous.get(entry.getKey());
+                if (drift == null || !drift.redisState.equals(entry.getValue())) {
+                    drift = new Drift(entry.getValue(), now);
+                }
+                drifts.put(entry.getKey(), drift);
+            }
+            log.info("区域校验和不一致: showEventId={}, seatZone={}, redis={}/{}/{}, mysql={}/{}/{}, drifts={}",
+                    showEventId, seatZone, redisSummary.getAvailable(), redisSummary.getLocked(), redisSummary.getSold(),
+                    mysqlSummary != null ? mysqlSummary.getAvailable() : 0, mysqlSummary != null ? mysqlSummary.getLocked() : 0,
+                    mysqlSummary != null ? mysqlSummary.getSold() : 0, drifts.size());
+
+            if (config.isAutoRepair()) {
+                repair(showEventId, seatZone, drifts, mysqlSeats, now - config.getDriftConfirmSeconds() * 1000);
+            }
+            saveDrifts(zoneKey, drifts);
+        } catch (Exception e) {
+            log.error("区域对账失败: showEventId={}, seatZone={}", showEventId, seatZone, e);
+        }
+    }
+
+    /**
+     * 按 Redis 状态修复持续存在的差异，修复成功的座位从观察列表移除。
+     * MySQL 中占用座位的订单已支付，或待支付且座位仍锁定时，Redis 状态可能是丢失或回退的结果，不覆盖 MySQL，只记录一次审计日志
+     */
+    private void repair(Long showEventId, String seatZone, Map<Long, Drift> drifts, Map<Long, Seat> mysqlSeats,
+                        long confirmedBefore) {
+        List<Long> seatIds = drifts.entrySet().stream()
+                .filter(entry -> entry.getValue().firstSeen <= confirmedBefore)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+        if (seatIds.isEmpty()) {
+            return;
+        }
+        Set<Long> orderIds = new HashSet<>();
+        for (Long seatId : seatIds) {
+            Long redisOrderId = orderIdOf(drifts.get(seatId).redisState);
+            if (redisOrderId != null) {
+                orderIds.add(redisOrderId);
+            }
+            Long mysqlOrderId = mysqlSeats.get(seatId).getOrderId();
+            if (mysqlOrderId != null) {
+                orderIds.add(mysqlOrderId);
+            }
+        }
+        Map<Long, TicketOrder> orders = orderIds.isEmpty() ? new HashMap<>()
+                : ticketOrderMapper.selectBatchIds(orderIds).stream()
+                .collect(Collectors.toMap(TicketOrder::getId, Function.identity()));
+
+        int repaired = 0;
+        for (Long seatId : seatIds) {
+            Drift drift = drifts.get(seatId);
+            Seat before = mysqlSeats.get(seatId);
+            String status = statusOf(drift.redisState);
+            Long orderId = orderIdOf(drift.redisState);
+            TicketOrder order = orderId != null ? orders.get(orderId) : null;
+
+            Map<String, Object> details = new HashMap<>();
+            details.put("showEventId", showEventId);
+            details.put("seatZone", seatZone);
+            details.put("redisState", drift.redisState);
+            details.put("mysqlStatus", before.getStatus());
+            details.put("mysqlOrderId", before.getOrderId());
+            if (orderId != null && order == null) {
+                // Redis 中的订单在 MySQL 不存在，无法补全座位归属，只记录一次
+                unresolved(drift, seatId, details, "订单不存在");
+                continue;
+            }
+            TicketOrder holder = before.getOrderId() != null ? orders.get(before.getOrderId()) : null;
+            if (holder != null) {
+                details.put("mysqlOrderStatus", holder.getStatus());
+            }
+            if (holdsSeat(before, holder) && !(Objects.equals(orderId, holder.getId()) && !downgrades(before, status))) {
+                // MySQL 中座位仍被有效订单占用，按 Redis 修复会释放或降级该座位，交由人工处理
+                unresolved(drift, seatId, details, "MySQL 座位被有效订单占用");
+                continue;
+            }
+
+            seatMapper.repairSeatState(seatId, status, orderId, order != null ? order.getUserId() : null,
+                    SeatStatus.LOCKED.equals(status) ? order.getExpireTime() : null);
+            if (order != null) {
+                ensureOrderSeat(order, seatId);
+            }
+            drifts.remove(seatId);
+            repaired++;
+            seatsRepaired.incrementAndGet();
+            audit(AUDIT_SEAT_REPAIRED, "tb_seat", seatId, details);
+            log.warn("座位状态已按Redis修复: showEventId={}, seatId={}, {}:{} -> {}",
+                    showEventId, seatId, before.getStatus(), before.getOrderId(), drift.redisState);
+        }
+        if (repaired > 0) {
+            showEventMapper.syncSeatCounters(showEventId);
+        }
+    }
+
+    private void unresolved(Drift drift, Long seatId, Map<String, Object> details, String reason) {
+        if (drift.reported) {
+            return;
+        }
+        drift.reported = true;
+        details.put("reason", reason);
+        seatsUnresolved.incrementAndGet();
+        audit(AUDIT_SEAT_UNRESOLVED, "tb_seat", seatId, details);
+        log.warn("座位差异无法自动修复，{}: showEventId={}, seatId={}, redisState={}, mysql={}:{}",
+                reason, details.get("showEventId"), seatId, drift.redisState, details.get("mysqlStatus"),
+                details.get("mysqlOrderId"));
+    }
+
+    /**
+     * MySQL 座位是否被有效订单占用：订单已支付，或订单待支付且座位仍锁定（过期的待支付订单由到期调度释放）
+     */
+    private static boolean holdsSeat(Seat seat, TicketOrder holder) {
+        if (holder == null || SeatStatus.AVAILABLE.equals(seat.getStatus())) {
+            return false;
+        }
+        return OrderStatus.PAID.equals(holder.getStatus())
+                || OrderStatus.PENDING.equals(holder.getStatus()) && SeatStatus.LOCKED.equals(seat.getStatus());
+    }
+
+    /**
+     * 按 Redis 状态修复是否会把 MySQL 中的已售座位降级
+     */
+    private static boolean downgrades(Seat seat, String redisStatus) {
+        return SeatStatus.SOLD.equals(seat.getStatus()) && !SeatStatus.SOLD.equals(redisStatus);
+    }
+
+    private Map<Long, Drift> loadDrifts(String zoneKey) {
+        Map<Object, Object> entries = stringRedisTemplate.opsForHash().entries(TicketRedisKey.RECONCILE_DRIFT_PREFIX + zoneKey);
+        Map<Long, Drift> drifts = new HashMap<>(entries.size() * 2);
+        for (Map.Entry<Object, Object> entry : entries.entrySet()) {
+            drifts.put(Long.valueOf(entry.getKey().toString()), Drift.parse(entry.getValue().toString()));
+        }
+        return drifts;
+    }
+
+    /**
+     * 保存区域的座位差异，没有差异时删除
+     */
+    private void saveDrifts(String zoneKey, Map<Long, Drift> drifts) {
+        String key = TicketRedisKey.RECONCILE_DRIFT_PREFIX + zoneKey;
+        stringRedisTemplate.delete(key);
+        if (drifts.isEmpty()) {
+            stringRedisTemplate.opsForSet().remove(TicketRedisKey.RECONCILE_DRIFT_ZONES, zoneKey);
+            return;
+        }
+        Map<String, String> values = new HashMap<>(drifts.size() * 2);
+        drifts.forEach((seatId, drift) -> values.put(String.valueOf(seatId), drift.format()));
+        stringRedisTemplate.opsForHash().putAll(key, values);
+        expireState(key);
+        stringRedisTemplate.opsForSet().add(TicketRedisKey.RECONCILE_DRIFT_ZONES, zoneKey);
+        expireState(TicketRedisKey.RECONCILE_DRIFT_ZONES);
+    }
+
+    private void expireState(String key) {
+        stringRedisTemplate.expire(key, STATE_TTL_DAYS, TimeUnit.DAYS);
+    }
+
+    /**
+     * 补写缺失的订单座位关联
+     */
+    private void ensureOrderSeat(TicketOrder order, Long seatId) {
+        Long count = orderSeatMapper.selectCount(new LambdaQueryWrapper<OrderSeat>()
+                .eq(OrderSeat::getOrderId, order.getId())
+                .eq(OrderSeat::getSeatId, seatId));
+        if (count != null && count > 0) {
+            return;
+        }
+        Seat seat = seatMapper.selectById(seatId);
+        orderSeatMapper.insert(OrderSeat.builder()
+                .orderId(order.getId())
+                .seatId(seatId)
+                .showEventId(order.getShowEventId())
+                .seatCode(seat.getSeatCode())
+                .price(seat.getPrice())
+                .createdAt(LocalDateTime.now())
+                .build());
+        orderSeatsRepaired.incrementAndGet();
+    }
+
+    private Map<Long, String> loadRedisStates(Long showEventId, String seatZone, int batchSize) {
+        List<Long> seatIds = seatMapManager.getZoneSeatIds(showEventId, seatZone);
+        String key = SeatInventoryManager.seatStateKey(showEventId);
+        Map<Long, String> states = new HashMap<>(seatIds.size() * 2);
+        for (int from = 0; from < seatIds.size(); from += batchSize) {
+            List<Long> batch = seatIds.subList(from, Math.min(from + batchSize, seatIds.size()));
+            List<Object> values = stringRedisTemplate.opsForHash().multiGet(key,
+                    batch.stream().map(String::valueOf).collect(Collectors.toList()));
+            for (int i = 0; i < batch.size(); i++) {
+                if (values.get(i) != null) {
+                    states.put(batch.get(i), values.get(i).toString());
+                }
+            }
+        }
+        return states;
+    }
+
+    private List<String> zoneKeys(Long showEventId) {
+        SeatMapLayoutVO layout = seatMapManager.getLayout(showEventId);
+        List<String> keys = new ArrayList<>();
+        if (layout != null) {
+            for (SeatMapLayoutVO.Zone zone : layout.getZones()) {
+                keys.add(showEventId + ":" + zone.getSeatZone());
+            }
+        }
+        return keys;
+    }
+
+    private void audit(String action, String resource, Long resourceId, Map<String, Object> details) {
+        try {
+            auditLogMapper.insert(AuditLog.builder()
+                    .action(action)
+                    .resource(resource)
+                    .resourceId(String.valueOf(resourceId))
+                    .details(details)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        } catch (Exception e) {
+            log.error("写入对账审计日志失败: action={}, resourceId={}, details={}", action, resourceId, details, e);
+        }
+    }
+
+    private static SeatStateSummary summarize(Map<Long, String> redisStates) {
+        SeatStateSummary summary = new SeatStateSummary();
+        for (Map.Entry<Long, String> entry : redisStates.entrySet()) {
+            String status = statusOf(entry.getValue());
+            if (SeatStatus.AVAILABLE.equals(status)) {
+                summary.setAvailable(summary.getAvailable() + 1);
+            } else if (SeatStatus.LOCKED.equals(status)) {
+                summary.setLocked(summary.getLocked() + 1);
+            } else {
+                summary.setSold(summary.getSold() + 1);
+            }
+            summary.setTotal(summary.getTotal() + 1);
+            summary.setChecksum(summary.getChecksum() ^ fingerprint(entry.getKey(), entry.getValue()));
+        }
+        return summary;
+    }
+
+    /**
+     * Redis 座位指纹，与 MySQL CRC32(CONCAT(id, ':', status, ':', IFNULL(order_id, 0))) 一致
+     */
+    private static long fingerprint(Long seatId, String redisState) {
+        Long orderId = orderIdOf(redisState);
+        return crc32(seatId + ":" + statusOf(redisState) + ":" + (orderId != null ? orderId : 0));
+    }
+
+    private static long fingerprint(Seat seat) {
+        return crc32(seat.getId() + ":" + seat.getStatus() + ":" + (seat.getOrderId() != null ? seat.getOrderId() : 0));
+    }
+
+    private static long crc32(String value) {
+        CRC32 crc32 = new CRC32();
+        crc32.update(value.getBytes(StandardCharsets.UTF_8));
+        return crc32.getValue();
+    }
+
+    private static String statusOf(String redisState) {
+        if (TicketRedisKey.SEAT_STATE_AVAILABLE.equals(redisState)) {
+            return SeatStatus.AVAILABLE;
+        }
+        return redisState.startsWith(TicketRedisKey.SEAT_STATE_LOCKED) ? SeatStatus.LOCKED : SeatStatus.SOLD;
+    }
+
+    private static Long orderIdOf(String redisState) {
+        int split = redisState.indexOf(':');
+        return split > 0 ? Long.valueOf(redisState.substring(split + 1)) : null;
+    }
+
+    private static Long showIdOf(String zoneKey) {
+        return Long.valueOf(zoneKey.substring(0, zoneKey.indexOf(':')));
+    }
+
+    /**
+     * 是否处于高峰时段，格式 "起始小时-结束小时"，支持跨零点
+     */
+    private static boolean isPeakHour(String peakHours, int hour) {
+        if (peakHours == null || !peakHours.contains("-")) {
+            return false;
+        }
+        String[] range = peakHours.split("-");
+        int from = Integer.parseInt(range[0].trim());
+        int to = Integer.parseInt(range[1].trim());
+        return from <= to ? hour >= from && hour < to : hour >= from || hour < to;
+    }
+
+    /**
+     * 座位差异：Redis 状态和首次发现时间，以 "首次发现时间|是否已记录审计|Redis 状态" 保存在 Redis
+     */
+    private static class Drift {
+
+        private final String redisState;
+
+        private final long firstSeen;
+
+        /**
+         * 无法修复的差异是否已记录审计日志
+         */
+        private boolean reported;
+
+        private Drift(String redisState, long firstSeen) {
+            this.redisState = redisState;
+            this.firstSeen = firstSeen;
+        }
+
+        private String format() {
+            return firstSeen + "|" + (reported ? 1 : 0) + "|" + redisState;
+        }
+
+        private static Drift parse(String value) {
+            String[] parts = value.split("\\|", 3);
+            Drift drift = new Drift(parts[2], Long.parseLong(parts[0]));
+            drift.reported = "1".equals(parts[1]);
+            return drift;
+        }
+    }
+}
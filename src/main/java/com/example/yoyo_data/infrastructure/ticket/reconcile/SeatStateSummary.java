@@ -0,0 +1,39 @@
+package com.example.yoyo_data.infrastructure.ticket.reconcile;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 座位状态汇总 - 对账时 Redis 和 MySQL 两侧按相同规则计算
+ * 校验和为各座位指纹 CRC32("座位ID:状态:订单ID") 的异或，与座位顺序无关，
+ * 单个座位状态变化只影响自身指纹，可按区域、按排增量比较
+ *
+ * @author Template Framework
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatStateSummary {
+
+    /**
+     * 座位区域（演出级汇总时为空）
+     */
+    private String seatZone;
+
+    private long total;
+
+    private long available;
+
+    private long locked;
+
+    private long sold;
+
+    /**
+     * 座位指纹异或值（演出级汇总不计算）
+     */
+    private long checksum;
+}
@@ -0,0 +1,248 @@
+package com.example.yoyo_data.infrastructure.ticket.seatmap;
+
+import com.example.yoyo_data.common.vo.SeatMapLayoutVO;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 最佳座位分配器 - 按区域和排维护空闲的连续座位段
+ * 每排用有序映射记录空闲段（排内起始位置 -> 结束位置），并缓存该排最长空闲段；
+ * 查询 N 个相邻座位时按与区域中心排的距离由近到远检查各排，跳过最长空闲段不足 N 的排，
+ * 在可用段内取最靠近排中心的位置，代价 = 与排中心的偏移 + 与中心排的排距 × 排权重，
+ * 剩余排的排距代价已不可能更优时提前结束，不扫描座位表
+ *
+ * @author Template Framework
+ * @version 1.0
+ */
+public class SeatAllocator {
+
+    /**
+     * 排距权重：偏离中心一排相当于横向偏离中心一个座位
+     */
+    private static final double ROW_WEIGHT = 1.0;
+
+    private final Map<String, Zone> zones = new HashMap<>();
+
+    private final Row[] rows;
+
+    /**
+     * 位图下标 -> 所在排
+     */
+    private final int[] rowOfIndex;
+
+    private SeatAllocator(Row[] rows, int[] rowOfIndex) {
+        this.rows = rows;
+        this.rowOfIndex = rowOfIndex;
+    }
+
+    /**
+     * 由座位布局和当前位图构建分配器
+     *
+     * @param layout 座位布局
+     * @param bitmap 座位状态位图
+     * @return 分配器
+     */
+    public static SeatAllocator build(SeatMapLayoutVO layout, SeatBitmap bitmap) {
+        int rowCount = layout.getZones().stream().mapToInt(zone -> zone.getRows().size()).sum();
+        Row[] rows = new Row[rowCount];
+        int[] rowOfIndex = new int[layout.getTotalSeats()];
+        SeatAllocator allocator = new SeatAllocator(rows, rowOfIndex);
+
+        int rowId = 0;
+        for (SeatMapLayoutVO.Zone zoneVO : layout.getZones()) {
+            List<SeatMapLayoutVO.Row> zoneRows = zoneVO.getRows();
+            double centreRow = (zoneRows.size() - 1) / 2.0;
+            Row[] members = new Row[zoneRows.size()];
+            for (int i = 0; i < zoneRows.size(); i++) {
+                SeatMapLayoutVO.Row rowVO = zoneRows.get(i);
+                Row row = new Row(rowVO.getOffset(), rowVO.getCount(), Math.abs(i - centreRow) * ROW_WEIGHT);
+                Arrays.fill(rowOfIndex, row.offset, row.offset + row.count, rowId);
+                int runStart = -1;
+                for (int pos = 0; pos <= row.count; pos++) {
+                    boolean free = pos < row.count && bitmap.get(row.offset + pos) == SeatBitmap.AVAILABLE;
+                    if (free && runStart < 0) {
+                        runStart = pos;
+                    } else if (!free && runStart >= 0) {
+                        row.runs.put(runStart, pos);
+                        runStart = -1;
+                    }
+                }
+                row.refreshMaxRun();
+                rows[rowId++] = row;
+                members[i] = row;
+            }
+            // 按与中心排的距离排序，查询时由近到远检查
+            Arrays.sort(members, Comparator.comparingDouble(row -> row.rowCost));
+            allocator.zones.put(zoneVO.getSeatZone(), new Zone(members));
+        }
+        return allocator;
+    }
+
+    /**
+     * 查询区域内最靠近中心的 N 个相邻空闲座位，找到后立即占用，避免并发请求分到同一批座位
+     *
+     * @param seatZone 座位区域
+     * @param count 座位数
+     * @return 座位下标（同一排连续），没有满足条件的座位时返回 null
+     */
+    public synchronized int[] allocate(String seatZone, int count) {
+        Zone zone = zones.get(seatZone);
+        if (zone == null || count <= 0) {
+            return null;
+        }
+        Row bestRow = null;
+        int bestStart = -1;
+        double bestCost = Double.MAX_VALUE;
+        double half = (count - 1) / 2.0;
+        for (Row row : zone.rowsByDistance) {
+            if (row.rowCost >= bestCost) {
+                break;
+            }
+            if (row.maxRun < count) {
+                continue;
+            }
+            double centre = (row.count - 1) / 2.0;
+            for (Map.Entry<Integer, Integer> run : row.runs.entrySet()) {
+                int start = run.getKey();
+                int end = run.getValue();
+                if (end - start < count) {
+                    continue;
+                }
+                int candidate = (int) Math.max(start, Math.min(end - count, Math.round(centre - half)));
+                double cost = Math.abs(candidate + half - centre) + row.rowCost;
+                if (cost < bestCost) {
+                    bestCost = cost;
+                    bestRow = row;
+                    bestStart = candidate;
+                }
+            }
+        }
+        if (bestRow == null) {
+            return null;
+        }
+        int[] indexes = new int[count];
+        for (int i = 0; i < count; i++) {
+            indexes[i] = bestRow.offset + bestStart + i;
+            bestRow.occupy(bestStart + i);
+        }
+        return indexes;
+    }
+
+    /**
+     * 更新座位的空闲状态（座位状态变化或取消分配时调用）
+     *
+     * @param index 位图下标
+     * @param free 是否空闲
+     */
+    public synchronized void update(int index, boolean free) {
+        Row row = rows[rowOfIndex[index]];
+        if (free) {
+            row.free(index - row.offset);
+        } else {
+            row.occupy(index - row.offset);
+        }
+    }
+
+    /**
+     * 区域内当前最长的空闲连续座位数
+     */
+    public synchronized int maxRun(String seatZone) {
+        Zone zone = zones.get(seatZone);
+        if (zone == null) {
+            return 0;
+        }
+        int max = 0;
+        for (Row row : zone.rowsByDistance) {
+            max = Math.max(max, row.maxRun);
+        }
+        return max;
+    }
+
+    /**
+     * 区域：成员排按与中心排的距离排序
+     */
+    private static class Zone {
+
+        private final Row[] rowsByDistance;
+
+        private Zone(Row[] rowsByDistance) {
+            this.rowsByDistance = rowsByDistance;
+        }
+    }
+
+    /**
+     * 排：空闲段 [起始位置, 结束位置)，位置为排内下标
+     */
+    private static class Row {
+
+        private final int offset;
+
+        private final int count;
+
+        /**
+         * 与区域中心排的距离代价
+         */
+        private final double rowCost;
+
+        private final TreeMap<Integer, Integer> runs = new TreeMap<>();
+
+        private int maxRun;
+
+        private Row(int offset, int count, double rowCost) {
+            this.offset = offset;
+            this.count = count;
+            this.rowCost = rowCost;
+        }
+
+        private void occupy(int pos) {
+            Map.Entry<Integer, Integer> run = runs.floorEntry(pos);
+            if (run == null || run.getValue() <= pos) {
+                return;
+            }
+            int start = run.getKey();
+            int end = run.getValue();
+            runs.remove(start);
+            if (start < pos) {
+                runs.put(start, pos);
+            }
+            if (pos + 1 < end) {
+                runs.put(pos + 1, end);
+            }
+            if (end - start == maxRun) {
+                refreshMaxRun();
+            }
+        }
+
+        private void free(int pos) {
+            Map.Entry<Integer, Integer> left = runs.floorEntry(pos);
+            if (left != null && left.getValue() > pos) {
+                return;
+            }
+            int start = pos;
+            int end = pos + 1;
+            if (left != null && left.getValue() == pos) {
+                start = left.getKey();
+                runs.remove(start);
+            }
+            Integer rightEnd = runs.remove(pos + 1);
+            if (rightEnd != null) {
+                end = rightEnd;
+            }
+            runs.put(start, end);
+            maxRun = Math.max(maxRun, end - start);
+        }
+
+        private void refreshMaxRun() {
+            int max = 0;
+            for (Map.Entry<Integer, Integer> run : runs.entrySet()) {
+                max = Math.max(max, run.getValue() - run.getKey());
+            }
+            maxRun = max;
+        }
+    }
+}
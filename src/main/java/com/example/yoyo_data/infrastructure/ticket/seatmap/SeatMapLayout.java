@@ -0,0 +1,150 @@
+package com.example.yoyo_data.infrastructure.ticket.seatmap;
+
+import com.example.yoyo_data.common.entity.Seat;
+import com.example.yoyo_data.common.vo.SeatMapLayoutVO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 演出座位布局 - 座位按 区域/排号/座位号 排序后的下标即位图下标
+ * 座位ID到下标的映射使用排序数组 + 二分查找，避免为每个座位创建对象
+ *
+ * @author Template Framework
+ * @version 1.0
+ */
+public class SeatMapLayout {
+
+    private final long[] sortedSeatIds;
+
+    private final int[] sortedIndexes;
+
+    /**
+     * 位图下标 -> 座位ID
+     */
+    private final long[] seatIdsByIndex;
+
+    private final SeatMapLayoutVO layoutVO;
+
+    private SeatMapLayout(long[] sortedSeatIds, int[] sortedIndexes, long[] seatIdsByIndex, SeatMapLayoutVO layoutVO) {
+        this.sortedSeatIds = sortedSeatIds;
+        this.sortedIndexes = sortedIndexes;
+        this.seatIdsByIndex = seatIdsByIndex;
+        this.layoutVO = layoutVO;
+    }
+
+    /**
+     * 由座位列表构建布局
+     *
+     * @param showEventId 演出活动ID
+     * @param seats 演出全部座位
+     * @return 座位布局，座位顺序与位图下标一致
+     */
+    public static SeatMapLayout build(Long showEventId, List<Seat> seats) {
+        List<Seat> ordered = new ArrayList<>(seats);
+        ordered.sort(Comparator.comparing(Seat::getSeatZone)
+                .thenComparing(Seat::getSeatRow)
+                .thenComparing(Seat::getSeatNumber));
+
+        List<SeatMapLayoutVO.Zone> zones = new ArrayList<>();
+        SeatMapLayoutVO.Zone zone = null;
+        SeatMapLayoutVO.Row row = null;
+        for (int i = 0; i < ordered.size(); i++) {
+            Seat seat = ordered.get(i);
+            if (zone == null || !zone.getSeatZone().equals(seat.getSeatZone())) {
+                zone = SeatMapLayoutVO.Zone.builder()
+                        .seatZone(seat.getSeatZone())
+                        .price(seat.getPrice())
+                        .rows(new ArrayList<>())
+                        .build();
+                zones.add(zone);
+                row = null;
+            }
+            if (row == null || !row.getSeatRow().equals(seat.getSeatRow())) {
+                row = SeatMapLayoutVO.Row.builder()
+                        .seatRow(seat.getSeatRow())
+                        .offset(i)
+                        .count(0)
+                        .firstSeatNumber(seat.getSeatNumber())
+                        .firstSeatId(seat.getId())
+                        .seatNumbers(new ArrayList<>())
+                        .seatIds(new ArrayList<>())
+                        .build();
+                zone.getRows().add(row);
+            }
+            row.setCount(row.getCount() + 1);
+            row.getSeatNumbers().add(seat.getSeatNumber());
+            row.getSeatIds().add(seat.getId());
+        }
+
+        // 座位号、座位ID连续的排只保留起始值，布局体积与排数成正比
+        for (SeatMapLayoutVO.Zone z : zones) {
+            for (SeatMapLayoutVO.Row r : z.getRows()) {
+                if (isContiguous(r.getSeatNumbers().stream().mapToLong(Integer::longValue).toArray())) {
+                    r.setSeatNumbers(null);
+                }
+                if (isContiguous(r.getSeatIds().stream().mapToLong(Long::longValue).toArray())) {
+                    r.setSeatIds(null);
+                }
+            }
+        }
+
+        int size = ordered.size();
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparing(i -> ordered.get(i).getId()));
+        long[] sortedSeatIds = new long[size];
+        int[] sortedIndexes = new int[size];
+        long[] seatIdsByIndex = new long[size];
+        for (int i = 0; i < size; i++) {
+            sortedSeatIds[i] = ordered.get(order[i]).getId();
+            sortedIndexes[i] = order[i];
+            seatIdsByIndex[i] = ordered.get(i).getId();
+        }
+
+        SeatMapLayoutVO layoutVO = SeatMapLayoutVO.builder()
+                .showEventId(showEventId)
+                .totalSeats(size)
+                .zones(zones)
+                .build();
+        return new SeatMapLayout(sortedSeatIds, sortedIndexes, seatIdsByIndex, layoutVO);
+    }
+
+    /**
+     * 座位ID转位图下标
+     *
+     * @return 下标，座位不属于该演出时返回 -1
+     */
+    public int indexOf(long seatId) {
+        int pos = Arrays.binarySearch(sortedSeatIds, seatId);
+        return pos >= 0 ? sortedIndexes[pos] : -1;
+    }
+
+    /**
+     * 位图下标转座位ID
+     */
+    public long seatIdAt(int index) {
+        return seatIdsByIndex[index];
+    }
+
+    public int size() {
+        return sortedSeatIds.length;
+    }
+
+    public SeatMapLayoutVO getLayoutVO() {
+        return layoutVO;
+    }
+
+    private static boolean isContiguous(long[] values) {
+        for (int i = 1; i < values.length; i++) {
+            if (values[i] != values[i - 1] + 1) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,365 @@
+package com.example.yoyo_data.infrastructure.ticket.seatmap;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.example.yoyo_data.common.constant.SeatStatus;
+import com.example.yoyo_data.common.constant.TicketRedisKey;
+import com.example.yoyo_data.common.entity.Seat;
+import com.example.yoyo_data.common.vo.SeatMapLayoutVO;
+import com.example.yoyo_data.infrastructure.cache.bloom.IdBloomFilters;
+import com.example.yoyo_data.infrastructure.repository.SeatMapper;
+import com.example.yoyo_data.infrastructure.ticket.SeatInventoryManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 座位图管理 - 每个演出在本节点维护一份座位布局和状态位图
+ * 首次访问时从 MySQL 加载布局、从 Redis 加载座位状态，之后由订单事件增量更新，
+ * 座位图请求不访问数据库；同一演出并发的首次访问只加载一次，没有座位的演出短时间缓存空结果。
+ * 定时从 Redis 全量校正，并清理长时间未访问的演出。
+ * 加载时把演出的全部座位收录进本节点的座位布隆过滤器，其他节点预热的演出在本节点也不会误拦截座位。
+ * 位图的每次变更同步到 {@link SeatAllocator}，自动选座在本节点内存中完成
+ *
+ * @author Template Framework
+ * @version 1.0
+ */
+@Slf4j
+@Component
+public class SeatMapManager {
+
+    /**
+     * 演出座位图闲置多久后从本节点移除（毫秒）：1小时
+     */
+    private static final long IDLE_EVICT_MILLIS = 3600_000L;
+
+    /**
+     * 从 Redis 扫描座位状态的批量大小
+     */
+    private static final int SCAN_COUNT = 1000;
+
+    /**
+     * 没有座位的演出空结果缓存时长（毫秒）
+     */
+    private static final long NEGATIVE_CACHE_MILLIS = 30_000L;
+
+    @Autowired
+    private SeatMapper seatMapper;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private IdBloomFilters idBloomFilters;
+
+    private final Map<Long, ShowSeatMap> seatMaps = new ConcurrentHashMap<>();
+
+    /**
+     * 加载中的演出，同一演出的并发访问等待同一次加载
+     */
+    private final Map<Long, CompletableFuture<ShowSeatMap>> loading = new ConcurrentHashMap<>();
+
+    /**
+     * 没有座位的演出及空结果的过期时间
+     */
+    private final Map<Long, Long> missing = new ConcurrentHashMap<>();
+
+    /**
+     * 获取座位布局
+     *
+     * @param showEventId 演出活动ID
+     * @return 座位布局，演出没有座位时返回 null
+     */
+    public SeatMapLayoutVO getLayout(Long showEventId) {
+        ShowSeatMap seatMap = getOrLoad(showEventId);
+        return seatMap != null ? seatMap.layout.getLayoutVO() : null;
+    }
+
+    /**
+     * 获取座位状态快照
+     *
+     * @param showEventId 演出活动ID
+     * @return 座位图快照，演出没有座位时返回 null
+     */
+    public SeatMapSnapshot getSnapshot(Long showEventId) {
+        ShowSeatMap seatMap = getOrLoad(showEventId);
+        if (seatMap == null) {
+            return null;
+        }
+        SeatBitmap.Snapshot snapshot = seatMap.bitmap.snapshot();
+        String etag = "\"" + showEventId + "-" + seatMap.layout.size() + "-" + Long.toHexString(snapshot.getChecksum()) + "\"";
+        return new SeatMapSnapshot(etag, snapshot.getData(), seatMap.layout.size(),
+                seatMap.bitmap.count(SeatBitmap.AVAILABLE));
+    }
+
+    /**
+     * 获取区域内全部座位ID（按排号、座位号排序）
+     *
+     * @param showEventId 演出活动ID
+     * @param seatZone 座位区域
+     * @return 座位ID列表，演出或区域不存在时返回空列表
+     */
+    public List<Long> getZoneSeatIds(Long showEventId, String seatZone) {
+        ShowSeatMap seatMap = getOrLoad(showEventId);
+        List<Long> seatIds = new ArrayList<>();
+        if (seatMap == null) {
+            return seatIds;
+        }
+        for (SeatMapLayoutVO.Zone zone : seatMap.layout.getLayoutVO().getZones()) {
+            if (!zone.getSeatZone().equals(seatZone)) {
+                continue;
+            }
+            for (SeatMapLayoutVO.Row row : zone.getRows()) {
+                for (int i = 0; i < row.getCount(); i++) {
+                    seatIds.add(seatMap.layout.seatIdAt(row.getOffset() + i));
+                }
+            }
+        }
+        return seatIds;
+    }
+
+    /**
+     * 应用座位状态变更（未加载的演出忽略，下次访问时会重新加载）
+     *
+     * @param showEventId 演出活动ID
+     * @param seatIds 座位ID列表
+     * @param state 新状态，取值见 {@link SeatBitmap}
+     */
+    public void apply(Long showEventId, List<Long> seatIds, int state) {
+        ShowSeatMap seatMap = seatMaps.get(showEventId);
+        if (seatMap == null) {
+            return;
+        }
+        for (Long seatId : seatIds) {
+            int index = seatMap.layout.indexOf(seatId);
+            if (index >= 0) {
+                seatMap.set(index, state);
+            }
+        }
+    }
+
+    /**
+     * 自动选座：分配区域内最靠近中心的 N 个相邻座位
+     * 分配结果在本节点预留，直到订单事件更新状态或调用 {@link #cancelAllocation} 归还；
+     * 是否抢到仍以 Redis 抢票脚本的裁决为准
+     *
+     * @param showEventId 演出活动ID
+     * @param seatZone 座位区域
+     * @param count 座位数
+     * @return 座位ID列表，演出不存在或没有满足条件的相邻座位时返回 null
+     */
+    public List<Long> allocate(Long showEventId, String seatZone, int count) {
+        ShowSeatMap seatMap = getOrLoad(showEventId);
+        if (seatMap == null) {
+            return null;
+        }
+        int[] indexes = seatMap.allocator.allocate(seatZone, count);
+        if (indexes == null) {
+            return null;
+        }
+        List<Long> seatIds = new ArrayList<>(indexes.length);
+        for (int index : indexes) {
+            seatIds.add(seatMap.layout.seatIdAt(index));
+        }
+        return seatIds;
+    }
+
+    /**
+     * 归还未抢到的预留座位（位图中已不是可售状态的座位不归还）
+     *
+     * @param showEventId 演出活动ID
+     * @param seatIds 座位ID列表
+     */
+    public void cancelAllocation(Long showEventId, List<Long> seatIds) {
+        ShowSeatMap seatMap = seatMaps.get(showEventId);
+        if (seatMap == null) {
+            return;
+        }
+        for (Long seatId : seatIds) {
+            int index = seatMap.layout.indexOf(seatId);
+            if (index >= 0) {
+                seatMap.cancel(index);
+            }
+        }
+    }
+
+    /**
+     * 定时校正：以 Redis 座位状态为准修正事件丢失或补偿释放造成的偏差，并清理闲置演出；
+     * 分配器按校正后的位图重建，回收未归还的预留座位
+     */
+    @Scheduled(initialDelay = 300000, fixedDelay = 300000)
+    public void resync() {
+        long now = System.currentTimeMillis();
+        seatMaps.entrySet().removeIf(entry -> now - entry.getValue().lastAccess > IDLE_EVICT_MILLIS);
+        missing.values().removeIf(expireAt -> expireAt <= now);
+        seatMaps.forEach((showEventId, seatMap) -> {
+            try {
+                long before = seatMap.bitmap.getVersion();
+                loadRedisStates(showEventId, seatMap);
+                long drift = seatMap.bitmap.getVersion() - before;
+                seatMap.rebuildAllocator();
+                if (drift > 0) {
+                    log.warn("座位图与Redis存在偏差，已校正: showEventId={}, corrected={}", showEventId, drift);
+                }
+            } catch (Exception e) {
+                log.error("座位图校正失败: showEventId={}", showEventId, e);
+            }
+        });
+    }
+
+    private ShowSeatMap getOrLoad(Long showEventId) {
+        ShowSeatMap seatMap = seatMaps.get(showEventId);
+        if (seatMap == null) {
+            seatMap = loadOnce(showEventId);
+        }
+        if (seatMap != null) {
+            seatMap.lastAccess = System.currentTimeMillis();
+        }
+        return seatMap;
+    }
+
+    /**
+     * 在映射之外加载座位图（加载要查 MySQL 和扫描 Redis，不能占用 ConcurrentHashMap 的桶锁），
+     * 同一演出的并发请求等待第一个请求的加载结果
+     */
+    private ShowSeatMap loadOnce(Long showEventId) {
+        Long missingUntil = missing.get(showEventId);
+        if (missingUntil != null && missingUntil > System.currentTimeMillis()) {
+            return null;
+        }
+        CompletableFuture<ShowSeatMap> future = new CompletableFuture<>();
+        CompletableFuture<ShowSeatMap> existing = loading.putIfAbsent(showEventId, future);
+        if (existing != null) {
+            return existing.join();
+        }
+        try {
+            ShowSeatMap seatMap = seatMaps.get(showEventId);
+            if (seatMap == null) {
+                seatMap = load(showEventId);
+                if (seatMap != null) {
+                    seatMaps.put(showEventId, seatMap);
+                    missing.remove(showEventId);
+                } else {
+                    missing.put(showEventId, System.currentTimeMillis() + NEGATIVE_CACHE_MILLIS);
+                }
+            }
+            future.complete(seatMap);
+            return seatMap;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(showEventId, future);
+        }
+    }
+
+    private ShowSeatMap load(Long showEventId) {
+        List<Seat> seats = seatMapper.selectList(new LambdaQueryWrapper<Seat>()
+                .eq(Seat::getShowEventId, showEventId));
+        if (seats.isEmpty()) {
+            return null;
+        }
+        idBloomFilters.putAll(IdBloomFilters.SEAT, seats.stream().map(Seat::getId).collect(Collectors.toList()));
+        SeatMapLayout layout = SeatMapLayout.build(showEventId, seats);
+        SeatBitmap bitmap = new SeatBitmap(layout.size());
+        for (Seat seat : seats) {
+            bitmap.set(layout.indexOf(seat.getId()), toState(seat.getStatus()));
+        }
+        ShowSeatMap seatMap = new ShowSeatMap(layout, bitmap);
+        loadRedisStates(showEventId, seatMap);
+        seatMap.allocator = SeatAllocator.build(layout.getLayoutVO(), bitmap);
+        log.info("座位图加载完成: showEventId={}, totalSeats={}, available={}",
+                showEventId, layout.size(), bitmap.count(SeatBitmap.AVAILABLE));
+        return seatMap;
+    }
+
+    /**
+     * 以 Redis 座位状态覆盖位图（库存未预热时保持 MySQL 状态）
+     */
+    private void loadRedisStates(Long showEventId, ShowSeatMap seatMap) {
+        ScanOptions options = ScanOptions.scanOptions().count(SCAN_COUNT).build();
+        try (Cursor<Map.Entry<Object, Object>> cursor = stringRedisTemplate.opsForHash()
+                .scan(SeatInventoryManager.seatStateKey(showEventId), options)) {
+            while (cursor.hasNext()) {
+                Map.Entry<Object, Object> entry = cursor.next();
+                int index = seatMap.layout.indexOf(Long.parseLong(entry.getKey().toString()));
+                if (index >= 0) {
+                    seatMap.set(index, toRedisState(entry.getValue().toString()));
+                }
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException("读取Redis座位状态失败: showEventId=" + showEventId, e);
+        }
+    }
+
+    private static int toState(String seatStatus) {
+        if (SeatStatus.AVAILABLE.equals(seatStatus)) {
+            return SeatBitmap.AVAILABLE;
+        }
+        return SeatStatus.LOCKED.equals(seatStatus) ? SeatBitmap.LOCKED : SeatBitmap.SOLD;
+    }
+
+    private static int toRedisState(String state) {
+        if (TicketRedisKey.SEAT_STATE_AVAILABLE.equals(state)) {
+            return SeatBitmap.AVAILABLE;
+        }
+        return state.startsWith(TicketRedisKey.SEAT_STATE_LOCKED) ? SeatBitmap.LOCKED : SeatBitmap.SOLD;
+    }
+
+    /**
+     * 单个演出的座位图
+     */
+    private static class ShowSeatMap {
+
+        private final SeatMapLayout layout;
+
+        private final SeatBitmap bitmap;
+
+        private volatile long lastAccess = System.currentTimeMillis();
+
+        /**
+         * 加载完成后由位图构建，加载期间为 null
+         */
+        private volatile SeatAllocator allocator;
+
+        private ShowSeatMap(SeatMapLayout layout, SeatBitmap bitmap) {
+            this.layout = layout;
+            this.bitmap = bitmap;
+        }
+
+        /**
+         * 更新座位状态，状态有变化时同步到分配器
+         */
+        private synchronized void set(int index, int state) {
+            if (bitmap.set(index, state) && allocator != null) {
+                allocator.update(index, state == SeatBitmap.AVAILABLE);
+            }
+        }
+
+        /**
+         * 按位图重建分配器（进行中的预留随之清除，重复分配的座位由 Redis 裁决拒绝后重新分配）
+         */
+        private synchronized void rebuildAllocator() {
+            allocator = SeatAllocator.build(layout.getLayoutVO(), bitmap);
+        }
+
+        /**
+         * 归还预留座位，与 {@link #set} 互斥，避免归还覆盖刚到达的锁定事件
+         */
+        private synchronized void cancel(int index) {
+            if (bitmap.get(index) == SeatBitmap.AVAILABLE) {
+                allocator.update(index, true);
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.yoyo_data.infrastructure.ticket.seatmap;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 座位图快照：RLE 编码的座位状态及其内容 ETag
+ *
+ * @author Template Framework
+ * @version 1.0
+ */
+@Getter
+@AllArgsConstructor
+public class SeatMapSnapshot {
+
+    /**
+     * 内容 ETag："{showEventId}-{totalSeats}-{checksum}"，由座位状态决定，请求落到任一节点时一致
+     */
+    private final String etag;
+
+    /**
+     * RLE 编码的座位状态，格式见 {@link SeatBitmap}
+     */
+    private final byte[] data;
+
+    /**
+     * 座位总数
+     */
+    private final int totalSeats;
+
+    /**
+     * 可售座位数
+     */
+    private final int availableSeats;
+}
@@ -0,0 +1,121 @@
+package com.example.yoyo_data.infrastructure.ticket.timer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 分层时间轮 - 以订单ID为键的到期调度
+ * 添加、取消为 O(1)，推进时只处理真正到期的时间格，不随在途订单数增长；
+ * 高层时间格到期时将其中的定时项降级到低层时间轮，直到精确到期
+ *
+ * 推进由单线程调用 {@link #advance(long)} 驱动，添加和取消可并发调用
+ *
+ * @author Template Framework
+ * @version 1.0
+ */
+public class HierarchicalTimingWheel {
+
+    private final DelayQueue<TimerBucket> delayQueue = new DelayQueue<>();
+
+    private final Map<Long, TimerEntry> entries = new ConcurrentHashMap<>();
+
+    private final Queue<Long> expiredQueue = new ConcurrentLinkedQueue<>();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final TimingWheel timingWheel;
+
+    /**
+     * @param tickMs 最底层时间轮刻度（毫秒）
+     * @param wheelSize 每层时间轮格数
+     */
+    public HierarchicalTimingWheel(long tickMs, int wheelSize) {
+        this.timingWheel = new TimingWheel(tickMs, wheelSize, System.currentTimeMillis(), delayQueue);
+    }
+
+    /**
+     * 调度订单到期，同一订单重复调度时以最后一次为准
+     *
+     * @param orderId 订单ID
+     * @param expireAt 到期时间（毫秒时间戳）
+     */
+    public void schedule(Long orderId, long expireAt) {
+        TimerEntry entry = new TimerEntry(orderId, expireAt);
+        TimerEntry previous = entries.put(orderId, entry);
+        if (previous != null) {
+            previous.cancel();
+        }
+        lock.readLock().lock();
+        try {
+            addOrExpire(entry);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 取消订单的到期调度（订单已支付或已取消）
+     *
+     * @param orderId 订单ID
+     */
+    public void cancel(Long orderId) {
+        TimerEntry entry = entries.remove(orderId);
+        if (entry != null) {
+            entry.cancel();
+        }
+    }
+
+    /**
+     * 等待并推进时钟，返回本次到期的订单ID
+     *
+     * @param timeoutMs 没有时间格到期时的最长等待时间
+     * @return 到期订单ID列表
+     * @throws InterruptedException 推进线程被中断
+     */
+    public List<Long> advance(long timeoutMs) throws InterruptedException {
+        TimerBucket bucket = delayQueue.poll(timeoutMs, TimeUnit.MILLISECONDS);
+        if (bucket != null) {
+            lock.writeLock().lock();
+            try {
+                while (bucket != null) {
+                    timingWheel.advanceClock(bucket.getExpiration());
+                    bucket.flush(this::addOrExpire);
+                    bucket = delayQueue.poll();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        List<Long> expired = new ArrayList<>();
+        Long orderId;
+        while ((orderId = expiredQueue.poll()) != null) {
+            expired.add(orderId);
+        }
+        return expired;
+    }
+
+    /**
+     * 在途定时项数量
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private void addOrExpire(TimerEntry entry) {
+        if (timingWheel.add(entry)) {
+            return;
+        }
+        // 已到期且未被取消的定时项直接触发
+        if (!entry.isCancelled() && entries.remove(entry.getOrderId(), entry)) {
+            expiredQueue.offer(entry.getOrderId());
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.yoyo_data.infrastructure.ticket.timer;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * 时间格 - 存放同一时间区间内到期的定时项
+ * 以时间格为单位进入 DelayQueue，空转的时间格不会唤醒推进线程
+ *
+ * @author Template Framework
+ * @version 1.0
+ */
+public class TimerBucket implements Delayed {
+
+    private final AtomicLong expiration = new AtomicLong(-1L);
+
+    private final Set<TimerEntry> entries = new LinkedHashSet<>();
+
+    public synchronized void add(TimerEntry entry) {
+        entries.add(entry);
+        entry.bucket = this;
+    }
+
+    public synchronized void remove(TimerEntry entry) {
+        if (entries.remove(entry)) {
+            entry.bucket = null;
+        }
+    }
+
+    /**
+     * 取出全部定时项并重置时间格，由调用方决定到期触发或降级到更低层时间轮
+     */
+    public void flush(Consumer<TimerEntry> consumer) {
+        List<TimerEntry> flushed;
+        synchronized (this) {
+            flushed = new ArrayList<>(entries);
+            for (TimerEntry entry : flushed) {
+                entry.bucket = null;
+            }
+            entries.clear();
+            expiration.set(-1L);
+        }
+        flushed.forEach(consumer);
+    }
+
+    /**
+     * 设置时间格的到期时间
+     *
+     * @return 到期时间是否发生变化（变化时需要重新放入 DelayQueue）
+     */
+    public boolean setExpiration(long expirationMs) {
+        return expiration.getAndSet(expirationMs) != expirationMs;
+    }
+
+    public long getExpiration() {
+        return expiration.get();
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+        return unit.convert(Math.max(getExpiration() - System.currentTimeMillis(), 0), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+        return Long.compare(getExpiration(), ((TimerBucket) other).getExpiration());
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.yoyo_data.infrastructure.ticket.timer;
+
+import lombok.Getter;
+
+/**
+ * 时间轮定时项，以订单ID为键
+ *
+ * @author Template Framework
+ * @version 1.0
+ */
+@Getter
+public class TimerEntry {
+
+    /**
+     * 订单ID
+     */
+    private final Long orderId;
+
+    /**
+     * 到期时间（毫秒时间戳）
+     */
+    private final long expireAt;
+
+    private volatile boolean cancelled;
+
+    /**
+     * 当前所在的时间格，由 TimerBucket 维护
+     */
+    volatile TimerBucket bucket;
+
+    public TimerEntry(Long orderId, long expireAt) {
+        this.orderId = orderId;
+        this.expireAt = expireAt;
+    }
+
+    /**
+     * 取消定时项，并从所在时间格中移除
+     */
+    public void cancel() {
+        cancelled = true;
+        TimerBucket current = bucket;
+        if (current != null) {
+            current.remove(this);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.yoyo_data.infrastructure.ticket.timer;
+
+import java.util.concurrent.DelayQueue;
+
+/**
+ * 单层时间轮，超出本层范围的定时项交给上层（溢出）时间轮
+ * 上层时间轮的刻度为本层的一整圈，按需创建
+ *
+ * @author Template Framework
+ * @version 1.0
+ */
+class TimingWheel {
+
+    private final long tickMs;
+
+    private final int wheelSize;
+
+    private final long interval;
+
+    private final TimerBucket[] buckets;
+
+    private final DelayQueue<TimerBucket> queue;
+
+    private volatile long currentTime;
+
+    private volatile TimingWheel overflowWheel;
+
+    TimingWheel(long tickMs, int wheelSize, long startMs, DelayQueue<TimerBucket> queue) {
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.interval = tickMs * wheelSize;
+        this.queue = queue;
+        this.currentTime = startMs - (startMs % tickMs);
+        this.buckets = new TimerBucket[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new TimerBucket();
+        }
+    }
+
+    /**
+     * 添加定时项
+     *
+     * @return false 表示已取消或已到期，需要调用方直接触发
+     */
+    boolean add(TimerEntry entry) {
+        long expireAt = entry.getExpireAt();
+        if (entry.isCancelled()) {
+            return false;
+        }
+        if (expireAt < currentTime + tickMs) {
+            return false;
+        }
+        if (expireAt < currentTime + interval) {
+            long virtualId = expireAt / tickMs;
+            TimerBucket bucket = buckets[(int) (virtualId % wheelSize)];
+            bucket.add(entry);
+            if (bucket.setExpiration(virtualId * tickMs)) {
+                queue.offer(bucket);
+            }
+            return true;
+        }
+        return getOverflowWheel().add(entry);
+    }
+
+    /**
+     * 推进时钟到指定时间，逐层向上推进
+     */
+    void advanceClock(long timeMs) {
+        if (timeMs >= currentTime + tickMs) {
+            currentTime = timeMs - (timeMs % tickMs);
+            TimingWheel overflow = overflowWheel;
+            if (overflow != null) {
+                overflow.advanceClock(currentTime);
+            }
+        }
+    }
+
+    private TimingWheel getOverflowWheel() {
+        if (overflowWheel == null) {
+            synchronized (this) {
+                if (overflowWheel == null) {
+                    overflowWheel = new TimingWheel(interval, wheelSize, currentTime, queue);
+                }
+            }
+        }
+        return overflowWheel;
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.yoyo_data.infrastructure.ticket.waitingroom;
+
+import com.example.yoyo_data.infrastructure.config.properties.TicketProperties;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+/**
+ * 等候室令牌编解码 - HMAC-SHA256 签名的无状态令牌
+ * 令牌格式为 base64url(载荷).base64url(签名)，载荷为 类型|演出ID|用户ID|排队序号|过期时间，
+ * 校验只做一次本地 HMAC 计算，不访问 Redis，用于在入口处廉价地拒绝无效请求
+ *
+ * @author Template Framework
+ * @version 1.0
+ */
+@Slf4j
+@Component
+public class QueueTokenCodec {
+
+    /**
+     * 令牌类型：排队令牌，用于查询排队位置
+     */
+    public static final String TYPE_QUEUE = "Q";
+
+    /**
+     * 令牌类型：入场令牌，用于访问抢票接口
+     */
+    public static final String TYPE_ADMISSION = "A";
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    @Autowired
+    private TicketProperties ticketProperties;
+
+    @Value("${jwt.secret}")
+    private String jwtSecret;
+
+    private SecretKeySpec signingKey;
+
+    /**
+     * Mac 实例非线程安全，每个线程持有一个
+     */
+    private final ThreadLocal<Mac> macHolder = ThreadLocal.withInitial(this::newMac);
+
+    @PostConstruct
+    public void init() {
+        String secret = ticketProperties.getWaitingRoom().getTokenSecret();
+        if (secret == null || secret.isEmpty()) {
+            log.warn("未配置等候室令牌密钥，使用 JWT 密钥签名");
+            secret = jwtSecret;
+        }
+        signingKey = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+    }
+
+    /**
+     * 签发令牌
+     *
+     * @param type 令牌类型
+     * @param showEventId 演出活动ID
+     * @param userId 用户ID
+     * @param seq 排队序号（入场令牌为 0）
+     * @param expireAt 过期时间（毫秒时间戳）
+     * @return 令牌字符串
+     */
+    public String encode(String type, Long showEventId, Long userId, long seq, long expireAt) {
+        String payload = type + "|" + showEventId + "|" + userId + "|" + seq + "|" + expireAt;
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        return ENCODER.encodeToString(payloadBytes) + "." + ENCODER.encodeToString(sign(payloadBytes));
+    }
+
+    /**
+     * 校验并解析令牌
+     *
+     * @param token 令牌字符串
+     * @param type 期望的令牌类型
+     * @param now 当前时间（毫秒时间戳）
+     * @return 令牌内容；签名错误、类型不符或已过期时返回 null
+     */
+    public QueueToken decode(String token, String type, long now) {
+        if (token == null) {
+            return null;
+        }
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot == token.length() - 1) {
+            return null;
+        }
+        try {
+            byte[] payloadBytes = DECODER.decode(token.substring(0, dot));
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(sign(payloadBytes), signature)) {
+                return null;
+            }
+            String[] parts = new String(payloadBytes, StandardCharsets.UTF_8).split("\\|");
+            if (parts.length != 5 || !type.equals(parts[0])) {
+                return null;
+            }
+            QueueToken queueToken = new QueueToken(parts[0], Long.valueOf(parts[1]), Long.valueOf(parts[2]),
+                    Long.parseLong(parts[3]), Long.parseLong(parts[4]));
+            return queueToken.getExpireAt() > now ? queueToken : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private byte[] sign(byte[] payload) {
+        return macHolder.get().doFinal(payload);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(signingKey);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("等候室令牌签名初始化失败", e);
+        }
+    }
+
+    /**
+     * 令牌内容
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class QueueToken {
+
+        /**
+         * 令牌类型
+         */
+        private final String type;
+
+        /**
+         * 演出活动ID
+         */
+        private final Long showEventId;
+
+        /**
+         * 用户ID
+         */
+        private final Long userId;
+
+        /**
+         * 排队序号
+         */
+        private final long seq;
+
+        /**
+         * 过期时间（毫秒时间戳）
+         */
+        private final long expireAt;
+    }
+}
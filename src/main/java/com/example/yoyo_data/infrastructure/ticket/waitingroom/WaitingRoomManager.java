@@ -0,0 +1,386 @@
+package com.example.yoyo_data.infrastructure.ticket.waitingroom;
+
+import com.example.yoyo_data.common.constant.TicketRedisKey;
+import com.example.yoyo_data.common.vo.QueueStatusVO;
+import com.example.yoyo_data.infrastructure.cache.RedisService;
+import com.example.yoyo_data.infrastructure.config.properties.TicketProperties;
+import com.example.yoyo_data.infrastructure.ticket.SeatInventoryManager;
+import com.example.yoyo_data.infrastructure.ticket.waitingroom.QueueTokenCodec.QueueToken;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scripting.support.ResourceScriptSource;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 排队等候室 - 开票瞬间的流量在这里排队，按剩余库存控制放行速度
+ * 入队时发放带排队序号的签名令牌，用户按序号先后进入有序集合；放行任务每秒从队首取出一批用户，
+ * 在场人数（已放行且资格未过期）不超过剩余库存乘以系数。
+ * 排队位置由令牌中的序号和演出的放行进度计算，轮询和 SSE 推送只读取本地缓存的演出进度；
+ * 轮到用户后领取入场令牌，抢票接口在入口处只校验入场令牌签名
+ *
+ * @author Template Framework
+ * @version 1.0
+ */
+@Slf4j
+@Component
+public class WaitingRoomManager {
+
+    /**
+     * 放行任务周期（毫秒）
+     */
+    private static final long ADMIT_INTERVAL_MILLIS = 1000L;
+
+    /**
+     * 本地缓存演出放行进度的时长（毫秒）
+     */
+    private static final long META_CACHE_MILLIS = 500L;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private RedisService redisService;
+
+    @Autowired
+    private TicketProperties ticketProperties;
+
+    @Autowired
+    private QueueTokenCodec queueTokenCodec;
+
+    @Autowired
+    private SeatInventoryManager seatInventoryManager;
+
+    private DefaultRedisScript<Long> joinScript;
+
+    private DefaultRedisScript<List> admitScript;
+
+    private DefaultRedisScript<Long> claimScript;
+
+    private final Map<Long, QueueMeta> metaCache = new ConcurrentHashMap<>();
+
+    /**
+     * 本节点上的 SSE 订阅，按演出分组
+     */
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        joinScript = new DefaultRedisScript<>();
+        joinScript.setScriptSource(new ResourceScriptSource(new ClassPathResource("lua/waiting_room_join.lua")));
+        joinScript.setResultType(Long.class);
+
+        admitScript = new DefaultRedisScript<>();
+        admitScript.setScriptSource(new ResourceScriptSource(new ClassPathResource("lua/waiting_room_admit.lua")));
+        admitScript.setResultType(List.class);
+
+        claimScript = new DefaultRedisScript<>();
+        claimScript.setScriptSource(new ResourceScriptSource(new ClassPathResource("lua/waiting_room_claim.lua")));
+        claimScript.setResultType(Long.class);
+    }
+
+    /**
+     * 是否启用等候室
+     */
+    public boolean isEnabled() {
+        return ticketProperties.getWaitingRoom().isEnabled();
+    }
+
+    /**
+     * 进入等候室排队，重复入队保持原有位置
+     *
+     * @param showEventId 演出活动ID
+     * @param userId 用户ID
+     * @param saleStartMillis 开票时间（毫秒时间戳），开票前只排队不放行
+     * @return 排队状态（含排队令牌）
+     */
+    public QueueStatusVO join(Long showEventId, Long userId, long saleStartMillis) {
+        TicketProperties.WaitingRoom config = ticketProperties.getWaitingRoom();
+        long now = System.currentTimeMillis();
+        Long seq = stringRedisTemplate.execute(joinScript, queueKeys(showEventId),
+                String.valueOf(userId), String.valueOf(saleStartMillis),
+                String.valueOf(config.getQueueTokenTtl()), String.valueOf(now));
+        stringRedisTemplate.opsForZSet().add(TicketRedisKey.QUEUE_ACTIVE_SHOWS, String.valueOf(showEventId), now);
+
+        long expireAt = now + config.getQueueTokenTtl() * 1000;
+        String rawToken = queueTokenCodec.encode(QueueTokenCodec.TYPE_QUEUE, showEventId, userId, seq, expireAt);
+        log.info("进入等候室: showEventId={}, userId={}, seq={}", showEventId, userId, seq);
+        return getStatus(new QueueToken(QueueTokenCodec.TYPE_QUEUE, showEventId, userId, seq, expireAt), rawToken);
+    }
+
+    /**
+     * 校验排队令牌
+     *
+     * @return 令牌内容；无效、过期或不属于该用户和演出时返回 null
+     */
+    public QueueToken verifyQueueToken(String rawToken, Long showEventId, Long userId) {
+        QueueToken token = queueTokenCodec.decode(rawToken, QueueTokenCodec.TYPE_QUEUE, System.currentTimeMillis());
+        if (token == null || !token.getShowEventId().equals(showEventId) || !token.getUserId().equals(userId)) {
+            return null;
+        }
+        return token;
+    }
+
+    /**
+     * 校验入场令牌（纯本地计算）
+     *
+     * @return 令牌内容；无效、过期或不属于该用户时返回 null
+     */
+    public QueueToken verifyAdmissionToken(String rawToken, Long userId) {
+        QueueToken token = queueTokenCodec.decode(rawToken, QueueTokenCodec.TYPE_ADMISSION, System.currentTimeMillis());
+        if (token == null || !token.getUserId().equals(userId)) {
+            return null;
+        }
+        return token;
+    }
+
+    /**
+     * 查询排队状态：未轮到时只读取本地缓存的放行进度，轮到后领取入场令牌
+     *
+     * @param token 已校验的排队令牌
+     * @param rawToken 排队令牌原文
+     * @return 排队状态
+     */
+    public QueueStatusVO getStatus(QueueToken token, String rawToken) {
+        QueueMeta meta = getMeta(token.getShowEventId());
+        QueueStatusVO status = QueueStatusVO.builder()
+                .showEventId(token.getShowEventId())
+                .queueToken(rawToken)
+                .soldOut(meta.stock == 0)
+                .pollInterval(ticketProperties.getWaitingRoom().getPollInterval())
+                .build();
+
+        long position = token.getSeq() - meta.head;
+        if (position > 0) {
+            status.setState(QueueStatusVO.WAITING);
+            status.setPosition(position);
+            status.setEtaSeconds(meta.rate > 0 ? (position + meta.rate - 1) / meta.rate : null);
+            return status;
+        }
+
+        long now = System.currentTimeMillis();
+        Long expireAt = stringRedisTemplate.execute(claimScript,
+                Collections.singletonList(admittedKey(token.getShowEventId())),
+                String.valueOf(token.getUserId()), String.valueOf(now),
+                String.valueOf(ticketProperties.getWaitingRoom().getAdmissionTtl() * 1000));
+        status.setPosition(0L);
+        if (expireAt == null || expireAt < 0) {
+            status.setState(QueueStatusVO.EXPIRED);
+            return status;
+        }
+        status.setState(QueueStatusVO.ADMITTED);
+        status.setAdmissionExpireAt(expireAt);
+        status.setAdmissionToken(queueTokenCodec.encode(QueueTokenCodec.TYPE_ADMISSION,
+                token.getShowEventId(), token.getUserId(), 0, expireAt));
+        return status;
+    }
+
+    /**
+     * 订阅排队状态推送（SSE），轮到用户或资格过期后推送最终状态并结束
+     *
+     * @param token 已校验的排队令牌
+     * @param rawToken 排队令牌原文
+     * @return SSE 发射器
+     */
+    public SseEmitter subscribe(QueueToken token, String rawToken) {
+        SseEmitter emitter = new SseEmitter(Math.max(1L, token.getExpireAt() - System.currentTimeMillis()));
+        Subscriber subscriber = new Subscriber(token, rawToken, emitter);
+        // 在 compute 中加入订阅者，避免与推送任务清理空集合并发时加入已被移除的集合
+        Set<Subscriber> showSubscribers = subscribers.compute(token.getShowEventId(), (key, current) -> {
+            Set<Subscriber> set = current != null ? current : ConcurrentHashMap.newKeySet();
+            set.add(subscriber);
+            return set;
+        });
+        emitter.onCompletion(() -> showSubscribers.remove(subscriber));
+        emitter.onTimeout(() -> showSubscribers.remove(subscriber));
+        emitter.onError(e -> showSubscribers.remove(subscriber));
+
+        if (!push(subscriber)) {
+            showSubscribers.remove(subscriber);
+        }
+        return emitter;
+    }
+
+    /**
+     * 放行任务：每个开放等候室的演出同一时刻只由一个节点放行
+     */
+    @Scheduled(initialDelay = ADMIT_INTERVAL_MILLIS, fixedRate = ADMIT_INTERVAL_MILLIS)
+    public void admitTick() {
+        if (!isEnabled()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        TicketProperties.WaitingRoom config = ticketProperties.getWaitingRoom();
+        long idleBefore = now - config.getQueueTokenTtl() * 1000;
+        stringRedisTemplate.opsForZSet().removeRangeByScore(TicketRedisKey.QUEUE_ACTIVE_SHOWS, 0, idleBefore);
+        Set<String> shows = stringRedisTemplate.opsForZSet().rangeByScore(TicketRedisKey.QUEUE_ACTIVE_SHOWS, idleBefore, now);
+        if (shows == null) {
+            return;
+        }
+        for (String show : shows) {
+            Long showEventId = Long.valueOf(show);
+            try {
+                admit(showEventId, now, config);
+            } catch (Exception e) {
+                log.error("等候室放行失败: showEventId={}", showEventId, e);
+            }
+        }
+    }
+
+    /**
+     * SSE 推送任务：向本节点的订阅者推送排队状态
+     */
+    @Scheduled(initialDelay = 2000, fixedDelayString = "${ticket.waiting-room.poll-interval:2000}")
+    public void pushStatus() {
+        for (Long showEventId : subscribers.keySet()) {
+            Set<Subscriber> showSubscribers = subscribers.get(showEventId);
+            if (showSubscribers != null) {
+                showSubscribers.removeIf(subscriber -> !push(subscriber));
+            }
+            subscribers.computeIfPresent(showEventId, (key, current) -> current.isEmpty() ? null : current);
+        }
+    }
+
+    private void admit(Long showEventId, long now, TicketProperties.WaitingRoom config) {
+        String lockKey = TicketRedisKey.ADMIT_LOCK_PREFIX + showEventId;
+        Boolean locked = redisService.setIfAbsent(lockKey, "1", ADMIT_INTERVAL_MILLIS - 100, TimeUnit.MILLISECONDS);
+        if (locked == null || !locked) {
+            return;
+        }
+        Object saleStart = stringRedisTemplate.opsForHash().get(metaKey(showEventId), "saleStartTime");
+        if (saleStart != null && Long.parseLong(saleStart.toString()) > now) {
+            return;
+        }
+
+        // 在场容量随剩余库存收缩，库存未加载时按最大放行速度放行，由抢票接口触发预热
+        Long stock = seatInventoryManager.getStock(showEventId);
+        long capacity = stock != null ? (long) Math.ceil(stock * config.getAdmitPerSeat()) : Integer.MAX_VALUE;
+
+        List<?> result = stringRedisTemplate.execute(admitScript, queueKeys(showEventId),
+                String.valueOf(now), String.valueOf(config.getMaxAdmitPerSecond()), String.valueOf(capacity),
+                String.valueOf(config.getClaimWindow() * 1000), String.valueOf(stock != null ? stock : -1),
+                String.valueOf(config.getQueueTokenTtl()));
+        if (result != null && ((Long) result.get(0)) > 0) {
+            log.info("等候室放行: showEventId={}, admitted={}, waiting={}, active={}, stock={}",
+                    showEventId, result.get(0), result.get(1), result.get(2), stock);
+        }
+    }
+
+    /**
+     * 推送一次排队状态
+     *
+     * @return 是否继续保持订阅
+     */
+    private boolean push(Subscriber subscriber) {
+        try {
+            QueueStatusVO status = getStatus(subscriber.token, subscriber.rawToken);
+            subscriber.emitter.send(SseEmitter.event().name("queue-status").data(status));
+            if (!QueueStatusVO.WAITING.equals(status.getState())) {
+                subscriber.emitter.complete();
+                return false;
+            }
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // 客户端已断开
+            return false;
+        } catch (Exception e) {
+            log.error("等候室状态推送失败: showEventId={}, userId={}",
+                    subscriber.token.getShowEventId(), subscriber.token.getUserId(), e);
+            subscriber.emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    private QueueMeta getMeta(Long showEventId) {
+        long now = System.currentTimeMillis();
+        QueueMeta meta = metaCache.get(showEventId);
+        if (meta != null && meta.loadedAt + META_CACHE_MILLIS > now) {
+            return meta;
+        }
+        List<Object> values = stringRedisTemplate.opsForHash()
+                .multiGet(metaKey(showEventId), Arrays.asList("head", "rate", "stock"));
+        meta = new QueueMeta(parseLong(values.get(0), 0), parseLong(values.get(1), 0),
+                parseLong(values.get(2), -1), now);
+        metaCache.put(showEventId, meta);
+        return meta;
+    }
+
+    private static long parseLong(Object value, long defaultValue) {
+        return value != null ? Long.parseLong(value.toString()) : defaultValue;
+    }
+
+    private static List<String> queueKeys(Long showEventId) {
+        return Arrays.asList(String.format(TicketRedisKey.QUEUE_WAITING_FORMAT, showEventId),
+                admittedKey(showEventId), metaKey(showEventId));
+    }
+
+    private static String admittedKey(Long showEventId) {
+        return String.format(TicketRedisKey.QUEUE_ADMITTED_FORMAT, showEventId);
+    }
+
+    private static String metaKey(Long showEventId) {
+        return String.format(TicketRedisKey.QUEUE_META_FORMAT, showEventId);
+    }
+
+    /**
+     * 演出放行进度（本地缓存）
+     */
+    private static class QueueMeta {
+
+        /**
+         * 已放行到的排队序号
+         */
+        private final long head;
+
+        /**
+         * 上一轮放行人数（人/秒）
+         */
+        private final long rate;
+
+        /**
+         * 上一轮放行时的剩余库存，未知时为 -1
+         */
+        private final long stock;
+
+        private final long loadedAt;
+
+        private QueueMeta(long head, long rate, long stock, long loadedAt) {
+            this.head = head;
+            this.rate = rate;
+            this.stock = stock;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    /**
+     * SSE 订阅者
+     */
+    private static class Subscriber {
+
+        private final QueueToken token;
+
+        private final String rawToken;
+
+        private final SseEmitter emitter;
+
+        private Subscriber(QueueToken token, String rawToken, SseEmitter emitter) {
+            this.token = token;
+            this.rawToken = rawToken;
+            this.emitter = emitter;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.yoyo_data.infrastructure.user;
+
+import com.alibaba.fastjson.JSON;
+import com.example.yoyo_data.common.vo.UserCardVO;
+import com.example.yoyo_data.infrastructure.cache.CacheKeyManager;
+import com.example.yoyo_data.infrastructure.cache.RedisService;
+import com.example.yoyo_data.infrastructure.repository.UserMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 用户信息批量加载器 - 列表接口先收集整页的用户ID，再一次性加载用户信息卡片：
+ * 请求内本地缓存 -> Redis MGET -> 一条关联查询（用户 + 用户档案），未命中的卡片管道写回 Redis，
+ * 一页数据最多三次往返，不再逐行查询用户。
+ * 本地缓存绑定在当前 HTTP 请求上，同一请求多次加载同一用户只访问一次 Redis；非请求线程中不使用本地缓存
+ *
+ * @author Template Framework
+ * @version 1.0
+ */
+@Slf4j
+@Component
+public class UserInfoLoader {
+
+    /**
+     * 请求内本地缓存的请求属性名
+     */
+    private static final String REQUEST_CACHE_ATTRIBUTE = UserInfoLoader.class.getName() + ".CACHE";
+
+    /**
+     * 用户信息卡片缓存时间（秒）
+     */
+    private static final long CARD_EXPIRE = CacheKeyManager.CacheTTL.ONE_HOUR;
+
+    @Autowired
+    private RedisService redisService;
+
+    @Autowired
+    private UserMapper userMapper;
+
+    /**
+     * 加载单个用户信息卡片
+     *
+     * @param userId 用户ID
+     * @return 用户信息卡片，用户不存在时返回 null
+     */
+    public UserCardVO load(Long userId) {
+        return loadAll(Collections.singletonList(userId)).get(userId);
+    }
+
+    /**
+     * 批量加载用户信息卡片
+     *
+     * @param userIds 用户ID（可重复、可含 null）
+     * @return 用户ID -> 用户信息卡片，不存在的用户不包含在结果中
+     */
+    public Map<Long, UserCardVO> loadAll(Collection<Long> userIds) {
+        Set<Long> ids = userIds.stream().filter(id -> id != null).collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<Long, UserCardVO> cards = new HashMap<>();
+        if (ids.isEmpty()) {
+            return cards;
+        }
+
+        // 1. 请求内本地缓存
+        Map<Long, UserCardVO> requestCache = requestCache();
+        List<Long> misses = new ArrayList<>();
+        for (Long id : ids) {
+            UserCardVO card = requestCache.get(id);
+            if (card != null) {
+                cards.put(id, card);
+            } else {
+                misses.add(id);
+            }
+        }
+        if (misses.isEmpty()) {
+            return cards;
+        }
+
+        // 2. Redis MGET
+        List<String> cached = redisService.multiGet(misses.stream().map(UserInfoLoader::cardKey).collect(Collectors.toList()));
+        List<Long> dbMisses = new ArrayList<>();
+        for (int i = 0; i < misses.size(); i++) {
+            String json = cached.get(i);
+            if (json != null) {
+                UserCardVO card = JSON.parseObject(json, UserCardVO.class);
+                cards.put(misses.get(i), card);
+                requestCache.put(misses.get(i), card);
+            } else {
+                dbMisses.add(misses.get(i));
+            }
+        }
+        if (dbMisses.isEmpty()) {
+            return cards;
+        }
+
+        // 3. 一条关联查询，结果管道写回 Redis
+        List<UserCardVO> loaded = userMapper.selectCardsByIds(dbMisses);
+        for (UserCardVO card : loaded) {
+            cards.put(card.getId(), card);
+            requestCache.put(card.getId(), card);
+        }
+        Map<String, String> writeBack = new HashMap<>();
+        for (UserCardVO card : loaded) {
+            writeBack.put(cardKey(card.getId()), JSON.toJSONString(card));
+        }
+        redisService.multiSetWithTtl(writeBack, CARD_EXPIRE);
+        log.debug("批量加载用户信息: requested={}, redisMisses={}, loaded={}", ids.size(), dbMisses.size(), loaded.size());
+        return cards;
+    }
+
+    /**
+     * 用户信息变化后删除信息卡片缓存
+     *
+     * @param userId 用户ID
+     */
+    public void evict(Long userId) {
+        redisService.delete(cardKey(userId));
+        requestCache().remove(userId);
+    }
+
+    /**
+     * 当前请求的本地缓存，非请求线程返回一次性缓存
+     */
+    @SuppressWarnings("unchecked")
+    private Map<Long, UserCardVO> requestCache() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return new HashMap<>();
+        }
+        Map<Long, UserCardVO> cache = (Map<Long, UserCardVO>) attributes.getAttribute(REQUEST_CACHE_ATTRIBUTE,
+                RequestAttributes.SCOPE_REQUEST);
+        if (cache == null) {
+            cache = new HashMap<>();
+            attributes.setAttribute(REQUEST_CACHE_ATTRIBUTE, cache, RequestAttributes.SCOPE_REQUEST);
+        }
+        return cache;
+    }
+
+    private static String cardKey(Long userId) {
+        return CacheKeyManager.USER_CARD_PREFIX + userId;
+    }
+}
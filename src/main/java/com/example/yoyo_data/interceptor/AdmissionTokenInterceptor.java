@@ -0,0 +1,70 @@
+package com.example.yoyo_data.interceptor;
+
+import com.example.yoyo_data.common.Result;
+import com.example.yoyo_data.infrastructure.ticket.waitingroom.QueueTokenCodec.QueueToken;
+import com.example.yoyo_data.infrastructure.ticket.waitingroom.WaitingRoomManager;
+import com.example.yoyo_data.util.jwt.JwtUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 入场令牌拦截器
+ * 抢票接口只接受等候室放行的用户，请求在进入控制器之前只做一次令牌签名校验，
+ * 没有有效入场令牌的请求不会访问 Redis 库存和数据库
+ */
+@Slf4j
+@Component
+public class AdmissionTokenInterceptor implements HandlerInterceptor {
+
+    /**
+     * 入场令牌请求头
+     */
+    public static final String ADMISSION_TOKEN_HEADER = "X-Admission-Token";
+
+    /**
+     * 请求属性：入场令牌对应的演出ID，控制器据此校验抢票的演出
+     */
+    public static final String ADMITTED_SHOW_ATTRIBUTE = "admittedShowEventId";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @Autowired
+    private WaitingRoomManager waitingRoomManager;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (!waitingRoomManager.isEnabled()) {
+            return true;
+        }
+
+        // JwtInterceptor 已校验登录 token，这里只解析用户ID
+        String token = request.getHeader("Authorization");
+        if (token != null && token.startsWith("Bearer ")) {
+            token = token.substring(7);
+        }
+        Long userId = token != null ? jwtUtils.getUserIdFromToken(token) : null;
+        QueueToken admission = userId != null
+                ? waitingRoomManager.verifyAdmissionToken(request.getHeader(ADMISSION_TOKEN_HEADER), userId)
+                : null;
+        if (admission == null) {
+            response.setStatus(HttpStatus.FORBIDDEN.value());
+            response.setContentType("application/json;charset=UTF-8");
+            Result<?> result = Result.forbidden("未获得入场资格，请先进入等候室排队");
+            response.getWriter().write(OBJECT_MAPPER.writeValueAsString(result));
+            return false;
+        }
+
+        request.setAttribute(ADMITTED_SHOW_ATTRIBUTE, admission.getShowEventId());
+        return true;
+    }
+}
@@ -11,6 +11,9 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
 @Service
 public class JwtUserServiceImpl implements JwtUserService {
     private static final Logger log = LoggerFactory.getLogger(JwtUserServiceImpl.class);
@@ -32,7 +35,7 @@ public class JwtUserServiceImpl implements JwtUserService {
 
     @Override
     public void putByUserName(String userName, JwtUserDTO jwtUserDto) {
-        redisService.stringSetString(CacheKey.JWT_USER_NAME + userName, JSON.toJSONString(jwtUserDto), 3 * 60 * 60 * 1000L);
+        redisService.stringSetString(CacheKey.JWT_USER_NAME + userName, JSON.toJSONString(jwtUserDto), TimeUnit.HOURS.toSeconds(3));
     }
 
     @Override
@@ -42,10 +45,11 @@ public class JwtUserServiceImpl implements JwtUserService {
             UserVO user = jwtUserDto.getUser();
             if (user != null) {
                 Long userId = user.getId();
-                redisService.delete(CacheKey.JWT_USER_NAME + userName);
-                redisService.delete(CacheKey.MENU_USER_ID + userId);
-                redisService.delete(CacheKey.PERMISSION_DATA_RULE_USER_ID + userId);
-                redisService.delete(CacheKey.PERMISSION_DATA_FIELD_USER_ID + userId);
+                redisService.multiDelete(Arrays.asList(
+                        CacheKey.JWT_USER_NAME + userName,
+                        CacheKey.MENU_USER_ID + userId,
+                        CacheKey.PERMISSION_DATA_RULE_USER_ID + userId,
+                        CacheKey.PERMISSION_DATA_FIELD_USER_ID + userId));
             }
         }
     }
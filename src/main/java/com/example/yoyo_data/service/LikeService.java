@@ -6,6 +6,7 @@ import com.example.yoyo_data.common.vo.LikeToggleVO;
 import com.example.yoyo_data.common.vo.LikeTopVO;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * 点赞服务接口
@@ -31,6 +32,16 @@ public interface LikeService {
      */
     Result<LikeToggleVO> getLikeStatus(Long userId, Long targetId, String targetType);
 
+    /**
+     * 批量获取点赞状态（信息流一页的全部目标）
+     *
+     * @param userId 用户ID
+     * @param targetIds 目标ID列表
+     * @param targetType 目标类型
+     * @return 目标ID -> 是否已点赞
+     */
+    Result<Map<Long, Boolean>> getLikeStatusBatch(Long userId, List<Long> targetIds, String targetType);
+
     /**
      * 获取点赞列表
      *
@@ -44,8 +55,9 @@ public interface LikeService {
 
     /**
      * 获取点赞数top N 的帖子
-     * @param top
-     * @return
+     * @param top 名次数（1-100）
+     * @param window 时间窗口（daily/weekly/all）
+     * @return 点赞排行榜
      */
-    Result<List<LikeTopVO>> getLikeRank(Integer top);
+    Result<List<LikeTopVO>> getLikeRank(Integer top, String window);
 }
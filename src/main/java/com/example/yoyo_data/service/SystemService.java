@@ -1,6 +1,12 @@
 package com.example.yoyo_data.service;
 
 import com.example.yoyo_data.common.Result;
+import com.example.yoyo_data.common.vo.BloomFilterMetricsVO;
+import com.example.yoyo_data.common.vo.CacheFootprintVO;
+import com.example.yoyo_data.common.vo.LikeEventMetricsVO;
+import com.example.yoyo_data.common.vo.TieredCacheMetricsVO;
+
+import java.util.List;
 
 /**
  * 系统服务接口
@@ -34,4 +40,32 @@ public interface SystemService {
      * @return 重启结果
      */
     Result<?> restartSystemService(String serviceName);
+
+    /**
+     * 获取ID布隆过滤器指标
+     *
+     * @return 各过滤器的误判率等指标
+     */
+    Result<List<BloomFilterMetricsVO>> getBloomFilterMetrics();
+
+    /**
+     * 获取点赞事件合并消费指标
+     *
+     * @return 合并前后的吞吐量等指标
+     */
+    Result<LikeEventMetricsVO> getLikeEventMetrics();
+
+    /**
+     * 获取二级缓存各命名空间指标
+     *
+     * @return 各命名空间的本地命中、Redis 命中、淘汰和失效广播指标
+     */
+    Result<List<TieredCacheMetricsVO>> getTieredCacheMetrics();
+
+    /**
+     * 采样估算各缓存命名空间的 Redis 内存占用
+     *
+     * @return 各命名空间的 key 数、平均和估算内存占用、剩余过期时间
+     */
+    Result<List<CacheFootprintVO>> getCacheFootprint();
 }
\ No newline at end of file
@@ -0,0 +1,124 @@
+package com.example.yoyo_data.service;
+
+import com.example.yoyo_data.common.Result;
+import com.example.yoyo_data.common.dto.GrabTicketDTO;
+import com.example.yoyo_data.common.dto.PayOrderDTO;
+import com.example.yoyo_data.common.vo.PreWarmStatusVO;
+import com.example.yoyo_data.common.vo.QueueStatusVO;
+import com.example.yoyo_data.common.vo.ReconcileMetricsVO;
+import com.example.yoyo_data.common.vo.SeatMapLayoutVO;
+import com.example.yoyo_data.common.vo.ShowEventVO;
+import com.example.yoyo_data.common.vo.TicketOrderVO;
+import com.example.yoyo_data.infrastructure.ticket.seatmap.SeatMapSnapshot;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+/**
+ * 抢票服务接口
+ */
+public interface TicketService {
+
+    /**
+     * 预热演出座位库存到 Redis
+     *
+     * @param showEventId 演出活动ID
+     * @return 演出信息（可售座位数为 Redis 中的实时库存）
+     */
+    Result<ShowEventVO> warmUpShowEvent(Long showEventId);
+
+    /**
+     * 抢票（选座模式）
+     *
+     * @param userId 用户ID
+     * @param grabTicketDTO 抢票请求
+     * @return 待支付订单
+     */
+    Result<TicketOrderVO> grabTicket(Long userId, GrabTicketDTO grabTicketDTO);
+
+    /**
+     * 查询订单状态（抢票后轮询使用，优先读取 Redis 中的订单状态）
+     *
+     * @param userId 用户ID
+     * @param orderId 订单ID
+     * @return 订单状态
+     */
+    Result<TicketOrderVO> getOrderStatus(Long userId, Long orderId);
+
+    /**
+     * 支付订单
+     *
+     * @param userId 用户ID
+     * @param payOrderDTO 支付请求
+     * @return 已支付订单
+     */
+    Result<TicketOrderVO> payOrder(Long userId, PayOrderDTO payOrderDTO);
+
+    /**
+     * 取消订单并释放座位
+     *
+     * @param userId 用户ID
+     * @param orderId 订单ID
+     * @return 已取消订单
+     */
+    Result<TicketOrderVO> cancelOrder(Long userId, Long orderId);
+
+    /**
+     * 获取演出座位布局（区域/排/座位号与座位状态快照下标的对应关系）
+     *
+     * @param showEventId 演出活动ID
+     * @return 座位布局
+     */
+    Result<SeatMapLayoutVO> getSeatLayout(Long showEventId);
+
+    /**
+     * 获取演出座位状态快照（RLE 编码，由本节点内存位图生成，不访问数据库）
+     *
+     * @param showEventId 演出活动ID
+     * @return 座位图快照
+     */
+    Result<SeatMapSnapshot> getSeatMap(Long showEventId);
+
+    /**
+     * 进入演出等候室排队
+     *
+     * @param userId 用户ID
+     * @param showEventId 演出活动ID
+     * @return 排队状态（含排队令牌）
+     */
+    Result<QueueStatusVO> joinQueue(Long userId, Long showEventId);
+
+    /**
+     * 查询排队状态，轮到用户时返回入场令牌
+     *
+     * @param userId 用户ID
+     * @param showEventId 演出活动ID
+     * @param queueToken 排队令牌
+     * @return 排队状态
+     */
+    Result<QueueStatusVO> getQueueStatus(Long userId, Long showEventId, String queueToken);
+
+    /**
+     * 订阅排队状态推送（SSE）
+     *
+     * @param userId 用户ID
+     * @param showEventId 演出活动ID
+     * @param queueToken 排队令牌
+     * @return SSE 发射器；排队令牌无效时返回 null
+     */
+    SseEmitter subscribeQueueStatus(Long userId, Long showEventId, String queueToken);
+
+    /**
+     * 获取 Redis 与 MySQL 库存对账进度指标
+     *
+     * @return 对账指标
+     */
+    Result<ReconcileMetricsVO> getReconcileMetrics();
+
+    /**
+     * 获取即将开票演出的预热就绪状态（本节点）
+     *
+     * @return 各演出预热状态
+     */
+    Result<List<PreWarmStatusVO>> getPreWarmStatuses();
+}
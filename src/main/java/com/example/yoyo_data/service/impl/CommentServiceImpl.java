@@ -9,13 +9,15 @@ import com.example.yoyo_data.common.entity.Comment;
 import com.example.yoyo_data.common.entity.Like;
 import com.example.yoyo_data.common.entity.Post;
 import com.example.yoyo_data.common.vo.CommentVO;
+import com.example.yoyo_data.common.vo.UserCardVO;
+import com.example.yoyo_data.infrastructure.cache.CacheKeyManager;
 import com.example.yoyo_data.infrastructure.cache.RedisService;
+import com.example.yoyo_data.infrastructure.cache.bloom.IdBloomFilters;
 import com.example.yoyo_data.infrastructure.message.KafkaProducerTemplate;
 import com.example.yoyo_data.infrastructure.message.MessageEvent;
 import com.example.yoyo_data.infrastructure.repository.CommentMapper;
 import com.example.yoyo_data.infrastructure.repository.PostMapper;
-import com.example.yoyo_data.infrastructure.repository.UserMapper;
-import com.example.yoyo_data.infrastructure.repository.UserProfileMapper;
+import com.example.yoyo_data.infrastructure.user.UserInfoLoader;
 import com.example.yoyo_data.service.CommentService;
 import com.example.yoyo_data.util.jwt.JwtUtils;
 import lombok.extern.slf4j.Slf4j;
@@ -49,15 +51,13 @@ public class CommentServiceImpl implements CommentService {
     private PostMapper postMapper;
 
     @Autowired
-    private UserMapper userMapper;
+    private IdBloomFilters idBloomFilters;
 
     @Autowired
-    private KafkaProducerTemplate kafkaProducerTemplate;
+    private UserInfoLoader userInfoLoader;
 
-    private static final String COMMENT_LIST_CACHE_PREFIX = "comment:list:";
-    private static final long CACHE_EXPIRE_TIME = 1800000L; // 30分钟
     @Autowired
-    private UserProfileMapper userProfileMapper;
+    private KafkaProducerTemplate kafkaProducerTemplate;
 
     /**
      * 创建评论
@@ -70,9 +70,13 @@ public class CommentServiceImpl implements CommentService {
         }
         Long userId = jwtUtils.getUserIdFromToken(token);
 
-        // 验证帖子是否存在
+        // 验证帖子是否存在，一定不存在的帖子ID不回源数据库
+        if (!idBloomFilters.mightContain(IdBloomFilters.POST, postId)) {
+            return Result.error("帖子不存在");
+        }
         Post post = postMapper.selectById(postId);
         if (post == null) {
+            idBloomFilters.recordFalsePositive(IdBloomFilters.POST);
             return Result.error("帖子不存在");
         }
 
@@ -110,8 +114,9 @@ public class CommentServiceImpl implements CommentService {
     public Result<Page<CommentVO>> getCommentList(Long postId, Integer page, Integer size, String sort) {
         try {
             // 尝试从Redis获取缓存
-            String cacheKey = COMMENT_LIST_CACHE_PREFIX + postId + ":" + page + ":" + size + ":" + sort;
-            String cachedData = redisService.stringGetString(cacheKey);
+            String cacheKey = redisService.namespaceKey(CacheKeyManager.commentListNamespace(postId),
+                    page + ":" + size + ":" + sort);
+            String cachedData = redisService.cacheGet(cacheKey);
 
             Page<CommentVO> commentVOPage;
             if (cachedData != null) {
@@ -133,26 +138,31 @@ public class CommentServiceImpl implements CommentService {
 
                 Page<Comment> commentPage = commentMapper.selectPage(pageParam, queryWrapper);
 
+                // 批量获取评论用户信息
+                Map<Long, UserCardVO> users = userInfoLoader.loadAll(commentPage.getRecords().stream()
+                        .map(Comment::getUserId).collect(Collectors.toList()));
+
                 // 构建Page<CommentVO>
                 commentVOPage = new Page<>(pageParam.getCurrent(), pageParam.getSize(), pageParam.getTotal());
-                List<CommentVO> commentVOStream = commentPage.getRecords().stream().map(
-                        comment -> CommentVO.builder()
-                                .id(comment.getId())
-                                .userId(comment.getUserId())
-                                .content(comment.getContent())
-                                .likeCount(comment.getLikeCount())
-                                .isDeleted(comment.getIsDeleted())
-                                .createdAt(comment.getCreatedAt())
-                                .updatedAt(comment.getUpdatedAt())
-                                .nickname(userProfileMapper.selectById(comment.getUserId()).getFullName())
-                                .avatar(userMapper.selectById(comment.getUserId()).getAvatarUrl())
-                                .parentId(comment.getParentId())
-                                .build()
-                ).collect(Collectors.toList());
+                List<CommentVO> commentVOStream = commentPage.getRecords().stream().map(comment -> {
+                    UserCardVO user = users.get(comment.getUserId());
+                    return CommentVO.builder()
+                            .id(comment.getId())
+                            .userId(comment.getUserId())
+                            .content(comment.getContent())
+                            .likeCount(comment.getLikeCount())
+                            .isDeleted(comment.getIsDeleted())
+                            .createdAt(comment.getCreatedAt())
+                            .updatedAt(comment.getUpdatedAt())
+                            .nickname(user != null ? user.getNickname() : null)
+                            .avatar(user != null ? user.getAvatarUrl() : null)
+                            .parentId(comment.getParentId())
+                            .build();
+                }).collect(Collectors.toList());
 
                 commentVOPage.setRecords(commentVOStream);
                 // 写入Redis缓存
-                redisService.stringSetString(cacheKey, JSON.toJSONString(commentVOPage), CACHE_EXPIRE_TIME);
+                redisService.cacheSet(cacheKey, JSON.toJSONString(commentVOPage));
                 log.debug("从数据库获取评论列表: postId={}, page={}, size={}, total={}",
                         postId, page, size, commentVOPage.getTotal());
             }
@@ -213,11 +223,8 @@ public class CommentServiceImpl implements CommentService {
      */
     private void clearCommentListCache(Long postId) {
         try {
-            Set<String> keys = redisService.keys(COMMENT_LIST_CACHE_PREFIX + postId + ":*");
-            if (keys != null && !keys.isEmpty()) {
-                redisService.delete(keys);
-                log.debug("清除评论列表缓存: postId={}, count={}", postId, keys.size());
-            }
+            redisService.invalidateNamespace(CacheKeyManager.commentListNamespace(postId));
+            log.debug("清除评论列表缓存: postId={}", postId);
         } catch (Exception e) {
             log.error("清除评论列表缓存失败: postId={}", postId, e);
         }
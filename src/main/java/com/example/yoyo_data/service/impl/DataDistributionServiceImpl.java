@@ -99,24 +99,23 @@ public class DataDistributionServiceImpl implements DataDistributionService {
         try {
             String streamKey = hotNewsCacheService.getHotNewsStreamKey(type) + ":" + level.getName();
             
-            // 清除旧的Stream数据
-            redisService.delete(streamKey);
-            
             // 根据等级确定分发数量
             int distributeCount = calculateDistributeCount(hotNewsDetails.size(), level);
             
-            // 发布数据到等级专属Stream
-            for (int i = 0; i < distributeCount && i < hotNewsDetails.size(); i++) {
-                HotNewsDetail detail = hotNewsDetails.get(i);
-                Map<String, Object> fields = new HashMap<>();
-                fields.put("title", detail.getTitle());
-                fields.put("hot", detail.getHot());
-                fields.put("url", detail.getUrl());
-                fields.put("index", i);
-                fields.put("detail", detail.toString());
-                
-                redisService.streamAdd(streamKey, fields);
-            }
+            // 清除旧的Stream数据并发布数据到等级专属Stream，同一管道内一次往返
+            redisService.pipeline(batch -> {
+                batch.streamClear(streamKey);
+                for (int i = 0; i < distributeCount && i < hotNewsDetails.size(); i++) {
+                    HotNewsDetail detail = hotNewsDetails.get(i);
+                    Map<String, Object> fields = new HashMap<>();
+                    fields.put("title", detail.getTitle());
+                    fields.put("hot", detail.getHot());
+                    fields.put("url", detail.getUrl());
+                    fields.put("index", i);
+                    fields.put("detail", detail.toString());
+                    batch.streamAdd(streamKey, fields);
+                }
+            });
             
             log.info("分发热点数据到等级 {} 成功，数量: {}, Stream键: {}", level.getName(), distributeCount, streamKey);
             return distributeCount;
@@ -0,0 +1,45 @@
+package com.example.yoyo_data.service.impl;
+
+import com.example.yoyo_data.common.dto.DialogSessionDTO;
+import com.example.yoyo_data.infrastructure.cache.CacheKeyManager;
+import com.example.yoyo_data.infrastructure.cache.aside.CacheEvict;
+import com.example.yoyo_data.infrastructure.cache.aside.Cached;
+import com.example.yoyo_data.infrastructure.repository.mongodb.DialogSessionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * 对话详情加载器 - 对话详情的旁路缓存读取与删除
+ * 缓存按对话ID共享，不做归属校验，调用方需校验对话归属
+ *
+ * @author Template Framework
+ * @version 1.0
+ */
+@Component
+public class DialogDetailLoader {
+
+    @Autowired
+    private DialogSessionRepository dialogSessionRepository;
+
+    /**
+     * 加载对话详情，过期时间按缓存策略
+     *
+     * @param dialogId 对话ID
+     * @return 对话详情，对话不存在时返回 null
+     */
+    @Cached(prefix = CacheKeyManager.DIALOG_CACHE_PREFIX, key = "#dialogId")
+    public DialogSessionDTO load(Long dialogId) {
+        return dialogSessionRepository.findById(String.valueOf(dialogId))
+                .map(DialogServiceImpl::convertToDTO)
+                .orElse(null);
+    }
+
+    /**
+     * 删除对话详情缓存
+     *
+     * @param dialogId 对话ID（数字或字符串形式）
+     */
+    @CacheEvict(prefix = CacheKeyManager.DIALOG_CACHE_PREFIX, key = "#dialogId")
+    public void evict(Object dialogId) {
+    }
+}
@@ -3,6 +3,7 @@ package com.example.yoyo_data.service.impl;
 import com.alibaba.fastjson.JSON;
 import com.example.yoyo_data.common.constant.EventType;
 import com.example.yoyo_data.common.constant.KafkaTopic;
+import com.example.yoyo_data.infrastructure.cache.CacheKeyManager;
 import com.example.yoyo_data.infrastructure.cache.RedisService;
 import com.example.yoyo_data.common.Result;
 import com.example.yoyo_data.common.document.DialogSession;
@@ -34,11 +35,10 @@ public class DialogServiceImpl implements DialogService {
     private RedisService redisService;
 
     @Autowired
-    private KafkaProducerTemplate kafkaProducerTemplate;
+    private DialogDetailLoader dialogDetailLoader;
 
-    private static final String DIALOG_CACHE_PREFIX = "dialog:";
-    private static final String DIALOG_LIST_CACHE_PREFIX = "dialog:list:";
-    private static final long CACHE_EXPIRE_TIME = 3600000L; // 1小时（毫秒）
+    @Autowired
+    private KafkaProducerTemplate kafkaProducerTemplate;
 
     /**
      * 从token中获取用户ID的辅助方法
@@ -110,8 +110,9 @@ public class DialogServiceImpl implements DialogService {
             }
 
             // 尝试从Redis获取缓存
-            String cacheKey = DIALOG_LIST_CACHE_PREFIX + userId + ":" + page + ":" + size + ":" + type + ":" + status;
-            String cachedData = redisService.stringGetString(cacheKey);
+            String cacheKey = redisService.namespaceKey(CacheKeyManager.dialogListNamespace(userId),
+                    page + ":" + size + ":" + type + ":" + status);
+            String cachedData = redisService.cacheGet(cacheKey);
             if (cachedData != null) {
                 log.info("从Redis缓存获取对话列表: userId={}", userId);
                 PageResponseDTO<DialogSessionDTO> result = JSON.parseObject(cachedData, PageResponseDTO.class);
@@ -139,7 +140,7 @@ public class DialogServiceImpl implements DialogService {
             List<DialogSession> pagedList = dialogList.subList(start, end);
 
             List<DialogSessionDTO> items = pagedList.stream()
-                    .map(this::convertToDTO)
+                    .map(DialogServiceImpl::convertToDTO)
                     .collect(Collectors.toList());
 
             PageResponseDTO<DialogSessionDTO> result = PageResponseDTO.<DialogSessionDTO>builder()
@@ -151,7 +152,7 @@ public class DialogServiceImpl implements DialogService {
                     .build();
 
             // 缓存到Redis
-            redisService.stringSetString(cacheKey, JSON.toJSONString(result), CACHE_EXPIRE_TIME);
+            redisService.cacheSet(cacheKey, JSON.toJSONString(result));
 
             log.info("从MongoDB获取对话列表成功: userId={}, page={}, size={}", userId, page, size);
             return Result.success(result);
@@ -170,28 +171,13 @@ public class DialogServiceImpl implements DialogService {
                 return Result.error("无效的token");
             }
 
-            // 尝试从Redis获取缓存
-            String cacheKey = DIALOG_CACHE_PREFIX + dialogId;
-            String cachedData = redisService.stringGetString(cacheKey);
-            if (cachedData != null) {
-                log.info("从Redis缓存获取对话详情: dialogId={}", dialogId);
-                DialogSessionDTO result = JSON.parseObject(cachedData, DialogSessionDTO.class);
-                return Result.success(result);
-            }
-
-            // 从MongoDB获取数据
-            Optional<DialogSession> dialogOpt = dialogSessionRepository.findByIdAndUserId(String.valueOf(dialogId), userId);
-            if (!dialogOpt.isPresent()) {
+            // 读取缓存，未命中时回源MongoDB（单飞加载，不存在的对话缓存空值）；缓存按对话ID共享，读取后校验归属
+            DialogSessionDTO result = dialogDetailLoader.load(dialogId);
+            if (result == null || !userId.equals(result.getUserId())) {
                 return Result.error("对话不存在或无权访问");
             }
 
-            DialogSession dialog = dialogOpt.get();
-            DialogSessionDTO result = convertToDTO(dialog);
-
-            // 缓存到Redis（热点数据）
-            redisService.stringSetString(cacheKey, JSON.toJSONString(result), CACHE_EXPIRE_TIME);
-
-            log.info("从MongoDB获取对话详情成功: dialogId={}, userId={}", dialogId, userId);
+            log.info("获取对话详情成功: dialogId={}, userId={}", dialogId, userId);
             return Result.success(result);
 
         } catch (Exception e) {
@@ -302,7 +288,7 @@ public class DialogServiceImpl implements DialogService {
             List<DialogSession.Message> pagedMessages = messages.subList(start, end);
 
             List<DialogSessionDTO.MessageDTO> items = pagedMessages.stream()
-                    .map(this::convertMessageToDTO)
+                    .map(DialogServiceImpl::convertMessageToDTO)
                     .collect(Collectors.toList());
 
             PageResponseDTO<DialogSessionDTO.MessageDTO> result = PageResponseDTO.<DialogSessionDTO.MessageDTO>builder()
@@ -411,11 +397,11 @@ public class DialogServiceImpl implements DialogService {
     /**
      * 将DialogSession转换为DTO
      */
-    private DialogSessionDTO convertToDTO(DialogSession dialog) {
+    static DialogSessionDTO convertToDTO(DialogSession dialog) {
         List<DialogSessionDTO.MessageDTO> messageDTOs = null;
         if (dialog.getMessages() != null) {
             messageDTOs = dialog.getMessages().stream()
-                    .map(this::convertMessageToDTO)
+                    .map(DialogServiceImpl::convertMessageToDTO)
                     .collect(Collectors.toList());
         }
 
@@ -440,7 +426,7 @@ public class DialogServiceImpl implements DialogService {
     /**
      * 将Message转换为DTO
      */
-    private DialogSessionDTO.MessageDTO convertMessageToDTO(DialogSession.Message message) {
+    private static DialogSessionDTO.MessageDTO convertMessageToDTO(DialogSession.Message message) {
         return DialogSessionDTO.MessageDTO.builder()
                 .id(message.getId())
                 .senderId(message.getSenderId())
@@ -457,18 +443,14 @@ public class DialogServiceImpl implements DialogService {
      * 清除对话缓存
      */
     private void clearDialogCache(Long dialogId) {
-        String cacheKey = DIALOG_CACHE_PREFIX + dialogId;
-        redisService.delete(cacheKey);
+        dialogDetailLoader.evict(dialogId);
     }
 
     /**
      * 清除对话列表缓存
      */
     private void clearDialogListCache(Long userId) {
-        Set<String> keys = redisService.keys(DIALOG_LIST_CACHE_PREFIX + userId + ":*");
-        if (keys != null && !keys.isEmpty()) {
-            redisService.delete(keys);
-        }
+        redisService.invalidateNamespace(CacheKeyManager.dialogListNamespace(userId));
     }
 
     /**
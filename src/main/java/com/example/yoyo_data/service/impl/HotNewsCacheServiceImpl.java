@@ -1,6 +1,7 @@
 package com.example.yoyo_data.service.impl;
 
 import com.example.yoyo_data.common.document.HotNewsDetail;
+import com.example.yoyo_data.infrastructure.cache.RedisService;
 import com.example.yoyo_data.service.HotNewsCacheService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -22,6 +23,9 @@ public class HotNewsCacheServiceImpl implements HotNewsCacheService {
     
     @Autowired
     private RedisTemplate<String, Object> redisTemplate;
+
+    @Autowired
+    private RedisService redisService;
     
 
     
@@ -45,22 +49,26 @@ public class HotNewsCacheServiceImpl implements HotNewsCacheService {
         try {
             String key = getHotNewsZSetKey(type);
             
-            // 1. 清除旧数据
-            redisTemplate.delete(key);
-            
-            // 2. 存入ZSET，score为hot值，member为序列化的HotNewsDetail对象
-            for (HotNewsDetail detail : hotNewsDetails) {
-                try {
-                    // 2.1 先取出hot的单位万
-                    String hotUnit = detail.getHot().substring(0,detail.getHot().length() - 1);
-                    double hotValue = Double.parseDouble(hotUnit);
-                    redisTemplate.opsForZSet().add(key, detail, hotValue);
-                } catch (NumberFormatException e) {
-                    // 2.2 如果转换失败，使用默认值0
-                    log.warn("转换hot值失败，使用默认值0，标题: {}", detail.getTitle());
-                    redisTemplate.opsForZSet().add(key, detail, 0);
+            // 清除旧数据后存入ZSET，score为hot值，member为序列化的HotNewsDetail对象，同一管道内一次往返
+            redisService.pipeline(batch -> {
+                // 1. 清除旧数据
+                batch.delete(key);
+                
+                // 2. 存入ZSET
+                for (HotNewsDetail detail : hotNewsDetails) {
+                    double hotValue;
+                    try {
+                        // 2.1 先取出hot的单位万
+                        String hotUnit = detail.getHot().substring(0,detail.getHot().length() - 1);
+                        hotValue = Double.parseDouble(hotUnit);
+                    } catch (NumberFormatException e) {
+                        // 2.2 如果转换失败，使用默认值0
+                        log.warn("转换hot值失败，使用默认值0，标题: {}", detail.getTitle());
+                        hotValue = 0;
+                    }
+                    batch.zAdd(key, detail, hotValue);
                 }
-            }
+            });
             
             log.info("保存热点数据到Redis ZSET成功，类型: {}, 数据条数: {}, 键: {}", type, hotNewsDetails.size(), key);
         } catch (Exception e) {
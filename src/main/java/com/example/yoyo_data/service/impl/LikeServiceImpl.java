@@ -4,33 +4,37 @@ import com.alibaba.fastjson.JSON;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.example.yoyo_data.common.Result;
+import com.example.yoyo_data.common.constant.EventType;
+import com.example.yoyo_data.common.constant.KafkaTopic;
+import com.example.yoyo_data.common.constant.LikeRankWindow;
 import com.example.yoyo_data.common.constant.ToggleType;
 import com.example.yoyo_data.common.entity.Comment;
 import com.example.yoyo_data.common.entity.Like;
 import com.example.yoyo_data.common.entity.Post;
-import com.example.yoyo_data.common.entity.Users;
 import com.example.yoyo_data.common.vo.LikeListVO;
 import com.example.yoyo_data.common.vo.LikeTopVO;
 import com.example.yoyo_data.common.vo.LikeUserInfoVO;
 import com.example.yoyo_data.common.vo.LikeToggleVO;
+import com.example.yoyo_data.common.vo.UserCardVO;
 import com.example.yoyo_data.infrastructure.cache.RedisService;
+import com.example.yoyo_data.infrastructure.cache.bloom.IdBloomFilters;
+import com.example.yoyo_data.infrastructure.like.LikeLeaderboard;
+import com.example.yoyo_data.infrastructure.like.LikeMembership;
 import com.example.yoyo_data.infrastructure.message.KafkaProducerTemplate;
 import com.example.yoyo_data.infrastructure.message.MessageEvent;
 import com.example.yoyo_data.infrastructure.repository.CommentMapper;
 import com.example.yoyo_data.infrastructure.repository.LikeMapper;
 import com.example.yoyo_data.infrastructure.repository.PostMapper;
-import com.example.yoyo_data.infrastructure.repository.UserMapper;
+import com.example.yoyo_data.infrastructure.user.UserInfoLoader;
 import com.example.yoyo_data.service.LikeService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 import static com.example.yoyo_data.infrastructure.cache.CacheKeyManager.*;
@@ -52,19 +56,25 @@ public class LikeServiceImpl implements LikeService {
     @Autowired
     private PostMapper postMapper;
 
+    @Autowired
+    private IdBloomFilters idBloomFilters;
+
     @Autowired
     private CommentMapper commentMapper;
 
     @Autowired
-    private UserMapper userMapper;
+    private UserInfoLoader userInfoLoader;
 
     @Autowired
     private KafkaProducerTemplate kafkaProducerTemplate;
 
-    private static final long CACHE_EXPIRE_TIME = 3600000L; // 1小时
+    @Autowired
+    private LikeMembership likeMembership;
+
+    @Autowired
+    private LikeLeaderboard likeLeaderboard;
 
     @Override
-    @Transactional(rollbackFor = Exception.class)
     public Result<LikeToggleVO> toggleLike(Long userId, Long targetId, String targetType) {
         try {
             // 1. 验证targetType
@@ -72,61 +82,26 @@ public class LikeServiceImpl implements LikeService {
                 return Result.error("无效的目标类型");
             }
 
-            // 验证目标是否存在
-            if (ToggleType.POST.equals(targetType)) {
-                Post post = postMapper.selectById(targetId);
-                if (post == null) {
-                    return Result.error("帖子不存在");
+            // 2. Redis 原子切换点赞状态，点赞记录和点赞数异步落库
+            LikeMembership.LikeToggleResult toggled = likeMembership.toggle(userId, targetType, targetId);
+            if (toggled == null) {
+                // 点赞用户未缓存：验证目标存在后从数据库加载再切换
+                Result<LikeToggleVO> notFound = checkTargetExists(targetId, targetType);
+                if (notFound != null) {
+                    return notFound;
                 }
-            } else {
-                Comment comment = commentMapper.selectById(targetId);
-                if (comment == null) {
-                    return Result.error("评论不存在");
+                likeMembership.load(targetType, targetId);
+                toggled = likeMembership.toggle(userId, targetType, targetId);
+                if (toggled == null) {
+                    return Result.error("点赞操作失败，请稍后重试");
                 }
             }
+            boolean isLiked = toggled.isLiked();
+            log.info("{}成功: userId={}, targetId={}, targetType={}", isLiked ? "点赞" : "取消点赞", userId, targetId, targetType);
 
-            // 查询是否已点赞
-            LambdaQueryWrapper<Like> queryWrapper = new LambdaQueryWrapper<>();
-            queryWrapper.eq(Like::getUserId, userId)
-                    .eq(Like::getTargetType, targetType)
-                    .eq(Like::getTargetId, targetId);
-
-            Like existingLike = likeMapper.selectOne(queryWrapper);
-            boolean isLiked;
-            int likeCount;
-
-            if (existingLike != null) {
-                // 已点赞，执行取消点赞
-                likeMapper.deleteById(existingLike.getId());
-                isLiked = false;
-
-                // 更新目标的点赞数(减1)
-                likeCount = updateTargetLikeCount(targetType, targetId, -1);
-
-                log.info("取消点赞成功: userId={}, targetId={}, targetType={}", userId, targetId, targetType);
-
-            } else {
-                // 未点赞，执行点赞
-                Like like = Like.builder()
-                        .userId(userId)
-                        .targetType(targetType)
-                        .targetId(targetId)
-                        .createdAt(LocalDateTime.now())
-                        .build();
-
-                likeMapper.insert(like);
-                isLiked = true;
-
-                // 更新目标的点赞数(加1)
-                likeCount = updateTargetLikeCount(targetType, targetId, 1);
-
-                log.info("点赞成功: userId={}, targetId={}, targetType={}", userId, targetId, targetType);
-            }
-
-            // 清除缓存
-            clearLikeCache(userId, targetId, targetType);
+            // 点赞列表读取 MySQL，其缓存由点赞记录回写在事务提交后失效
 
-            // 发送Kafka事件
+            // 发送Kafka事件（排行榜、通知由点赞事件消费者按窗口合并后更新）
             sendLikeEvent(userId, targetId, targetType, isLiked);
 
             LikeToggleVO result = LikeToggleVO.builder()
@@ -134,7 +109,7 @@ public class LikeServiceImpl implements LikeService {
                     .targetId(targetId)
                     .targetType(targetType)
                     .isLiked(isLiked)
-                    .likeCount(likeCount)
+                    .likeCount((int) toggled.getCount())
                     .build();
 
             return Result.success(result);
@@ -148,31 +123,10 @@ public class LikeServiceImpl implements LikeService {
     @Override
     public Result<LikeToggleVO> getLikeStatus(Long userId, Long targetId, String targetType) {
         try {
-            // 尝试从Redis获取缓存
-            String cacheKey = LIKE_STATUS_PREFIX + userId + ":" + targetType + ":" + targetId;
-            String cachedStatus = redisService.stringGetString(cacheKey);
-
-            boolean isLiked;
-            if (cachedStatus != null) {
-                isLiked = Boolean.parseBoolean(cachedStatus);
-                log.debug("从Redis获取点赞状态: userId={}, targetId={}, targetType={}, isLiked={}",
-                        userId, targetId, targetType, isLiked);
-            } else {
-                // 从数据库查询
-                LambdaQueryWrapper<Like> queryWrapper = new LambdaQueryWrapper<>();
-                queryWrapper.eq(Like::getUserId, userId)
-                        .eq(Like::getTargetType, targetType)
-                        .eq(Like::getTargetId, targetId);
-
-                Like like = likeMapper.selectOne(queryWrapper);
-                isLiked = (like != null);
-
-                // 写入Redis缓存
-                redisService.stringSetString(cacheKey, String.valueOf(isLiked), CACHE_EXPIRE_TIME);
-
-                log.debug("从数据库获取点赞状态: userId={}, targetId={}, targetType={}, isLiked={}",
-                        userId, targetId, targetType, isLiked);
-            }
+            // 点赞用户集合中查询，未缓存时从数据库整体加载
+            boolean isLiked = likeMembership.isLiked(userId, targetType, targetId);
+            log.debug("获取点赞状态: userId={}, targetId={}, targetType={}, isLiked={}",
+                    userId, targetId, targetType, isLiked);
 
             LikeToggleVO result = LikeToggleVO.builder()
                     .userId(userId)
@@ -189,12 +143,29 @@ public class LikeServiceImpl implements LikeService {
         }
     }
 
+    @Override
+    public Result<Map<Long, Boolean>> getLikeStatusBatch(Long userId, List<Long> targetIds, String targetType) {
+        try {
+            if (!ToggleType.POST.equals(targetType) && !ToggleType.COMMENT.equals(targetType)) {
+                return Result.error("无效的目标类型");
+            }
+            List<Long> distinctIds = targetIds.stream().distinct().collect(Collectors.toList());
+            Map<Long, Boolean> result = likeMembership.areLiked(userId, targetType, distinctIds);
+            log.debug("批量获取点赞状态: userId={}, targetType={}, size={}", userId, targetType, distinctIds.size());
+            return Result.success(result);
+
+        } catch (Exception e) {
+            log.error("批量获取点赞状态失败", e);
+            return Result.error("批量获取点赞状态失败: " + e.getMessage());
+        }
+    }
+
     @Override
     public Result<LikeListVO> getLikeList(Long targetId, String targetType, Integer page, Integer size) {
         try {
             // 尝试从Redis获取缓存
-            String cacheKey = LIKE_LIST_PREFIX + targetType + ":" + targetId + ":" + page + ":" + size;
-            String cachedData = redisService.stringGetString(cacheKey);
+            String cacheKey = redisService.namespaceKey(likeListNamespace(targetType, targetId), page + ":" + size);
+            String cachedData = redisService.cacheGet(cacheKey);
 
             LikeListVO result;
             if (cachedData != null) {
@@ -211,9 +182,11 @@ public class LikeServiceImpl implements LikeService {
 
                 Page<Like> likePage = likeMapper.selectPage(pageParam, queryWrapper);
 
-                // 获取用户信息
+                // 批量获取用户信息
+                Map<Long, UserCardVO> users = userInfoLoader.loadAll(likePage.getRecords().stream()
+                        .map(Like::getUserId).collect(Collectors.toList()));
                 List<LikeUserInfoVO> likeList = likePage.getRecords().stream().map(like -> {
-                    Users user = userMapper.selectById(like.getUserId());
+                    UserCardVO user = users.get(like.getUserId());
                     return LikeUserInfoVO.builder()
                             .userId(like.getUserId())
                             .username(user != null ? user.getUserName() : "未知用户")
@@ -230,7 +203,7 @@ public class LikeServiceImpl implements LikeService {
                         .build();
 
                 // 写入Redis缓存
-                redisService.stringSetString(cacheKey, JSON.toJSONString(result), CACHE_EXPIRE_TIME);
+                redisService.cacheSet(cacheKey, JSON.toJSONString(result));
 
                 log.debug("从数据库获取点赞列表: targetId={}, targetType={}, page={}, size={}, total={}",
                         targetId, targetType, page, size, likePage.getTotal());
@@ -245,26 +218,16 @@ public class LikeServiceImpl implements LikeService {
     }
 
     @Override
-    public Result<List<LikeTopVO>> getLikeRank(Integer top) {
+    public Result<List<LikeTopVO>> getLikeRank(Integer top, String window) {
         try {
-            LambdaQueryWrapper<Post> queryWrapper = new LambdaQueryWrapper<>();
-            // like_count 排序,取前top个值
-            queryWrapper.orderByDesc(Post::getLikeCount);
-            queryWrapper.last("LIMIT " + top);
-            List<Post> postList = postMapper.selectList(queryWrapper);
-            List<LikeTopVO> likeTopVOList = postList.stream().map(post -> LikeTopVO.builder()
-                    .targetId(post.getId())
-                    .targetType(ToggleType.POST)
-                    .title(post.getTitle())
-                    .content(post.getContent())
-                    .mediaUrls(post.getMediaUrls())
-                    .userId(post.getUserId())
-                    .status(post.getStatus())
-                    .likeCount(post.getLikeCount())
-                    .createdAt(post.getCreatedAt())
-                    .userName(userMapper.selectById(post.getUserId()).getUserName())
-                    .build()).collect(Collectors.toList());
-            log.debug("获取点赞排行榜: top={}", top);
+            if (!LikeRankWindow.DAILY.equals(window) && !LikeRankWindow.WEEKLY.equals(window)
+                    && !LikeRankWindow.ALL.equals(window)) {
+                return Result.error("无效的排行榜时间窗口");
+            }
+            int limit = top == null ? 10 : Math.min(Math.max(top, 1), LikeLeaderboard.SNAPSHOT_SIZE);
+            // 读取排行榜快照，不访问数据库
+            List<LikeTopVO> likeTopVOList = likeLeaderboard.getTop(window, limit);
+            log.debug("获取点赞排行榜: window={}, top={}, size={}", window, limit, likeTopVOList.size());
             return Result.success(likeTopVOList);
         } catch (Exception e) {
             log.error("获取点赞排行榜失败", e);
@@ -273,52 +236,27 @@ public class LikeServiceImpl implements LikeService {
     }
 
     /**
-     * 更新目标的点赞数
+     * 验证点赞目标是否存在
+     *
+     * @return 目标不存在时返回错误结果，存在时返回 null
      */
-    private int updateTargetLikeCount(String targetType, Long targetId, int delta) {
-        int newCount = 0;
+    private Result<LikeToggleVO> checkTargetExists(Long targetId, String targetType) {
         if (ToggleType.POST.equals(targetType)) {
+            if (!idBloomFilters.mightContain(IdBloomFilters.POST, targetId)) {
+                return Result.error("帖子不存在");
+            }
             Post post = postMapper.selectById(targetId);
-            if (post != null) {
-                newCount = Math.max(0, post.getLikeCount() + delta);
-                post.setLikeCount(newCount);
-                postMapper.updateById(post);
+            if (post == null) {
+                idBloomFilters.recordFalsePositive(IdBloomFilters.POST);
+                return Result.error("帖子不存在");
             }
-        } else if (ToggleType.COMMENT.equals(targetType)) {
+        } else {
             Comment comment = commentMapper.selectById(targetId);
-            if (comment != null) {
-                newCount = Math.max(0, comment.getLikeCount() + delta);
-                comment.setLikeCount(newCount);
-                commentMapper.updateById(comment);
-            }
-        }
-        return newCount;
-    }
-
-    /**
-     * 清除点赞相关缓存
-     */
-    private void clearLikeCache(Long userId, Long targetId, String targetType) {
-        try {
-            // 清除点赞状态缓存
-            String statusKey = LIKE_STATUS_PREFIX + userId + ":" + targetType + ":" + targetId;
-            redisService.delete(statusKey);
-
-            // 清除点赞数量缓存
-            String countKey = LIKE_COUNT_PREFIX + targetType + ":" + targetId;
-            redisService.delete(countKey);
-
-            // 清除点赞列表缓存
-            Set<String> listKeys = redisService.keys(LIKE_LIST_PREFIX + targetType + ":" + targetId + ":*");
-            if (listKeys != null && !listKeys.isEmpty()) {
-                redisService.delete(listKeys);
+            if (comment == null) {
+                return Result.error("评论不存在");
             }
-
-            log.debug("清除点赞缓存: userId={}, targetId={}, targetType={}", userId, targetId, targetType);
-
-        } catch (Exception e) {
-            log.error("清除点赞缓存失败: targetId={}, targetType={}", targetId, targetType, e);
         }
+        return null;
     }
 
     /**
@@ -334,7 +272,7 @@ public class LikeServiceImpl implements LikeService {
             eventData.put("timestamp", System.currentTimeMillis());
 
             MessageEvent event = MessageEvent.builder()
-                    .eventType(isLiked ? "LIKE" : "UNLIKE")
+                    .eventType(isLiked ? EventType.LIKE : EventType.UNLIKE)
                     .source("LikeService")
                     .userId(userId)
                     .data(JSON.toJSONString(eventData))
@@ -343,7 +281,8 @@ public class LikeServiceImpl implements LikeService {
                     .priority(6)
                     .build();
 
-            kafkaProducerTemplate.sendEvent("like-events", event);
+            // 按目标ID作为消息键，同一目标的点赞事件有序
+            kafkaProducerTemplate.sendEvent(KafkaTopic.LIKE_EVENTS, String.valueOf(targetId), event);
 
             log.debug("发送点赞事件成功: userId={}, targetId={}, targetType={}, isLiked={}",
                     userId, targetId, targetType, isLiked);
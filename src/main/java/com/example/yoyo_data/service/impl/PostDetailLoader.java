@@ -0,0 +1,75 @@
+package com.example.yoyo_data.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.example.yoyo_data.common.entity.Post;
+import com.example.yoyo_data.common.entity.Tag;
+import com.example.yoyo_data.infrastructure.cache.CacheKeyManager;
+import com.example.yoyo_data.infrastructure.cache.aside.CacheEvict;
+import com.example.yoyo_data.infrastructure.cache.aside.Cached;
+import com.example.yoyo_data.infrastructure.cache.bloom.IdBloomFilters;
+import com.example.yoyo_data.infrastructure.repository.PostMapper;
+import com.example.yoyo_data.infrastructure.repository.TagMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 帖子详情加载器 - 帖子详情（含标签）的旁路缓存读取与删除
+ *
+ * @author Template Framework
+ * @version 1.0
+ */
+@Component
+public class PostDetailLoader {
+
+    @Autowired
+    private PostMapper postMapper;
+
+    @Autowired
+    private TagMapper tagMapper;
+
+    @Autowired
+    private IdBloomFilters idBloomFilters;
+
+    /**
+     * 加载帖子详情，过期时间按缓存策略，存活超过最短过期时间的 80% 后后台刷新。
+     * 布隆过滤器由调用方在读取缓存之前判断，被过滤器拒绝的ID不会写入空值缓存
+     *
+     * @param postId 帖子ID
+     * @return 帖子详情，帖子不存在时返回 null
+     */
+    @Cached(prefix = CacheKeyManager.POST_DETAIL_PREFIX, key = "#postId", refreshAhead = 0.8)
+    public Post load(Long postId) {
+        Post post = postMapper.selectById(postId);
+        if (post == null) {
+            // 调用方已经过布隆过滤器判断，数据库不存在说明是误判
+            idBloomFilters.recordFalsePositive(IdBloomFilters.POST);
+            return null;
+        }
+
+        Post postDetail = PostServiceImpl.getPost(post);
+
+        // 获取帖子标签
+        List<Tag> tags = tagMapper.selectList(
+                new LambdaQueryWrapper<Tag>()
+                        .inSql(Tag::getId, "SELECT tag_id FROM post_tags WHERE post_id = " + postId)
+        );
+        List<String> tagNames = new ArrayList<>();
+        for (Tag tag : tags) {
+            tagNames.add(tag.getName());
+        }
+        postDetail.setTags(tagNames);
+        return postDetail;
+    }
+
+    /**
+     * 删除帖子详情缓存
+     *
+     * @param postId 帖子ID
+     */
+    @CacheEvict(prefix = CacheKeyManager.POST_DETAIL_PREFIX, key = "#postId")
+    public void evict(Long postId) {
+    }
+}
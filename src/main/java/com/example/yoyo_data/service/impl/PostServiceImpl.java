@@ -6,6 +6,8 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.example.yoyo_data.common.dto.JwtUserDTO;
 import com.example.yoyo_data.common.dto.PostPageDTO;
 import com.example.yoyo_data.infrastructure.cache.RedisService;
+import com.example.yoyo_data.infrastructure.cache.bloom.IdBloomFilters;
+import com.example.yoyo_data.infrastructure.like.LikeLeaderboard;
 import com.example.yoyo_data.common.Result;
 import com.example.yoyo_data.common.dto.request.CreatePostRequest;
 import com.example.yoyo_data.common.dto.request.UpdatePostRequest;
@@ -41,6 +43,9 @@ public class PostServiceImpl implements PostService {
     @Autowired
     private RedisService redisService;
 
+    @Autowired
+    private PostDetailLoader postDetailLoader;
+
     @Autowired
     private PostMapper postMapper;
 
@@ -50,14 +55,21 @@ public class PostServiceImpl implements PostService {
     @Autowired
     private PostTagMapper postTagMapper;
 
+    @Autowired
+    private IdBloomFilters idBloomFilters;
+
+    @Autowired
+    private LikeLeaderboard likeLeaderboard;
+
     @Override
     public Result<?> getPostList(Integer page, Integer size, String category) {
         try {
             // 缓存键
-            String cacheKey = "post:list:" + page + ":" + size + ":" + (category != null ? category : "all");
+            String cacheKey = redisService.namespaceKey(POST_LIST_PREFIX,
+                    page + ":" + size + ":" + (category != null ? category : "all"));
 
             // 尝试从缓存获取
-            String cachedPostList = redisService.stringGetString(cacheKey);
+            String cachedPostList = redisService.cacheGet(cacheKey);
             if (cachedPostList != null) {
                 Post result = JSON.parseObject(cachedPostList, Post.class);
                 log.info("从缓存获取帖子列表成功: page={}, size={}, category={}", page, size, category);
@@ -109,8 +121,8 @@ public class PostServiceImpl implements PostService {
             postPageDTO.setSize(size);
             postPageDTO.setCategory(category);
 
-            // 存入缓存，设置过期时间为10分钟
-            redisService.stringSetString(cacheKey, JSON.toJSONString(postPageDTO), 3600L);
+            // 存入缓存，过期时间按缓存策略
+            redisService.cacheSet(cacheKey, JSON.toJSONString(postPageDTO));
 
             log.info("获取帖子列表成功: page={}, size={}, category={}", page, size, category);
             return Result.success(postPageDTO);
@@ -121,7 +133,7 @@ public class PostServiceImpl implements PostService {
         }
     }
 
-    private static Post getPost(Post post) {
+    static Post getPost(Post post) {
         Post postInfo = new Post();
         postInfo.setId(post.getId());
         postInfo.setUserId(post.getUserId());
@@ -139,39 +151,16 @@ public class PostServiceImpl implements PostService {
     @Override
     public Result<?> getPostDetail(Long postId) {
         try {
-            // 缓存键
-            String cacheKey = "post:detail:" + postId;
-
-            // 尝试从缓存获取
-            String cachedPostDetail = redisService.stringGetString(cacheKey);
-            if (cachedPostDetail != null) {
-                Map<String, Object> postDetail = JSON.parseObject(cachedPostDetail, Map.class);
-                log.info("从缓存获取帖子详情成功: postId={}", postId);
-                return Result.success(postDetail);
-            }
-
-            // 从数据库获取帖子详情
-            Post post = postMapper.selectById(postId);
-            if (post == null) {
+            // 一定不存在的帖子ID直接拒绝，不读缓存也不写空值：过滤器拒绝只代表本节点的判断，
+            // 缓存空值会让其他节点刚创建的帖子在空值过期前都读不到
+            if (!idBloomFilters.mightContain(IdBloomFilters.POST, postId)) {
                 return Result.error("帖子不存在");
             }
-
-            // 构建响应数据
-            Post postDetail = getPost(post);
-
-            // 获取帖子标签
-            List<Tag> tags = tagMapper.selectList(
-                    new com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper<Tag>()
-                            .inSql(Tag::getId, "SELECT tag_id FROM post_tags WHERE post_id = " + postId)
-            );
-            List<String> tagNames = new ArrayList<>();
-            for (Tag tag : tags) {
-                tagNames.add(tag.getName());
+            // 读取缓存，未命中时回源数据库（单飞加载，数据库中不存在的帖子缓存空值）
+            Post postDetail = postDetailLoader.load(postId);
+            if (postDetail == null) {
+                return Result.error("帖子不存在");
             }
-            postDetail.setTags(tagNames);
-
-            // 存入缓存，设置过期时间为30分钟
-            redisService.stringSetString(cacheKey, JSON.toJSONString(postDetail), 1800L);
 
             log.info("获取帖子详情成功: postId={}", postId);
             return Result.success(postDetail);
@@ -196,6 +185,9 @@ public class PostServiceImpl implements PostService {
 
             // 保存帖子到数据库
             postMapper.insert(post);
+            idBloomFilters.put(IdBloomFilters.POST, post.getId());
+            // 清除创建前可能缓存的空值
+            postDetailLoader.evict(post.getId());
 
             // 处理标签
             List<String> tags = request.getTags();
@@ -229,7 +221,7 @@ public class PostServiceImpl implements PostService {
             Post result = getPost(post);
 
             // 清除帖子列表缓存
-            redisService.delByKeyPrefix(POST_LIST_PREFIX);
+            redisService.invalidateNamespace(POST_LIST_PREFIX);
 
             log.info("创建帖子成功: userId={}, title={}", userId, request.getTitle());
             return Result.success(result);
@@ -301,9 +293,11 @@ public class PostServiceImpl implements PostService {
             Post result = getPost(post);
 
             // 清除帖子详情缓存
-            redisService.delete(POST_DETAIL_PREFIX + postId);
+            postDetailLoader.evict(postId);
             // 清除帖子列表缓存
-            redisService.delByKeyPrefix(POST_LIST_PREFIX);
+            redisService.invalidateNamespace(POST_LIST_PREFIX);
+            // 点赞排行榜重新加载帖子信息
+            likeLeaderboard.evictCard(postId);
 
             log.info("更新帖子成功: postId={}, userId={}", postId, userId);
             return Result.success(result);
@@ -338,9 +332,11 @@ public class PostServiceImpl implements PostService {
             postMapper.deleteById(postId);
 
             // 清除帖子详情缓存
-            redisService.delete(POST_DETAIL_PREFIX + postId);
+            postDetailLoader.evict(postId);
             // 清除帖子列表缓存
-            redisService.delByKeyPrefix(POST_LIST_PREFIX);
+            redisService.invalidateNamespace(POST_LIST_PREFIX);
+            // 移出点赞排行榜
+            likeLeaderboard.remove(postId);
 
             log.info("删除帖子成功: postId={}, userId={}", postId, userId);
             return Result.success("删除帖子成功");
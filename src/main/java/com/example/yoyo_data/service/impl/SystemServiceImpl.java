@@ -1,7 +1,15 @@
 package com.example.yoyo_data.service.impl;
 
 import com.example.yoyo_data.common.Result;
+import com.example.yoyo_data.common.vo.BloomFilterMetricsVO;
+import com.example.yoyo_data.common.vo.CacheFootprintVO;
+import com.example.yoyo_data.common.vo.LikeEventMetricsVO;
+import com.example.yoyo_data.common.vo.TieredCacheMetricsVO;
 import com.example.yoyo_data.infrastructure.cache.RedisService;
+import com.example.yoyo_data.infrastructure.cache.bloom.IdBloomFilters;
+import com.example.yoyo_data.infrastructure.cache.policy.CacheFootprintSampler;
+import com.example.yoyo_data.infrastructure.cache.tiered.TieredCache;
+import com.example.yoyo_data.infrastructure.message.consumer.LikeEventConsumer;
 import com.example.yoyo_data.service.SystemService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,9 +24,14 @@ import java.lang.management.MemoryMXBean;
 import java.lang.management.OperatingSystemMXBean;
 import java.sql.Connection;
 import java.text.DecimalFormat;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
+import static com.example.yoyo_data.infrastructure.cache.CacheKeyManager.*;
+
 /**
  * 系统服务实现类
  * 提供真实的系统监控和健康检查功能
@@ -42,8 +55,37 @@ public class SystemServiceImpl implements SystemService {
     @Autowired(required = false)
     private KafkaTemplate<String, String> kafkaTemplate;
 
+    @Autowired
+    private IdBloomFilters idBloomFilters;
+
+    @Autowired
+    private LikeEventConsumer likeEventConsumer;
+
+    @Autowired
+    private TieredCache tieredCache;
+
+    @Autowired
+    private CacheFootprintSampler cacheFootprintSampler;
+
     private static final DecimalFormat DF = new DecimalFormat("0.00");
 
+    /**
+     * 系统缓存清理的范围：可从数据库重建的列表、详情和信息卡片缓存
+     */
+    private static final List<String> CLEANABLE_CACHE_PATTERNS = Arrays.asList(
+            POST_LIST_PREFIX + ":*",
+            POST_DETAIL_PREFIX + "*",
+            COMMENT_LIST_PREFIX + "*",
+            LIKE_LIST_PREFIX + "*",
+            DIALOG_LIST_CACHE_PREFIX + "*",
+            TRAVEL_PLAN_LIST_PREFIX + "*",
+            USER_CARD_PREFIX + "*");
+
+    /**
+     * 缓存清理每批删除的 key 数
+     */
+    private static final int CLEAN_BATCH_SIZE = 500;
+
     @Override
     public Result<?> getSystemInfo() {
         try {
@@ -142,19 +184,27 @@ public class SystemServiceImpl implements SystemService {
     public Result<?> cleanSystemCache() {
         try {
             long clearedSize = 0;
+            Map<String, Long> clearedByPattern = new LinkedHashMap<>();
+            Long keyCountBefore = null;
+            Long keyCountAfter = null;
 
-            // 清理Redis缓存
+            // 清理Redis中可重建的列表/详情缓存（SCAN + UNLINK，不阻塞 Redis）
             if (redisService != null) {
                 try {
-                    // 获取缓存key数量
-                    Long keyCount = redisService.dbSize();
-                    log.info("清理前Redis Key数量: {}", keyCount);
-
-                    // 这里只是示例,实际应该根据业务需要选择性清理
-                    // 例如清理过期的缓存、临时缓存等
-                    // redisService.flushDb(); // 慎用,会清空整个数据库
-
-                    clearedSize = keyCount != null ? keyCount : 0;
+                    keyCountBefore = redisService.dbSize();
+                    log.info("清理前Redis Key数量: {}", keyCountBefore);
+
+                    for (String pattern : CLEANABLE_CACHE_PATTERNS) {
+                        long deleted = redisService.deleteByPattern(pattern, CLEAN_BATCH_SIZE,
+                                progress -> log.debug("清理缓存进度: pattern={}, deleted={}", pattern, progress));
+                        clearedByPattern.put(pattern, deleted);
+                        clearedSize += deleted;
+                    }
+                    // 帖子详情同时清空各节点的本地缓存
+                    tieredCache.invalidateLocal(POST_DETAIL_PREFIX);
+
+                    keyCountAfter = redisService.dbSize();
+                    log.info("清理后Redis Key数量: {}", keyCountAfter);
                 } catch (Exception e) {
                     log.error("清理Redis缓存失败", e);
                 }
@@ -167,6 +217,9 @@ public class SystemServiceImpl implements SystemService {
             result.put("status", "success");
             result.put("message", "系统缓存清理成功");
             result.put("clearedKeys", clearedSize);
+            result.put("clearedByPattern", clearedByPattern);
+            result.put("keyCountBefore", keyCountBefore);
+            result.put("keyCountAfter", keyCountAfter);
             result.put("timestamp", System.currentTimeMillis());
 
             log.info("清理系统缓存成功");
@@ -197,6 +250,31 @@ public class SystemServiceImpl implements SystemService {
         }
     }
 
+    @Override
+    public Result<List<BloomFilterMetricsVO>> getBloomFilterMetrics() {
+        return Result.success(idBloomFilters.getMetrics());
+    }
+
+    @Override
+    public Result<LikeEventMetricsVO> getLikeEventMetrics() {
+        return Result.success(likeEventConsumer.getMetrics());
+    }
+
+    @Override
+    public Result<List<TieredCacheMetricsVO>> getTieredCacheMetrics() {
+        return Result.success(tieredCache.getMetrics());
+    }
+
+    @Override
+    public Result<List<CacheFootprintVO>> getCacheFootprint() {
+        try {
+            return Result.success(cacheFootprintSampler.sample());
+        } catch (Exception e) {
+            log.error("采样缓存内存占用失败", e);
+            return Result.error("采样缓存内存占用失败: " + e.getMessage());
+        }
+    }
+
     /**
      * 检查数据库健康状态
      */
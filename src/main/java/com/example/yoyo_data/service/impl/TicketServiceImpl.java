@@ -0,0 +1,570 @@
+package com.example.yoyo_data.service.impl;
+
+import com.alibaba.fastjson.JSON;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.example.yoyo_data.common.Result;
+import com.example.yoyo_data.common.constant.KafkaTopic;
+import com.example.yoyo_data.common.constant.OrderStatus;
+import com.example.yoyo_data.common.constant.ShowEventStatus;
+import com.example.yoyo_data.common.constant.TicketRedisKey;
+import com.example.yoyo_data.common.dto.GrabTicketDTO;
+import com.example.yoyo_data.common.dto.PayOrderDTO;
+import com.example.yoyo_data.common.entity.ShowEvent;
+import com.example.yoyo_data.common.entity.TicketOrder;
+import com.example.yoyo_data.common.entity.UserTicketRecord;
+import com.example.yoyo_data.common.vo.PreWarmStatusVO;
+import com.example.yoyo_data.common.vo.QueueStatusVO;
+import com.example.yoyo_data.common.vo.ReconcileMetricsVO;
+import com.example.yoyo_data.common.vo.SeatMapLayoutVO;
+import com.example.yoyo_data.common.vo.ShowEventVO;
+import com.example.yoyo_data.common.vo.TicketOrderVO;
+import com.example.yoyo_data.infrastructure.cache.RedisService;
+import com.example.yoyo_data.infrastructure.cache.bloom.IdBloomFilters;
+import com.example.yoyo_data.infrastructure.id.OrderNoFormatter;
+import com.example.yoyo_data.infrastructure.id.SnowflakeIdentifierGenerator;
+import com.example.yoyo_data.infrastructure.message.KafkaProducerTemplate;
+import com.example.yoyo_data.infrastructure.message.ticket.TicketOrderMessageEvent;
+import com.example.yoyo_data.infrastructure.repository.ShowEventMapper;
+import com.example.yoyo_data.infrastructure.repository.TicketOrderMapper;
+import com.example.yoyo_data.infrastructure.repository.UserTicketRecordMapper;
+import com.example.yoyo_data.infrastructure.ticket.OrderExpiryScheduler;
+import com.example.yoyo_data.infrastructure.ticket.SeatInventoryManager;
+import com.example.yoyo_data.infrastructure.ticket.SeatInventoryManager.ConfirmStatus;
+import com.example.yoyo_data.infrastructure.ticket.SeatInventoryManager.GrabOutcome;
+import com.example.yoyo_data.infrastructure.ticket.ShowEventPreWarmer;
+import com.example.yoyo_data.infrastructure.ticket.ShowEventWarmer;
+import com.example.yoyo_data.infrastructure.ticket.reconcile.InventoryReconciler;
+import com.example.yoyo_data.infrastructure.ticket.seatmap.SeatBitmap;
+import com.example.yoyo_data.infrastructure.ticket.seatmap.SeatMapManager;
+import com.example.yoyo_data.infrastructure.ticket.seatmap.SeatMapSnapshot;
+import com.example.yoyo_data.infrastructure.ticket.waitingroom.QueueTokenCodec.QueueToken;
+import com.example.yoyo_data.infrastructure.ticket.waitingroom.WaitingRoomManager;
+import com.example.yoyo_data.service.TicketService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 抢票服务实现类
+ * 座位裁决全部在 Redis Lua 脚本中完成，抢票、支付、取消结果通过 Kafka 批量写入 MySQL，
+ * 客户端通过订单状态接口轮询落库进度
+ */
+@Slf4j
+@Service
+public class TicketServiceImpl implements TicketService {
+
+    /**
+     * 自动选座的最大尝试次数（分配到的座位被抢占时重新分配）
+     */
+    private static final int AUTO_ALLOCATE_ATTEMPTS = 3;
+
+    @Autowired
+    private RedisService redisService;
+
+    @Autowired
+    private ShowEventMapper showEventMapper;
+
+    @Autowired
+    private TicketOrderMapper ticketOrderMapper;
+
+    @Autowired
+    private UserTicketRecordMapper userTicketRecordMapper;
+
+    @Autowired
+    private SeatInventoryManager seatInventoryManager;
+
+    @Autowired
+    private OrderExpiryScheduler orderExpiryScheduler;
+
+    @Autowired
+    private SeatMapManager seatMapManager;
+
+    @Autowired
+    private WaitingRoomManager waitingRoomManager;
+
+    @Autowired
+    private InventoryReconciler inventoryReconciler;
+
+    @Autowired
+    private ShowEventPreWarmer showEventPreWarmer;
+
+    @Autowired
+    private ShowEventWarmer showEventWarmer;
+
+    @Autowired
+    private SnowflakeIdentifierGenerator identifierGenerator;
+
+    @Autowired
+    private KafkaProducerTemplate kafkaProducerTemplate;
+
+    @Autowired
+    private IdBloomFilters idBloomFilters;
+
+    @Override
+    public Result<ShowEventVO> warmUpShowEvent(Long showEventId) {
+        try {
+            ShowEvent showEvent = showEventMapper.selectById(showEventId);
+            if (showEvent == null) {
+                return Result.notFound("演出不存在");
+            }
+            Long stock = showEventWarmer.warmUp(showEvent);
+            if (stock == null) {
+                return Result.error(503, "库存预热正在进行中或订单尚未全部落库，请稍后重试");
+            }
+
+            ShowEventVO result = toShowEventVO(showEvent);
+            result.setAvailableSeats(stock.intValue());
+            return Result.success(result);
+
+        } catch (Exception e) {
+            log.error("预热演出库存失败: showEventId={}", showEventId, e);
+            return Result.error("预热演出库存失败: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Result<TicketOrderVO> grabTicket(Long userId, GrabTicketDTO grabTicketDTO) {
+        Long showEventId = grabTicketDTO.getShowEventId();
+        try {
+            // 未指定座位时按区域和数量自动选座
+            List<Long> seatIds = grabTicketDTO.getSeatIds() != null
+                    ? grabTicketDTO.getSeatIds().stream().distinct().collect(Collectors.toList())
+                    : new ArrayList<>();
+            boolean autoAllocate = seatIds.isEmpty();
+            if (autoAllocate && (grabTicketDTO.getSeatZone() == null || grabTicketDTO.getSeatCount() == null)) {
+                return Result.badRequest("请选择座位，或指定座位区域和数量");
+            }
+            if (!autoAllocate && seatIds.size() != grabTicketDTO.getSeatIds().size()) {
+                return Result.badRequest("座位列表存在重复");
+            }
+            int seatCount = autoAllocate ? grabTicketDTO.getSeatCount() : seatIds.size();
+
+            // 1. 演出信息走缓存，校验售票窗口
+            ShowEvent showEvent = getShowEvent(showEventId);
+            if (showEvent == null) {
+                return Result.notFound("演出不存在");
+            }
+            LocalDateTime now = LocalDateTime.now();
+            if (ShowEventStatus.ENDED.equals(showEvent.getStatus())
+                    || (showEvent.getSaleEndTime() != null && now.isAfter(showEvent.getSaleEndTime()))) {
+                return Result.badRequest("售票已结束");
+            }
+            if (showEvent.getSaleStartTime() != null && now.isBefore(showEvent.getSaleStartTime())) {
+                return Result.badRequest("尚未开票");
+            }
+            if (!autoAllocate && !seatsMightExist(showEventId, seatIds)) {
+                return Result.badRequest("座位不存在");
+            }
+
+            // 2. 首次抢票时把用户已购数加载到 Redis，后续限购检查全部在 Lua 中完成；
+            //    开票前已整体预热的演出，Redis 中没有记录即未购票，不再回源数据库
+            if (!seatInventoryManager.hasUserRecord(userId, showEventId)) {
+                int ticketCount = 0;
+                if (!seatInventoryManager.isUserRecordsWarmedUp(showEventId)) {
+                    UserTicketRecord record = userTicketRecordMapper.selectOne(new LambdaQueryWrapper<UserTicketRecord>()
+                            .eq(UserTicketRecord::getUserId, userId)
+                            .eq(UserTicketRecord::getShowEventId, showEventId));
+                    ticketCount = record != null ? record.getTicketCount() : 0;
+                }
+                seatInventoryManager.initUserRecord(userId, showEventId, ticketCount, TicketRedisKey.SHOW_DETAIL_EXPIRE);
+            }
+
+            // 3. Redis 原子裁决；自动选座时座位由本节点座位图分配，
+            //    分配到的座位已被其他节点抢占时标记冲突座位并重新分配，客户端无需重试
+            Long orderId = identifierGenerator.nextId();
+            LocalDateTime expireTime = now.plusSeconds(TicketRedisKey.SEAT_LOCK_TIME);
+            GrabOutcome outcome = null;
+            int attempts = autoAllocate ? AUTO_ALLOCATE_ATTEMPTS : 1;
+            for (int attempt = 0; attempt < attempts; attempt++) {
+                if (autoAllocate) {
+                    seatIds = seatMapManager.allocate(showEventId, grabTicketDTO.getSeatZone(), seatCount);
+                    if (seatIds == null) {
+                        outcome = null;
+                        break;
+                    }
+                }
+                outcome = seatInventoryManager.tryGrab(showEventId, userId, orderId,
+                        showEvent.getMaxBuyLimit(), seatIds, expireTime);
+                if (outcome.getStatus() == SeatInventoryManager.GrabStatus.NOT_WARMED_UP) {
+                    if (showEventWarmer.warmUpInventory(showEvent) == null) {
+                        if (autoAllocate) {
+                            seatMapManager.cancelAllocation(showEventId, seatIds);
+                        }
+                        return Result.error(503, "库存预热中，请稍后重试");
+                    }
+                    outcome = seatInventoryManager.tryGrab(showEventId, userId, orderId,
+                            showEvent.getMaxBuyLimit(), seatIds, expireTime);
+                }
+                if (!autoAllocate || outcome.isSuccess()) {
+                    break;
+                }
+                if (outcome.getStatus() == SeatInventoryManager.GrabStatus.SEAT_UNAVAILABLE) {
+                    seatMapManager.apply(showEventId, outcome.getConflictSeatIds(), SeatBitmap.LOCKED);
+                }
+                seatMapManager.cancelAllocation(showEventId, seatIds);
+                if (outcome.getStatus() != SeatInventoryManager.GrabStatus.SEAT_UNAVAILABLE) {
+                    break;
+                }
+            }
+            if (outcome == null) {
+                return Result.badRequest("该区域没有" + seatCount + "个相邻的可售座位");
+            }
+
+            switch (outcome.getStatus()) {
+                case SUCCESS:
+                    break;
+                case OVER_LIMIT:
+                    return Result.badRequest("超出每人限购数量: " + showEvent.getMaxBuyLimit());
+                case SOLD_OUT:
+                    return Result.badRequest("余票不足");
+                case SEAT_UNAVAILABLE:
+                    return Result.error(400, "座位已被抢占: " + outcome.getConflictSeatIds(), TicketOrderVO.builder()
+                            .showEventId(showEventId)
+                            .conflictSeatIds(outcome.getConflictSeatIds())
+                            .build());
+                default:
+                    return Result.error(503, "库存预热中，请稍后重试");
+            }
+
+            // 4. 裁决成功，订单事件投递到 Kafka 批量落库，按演出分区保证同一演出内有序
+            TicketOrder order = TicketOrder.builder()
+                    .id(orderId)
+                    .orderNo(OrderNoFormatter.format(orderId))
+                    .showEventId(showEventId)
+                    .userId(userId)
+                    .seatCount(seatIds.size())
+                    .status(OrderStatus.PENDING)
+                    .expireTime(expireTime)
+                    .contactName(grabTicketDTO.getContactName())
+                    .contactPhone(grabTicketDTO.getContactPhone())
+                    .contactIdCard(grabTicketDTO.getContactIdCard())
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build();
+            TicketOrderMessageEvent event = TicketOrderMessageEvent.buildAdmittedEvent(order, seatIds);
+            if (!kafkaProducerTemplate.sendObjectAndWait(KafkaTopic.TICKET_ORDER_EVENTS, String.valueOf(showEventId), event)) {
+                seatInventoryManager.release(showEventId, userId, orderId, seatIds, OrderStatus.CANCELLED);
+                orderExpiryScheduler.cancel(orderId);
+                if (autoAllocate) {
+                    seatMapManager.cancelAllocation(showEventId, seatIds);
+                }
+                return Result.error(503, "系统繁忙，请稍后重试");
+            }
+            orderExpiryScheduler.schedule(orderId, expireTime);
+            log.info("抢票成功: userId={}, showEventId={}, orderId={}, seatIds={}", userId, showEventId, orderId, seatIds);
+
+            TicketOrderVO result = TicketOrderVO.builder()
+                    .id(orderId)
+                    .orderNo(order.getOrderNo())
+                    .showEventId(showEventId)
+                    .showName(showEvent.getShowName())
+                    .venueName(showEvent.getVenueName())
+                    .showTime(showEvent.getShowTime())
+                    .seatCount(seatIds.size())
+                    .status(OrderStatus.PENDING)
+                    .persisted(false)
+                    .expireTime(expireTime)
+                    .contactName(grabTicketDTO.getContactName())
+                    .contactPhone(grabTicketDTO.getContactPhone())
+                    .createdAt(now)
+                    .build();
+            return Result.success(result);
+
+        } catch (Exception e) {
+            log.error("抢票失败: userId={}, showEventId={}", userId, showEventId, e);
+            return Result.error("抢票失败: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Result<TicketOrderVO> getOrderStatus(Long userId, Long orderId) {
+        try {
+            Map<Object, Object> state = seatInventoryManager.getOrderState(orderId);
+            if (state.get(TicketRedisKey.ORDER_FIELD_STATUS) != null) {
+                if (!String.valueOf(userId).equals(state.get("userId"))) {
+                    return Result.notFound("订单不存在");
+                }
+                return Result.success(toTicketOrderVO(orderId, state));
+            }
+
+            // Redis 中的订单状态已过期，回源数据库
+            TicketOrder order = ticketOrderMapper.selectById(orderId);
+            if (order == null || !userId.equals(order.getUserId())) {
+                return Result.notFound("订单不存在");
+            }
+            TicketOrderVO result = TicketOrderVO.builder()
+                    .id(order.getId())
+                    .orderNo(order.getOrderNo())
+                    .showEventId(order.getShowEventId())
+                    .seatCount(order.getSeatCount())
+                    .totalAmount(order.getTotalAmount())
+                    .status(order.getStatus())
+                    .persisted(true)
+                    .payType(order.getPayType())
+                    .payTime(order.getPayTime())
+                    .expireTime(order.getExpireTime())
+                    .contactName(order.getContactName())
+                    .contactPhone(order.getContactPhone())
+                    .createdAt(order.getCreatedAt())
+                    .build();
+            return Result.success(result);
+
+        } catch (Exception e) {
+            log.error("查询订单状态失败: userId={}, orderId={}", userId, orderId, e);
+            return Result.error("查询订单状态失败: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Result<TicketOrderVO> payOrder(Long userId, PayOrderDTO payOrderDTO) {
+        Long orderId = payOrderDTO.getOrderId();
+        try {
+            Map<Object, Object> state = seatInventoryManager.getOrderState(orderId);
+            if (state.get(TicketRedisKey.ORDER_FIELD_STATUS) == null
+                    || !String.valueOf(userId).equals(state.get("userId"))) {
+                return Result.notFound("订单不存在或已过期");
+            }
+            Long showEventId = Long.valueOf(state.get("showEventId").toString());
+
+            LocalDateTime payTime = LocalDateTime.now();
+            ConfirmStatus status = seatInventoryManager.confirm(showEventId, orderId, payOrderDTO.getPayType(), payTime);
+            switch (status) {
+                case SUCCESS:
+                    break;
+                case NOT_PENDING:
+                    return Result.badRequest("订单状态已变更: " + state.get(TicketRedisKey.ORDER_FIELD_STATUS));
+                case EXPIRED:
+                    return Result.badRequest("订单已过期");
+                case SEAT_MISMATCH:
+                    return Result.badRequest("座位已释放，请重新下单");
+                default:
+                    return Result.notFound("订单不存在或已过期");
+            }
+
+            // 支付事件被 broker 确认后才撤销到期调度；发送失败时订单留在到期队列，到期时按 Redis 中的已支付状态补发
+            List<Long> seatIds = parseSeatIds(state);
+            if (kafkaProducerTemplate.sendObjectAndWait(KafkaTopic.TICKET_ORDER_EVENTS, String.valueOf(showEventId),
+                    TicketOrderMessageEvent.buildPaidEvent(userId, orderId, showEventId, seatIds,
+                            payOrderDTO.getPayType(), payTime))) {
+                orderExpiryScheduler.cancel(orderId);
+            } else {
+                log.error("支付事件发送失败，由订单到期调度补发: orderId={}", orderId);
+            }
+
+            log.info("订单支付成功: userId={}, orderId={}, payType={}", userId, orderId, payOrderDTO.getPayType());
+
+            TicketOrderVO result = toTicketOrderVO(orderId, state);
+            result.setStatus(OrderStatus.PAID);
+            result.setPayType(payOrderDTO.getPayType());
+            result.setPayTime(payTime);
+            return Result.success(result);
+
+        } catch (Exception e) {
+            log.error("支付订单失败: userId={}, orderId={}", userId, orderId, e);
+            return Result.error("支付订单失败: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Result<TicketOrderVO> cancelOrder(Long userId, Long orderId) {
+        try {
+            Map<Object, Object> state = seatInventoryManager.getOrderState(orderId);
+            if (state.get(TicketRedisKey.ORDER_FIELD_STATUS) == null
+                    || !String.valueOf(userId).equals(state.get("userId"))) {
+                return Result.notFound("订单不存在或已过期");
+            }
+            Long showEventId = Long.valueOf(state.get("showEventId").toString());
+            List<Long> seatIds = parseSeatIds(state);
+
+            long released = seatInventoryManager.release(showEventId, userId, orderId, seatIds, OrderStatus.CANCELLED);
+            if (released < 0) {
+                return Result.badRequest("订单状态已变更: " + state.get(TicketRedisKey.ORDER_FIELD_STATUS));
+            }
+            // 释放事件被 broker 确认后才撤销到期调度；发送失败时订单留在到期队列，到期时按 Redis 中的已取消状态补发
+            if (kafkaProducerTemplate.sendObjectAndWait(KafkaTopic.TICKET_ORDER_EVENTS, String.valueOf(showEventId),
+                    TicketOrderMessageEvent.buildReleasedEvent(userId, orderId, showEventId, seatIds, OrderStatus.CANCELLED))) {
+                orderExpiryScheduler.cancel(orderId);
+            } else {
+                log.error("释放事件发送失败，由订单到期调度补发: orderId={}", orderId);
+            }
+
+            log.info("订单取消成功: userId={}, orderId={}, released={}", userId, orderId, released);
+
+            TicketOrderVO result = toTicketOrderVO(orderId, state);
+            result.setStatus(OrderStatus.CANCELLED);
+            return Result.success(result);
+
+        } catch (Exception e) {
+            log.error("取消订单失败: userId={}, orderId={}", userId, orderId, e);
+            return Result.error("取消订单失败: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Result<SeatMapLayoutVO> getSeatLayout(Long showEventId) {
+        try {
+            SeatMapLayoutVO layout = seatMapManager.getLayout(showEventId);
+            if (layout == null) {
+                return Result.notFound("演出不存在或没有座位");
+            }
+            return Result.success(layout);
+
+        } catch (Exception e) {
+            log.error("获取座位布局失败: showEventId={}", showEventId, e);
+            return Result.error("获取座位布局失败: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Result<SeatMapSnapshot> getSeatMap(Long showEventId) {
+        try {
+            SeatMapSnapshot snapshot = seatMapManager.getSnapshot(showEventId);
+            if (snapshot == null) {
+                return Result.notFound("演出不存在或没有座位");
+            }
+            return Result.success(snapshot);
+
+        } catch (Exception e) {
+            log.error("获取座位图失败: showEventId={}", showEventId, e);
+            return Result.error("获取座位图失败: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Result<ReconcileMetricsVO> getReconcileMetrics() {
+        return Result.success(inventoryReconciler.getMetrics());
+    }
+
+    @Override
+    public Result<List<PreWarmStatusVO>> getPreWarmStatuses() {
+        return Result.success(showEventPreWarmer.getStatuses());
+    }
+
+    @Override
+    public Result<QueueStatusVO> joinQueue(Long userId, Long showEventId) {
+        try {
+            if (!waitingRoomManager.isEnabled()) {
+                return Result.badRequest("未开启排队");
+            }
+            ShowEvent showEvent = getShowEvent(showEventId);
+            if (showEvent == null) {
+                return Result.notFound("演出不存在");
+            }
+            if (ShowEventStatus.ENDED.equals(showEvent.getStatus())
+                    || (showEvent.getSaleEndTime() != null && LocalDateTime.now().isAfter(showEvent.getSaleEndTime()))) {
+                return Result.badRequest("售票已结束");
+            }
+            long saleStartMillis = showEvent.getSaleStartTime() != null
+                    ? showEvent.getSaleStartTime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : 0;
+            return Result.success(waitingRoomManager.join(showEventId, userId, saleStartMillis));
+
+        } catch (Exception e) {
+            log.error("进入等候室失败: userId={}, showEventId={}", userId, showEventId, e);
+            return Result.error("进入等候室失败: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Result<QueueStatusVO> getQueueStatus(Long userId, Long showEventId, String queueToken) {
+        QueueToken token = waitingRoomManager.verifyQueueToken(queueToken, showEventId, userId);
+        if (token == null) {
+            return Result.forbidden("排队令牌无效或已过期，请重新排队");
+        }
+        try {
+            return Result.success(waitingRoomManager.getStatus(token, queueToken));
+        } catch (Exception e) {
+            log.error("查询排队状态失败: userId={}, showEventId={}", userId, showEventId, e);
+            return Result.error("查询排队状态失败: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public SseEmitter subscribeQueueStatus(Long userId, Long showEventId, String queueToken) {
+        QueueToken token = waitingRoomManager.verifyQueueToken(queueToken, showEventId, userId);
+        return token != null ? waitingRoomManager.subscribe(token, queueToken) : null;
+    }
+
+    /**
+     * 指定的座位是否可能存在。座位过滤器判定不存在时，先加载本节点的座位图（加载时收录该演出的全部座位）再判断一次：
+     * 库存由其他节点预热、本节点尚未加载座位图的演出，座位可能还没有收录进本节点的过滤器
+     */
+    private boolean seatsMightExist(Long showEventId, List<Long> seatIds) {
+        if (idBloomFilters.mightContainAll(IdBloomFilters.SEAT, seatIds)) {
+            return true;
+        }
+        return seatMapManager.getLayout(showEventId) != null
+                && idBloomFilters.mightContainAll(IdBloomFilters.SEAT, seatIds);
+    }
+
+    /**
+     * 获取演出信息，优先读取 Redis 缓存
+     */
+    private ShowEvent getShowEvent(Long showEventId) {
+        String cached = redisService.stringGetString(TicketRedisKey.SHOW_DETAIL_PREFIX + showEventId);
+        if (cached != null) {
+            return JSON.parseObject(cached, ShowEvent.class);
+        }
+        // 一定不存在的演出ID不回源数据库
+        if (!idBloomFilters.mightContain(IdBloomFilters.SHOW, showEventId)) {
+            return null;
+        }
+        ShowEvent showEvent = showEventMapper.selectById(showEventId);
+        if (showEvent != null) {
+            showEventWarmer.cacheShowEvent(showEvent);
+        } else {
+            idBloomFilters.recordFalsePositive(IdBloomFilters.SHOW);
+        }
+        return showEvent;
+    }
+
+    private List<Long> parseSeatIds(Map<Object, Object> state) {
+        return Arrays.stream(state.get("seatIds").toString().split(","))
+                .map(Long::valueOf)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 由 Redis 订单状态哈希构建订单视图
+     */
+    private TicketOrderVO toTicketOrderVO(Long orderId, Map<Object, Object> state) {
+        long expireMillis = Long.parseLong(state.get("expireTime").toString());
+        return TicketOrderVO.builder()
+                .id(orderId)
+                .orderNo(OrderNoFormatter.format(orderId))
+                .showEventId(Long.valueOf(state.get("showEventId").toString()))
+                .seatCount(parseSeatIds(state).size())
+                .status(state.get(TicketRedisKey.ORDER_FIELD_STATUS).toString())
+                .persisted("1".equals(state.get(TicketRedisKey.ORDER_FIELD_PERSISTED)))
+                .expireTime(LocalDateTime.ofInstant(Instant.ofEpochMilli(expireMillis), ZoneId.systemDefault()))
+                .build();
+    }
+
+    private ShowEventVO toShowEventVO(ShowEvent showEvent) {
+        return ShowEventVO.builder()
+                .id(showEvent.getId())
+                .showName(showEvent.getShowName())
+                .showType(showEvent.getShowType())
+                .venueName(showEvent.getVenueName())
+                .showTime(showEvent.getShowTime())
+                .saleStartTime(showEvent.getSaleStartTime())
+                .saleEndTime(showEvent.getSaleEndTime())
+                .totalSeats(showEvent.getTotalSeats())
+                .availableSeats(showEvent.getAvailableSeats())
+                .soldSeats(showEvent.getSoldSeats())
+                .maxBuyLimit(showEvent.getMaxBuyLimit())
+                .posterUrl(showEvent.getPosterUrl())
+                .description(showEvent.getDescription())
+                .status(showEvent.getStatus())
+                .build();
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.yoyo_data.service.impl;
+
+import com.example.yoyo_data.common.dto.TravelPlanDTO;
+import com.example.yoyo_data.infrastructure.cache.CacheKeyManager;
+import com.example.yoyo_data.infrastructure.cache.aside.CacheEvict;
+import com.example.yoyo_data.infrastructure.cache.aside.Cached;
+import com.example.yoyo_data.infrastructure.repository.mongodb.TravelPlanRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * 旅行计划详情加载器 - 旅行计划详情的旁路缓存读取与删除
+ *
+ * @author Template Framework
+ * @version 1.0
+ */
+@Component
+public class TravelPlanDetailLoader {
+
+    @Autowired
+    private TravelPlanRepository travelPlanRepository;
+
+    /**
+     * 加载旅行计划详情，过期时间按缓存策略
+     *
+     * @param planId 旅行计划ID
+     * @return 旅行计划详情，计划不存在时返回 null
+     */
+    @Cached(prefix = CacheKeyManager.TRAVEL_PLAN_CACHE_PREFIX, key = "#planId")
+    public TravelPlanDTO load(Long planId) {
+        return travelPlanRepository.findById(String.valueOf(planId))
+                .map(TravelPlanServiceImpl::convertToDTO)
+                .orElse(null);
+    }
+
+    /**
+     * 删除旅行计划详情缓存
+     *
+     * @param planId 旅行计划ID（数字或字符串形式）
+     */
+    @CacheEvict(prefix = CacheKeyManager.TRAVEL_PLAN_CACHE_PREFIX, key = "#planId")
+    public void evict(Object planId) {
+    }
+}
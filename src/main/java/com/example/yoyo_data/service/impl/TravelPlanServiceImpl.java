@@ -3,6 +3,7 @@ package com.example.yoyo_data.service.impl;
 import com.alibaba.fastjson.JSON;
 import com.example.yoyo_data.common.constant.EventType;
 import com.example.yoyo_data.common.constant.KafkaTopic;
+import com.example.yoyo_data.infrastructure.cache.CacheKeyManager;
 import com.example.yoyo_data.infrastructure.cache.RedisService;
 import com.example.yoyo_data.common.Result;
 import com.example.yoyo_data.common.document.TravelPlan;
@@ -34,18 +35,17 @@ public class TravelPlanServiceImpl implements TravelPlanService {
     private RedisService redisService;
 
     @Autowired
-    private KafkaProducerTemplate kafkaProducerTemplate;
+    private TravelPlanDetailLoader travelPlanDetailLoader;
 
-    private static final String TRAVEL_PLAN_CACHE_PREFIX = "travel_plan:";
-    private static final String TRAVEL_PLAN_LIST_CACHE_PREFIX = "travel_plan:list:";
-    private static final long CACHE_EXPIRE_TIME = 3600000L; // 1小时（毫秒）
+    @Autowired
+    private KafkaProducerTemplate kafkaProducerTemplate;
 
     @Override
     public Result<PageResponseDTO<TravelPlanDTO>> getTravelPlanList(Long userId, Integer page, Integer size) {
         try {
             // 尝试从Redis获取缓存
-            String cacheKey = TRAVEL_PLAN_LIST_CACHE_PREFIX + userId + ":" + page + ":" + size;
-            String cachedData = redisService.stringGetString(cacheKey);
+            String cacheKey = redisService.namespaceKey(CacheKeyManager.travelPlanListNamespace(userId), page + ":" + size);
+            String cachedData = redisService.cacheGet(cacheKey);
             if (cachedData != null) {
                 log.info("从Redis缓存获取旅行计划列表: userId={}", userId);
                 PageResponseDTO<TravelPlanDTO> result = JSON.parseObject(cachedData, PageResponseDTO.class);
@@ -64,7 +64,7 @@ public class TravelPlanServiceImpl implements TravelPlanService {
             List<TravelPlan> pagedList = planList.subList(start, end);
 
             List<TravelPlanDTO> items = pagedList.stream()
-                    .map(this::convertToDTO)
+                    .map(TravelPlanServiceImpl::convertToDTO)
                     .collect(Collectors.toList());
 
             PageResponseDTO<TravelPlanDTO> result = PageResponseDTO.<TravelPlanDTO>builder()
@@ -76,7 +76,7 @@ public class TravelPlanServiceImpl implements TravelPlanService {
                     .build();
 
             // 缓存到Redis
-            redisService.stringSetString(cacheKey, JSON.toJSONString(result), CACHE_EXPIRE_TIME);
+            redisService.cacheSet(cacheKey, JSON.toJSONString(result));
 
             log.info("从MongoDB获取旅行计划列表成功: userId={}, page={}, size={}", userId, page, size);
             return Result.success(result);
@@ -90,28 +90,13 @@ public class TravelPlanServiceImpl implements TravelPlanService {
     @Override
     public Result<TravelPlanDTO> getTravelPlanDetail(Long planId) {
         try {
-            // 尝试从Redis获取缓存
-            String cacheKey = TRAVEL_PLAN_CACHE_PREFIX + planId;
-            String cachedData = redisService.stringGetString(cacheKey);
-            if (cachedData != null) {
-                log.info("从Redis缓存获取旅行计划详情: planId={}", planId);
-                TravelPlanDTO result = JSON.parseObject(cachedData, TravelPlanDTO.class);
-                return Result.success(result);
-            }
-
-            // 从MongoDB获取数据
-            Optional<TravelPlan> planOpt = travelPlanRepository.findById(String.valueOf(planId));
-            if (!planOpt.isPresent()) {
+            // 读取缓存，未命中时回源MongoDB（单飞加载，不存在的计划缓存空值）
+            TravelPlanDTO result = travelPlanDetailLoader.load(planId);
+            if (result == null) {
                 return Result.error("旅行计划不存在");
             }
 
-            TravelPlan plan = planOpt.get();
-            TravelPlanDTO result = convertToDTO(plan);
-
-            // 缓存到Redis（热点数据）
-            redisService.stringSetString(cacheKey, JSON.toJSONString(result), CACHE_EXPIRE_TIME);
-
-            log.info("从MongoDB获取旅行计划详情成功: planId={}", planId);
+            log.info("获取旅行计划详情成功: planId={}", planId);
             return Result.success(result);
 
         } catch (Exception e) {
@@ -239,11 +224,11 @@ public class TravelPlanServiceImpl implements TravelPlanService {
     /**
      * 将TravelPlan转换为DTO
      */
-    private TravelPlanDTO convertToDTO(TravelPlan plan) {
+    static TravelPlanDTO convertToDTO(TravelPlan plan) {
         List<TravelPlanDTO.DailyItineraryDTO> dailyItineraryDTOs = null;
         if (plan.getDailyItinerary() != null) {
             dailyItineraryDTOs = plan.getDailyItinerary().stream()
-                    .map(this::convertDailyItineraryToDTO)
+                    .map(TravelPlanServiceImpl::convertDailyItineraryToDTO)
                     .collect(Collectors.toList());
         }
 
@@ -268,7 +253,7 @@ public class TravelPlanServiceImpl implements TravelPlanService {
     /**
      * 将DailyItinerary转换为DTO
      */
-    private TravelPlanDTO.DailyItineraryDTO convertDailyItineraryToDTO(TravelPlan.DailyItinerary itinerary) {
+    private static TravelPlanDTO.DailyItineraryDTO convertDailyItineraryToDTO(TravelPlan.DailyItinerary itinerary) {
         return TravelPlanDTO.DailyItineraryDTO.builder()
                 .day(itinerary.getDay())
                 .date(itinerary.getDate())
@@ -281,18 +266,14 @@ public class TravelPlanServiceImpl implements TravelPlanService {
      * 清除旅行计划缓存
      */
     private void clearTravelPlanCache(Long planId) {
-        String cacheKey = TRAVEL_PLAN_CACHE_PREFIX + planId;
-        redisService.delete(cacheKey);
+        travelPlanDetailLoader.evict(planId);
     }
 
     /**
      * 清除旅行计划列表缓存
      */
     private void clearTravelPlanListCache(Long userId) {
-        Set<String> keys = redisService.keys(TRAVEL_PLAN_LIST_CACHE_PREFIX + userId + ":*");
-        if (keys != null && !keys.isEmpty()) {
-            redisService.delete(keys);
-        }
+        redisService.invalidateNamespace(CacheKeyManager.travelPlanListNamespace(userId));
     }
 
     /**
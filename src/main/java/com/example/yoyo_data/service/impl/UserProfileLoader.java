@@ -0,0 +1,46 @@
+package com.example.yoyo_data.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.example.yoyo_data.common.entity.UserProfile;
+import com.example.yoyo_data.infrastructure.cache.CacheKeyManager;
+import com.example.yoyo_data.infrastructure.cache.aside.CacheEvict;
+import com.example.yoyo_data.infrastructure.cache.aside.Cached;
+import com.example.yoyo_data.infrastructure.repository.UserProfileMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * 用户档案加载器 - 用户档案的旁路缓存读取与删除
+ *
+ * @author Template Framework
+ * @version 1.0
+ */
+@Component
+public class UserProfileLoader {
+
+    @Autowired
+    private UserProfileMapper userProfileMapper;
+
+    /**
+     * 加载用户档案，过期时间按缓存策略
+     *
+     * @param userId 用户ID
+     * @return 用户档案，档案不存在时返回 null
+     */
+    @Cached(prefix = CacheKeyManager.USER_PROFILE_PREFIX, key = "#userId")
+    public UserProfile load(Long userId) {
+        return userProfileMapper.selectOne(
+                new LambdaQueryWrapper<UserProfile>()
+                        .eq(UserProfile::getUserId, userId)
+        );
+    }
+
+    /**
+     * 删除用户档案缓存
+     *
+     * @param userId 用户ID
+     */
+    @CacheEvict(prefix = CacheKeyManager.USER_PROFILE_PREFIX, key = "#userId")
+    public void evict(Long userId) {
+    }
+}
@@ -11,9 +11,11 @@ import com.example.yoyo_data.common.dto.request.UpdateUserProfileRequest;
 import com.example.yoyo_data.common.entity.Follow;
 import com.example.yoyo_data.common.entity.UserProfile;
 import com.example.yoyo_data.common.entity.Users;
+import com.example.yoyo_data.common.vo.UserCardVO;
 import com.example.yoyo_data.infrastructure.repository.FollowMapper;
 import com.example.yoyo_data.infrastructure.repository.UserMapper;
 import com.example.yoyo_data.infrastructure.repository.UserProfileMapper;
+import com.example.yoyo_data.infrastructure.user.UserInfoLoader;
 import com.example.yoyo_data.service.UserService;
 import com.example.yoyo_data.util.jwt.JwtUtils;
 import lombok.extern.slf4j.Slf4j;
@@ -27,6 +29,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import static com.example.yoyo_data.infrastructure.cache.CacheKeyManager.*;
 import static com.example.yoyo_data.infrastructure.cache.CacheKeyManager.CacheTTL.*;
@@ -42,6 +45,9 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, Users> implements U
     @Autowired
     private RedisService redisService;
 
+    @Autowired
+    private UserProfileLoader userProfileLoader;
+
     @Autowired
     private UserMapper userMapper;
 
@@ -51,6 +57,9 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, Users> implements U
     @Autowired
     private FollowMapper followMapper;
 
+    @Autowired
+    private UserInfoLoader userInfoLoader;
+
 
     @Override
     public Result<?> toggleFollow(Long userId, Long targetUserId) {
@@ -142,7 +151,7 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, Users> implements U
             String cacheKey = USER_FOLLOWER_LIST_PREFIX + userId + ":" + page + ":" + size;
 
             // 尝试从缓存获取
-            String cachedFollowList = redisService.stringGetString(cacheKey);
+            String cachedFollowList = redisService.cacheGet(cacheKey);
             if (cachedFollowList != null) {
                 Map<String, Object> result = JSON.parseObject(cachedFollowList, Map.class);
                 log.info("从缓存获取关注列表成功: userId={}, page={}, size={}", userId, page, size);
@@ -168,8 +177,10 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, Users> implements U
 
             // 构建响应数据
             List<Map<String, Object>> followList = new ArrayList<>();
+            Map<Long, UserCardVO> users = userInfoLoader.loadAll(follows.stream()
+                    .map(Follow::getFollowingId).collect(Collectors.toList()));
             for (Follow follow : follows) {
-                Users followedUser = userMapper.selectById(follow.getFollowingId());
+                UserCardVO followedUser = users.get(follow.getFollowingId());
                 if (followedUser != null) {
                     Map<String, Object> followInfo = new HashMap<>();
                     followInfo.put("id", followedUser.getId());
@@ -187,8 +198,8 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, Users> implements U
             result.put("page", page);
             result.put("size", size);
 
-            // 存入缓存，设置过期时间为10分钟
-            redisService.stringSetString(cacheKey, JSON.toJSONString(result), TWO_HOURS);
+            // 存入缓存，过期时间按缓存策略
+            redisService.cacheSet(cacheKey, JSON.toJSONString(result));
 
             log.info("获取关注列表成功: userId={}, page={}, size={}", userId, page, size);
             return Result.success(result);
@@ -206,7 +217,7 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, Users> implements U
             String cacheKey = USER_FOLLOWER_LIST_PREFIX + userId + ":" + page + ":" + size;
 
             // 尝试从缓存获取
-            String cachedFollowerList = redisService.stringGetString(cacheKey);
+            String cachedFollowerList = redisService.cacheGet(cacheKey);
             if (cachedFollowerList != null) {
                 Map<String, Object> result = JSON.parseObject(cachedFollowerList, Map.class);
                 log.info("从缓存获取粉丝列表成功: userId={}, page={}, size={}", userId, page, size);
@@ -232,8 +243,10 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, Users> implements U
 
             // 构建响应数据
             List<Map<String, Object>> followerList = new ArrayList<>();
+            Map<Long, UserCardVO> users = userInfoLoader.loadAll(follows.stream()
+                    .map(Follow::getFollowerId).collect(Collectors.toList()));
             for (Follow follow : follows) {
-                Users followerUser = userMapper.selectById(follow.getFollowerId());
+                UserCardVO followerUser = users.get(follow.getFollowerId());
                 if (followerUser != null) {
                     Map<String, Object> followerInfo = new HashMap<>();
                     followerInfo.put("id", followerUser.getId());
@@ -251,8 +264,8 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, Users> implements U
             result.put("page", page);
             result.put("size", size);
 
-            // 存入缓存，设置过期时间为60分钟
-            redisService.stringSetString(cacheKey, JSON.toJSONString(result), ONE_HOUR);
+            // 存入缓存，过期时间按缓存策略
+            redisService.cacheSet(cacheKey, JSON.toJSONString(result));
 
             log.info("获取粉丝列表成功: userId={}, page={}, size={}", userId, page, size);
             return Result.success(result);
@@ -308,6 +321,7 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, Users> implements U
             baseMapper.updateById(users);
             // 4. 删除原有的缓存
             redisService.delete(USER_TOKEN_PREFIX + token);
+            userInfoLoader.evict(users.getId());
 
             // 5. 重新生成 token
             JwtUserDTO jwtUser = new JwtUserDTO();
@@ -343,32 +357,15 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, Users> implements U
             // 2. 解析用户id
             long userId = jwtUserDTO.getId();
 
-            // 3. 缓存键
-            String profileCacheKey = USER_PROFILE_PREFIX + userId;
-
-            // 4. 尝试从缓存获取用户档案
-            String userProfileStr = redisService.stringGetString(profileCacheKey);
-            if (userProfileStr != null) {
-                UserProfile userProfile = (UserProfile) JSON.parseObject(userProfileStr, UserProfile.class);
-                log.info("从缓存获取用户档案成功: userId={}", userId);
-                return Result.success(userProfile);
-            }
-
-            // 5. 缓存没有则从数据库获取用户档案
-            UserProfile profile = userProfileMapper.selectOne(
-                    new LambdaQueryWrapper<UserProfile>()
-                            .eq(UserProfile::getUserId, userId)
-            );
+            // 3. 读取缓存，未命中时回源数据库（单飞加载，不存在的档案缓存空值）
+            UserProfile profile = userProfileLoader.load(userId);
 
-            // 6. 如果用户档案不存在，返回空结果
+            // 4. 如果用户档案不存在，返回空结果
             if (profile == null) {
                 log.info("用户档案不存在: userId={}", userId);
                 return Result.success(null);
             }
 
-            // 7. 存入缓存，设置过期时间为2小时
-            redisService.stringSetString(profileCacheKey, JSON.toJSONString(profile), TWO_HOURS);
-
             log.info("获取当前用户个人资料成功: token={}, userId={}", token, userId);
             return Result.success(profile);
 
@@ -433,16 +430,16 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, Users> implements U
             profile.setUpdatedAt(java.time.LocalDateTime.now());
 
             // 6. 保存到数据库
-            String profileCacheKey = USER_PROFILE_PREFIX + userId;
             if (profile.getId() == null) {
                 userProfileMapper.insert(profile);
             } else {
                 LambdaQueryWrapper<UserProfile> lambdaQueryWrapper = new LambdaQueryWrapper<UserProfile>()
                         .eq(UserProfile::getId, profile.getId());
                 userProfileMapper.update(profile, lambdaQueryWrapper);
-                // 7. 删除缓存 --保证数据一致性
-                redisService.delete(profileCacheKey);
             }
+            // 7. 删除缓存（含新建档案前缓存的空值）--保证数据一致性
+            userProfileLoader.evict(userId);
+            userInfoLoader.evict(userId);
 
 
             log.info("更新当前用户个人资料成功: token={}, userId={}", token, userId);
@@ -0,0 +1,16 @@
+-- 缓存内存占用采样脚本：逐个查询采样 key 的内存占用、剩余过期时间和是否压缩
+-- KEYS    采样的 key
+-- ARGV[1] 压缩值前缀
+-- 返回每个 key 依次三项：内存占用（字节，key 不存在时为 0）、剩余过期时间（毫秒，-1 不过期，-2 不存在）、是否压缩（1/0）
+local result = {}
+for i = 1, #KEYS do
+    result[#result + 1] = redis.call('MEMORY', 'USAGE', KEYS[i]) or 0
+    result[#result + 1] = redis.call('PTTL', KEYS[i])
+    local compressed = 0
+    if redis.call('TYPE', KEYS[i]).ok == 'string'
+            and redis.call('GETRANGE', KEYS[i], 0, string.len(ARGV[1]) - 1) == ARGV[1] then
+        compressed = 1
+    end
+    result[#result + 1] = compressed
+end
+return result
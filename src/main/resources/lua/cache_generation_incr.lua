@@ -0,0 +1,13 @@
+-- 缓存命名空间代数加一并刷新过期时间
+-- KEYS[1] 代数键 cache:gen:{namespace}
+-- ARGV[1] 代数键过期时间（秒），大于命名空间内缓存的最长过期时间
+-- ARGV[2] 当前时间（毫秒时间戳）
+-- 返回新的代数
+-- 代数键过期后重新创建时以当前时间为起点，不会回到过期前用过的代数，读到旧代数仍未淘汰的缓存
+local generation = redis.call('INCR', KEYS[1])
+if generation == 1 then
+    generation = tonumber(ARGV[2])
+    redis.call('SET', KEYS[1], generation)
+end
+redis.call('EXPIRE', KEYS[1], ARGV[1])
+return generation
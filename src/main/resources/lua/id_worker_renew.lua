@@ -0,0 +1,16 @@
+-- ID 生成器工作节点租约续期脚本（也用于首次获取租约）
+-- KEYS[1] 租约        id:worker:lease:{workerId}
+-- KEYS[2] 最近时间戳  id:worker:last:{workerId}
+-- ARGV[1] 实例标识
+-- ARGV[2] 租约时长（毫秒）
+-- ARGV[3] 本实例最近使用的时间戳（毫秒）
+-- 返回该工作节点ID所有持有者用过的最大时间戳；租约被其他实例持有时返回 -1
+local holder = redis.call('GET', KEYS[1])
+if holder and holder ~= ARGV[1] then
+    return -1
+end
+
+local last = math.max(tonumber(redis.call('GET', KEYS[2]) or '0'), tonumber(ARGV[3]))
+redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+redis.call('SET', KEYS[2], last)
+return last
@@ -0,0 +1,13 @@
+-- 点赞用户集合加载脚本：把从数据库加载到临时键的点赞用户整体替换到正式键
+-- KEYS[1] 点赞用户  like:members:{targetType}:{targetId}
+-- KEYS[2] 临时键    like:members:{targetType}:{targetId}:load:{nonce}
+-- ARGV[1] 点赞用户集合过期时间（秒）
+-- 返回 1 已加载；0 其他请求已先完成加载（此后的点赞切换已写入正式键，丢弃本次加载结果）
+if redis.call('SISMEMBER', KEYS[1], '-') == 1 then
+    redis.call('DEL', KEYS[2])
+    return 0
+end
+redis.call('SADD', KEYS[2], '-')
+redis.call('RENAME', KEYS[2], KEYS[1])
+redis.call('EXPIRE', KEYS[1], ARGV[1])
+return 1
@@ -0,0 +1,41 @@
+-- 点赞切换原子脚本：点赞用户集合 + 点赞数 + 点赞数增量流 + 点赞记录流
+-- KEYS[1] 点赞用户  like:members:{targetType}:{targetId}
+-- KEYS[2] 点赞数    like:count:{targetType}:{targetId}
+-- KEYS[3] 点赞数增量流  like:stream:count
+-- KEYS[4] 点赞记录流    like:stream:record
+-- ARGV[1] 用户ID
+-- ARGV[2] 目标类型
+-- ARGV[3] 目标ID
+-- ARGV[4] 点赞用户集合过期时间（秒）
+-- ARGV[5] 点赞数缓存过期时间（秒）
+-- ARGV[6] 当前时间（毫秒时间戳）
+-- ARGV[7] 数据库中的点赞数（可选，点赞数未缓存时作为初始值）
+-- 返回 {liked, count}：liked 1 已点赞 / 0 已取消；{-1} 点赞用户未加载；{-2} 点赞数未缓存且未提供初始值
+-- 点赞用户集合以成员 '-' 标记已从数据库完整加载
+-- 两个全局流与目标的键没有公共哈希标签，分属不同槽位：只支持单机或哨兵模式的 Redis，集群模式下返回 CROSSSLOT 错误
+if redis.call('SISMEMBER', KEYS[1], '-') == 0 then
+    return {-1}
+end
+if redis.call('EXISTS', KEYS[2]) == 0 then
+    if not ARGV[7] then
+        return {-2}
+    end
+    redis.call('SET', KEYS[2], ARGV[7])
+end
+
+local liked = 1
+local delta = 1
+if redis.call('SISMEMBER', KEYS[1], ARGV[1]) == 1 then
+    redis.call('SREM', KEYS[1], ARGV[1])
+    liked = 0
+    delta = -1
+else
+    redis.call('SADD', KEYS[1], ARGV[1])
+end
+redis.call('EXPIRE', KEYS[1], ARGV[4])
+
+local count = redis.call('INCRBY', KEYS[2], delta)
+redis.call('EXPIRE', KEYS[2], ARGV[5])
+redis.call('XADD', KEYS[3], '*', 't', ARGV[2], 'id', ARGV[3], 'd', delta)
+redis.call('XADD', KEYS[4], '*', 'u', ARGV[1], 't', ARGV[2], 'id', ARGV[3], 'liked', liked, 'ts', ARGV[6])
+return {liked, count}
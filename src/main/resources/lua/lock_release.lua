@@ -0,0 +1,8 @@
+-- 分布式锁释放脚本：值与持有者令牌一致时才删除，避免删除锁过期后被其他节点重新获取的锁
+-- KEYS[1] 锁
+-- ARGV[1] 持有者令牌
+-- 返回 1 已释放；0 锁已不属于该持有者
+if redis.call('GET', KEYS[1]) == ARGV[1] then
+    return redis.call('DEL', KEYS[1])
+end
+return 0
@@ -0,0 +1,32 @@
+-- 到期订单认领脚本：把到期订单从到期队列移入处理中队列，同一订单同一时刻只会被一个节点认领
+-- KEYS[1] 到期队列    ticket:expiry:{shard}
+-- KEYS[2] 处理中队列  ticket:expiry:processing:{shard}
+-- ARGV[1] 当前时间（毫秒）
+-- ARGV[2] 单次认领上限
+-- ARGV[3] 处理租约时长（毫秒）
+-- 处理租约已到期仍未确认的订单（认领节点宕机）先放回到期队列，与新到期订单一起重新认领
+-- 返回认领到的订单ID
+local now = tonumber(ARGV[1])
+
+local stale = redis.call('ZRANGEBYSCORE', KEYS[2], '-inf', now, 'LIMIT', 0, ARGV[2])
+if #stale > 0 then
+    for i = 1, #stale do
+        redis.call('ZADD', KEYS[1], now, stale[i])
+    end
+    redis.call('ZREM', KEYS[2], unpack(stale))
+end
+
+local due = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', now, 'LIMIT', 0, ARGV[2])
+if #due == 0 then
+    return due
+end
+
+local deadline = now + tonumber(ARGV[3])
+local members = {}
+for i = 1, #due do
+    members[#members + 1] = deadline
+    members[#members + 1] = due[i]
+end
+redis.call('ZADD', KEYS[2], unpack(members))
+redis.call('ZREM', KEYS[1], unpack(due))
+return due
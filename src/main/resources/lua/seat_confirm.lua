@@ -0,0 +1,36 @@
+-- 支付确认脚本：订单待支付且未过期时，将座位从锁定转为已售
+-- KEYS[1] 座位状态  ticket:seat:lock:{showEventId}
+-- KEYS[2] 订单状态  ticket:order:{orderId}
+-- ARGV[1] 订单ID
+-- ARGV[2] 当前时间（毫秒时间戳）
+-- ARGV[3] 支付方式
+-- ARGV[4] 订单状态缓存过期时间（秒）
+-- 订单状态写入 synced=0，支付事件落库后由订单写入器置为 1
+-- 返回：1 成功；-1 订单不存在；-2 订单不是待支付状态；-3 订单已过期；-4 座位状态不一致
+local order = redis.call('HMGET', KEYS[2], 'status', 'expireTime', 'seatIds')
+if not order[1] then
+    return -1
+end
+if order[1] ~= 'PENDING' then
+    return -2
+end
+if tonumber(order[2]) < tonumber(ARGV[2]) then
+    return -3
+end
+
+local lockState = 'L:' .. ARGV[1]
+local seatIds = {}
+for seatId in string.gmatch(order[3], '[^,]+') do
+    if redis.call('HGET', KEYS[1], seatId) ~= lockState then
+        return -4
+    end
+    seatIds[#seatIds + 1] = seatId
+end
+
+local soldState = 'S:' .. ARGV[1]
+for _, seatId in ipairs(seatIds) do
+    redis.call('HSET', KEYS[1], seatId, soldState)
+end
+redis.call('HSET', KEYS[2], 'status', 'PAID', 'payType', ARGV[3], 'payTime', ARGV[2], 'synced', '0')
+redis.call('EXPIRE', KEYS[2], ARGV[4])
+return 1
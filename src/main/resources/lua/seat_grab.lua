@@ -0,0 +1,65 @@
+-- 抢票原子脚本：库存检查 + 座位锁定 + 用户限购检查 + 订单状态登记 + 到期队列入队
+-- KEYS[1] 库存计数  ticket:seat:stock:{showEventId}
+-- KEYS[2] 座位状态  ticket:seat:lock:{showEventId}
+-- KEYS[3] 用户已购  ticket:user:record:{userId}:{showEventId}
+-- KEYS[4] 订单状态  ticket:order:{orderId}
+-- KEYS[5] 到期队列  ticket:expiry:{shard}
+-- ARGV[1] 订单ID
+-- ARGV[2] 每人限购数量
+-- ARGV[3] 用户ID
+-- ARGV[4] 演出活动ID
+-- ARGV[5] 订单过期时间（毫秒时间戳），同时作为到期队列的 score
+-- ARGV[6] 订单状态缓存过期时间（秒）
+-- ARGV[7..n] 座位ID
+-- 返回 {code, seatId...}：1 成功；-1 未预热；-2 超出限购；-3 库存不足；-4 座位不可售（后接全部不可售的座位ID）
+-- 所有座位一次性检查，全部可售才锁定，否则一个都不锁定
+-- 五个 key 没有公共哈希标签，分属不同槽位：只支持单机或哨兵模式的 Redis，集群模式下返回 CROSSSLOT 错误
+local stock = redis.call('GET', KEYS[1])
+if not stock then
+    return {-1}
+end
+
+local count = #ARGV - 6
+local bought = tonumber(redis.call('GET', KEYS[3]) or '0')
+if bought + count > tonumber(ARGV[2]) then
+    return {-2}
+end
+
+if tonumber(stock) < count then
+    return {-3}
+end
+
+local seatIds = {}
+local conflicts = {-4}
+local states = redis.call('HMGET', KEYS[2], unpack(ARGV, 7))
+for i = 1, #states do
+    local seatId = ARGV[i + 6]
+    if states[i] ~= 'A' then
+        conflicts[#conflicts + 1] = seatId
+    end
+    seatIds[#seatIds + 1] = seatId
+end
+if #conflicts > 1 then
+    return conflicts
+end
+
+local lockState = 'L:' .. ARGV[1]
+local fields = {}
+for i = 1, #seatIds do
+    fields[#fields + 1] = seatIds[i]
+    fields[#fields + 1] = lockState
+end
+redis.call('HSET', KEYS[2], unpack(fields))
+redis.call('DECRBY', KEYS[1], count)
+redis.call('INCRBY', KEYS[3], count)
+
+redis.call('HSET', KEYS[4],
+        'status', 'PENDING',
+        'userId', ARGV[3],
+        'showEventId', ARGV[4],
+        'seatIds', table.concat(seatIds, ','),
+        'expireTime', ARGV[5],
+        'persisted', '0')
+redis.call('EXPIRE', KEYS[4], ARGV[6])
+redis.call('ZADD', KEYS[5], ARGV[5], ARGV[1])
+return {1}
@@ -0,0 +1,47 @@
+-- 座位释放脚本：仅释放仍被该订单锁定的座位，保证幂等
+-- KEYS[1] 库存计数  ticket:seat:stock:{showEventId}
+-- KEYS[2] 座位状态  ticket:seat:lock:{showEventId}
+-- KEYS[3] 用户已购  ticket:user:record:{userId}:{showEventId}
+-- KEYS[4] 订单状态  ticket:order:{orderId}
+-- ARGV[1] 订单ID
+-- ARGV[2] 订单目标状态：CANCELLED / TIMEOUT
+-- ARGV[3..n] 座位ID
+-- 订单状态写入 synced=0，释放事件落库后由订单写入器置为 1
+-- 返回实际释放的座位数；订单已不是待支付状态时返回 -1；订单状态已过期但座位已售出（订单已支付）时返回 -2
+-- 与抢票脚本相同，key 分属不同槽位，只支持单机或哨兵模式的 Redis
+local status = redis.call('HGET', KEYS[4], 'status')
+if status and status ~= 'PENDING' then
+    return -1
+end
+
+if not status then
+    local soldState = 'S:' .. ARGV[1]
+    for i = 3, #ARGV do
+        if redis.call('HGET', KEYS[2], ARGV[i]) == soldState then
+            return -2
+        end
+    end
+end
+
+local lockState = 'L:' .. ARGV[1]
+local released = 0
+for i = 3, #ARGV do
+    if redis.call('HGET', KEYS[2], ARGV[i]) == lockState then
+        redis.call('HSET', KEYS[2], ARGV[i], 'A')
+        released = released + 1
+    end
+end
+
+if released > 0 then
+    if redis.call('EXISTS', KEYS[1]) == 1 then
+        redis.call('INCRBY', KEYS[1], released)
+    end
+    if tonumber(redis.call('GET', KEYS[3]) or '0') >= released then
+        redis.call('DECRBY', KEYS[3], released)
+    end
+end
+
+if status then
+    redis.call('HSET', KEYS[4], 'status', ARGV[2], 'synced', '0')
+end
+return released
@@ -0,0 +1,18 @@
+-- 库存预热切换脚本：把临时 key 中构建好的座位状态和库存一次性替换到正式 key，抢票脚本不会读到构建了一半的座位状态
+-- KEYS[1] 临时座位状态  ticket:seat:warmup:lock:{showEventId}
+-- KEYS[2] 座位状态      ticket:seat:lock:{showEventId}
+-- KEYS[3] 临时库存计数  ticket:seat:warmup:stock:{showEventId}
+-- KEYS[4] 库存计数      ticket:seat:stock:{showEventId}
+-- 返回 1；临时库存计数不存在（构建未完成或已过期）时返回 0，不做任何替换
+-- key 分属不同槽位，只支持单机或哨兵模式的 Redis
+if redis.call('EXISTS', KEYS[3]) == 0 then
+    return 0
+end
+if redis.call('EXISTS', KEYS[1]) == 1 then
+    redis.call('RENAME', KEYS[1], KEYS[2])
+else
+    -- 演出没有座位
+    redis.call('DEL', KEYS[2])
+end
+redis.call('RENAME', KEYS[3], KEYS[4])
+return 1
@@ -0,0 +1,35 @@
+-- 等候室放行脚本：按排队序号从队首放行，在场人数不超过库存对应的容量
+-- KEYS[1] 等候队列    ticket:queue:{showEventId}
+-- KEYS[2] 已放行用户  ticket:queue:admitted:{showEventId}
+-- KEYS[3] 元数据哈希  ticket:queue:meta:{showEventId}
+-- ARGV[1] 当前时间（毫秒）
+-- ARGV[2] 本轮最多放行人数
+-- ARGV[3] 在场容量（由剩余库存换算）
+-- ARGV[4] 领取入场令牌的时限（毫秒）
+-- ARGV[5] 剩余库存，未知时为 -1
+-- ARGV[6] key 过期时间（秒）
+-- 返回 {本轮放行人数, 剩余排队人数, 在场人数}
+local now = tonumber(ARGV[1])
+redis.call('ZREMRANGEBYSCORE', KEYS[2], '-inf', now)
+local active = redis.call('ZCARD', KEYS[2])
+
+local n = math.min(tonumber(ARGV[2]), tonumber(ARGV[3]) - active)
+local admitted = 0
+if n > 0 then
+    local popped = redis.call('ZPOPMIN', KEYS[1], n)
+    local deadline = now + tonumber(ARGV[4])
+    local head
+    for i = 1, #popped, 2 do
+        redis.call('ZADD', KEYS[2], deadline, popped[i])
+        head = popped[i + 1]
+        admitted = admitted + 1
+    end
+    if head then
+        redis.call('HSET', KEYS[3], 'head', head)
+        redis.call('EXPIRE', KEYS[2], ARGV[6])
+    end
+end
+
+redis.call('HSET', KEYS[3], 'rate', admitted)
+redis.call('HSET', KEYS[3], 'stock', ARGV[5])
+return {admitted, redis.call('ZCARD', KEYS[1]), active + admitted}
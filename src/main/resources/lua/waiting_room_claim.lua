@@ -0,0 +1,23 @@
+-- 领取入场资格脚本：放行后在时限内领取，领取后资格延长为入场令牌有效期，重复领取返回同一过期时间
+-- KEYS[1] 已放行用户  ticket:queue:admitted:{showEventId}
+-- ARGV[1] 用户ID
+-- ARGV[2] 当前时间（毫秒）
+-- ARGV[3] 入场令牌有效期（毫秒）
+-- 返回入场资格过期时间（毫秒）；未被放行或已过期返回 -1
+local now = tonumber(ARGV[2])
+local claimedMember = 'c:' .. ARGV[1]
+
+local claimed = redis.call('ZSCORE', KEYS[1], claimedMember)
+if claimed and tonumber(claimed) > now then
+    return tonumber(claimed)
+end
+
+local deadline = redis.call('ZSCORE', KEYS[1], ARGV[1])
+if not deadline or tonumber(deadline) <= now then
+    return -1
+end
+
+local expireAt = now + tonumber(ARGV[3])
+redis.call('ZREM', KEYS[1], ARGV[1])
+redis.call('ZADD', KEYS[1], expireAt, claimedMember)
+return expireAt
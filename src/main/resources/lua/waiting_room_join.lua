@@ -0,0 +1,25 @@
+-- 等候室入队脚本：同一用户重复入队保持原有序号
+-- KEYS[1] 等候队列    ticket:queue:{showEventId}
+-- KEYS[2] 已放行用户  ticket:queue:admitted:{showEventId}
+-- KEYS[3] 元数据哈希  ticket:queue:meta:{showEventId}
+-- ARGV[1] 用户ID
+-- ARGV[2] 开票时间（毫秒）
+-- ARGV[3] key 过期时间（秒）
+-- ARGV[4] 当前时间（毫秒）
+-- 返回排队序号；用户已被放行且资格未过期时返回已放行到的序号
+local seq = redis.call('ZSCORE', KEYS[1], ARGV[1])
+if seq then
+    return tonumber(seq)
+end
+
+local admitted = redis.call('ZSCORE', KEYS[2], ARGV[1]) or redis.call('ZSCORE', KEYS[2], 'c:' .. ARGV[1])
+if admitted and tonumber(admitted) > tonumber(ARGV[4]) then
+    return tonumber(redis.call('HGET', KEYS[3], 'head') or '0')
+end
+
+seq = redis.call('HINCRBY', KEYS[3], 'seq', 1)
+redis.call('ZADD', KEYS[1], seq, ARGV[1])
+redis.call('HSETNX', KEYS[3], 'saleStartTime', ARGV[2])
+redis.call('EXPIRE', KEYS[1], ARGV[3])
+redis.call('EXPIRE', KEYS[3], ARGV[3])
+return seq
@@ -51,6 +51,7 @@ CREATE TABLE tb_seat (
     updated_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
     UNIQUE KEY uk_seat (show_event_id, seat_code),
     INDEX idx_show_status (show_event_id, status),
+    INDEX idx_show_zone_state (show_event_id, seat_zone, status, order_id),
     INDEX idx_lock_expire (lock_expire_time),
     INDEX idx_order_id (order_id),
     INDEX idx_user_id (user_id)
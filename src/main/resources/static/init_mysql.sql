@@ -150,6 +150,15 @@ CREATE TABLE IF NOT EXISTS likes (
     FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='点赞表';
 
+-- 增量流已回写记录表（点赞记录、点赞数增量流回写的幂等去重）
+CREATE TABLE IF NOT EXISTS stream_applied_records (
+    stream_group VARCHAR(64) NOT NULL COMMENT '增量流消费组',
+    record_id VARCHAR(32) NOT NULL COMMENT '流记录ID',
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL COMMENT '回写时间',
+    PRIMARY KEY (stream_group, record_id),
+    INDEX idx_created_at (created_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='增量流已回写记录表';
+
 -- 关注表
 CREATE TABLE IF NOT EXISTS follows (
     id BIGINT PRIMARY KEY AUTO_INCREMENT,
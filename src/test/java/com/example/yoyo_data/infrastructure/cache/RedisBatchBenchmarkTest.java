@@ -0,0 +1,147 @@
+package com.example.yoyo_data.infrastructure.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Redis 批量方法基准测试
+ * 100 个 key 一批，对比逐个调用（每个 key 一次往返）与批量方法（一次往返）的耗时，
+ * 同时校验两种方式读写结果一致；往返次数的差异在跨机房或高延迟网络下体现得更明显
+ *
+ * @author Template Framework
+ * @version 1.0
+ */
+@Slf4j
+@SpringBootTest
+public class RedisBatchBenchmarkTest {
+
+    private static final int BATCH_SIZE = 100;
+
+    private static final int ROUNDS = 50;
+
+    private static final String KEY_PREFIX = "benchmark:redis-batch:";
+
+    @Autowired
+    private RedisService redisService;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    private final List<String> keys = new ArrayList<>();
+
+    private final List<String> hashKeys = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            keys.add(KEY_PREFIX + "value:" + i);
+            hashKeys.add(KEY_PREFIX + "hash:" + i);
+            stringRedisTemplate.opsForHash().put(KEY_PREFIX + "hash:" + i, "field", String.valueOf(i));
+        }
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        redisService.multiDelete(keys);
+        redisService.multiDelete(hashKeys);
+    }
+
+    /**
+     * 批量写入、读取与删除：结果与逐个调用一致，耗时按批对比
+     */
+    @Test
+    public void testSetGetDelete() {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            values.put(keys.get(i), "v" + i);
+        }
+
+        long loopSet = time(() -> values.forEach((key, value) -> redisService.stringSetString(key, value, 600L)));
+        long batchSet = time(() -> redisService.multiSetWithTtl(values, 600L));
+
+        List<String> looped = new ArrayList<>();
+        long loopGet = time(() -> {
+            looped.clear();
+            keys.forEach(key -> looped.add(redisService.stringGetString(key)));
+        });
+        List<String> batched = new ArrayList<>();
+        long batchGet = time(() -> {
+            batched.clear();
+            batched.addAll(redisService.multiGet(keys));
+        });
+        assert looped.equals(new ArrayList<>(values.values()));
+        assert batched.equals(looped);
+
+        long loopDelete = time(() -> {
+            redisService.multiSetWithTtl(values, 600L);
+            keys.forEach(redisService::delete);
+        });
+        long batchDelete = time(() -> {
+            redisService.multiSetWithTtl(values, 600L);
+            redisService.multiDelete(keys);
+        });
+        assert redisService.multiGet(keys).stream().allMatch(value -> value == null);
+
+        report("SETEX", loopSet, batchSet);
+        report("GET", loopGet, batchGet);
+        // 删除两侧都包含一次批量写入，对比的是删除部分的差值
+        report("DEL", loopDelete, batchDelete);
+    }
+
+    /**
+     * 批量数值增加与批量哈希查询
+     */
+    @Test
+    public void testIncrAndHashGet() {
+        Map<String, Long> deltas = new LinkedHashMap<>();
+        keys.forEach(key -> deltas.put(key, 1L));
+
+        long loopIncr = time(() -> keys.forEach(key -> redisService.stringIncrementLongString(key, 1L)));
+        long batchIncr = time(() -> redisService.multiIncr(deltas));
+        // 逐个与批量各执行 ROUNDS 轮加一轮预热，再加 1 次校验
+        assert redisService.multiIncr(deltas).values().stream().allMatch(value -> value == (ROUNDS + 1) * 2 + 1);
+
+        List<String> looped = new ArrayList<>();
+        long loopHashGet = time(() -> {
+            looped.clear();
+            hashKeys.forEach(key -> looped.add((String) stringRedisTemplate.opsForHash().get(key, "field")));
+        });
+        List<String> batched = new ArrayList<>();
+        long batchHashGet = time(() -> {
+            batched.clear();
+            batched.addAll(redisService.multiHashGet(hashKeys, "field"));
+        });
+        assert batched.equals(looped);
+
+        report("INCRBY", loopIncr, batchIncr);
+        report("HGET", loopHashGet, batchHashGet);
+    }
+
+    /**
+     * 执行 ROUNDS 轮，返回平均每轮耗时（微秒）
+     */
+    private long time(Runnable round) {
+        // 预热
+        round.run();
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            round.run();
+        }
+        return (System.nanoTime() - start) / ROUNDS / 1000;
+    }
+
+    private void report(String command, long loopMicros, long batchMicros) {
+        log.info("{} x{}: 逐个调用 {} 次往返 {}us, 批量 1 次往返 {}us, speedup={}", command, BATCH_SIZE, BATCH_SIZE,
+                loopMicros, batchMicros, String.format("%.1f", (double) loopMicros / Math.max(1, batchMicros)));
+    }
+}
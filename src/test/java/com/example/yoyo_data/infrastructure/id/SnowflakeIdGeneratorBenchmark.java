@@ -0,0 +1,70 @@
+package com.example.yoyo_data.infrastructure.id;
+
+import com.baomidou.mybatisplus.core.toolkit.IdWorker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ID 生成器多线程竞争基准测试
+ * 对比无锁雪花算法生成器与 MyBatis-Plus 默认 IdWorker（synchronized）在 1~16 线程下的吞吐量。
+ * 单线程 ID 上限为每毫秒 4096 个，高竞争下吞吐受序列号上限约束，测试同时反映借用未来时间的开销；
+ * 运行方式：执行 main 方法，或 mvn test-compile 后通过 JMH Runner 指定本类
+ *
+ * @author Template Framework
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnowflakeIdGeneratorBenchmark {
+
+    private SnowflakeIdGenerator generator;
+
+    @Setup
+    public void setUp() {
+        // 基准测试中序列号持续耗尽，放宽借用阈值避免测试期间拒绝生成
+        generator = new SnowflakeIdGenerator(1, 0, TimeUnit.MINUTES.toMillis(10));
+    }
+
+    @Benchmark
+    public long snowflake() {
+        return generator.nextId();
+    }
+
+    @Benchmark
+    public long mybatisPlusIdWorker() {
+        return IdWorker.getId();
+    }
+
+    @Benchmark
+    public String orderNo() {
+        return OrderNoFormatter.format(generator.nextId());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : new int[]{1, 4, 8, 16}) {
+            Options options = new OptionsBuilder()
+                    .include(SnowflakeIdGeneratorBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
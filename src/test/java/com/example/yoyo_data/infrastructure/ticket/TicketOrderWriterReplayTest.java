@@ -0,0 +1,142 @@
+package com.example.yoyo_data.infrastructure.ticket;
+
+import com.example.yoyo_data.common.entity.Seat;
+import com.example.yoyo_data.common.entity.TicketOrder;
+import com.example.yoyo_data.infrastructure.message.ticket.TicketOrderMessageEvent;
+import com.example.yoyo_data.infrastructure.repository.OrderSeatMapper;
+import com.example.yoyo_data.infrastructure.repository.SeatMapper;
+import com.example.yoyo_data.infrastructure.repository.ShowEventMapper;
+import com.example.yoyo_data.infrastructure.repository.TicketOrderMapper;
+import com.example.yoyo_data.infrastructure.repository.UserTicketRecordMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 订单事件重投测试
+ * 同一批抢票成功事件投递两次时，第二次必须按已落库处理：不再写入、不抛异常（否则偏移量永远不提交），也不归还座位
+ *
+ * @author Template Framework
+ * @version 1.0
+ */
+@ExtendWith(MockitoExtension.class)
+public class TicketOrderWriterReplayTest {
+
+    private static final long SHOW_EVENT_ID = 1001L;
+
+    @Mock
+    private TicketOrderMapper ticketOrderMapper;
+
+    @Mock
+    private OrderSeatMapper orderSeatMapper;
+
+    @Mock
+    private SeatMapper seatMapper;
+
+    @Mock
+    private ShowEventMapper showEventMapper;
+
+    @Mock
+    private UserTicketRecordMapper userTicketRecordMapper;
+
+    @Mock
+    private SeatInventoryManager seatInventoryManager;
+
+    @InjectMocks
+    private TicketOrderWriter ticketOrderWriter;
+
+    private List<TicketOrderMessageEvent> batch;
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(ticketOrderWriter, "transactionTemplate",
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        batch = Arrays.asList(admittedEvent(1L, 10L, 101L), admittedEvent(2L, 20L, 102L));
+    }
+
+    /**
+     * 第二次投递时订单已存在，整批跳过写入
+     */
+    @Test
+    public void testReplayedBatchSkipsPersistedOrders() {
+        when(ticketOrderMapper.selectExistingIds(anyList()))
+                .thenReturn(Collections.emptyList())
+                .thenReturn(Arrays.asList(1L, 2L));
+        when(seatMapper.selectBatchIds(anyList())).thenReturn(Arrays.asList(seat(101L), seat(102L)));
+        when(seatMapper.lockSeatsByOrders(anyList())).thenReturn(2);
+        when(showEventMapper.lockSeatsDirect(anyLong(), anyInt())).thenReturn(1);
+
+        ticketOrderWriter.persistAdmitted(batch);
+        ticketOrderWriter.persistAdmitted(batch);
+
+        verify(ticketOrderMapper, times(1)).insertBatch(anyList());
+        verify(orderSeatMapper, times(1)).insertBatch(anyList());
+        verify(userTicketRecordMapper, times(1)).batchUpsertTicketCount(anyList());
+        verify(seatInventoryManager, times(2)).markPersisted(Arrays.asList(1L, 2L));
+        verify(seatInventoryManager, never()).release(anyLong(), anyLong(), anyLong(), anyList(), anyString());
+    }
+
+    /**
+     * 与另一个消费者并发写入时预检查未命中，重复键退化为逐单处理并按已落库标记
+     */
+    @Test
+    public void testReplayedBatchWithDuplicateKeyFallsBackPerOrder() {
+        when(ticketOrderMapper.selectExistingIds(anyList())).thenReturn(Collections.emptyList());
+        when(seatMapper.selectBatchIds(anyList())).thenReturn(Arrays.asList(seat(101L), seat(102L)));
+        when(ticketOrderMapper.insertBatch(anyList())).thenThrow(new DuplicateKeyException("Duplicate entry"));
+
+        ticketOrderWriter.persistAdmitted(batch);
+
+        verify(ticketOrderMapper, times(3)).insertBatch(anyList());
+        verify(seatInventoryManager).markPersisted(Collections.singletonList(1L));
+        verify(seatInventoryManager).markPersisted(Collections.singletonList(2L));
+        verify(seatInventoryManager, never()).release(anyLong(), anyLong(), anyLong(), anyList(), anyString());
+        verify(userTicketRecordMapper, never()).batchUpsertTicketCount(any());
+    }
+
+    private TicketOrderMessageEvent admittedEvent(Long orderId, Long userId, Long seatId) {
+        TicketOrder order = TicketOrder.builder()
+                .id(orderId)
+                .orderNo("T" + orderId)
+                .showEventId(SHOW_EVENT_ID)
+                .userId(userId)
+                .status("PENDING")
+                .expireTime(LocalDateTime.now().plusMinutes(15))
+                .createdAt(LocalDateTime.now())
+                .build();
+        return TicketOrderMessageEvent.buildAdmittedEvent(order, Collections.singletonList(seatId));
+    }
+
+    private Seat seat(Long seatId) {
+        return Seat.builder()
+                .id(seatId)
+                .showEventId(SHOW_EVENT_ID)
+                .seatCode("A-" + seatId)
+                .price(new BigDecimal("380.00"))
+                .build();
+    }
+}